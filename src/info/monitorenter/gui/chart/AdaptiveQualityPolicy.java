@@ -0,0 +1,248 @@
+/*
+ *  AdaptiveQualityPolicy.java of project jchart2d, decides about fast rendering under load.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ *
+ */
+
+package info.monitorenter.gui.chart;
+
+import java.io.Serializable;
+
+/**
+ * Policy that decides whether a <code>{@link Chart2D}</code> renders its traces
+ * in full quality or in fast quality (no antialiasing, simplified strokes).
+ * <p>
+ *
+ * The chart reports the duration and the amount of rendered points of every
+ * paint operation via <code>{@link #frameRendered(long, int, boolean)}</code>.
+ * If a frame exceeds the frame budget or the point budget the following frames
+ * are rendered in fast quality. Once the chart has been idle (no paint
+ * operation) for the idle delay after a fast frame, full quality is restored
+ * and the chart is repainted once in full quality.
+ * <p>
+ *
+ * A full quality frame that exceeds the budget again switches back to fast
+ * quality for the next frame but does not trigger another restoration: An idle
+ * chart is not repainted over and over.
+ * <p>
+ *
+ * Instances are configured per chart and are not thread safe: The chart calls
+ * them with its lock held.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann</a>
+ *
+ * @version $Revision: 1.1 $
+ *
+ * @see Chart2D#setAdaptiveQualityPolicy(AdaptiveQualityPolicy)
+ */
+public class AdaptiveQualityPolicy implements Serializable {
+
+  /** Generated <code>serialVersionUID</code>. */
+  private static final long serialVersionUID = -2829012539873462191L;
+
+  /** Flag that is true if the following frames have to be rendered fast. */
+  private boolean m_degraded;
+
+  /** The maximum duration of a paint operation in milliseconds. */
+  private long m_frameBudgetMillis;
+
+  /**
+   * The time in milliseconds without paint operations after a fast frame
+   * before full quality is restored.
+   */
+  private long m_idleDelayMillis;
+
+  /** The time in milliseconds when the last frame was reported. */
+  private long m_lastFrameMillis;
+
+  /** Flag that is true if the last reported frame was rendered fast. */
+  private boolean m_lastFrameDegraded;
+
+  /** The maximum amount of points rendered in a paint operation. */
+  private int m_pointBudget;
+
+  /**
+   * Creates a policy with a frame budget of 50 ms, a point budget of 100000
+   * points and an idle delay of 500 ms.
+   * <p>
+   */
+  public AdaptiveQualityPolicy() {
+    this(50, 100000, 500);
+  }
+
+  /**
+   * Creates a policy with the given thresholds.
+   * <p>
+   *
+   * @param frameBudgetMillis
+   *          the maximum duration of a paint operation in milliseconds.
+   *
+   * @param pointBudget
+   *          the maximum amount of points rendered in a paint operation.
+   *
+   * @param idleDelayMillis
+   *          the time in milliseconds without paint operations after a fast
+   *          frame before full quality is restored.
+   *
+   * @throws IllegalArgumentException
+   *           if an argument is not positive.
+   */
+  public AdaptiveQualityPolicy(final long frameBudgetMillis, final int pointBudget, final long idleDelayMillis) throws IllegalArgumentException {
+    this.setFrameBudgetMillis(frameBudgetMillis);
+    this.setPointBudget(pointBudget);
+    this.setIdleDelayMillis(idleDelayMillis);
+  }
+
+  /**
+   * Reports a rendered frame.
+   * <p>
+   *
+   * @param durationNanos
+   *          the duration of the paint operation in nanoseconds.
+   *
+   * @param points
+   *          the amount of points rendered in the paint operation.
+   *
+   * @param degraded
+   *          true if the frame was rendered in fast quality.
+   */
+  public void frameRendered(final long durationNanos, final int points, final boolean degraded) {
+    if (durationNanos > this.m_frameBudgetMillis * 1000000L || points > this.m_pointBudget) {
+      this.m_degraded = true;
+    }
+    this.m_lastFrameDegraded = degraded;
+    this.m_lastFrameMillis = System.currentTimeMillis();
+  }
+
+  /**
+   * Returns the maximum duration of a paint operation in milliseconds.
+   * <p>
+   *
+   * @return the maximum duration of a paint operation in milliseconds.
+   */
+  public final long getFrameBudgetMillis() {
+    return this.m_frameBudgetMillis;
+  }
+
+  /**
+   * Returns the time in milliseconds without paint operations after a fast
+   * frame before full quality is restored.
+   * <p>
+   *
+   * @return the time in milliseconds without paint operations after a fast
+   *         frame before full quality is restored.
+   */
+  public final long getIdleDelayMillis() {
+    return this.m_idleDelayMillis;
+  }
+
+  /**
+   * Returns the maximum amount of points rendered in a paint operation.
+   * <p>
+   *
+   * @return the maximum amount of points rendered in a paint operation.
+   */
+  public final int getPointBudget() {
+    return this.m_pointBudget;
+  }
+
+  /**
+   * Returns true if the next frame has to be rendered in fast quality.
+   * <p>
+   *
+   * @return true if the next frame has to be rendered in fast quality.
+   */
+  public boolean isDegraded() {
+    return this.m_degraded;
+  }
+
+  /**
+   * Returns true if the last frame was rendered in fast quality and no frame
+   * has been rendered since the idle delay.
+   * <p>
+   *
+   * @return true if full quality should be restored by
+   *         <code>{@link #restore()}</code> and a repaint.
+   */
+  public boolean isRestoreDue() {
+    return this.m_degraded && this.m_lastFrameDegraded && System.currentTimeMillis() - this.m_lastFrameMillis >= this.m_idleDelayMillis;
+  }
+
+  /**
+   * Restores full quality for the next frame.
+   * <p>
+   */
+  public void restore() {
+    this.m_degraded = false;
+  }
+
+  /**
+   * Sets the maximum duration of a paint operation in milliseconds.
+   * <p>
+   *
+   * @param frameBudgetMillis
+   *          the maximum duration of a paint operation in milliseconds.
+   *
+   * @throws IllegalArgumentException
+   *           if the argument is not positive.
+   */
+  public final void setFrameBudgetMillis(final long frameBudgetMillis) throws IllegalArgumentException {
+    if (frameBudgetMillis <= 0) {
+      throw new IllegalArgumentException("Frame budget has to be positive: " + frameBudgetMillis);
+    }
+    this.m_frameBudgetMillis = frameBudgetMillis;
+  }
+
+  /**
+   * Sets the time in milliseconds without paint operations after a fast frame
+   * before full quality is restored.
+   * <p>
+   *
+   * @param idleDelayMillis
+   *          the time in milliseconds without paint operations after a fast
+   *          frame before full quality is restored.
+   *
+   * @throws IllegalArgumentException
+   *           if the argument is not positive.
+   */
+  public final void setIdleDelayMillis(final long idleDelayMillis) throws IllegalArgumentException {
+    if (idleDelayMillis <= 0) {
+      throw new IllegalArgumentException("Idle delay has to be positive: " + idleDelayMillis);
+    }
+    this.m_idleDelayMillis = idleDelayMillis;
+  }
+
+  /**
+   * Sets the maximum amount of points rendered in a paint operation.
+   * <p>
+   *
+   * @param pointBudget
+   *          the maximum amount of points rendered in a paint operation.
+   *
+   * @throws IllegalArgumentException
+   *           if the argument is not positive.
+   */
+  public final void setPointBudget(final int pointBudget) throws IllegalArgumentException {
+    if (pointBudget <= 0) {
+      throw new IllegalArgumentException("Point budget has to be positive: " + pointBudget);
+    }
+    this.m_pointBudget = pointBudget;
+  }
+}
@@ -20,12 +20,16 @@ import info.monitorenter.gui.chart.axis.AAxis;
 import info.monitorenter.gui.chart.axis.AxisLinear;
 import info.monitorenter.gui.chart.axistickpainters.AxisTickPainterDefault;
 import info.monitorenter.gui.chart.events.Chart2DActionPrintSingleton;
+import info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyByPass;
+import info.monitorenter.gui.util.LayerCache;
 import info.monitorenter.gui.util.TracePoint2DUtil;
 import info.monitorenter.util.IStopWatch;
 import info.monitorenter.util.Range;
 import info.monitorenter.util.StopWatchSimple;
 import info.monitorenter.util.StringUtil;
 
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Container;
 import java.awt.Cursor;
@@ -50,6 +54,10 @@ import java.awt.print.PrinterException;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -59,9 +67,18 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 
 import javax.swing.JPanel;
 import javax.swing.JToolTip;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 
 /**
@@ -261,6 +278,13 @@ import javax.swing.Timer;
  * traces.</td>
  * </tr>
  * <tr>
+ * <td>{@link #PROPERTY_ADAPTIVE_QUALITY_POLICY}</td>
+ * <td>{@link Chart2D}</td>
+ * <td>{@link AdaptiveQualityPolicy}</td>
+ * <td>{@link AdaptiveQualityPolicy}</td>
+ * <td>if the policy for fast rendering under load is changed.</td>
+ * </tr>
+ * <tr>
  * <td>{@link #PROPERTY_ANTIALIASING_ENABLED}</td>
  * <td>{@link Chart2D}</td>
  * <td>{@link Boolean}</td>
@@ -268,6 +292,42 @@ import javax.swing.Timer;
  * <td>if antialiasing is enabled/disabled.</td>
  * </tr>
  * <tr>
+ * <td>{@link #PROPERTY_BACKGROUND_LAYER_CACHING}</td>
+ * <td>{@link Chart2D}</td>
+ * <td>{@link Boolean}</td>
+ * <td>{@link Boolean}</td>
+ * <td>if caching of the background layer is enabled/disabled.</td>
+ * </tr>
+ * <tr>
+ * <td>{@link #PROPERTY_STRIP_CHART}</td>
+ * <td>{@link Chart2D}</td>
+ * <td>{@link Boolean}</td>
+ * <td>{@link Boolean}</td>
+ * <td>if the strip chart mode is enabled/disabled.</td>
+ * </tr>
+ * <tr>
+ * <td>{@link #PROPERTY_PROGRESSIVE_RENDERING_POINTS}</td>
+ * <td>{@link Chart2D}</td>
+ * <td>{@link Integer}</td>
+ * <td>{@link Integer}</td>
+ * <td>if the amount of points rendered for the preview of progressive
+ * rendering is changed.</td>
+ * </tr>
+ * <tr>
+ * <td>{@link #PROPERTY_PARALLEL_RENDERING_THREADS}</td>
+ * <td>{@link Chart2D}</td>
+ * <td>{@link Integer}</td>
+ * <td>{@link Integer}</td>
+ * <td>if the amount of threads rendering a trace is changed.</td>
+ * </tr>
+ * <tr>
+ * <td>{@link #PROPERTY_TRACE_LAYER_CACHING}</td>
+ * <td>{@link Chart2D}</td>
+ * <td>{@link Boolean}</td>
+ * <td>{@link Boolean}</td>
+ * <td>if caching of trace layers is enabled/disabled.</td>
+ * </tr>
+ * <tr>
  * <td>{@link #PROPERTY_POINTFINDER}</td>
  * <td>{@link Chart2D}</td>
  * <td>{@link IPointFinder}</td>
@@ -311,6 +371,544 @@ import javax.swing.Timer;
  */
 
 public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<ITrace2D>, Printable {
+  /**
+   * The state of the progressive rendering of a trace: The full resolution
+   * rendering in progress and the position in the points of the trace where
+   * the next pass resumes.
+   * <p>
+   * The iterator is kept between the passes: Any change of the trace outdates
+   * its layer and restarts the refinement with a new iterator (see
+   * <code>{@link #restart()}</code>).
+   * <p>
+   * 
+   * @see Chart2D#setProgressiveRenderingPoints(int)
+   */
+  private static final class TraceRefinement {
+
+    /** True if all points of the trace have been rendered. */
+    private boolean m_complete;
+
+    /** Holds the full resolution rendering in progress. */
+    private final LayerCache m_layer = new LayerCache();
+
+    /**
+     * The iterator over the points of the trace the next pass resumes with or
+     * null if no pass has been rendered yet.
+     */
+    private Iterator<ITracePoint2D> m_points;
+
+    /**
+     * The last point rendered by the previous pass that the first point of the
+     * next pass is connected to or null.
+     */
+    private ITracePoint2D m_predecessor;
+
+    /** The x pixel coordinate of {@link #m_predecessor}. */
+    private int m_predecessorX;
+
+    /** The y pixel coordinate of {@link #m_predecessor}. */
+    private int m_predecessorY;
+
+    /**
+     * Defcon.
+     * <p>
+     */
+    TraceRefinement() {
+      // nop
+    }
+
+    /**
+     * Starts the refinement anew with the first point of the trace.
+     * <p>
+     */
+    void restart() {
+      this.m_complete = false;
+      this.m_points = null;
+      this.m_predecessor = null;
+    }
+  }
+
+  /**
+   * Renders a range of the points of a trace with replicas of the trace
+   * painters to its own image for parallel rendering.
+   * <p>
+   * Instances are reused for subsequent paint operations. They only read the
+   * layout of the chart and the points while the paint thread holds the locks
+   * on the chart and on the trace and waits for them. The replicas of the
+   * trace painters are created anew for every paint operation so that they
+   * have the current configuration of the trace painters.
+   * <p>
+   *
+   * @see Chart2D#setParallelRenderingThreads(int)
+   */
+  private final class TraceTile implements Callable<Object> {
+
+    /** The segment between the current points clipped to the visible area. */
+    private final double[] m_clipTile = new double[4];
+
+    /** The color of the trace. */
+    private Color m_color;
+
+    /** The index of the first point to render. */
+    private int m_from;
+
+    /** The rendering hints of the paint operation. */
+    private RenderingHints m_hints;
+
+    /** Holds the image rendered to. */
+    private final LayerCache m_layer = new LayerCache();
+
+    /** The replicas of the painters of the trace to render. */
+    private ITracePainter< ? >[] m_painters = new ITracePainter< ? >[1];
+
+    /** The amount of valid replicas in {@link #m_painters}. */
+    private int m_paintersCount;
+
+    /** The points of the trace, only the range to render is accessed. */
+    private ITracePoint2D[] m_points;
+
+    /** The width of the chart area in pixel. */
+    private int m_rangex;
+
+    /** The height of the chart area in pixel. */
+    private int m_rangey;
+
+    /** The stroke of the trace. */
+    private Stroke m_stroke;
+
+    /** The index after the last point to render. */
+    private int m_to;
+
+    /**
+     * Defcon.
+     * <p>
+     */
+    TraceTile() {
+      // nop
+    }
+
+    /**
+     * Renders the range of points to the image of this tile.
+     * <p>
+     *
+     * @see java.util.concurrent.Callable#call()
+     */
+    public Object call() {
+      final Graphics2D g2d = this.m_layer.getImage(Chart2D.this.getPaintWidth(), Chart2D.this.getPaintHeight()).createGraphics();
+      try {
+        g2d.setRenderingHints(this.m_hints);
+        g2d.setStroke(this.m_stroke);
+        g2d.setColor(this.m_color);
+        for (int i = 0; i < this.m_paintersCount; i++) {
+          this.m_painters[i].startPaintIteration(g2d);
+        }
+        this.paintPoints(g2d);
+        for (int i = 0; i < this.m_paintersCount; i++) {
+          this.m_painters[i].endPaintIteration(g2d);
+        }
+      } finally {
+        g2d.dispose();
+      }
+      return null;
+    }
+
+    /**
+     * Paints the range of points with the replicas like
+     * <code>{@link Chart2D#paintTrace(ITrace2D, Graphics, int, int, int)}</code>
+     * .
+     * <p>
+     *
+     * @param g2d
+     *          the graphics context of the image of this tile.
+     */
+    private void paintPoints(final Graphics2D g2d) {
+      final int xChartStart = Chart2D.this.m_xChartStart;
+      final int yChartStart = Chart2D.this.m_yChartStart;
+      final double[] clip = this.m_clipTile;
+      ITracePoint2D oldpoint;
+      ITracePoint2D newpoint = null;
+      int tmpx = 0;
+      int tmpy = 0;
+      int oldtmpx;
+      int oldtmpy;
+      boolean isNaNNewpoint;
+      boolean isNaNOldpoint;
+      boolean oldpointVisible;
+      // start with the predecessor of the first point to connect to it:
+      for (int i = Math.max(0, this.m_from - 1); i < this.m_to; i++) {
+        oldpoint = newpoint;
+        oldtmpx = tmpx;
+        oldtmpy = tmpy;
+        newpoint = this.m_points[i];
+        isNaNNewpoint = newpoint.isDiscontinuation();
+        if (!isNaNNewpoint) {
+          tmpx = xChartStart + (int) Math.round(newpoint.getScaledX() * this.m_rangex);
+          tmpy = yChartStart - (int) Math.round(newpoint.getScaledY() * this.m_rangey);
+        }
+        if (i < this.m_from) {
+          continue;
+        }
+        isNaNOldpoint = (oldpoint != null) && oldpoint.isDiscontinuation();
+        if (isNaNNewpoint || isNaNOldpoint) {
+          if (!isNaNOldpoint) {
+            for (int j = 0; j < this.m_paintersCount; j++) {
+              this.m_painters[j].discontinue(g2d);
+            }
+          }
+        } else if (oldpoint != null) {
+          oldpointVisible = Chart2D.this.isVisible(oldpoint);
+          if (!Chart2D.this.isVisible(newpoint)) {
+            if (this.clipSegment(oldpoint, newpoint) && (oldpointVisible || Chart2D.this.hasChartIntersection(clip))) {
+              this.paintPoint(xChartStart + (int) Math.round(clip[0] * this.m_rangex), yChartStart - (int) Math.round(clip[1] * this.m_rangey),
+                  xChartStart + (int) Math.round(clip[2] * this.m_rangex), yChartStart - (int) Math.round(clip[3] * this.m_rangey), true, g2d,
+                  oldpoint);
+            }
+          } else if (!oldpointVisible) {
+            if (this.clipSegment(oldpoint, newpoint)) {
+              this.paintPoint(xChartStart + (int) Math.round(clip[0] * this.m_rangex), yChartStart - (int) Math.round(clip[1] * this.m_rangey), tmpx,
+                  tmpy, true, g2d, oldpoint);
+            }
+          } else {
+            this.paintPoint(oldtmpx, oldtmpy, tmpx, tmpy, false, g2d, newpoint);
+          }
+        }
+      }
+    }
+
+    /**
+     * Clips the connection of the given points to the visible area into
+     * {@link #m_clipTile}.
+     * <p>
+     *
+     * @param oldpoint
+     *          the previous point.
+     *
+     * @param newpoint
+     *          the point following on oldpoint.
+     *
+     * @return true if a part of the connection of both points is visible.
+     */
+    private boolean clipSegment(final ITracePoint2D oldpoint, final ITracePoint2D newpoint) {
+      this.m_clipTile[0] = oldpoint.getScaledX();
+      this.m_clipTile[1] = oldpoint.getScaledY();
+      this.m_clipTile[2] = newpoint.getScaledX();
+      this.m_clipTile[3] = newpoint.getScaledY();
+      return TracePoint2DUtil.clipToVisible(this.m_clipTile);
+    }
+
+    /**
+     * Paints the given segment with the replicas.
+     * <p>
+     *
+     * @param xPxOld
+     *          the x coordinate of the previous point in px.
+     *
+     * @param yPxOld
+     *          the y coordinate of the previous point in px.
+     *
+     * @param xPxNew
+     *          the x coordinate of the point in px.
+     *
+     * @param yPxNew
+     *          the y coordinate of the point in px.
+     *
+     * @param discontinue
+     *          true if the segment was clipped to the visible area.
+     *
+     * @param g2d
+     *          the graphics context of the image of this tile.
+     *
+     * @param original
+     *          the point for information of the painters.
+     */
+    private void paintPoint(final int xPxOld, final int yPxOld, final int xPxNew, final int yPxNew, final boolean discontinue, final Graphics2D g2d,
+        final ITracePoint2D original) {
+      ITracePainter< ? > tracePainter;
+      for (int i = 0; i < this.m_paintersCount; i++) {
+        tracePainter = this.m_painters[i];
+        tracePainter.paintPoint(xPxOld, yPxOld, xPxNew, yPxNew, g2d, original);
+        if (discontinue) {
+          tracePainter.discontinue(g2d);
+        }
+      }
+    }
+
+    /**
+     * Prepares this tile for rendering the given range of the given points.
+     * <p>
+     *
+     * @param trace
+     *          the trace to render, all its painters have to be replicable
+     *          (see <code>{@link Chart2D#replicateTracePainter(ITracePainter)}</code>).
+     *
+     * @param points
+     *          the points of the trace.
+     *
+     * @param from
+     *          the index of the first point to render.
+     *
+     * @param to
+     *          the index after the last point to render.
+     *
+     * @param g2d
+     *          the graphics context of the paint operation.
+     *
+     * @param rangex
+     *          the width of the chart area in pixel.
+     *
+     * @param rangey
+     *          the height of the chart area in pixel.
+     */
+    void prepare(final ITrace2D trace, final ITracePoint2D[] points, final int from, final int to, final Graphics2D g2d, final int rangex,
+        final int rangey) {
+      final Set<ITracePainter< ? >> tracePainters = trace.getTracePainters();
+      if (this.m_painters.length < tracePainters.size()) {
+        this.m_painters = new ITracePainter< ? >[tracePainters.size()];
+      }
+      int count = 0;
+      for (ITracePainter< ? > tracePainter : tracePainters) {
+        this.m_painters[count++] = Chart2D.replicateTracePainter(tracePainter);
+      }
+      this.m_paintersCount = count;
+      this.m_points = points;
+      this.m_from = from;
+      this.m_to = to;
+      this.m_hints = g2d.getRenderingHints();
+      this.m_stroke = g2d.getStroke();
+      this.m_color = g2d.getColor();
+      this.m_rangex = rangex;
+      this.m_rangey = rangey;
+    }
+
+    /**
+     * Releases the references to the points and the configuration of the last
+     * rendering.
+     * <p>
+     */
+    void release() {
+      this.m_points = null;
+      this.m_hints = null;
+      this.m_stroke = null;
+      this.m_color = null;
+      Arrays.fill(this.m_painters, 0, this.m_paintersCount, null);
+      this.m_paintersCount = 0;
+    }
+  }
+
+  /**
+   * An immutable view on the traces of a chart ordered by their z-index
+   * together with the modification count of the chart it was collected for.
+   * <p>
+   * 
+   * @see Chart2D#getTracesSnapshot()
+   */
+  private static final class TracesSnapshot {
+
+    /** The modification count of the traces this snapshot was collected for. */
+    private final int m_modCount;
+
+    /** The unmodifiable set of traces ordered by their z-index. */
+    private final SortedSet<ITrace2D> m_traces;
+
+    /**
+     * Creates a snapshot.
+     * <p>
+     * 
+     * @param modCount
+     *          the modification count of the traces the snapshot is collected
+     *          for.
+     * 
+     * @param traces
+     *          the unmodifiable set of traces ordered by their z-index.
+     */
+    TracesSnapshot(final int modCount, final SortedSet<ITrace2D> traces) {
+      this.m_modCount = modCount;
+      this.m_traces = traces;
+    }
+  }
+
+  /**
+   * The pixel layout of a chart: The bounds of the chart area and the pixel
+   * bounds of all axes.
+   * <p>
+   * Used to keep the layout of the on-screen chart apart from the layout
+   * computed by <code>{@link Chart2D#render(Graphics2D, int, int)}</code>.
+   * <p>
+   */
+  private static final class Layout {
+
+    /** The axes of the chart at the time the layout was taken. */
+    private final List<IAxis< ? >> m_axes;
+
+    /**
+     * The pixel bounds of the axes in the order of {@link #m_axes}: left,
+     * right, bottom, top.
+     */
+    private final int[] m_axesPixels;
+
+    /** The value of {@link Chart2D#getXChartEnd()}. */
+    private final int m_xChartEnd;
+
+    /** The value of {@link Chart2D#getXChartStart()}. */
+    private final int m_xChartStart;
+
+    /** The value of {@link Chart2D#getYChartEnd()}. */
+    private final int m_yChartEnd;
+
+    /** The value of {@link Chart2D#getYChartStart()}. */
+    private final int m_yChartStart;
+
+    /**
+     * Takes the current layout of the given chart.
+     * <p>
+     * Has to be called with the lock on the chart.
+     * <p>
+     * 
+     * @param chart
+     *          the chart to take the layout of.
+     */
+    Layout(final Chart2D chart) {
+      this.m_xChartStart = chart.m_xChartStart;
+      this.m_xChartEnd = chart.m_xChartEnd;
+      this.m_yChartStart = chart.m_yChartStart;
+      this.m_yChartEnd = chart.m_yChartEnd;
+      this.m_axes = chart.getAxes();
+      this.m_axesPixels = new int[this.m_axes.size() * 4];
+      int i = 0;
+      for (IAxis< ? > axis : this.m_axes) {
+        this.m_axesPixels[i++] = axis.getPixelXLeft();
+        this.m_axesPixels[i++] = axis.getPixelXRight();
+        this.m_axesPixels[i++] = axis.getPixelYBottom();
+        this.m_axesPixels[i++] = axis.getPixelYTop();
+      }
+    }
+
+    /**
+     * Restores this layout to the given chart.
+     * <p>
+     * Has to be called with the lock on the chart.
+     * <p>
+     * 
+     * @param chart
+     *          the chart this layout was taken from.
+     */
+    void restore(final Chart2D chart) {
+      chart.m_xChartStart = this.m_xChartStart;
+      chart.m_xChartEnd = this.m_xChartEnd;
+      chart.m_yChartStart = this.m_yChartStart;
+      chart.m_yChartEnd = this.m_yChartEnd;
+      int i = 0;
+      for (IAxis< ? > axis : this.m_axes) {
+        axis.setPixelXLeft(this.m_axesPixels[i++]);
+        axis.setPixelXRight(this.m_axesPixels[i++]);
+        axis.setPixelYBottom(this.m_axesPixels[i++]);
+        axis.setPixelYTop(this.m_axesPixels[i++]);
+      }
+    }
+  }
+
+  /**
+   * The result of a query for the nearest points to a mouse position together
+   * with the state of the chart it was computed for.
+   * <p>
+   * Immutable to be shared between threads without locking.
+   * <p>
+   * 
+   * @see Chart2D#getNearestPoints(MouseEvent)
+   */
+  private static final class NearestPointsQuery {
+
+    /** The sum of the modification counts of the points of all traces. */
+    private final long m_dataGeneration;
+
+    /** The x pixel value of the mouse position. */
+    private final int m_mouseX;
+
+    /** The y pixel value of the mouse position. */
+    private final int m_mouseY;
+
+    /** The paint count the result was computed for. */
+    private final int m_paintCount;
+
+    /** The point finder that computed the result. */
+    private final IPointFinder m_pointFinder;
+
+    /** The unmodifiable nearest points, the nearest one first. */
+    private final List<ITracePoint2D> m_result;
+
+    /** The modification count of the traces the result was computed for. */
+    private final int m_tracesModCount;
+
+    /**
+     * Creates a query result.
+     * <p>
+     * 
+     * @param pointFinder
+     *          the point finder that computed the result.
+     * 
+     * @param mouseX
+     *          the x pixel value of the mouse position.
+     * 
+     * @param mouseY
+     *          the y pixel value of the mouse position.
+     * 
+     * @param paintCount
+     *          the paint count the result was computed for.
+     * 
+     * @param tracesModCount
+     *          the modification count of the traces the result was computed
+     *          for.
+     * 
+     * @param dataGeneration
+     *          the sum of the modification counts of the points of all traces.
+     * 
+     * @param result
+     *          the unmodifiable nearest points, the nearest one first.
+     */
+    NearestPointsQuery(final IPointFinder pointFinder, final int mouseX, final int mouseY, final int paintCount,
+        final int tracesModCount, final long dataGeneration, final List<ITracePoint2D> result) {
+      this.m_pointFinder = pointFinder;
+      this.m_mouseX = mouseX;
+      this.m_mouseY = mouseY;
+      this.m_paintCount = paintCount;
+      this.m_tracesModCount = tracesModCount;
+      this.m_dataGeneration = dataGeneration;
+      this.m_result = result;
+    }
+
+    /**
+     * Returns true if this result is valid for the given query.
+     * <p>
+     * 
+     * @param pointFinder
+     *          the point finder to use.
+     * 
+     * @param mouseX
+     *          the x pixel value of the mouse position.
+     * 
+     * @param mouseY
+     *          the y pixel value of the mouse position.
+     * 
+     * @param paintCount
+     *          the current paint count.
+     * 
+     * @param tracesModCount
+     *          the current modification count of the traces.
+     * 
+     * @param dataGeneration
+     *          the current sum of the modification counts of the points of all
+     *          traces.
+     * 
+     * @return true if this result is valid for the given query.
+     */
+    boolean isValid(final IPointFinder pointFinder, final int mouseX, final int mouseY, final int paintCount,
+        final int tracesModCount, final long dataGeneration) {
+      return this.m_pointFinder == pointFinder && this.m_mouseX == mouseX && this.m_mouseY == mouseY
+          && this.m_paintCount == paintCount && this.m_tracesModCount == tracesModCount
+          && this.m_dataGeneration == dataGeneration;
+    }
+  }
+
   /**
    * Types of tool tip.
    * <p>
@@ -356,6 +954,48 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
         return chart.getNearestPointManhattan(mouseEventX, mouseEventY);
       }
 
+    },
+    /**
+     * Finds the point with the x value nearest to the mouse position (the y
+     * position is ignored).
+     * <p>
+     * This is the natural behavior for time series. Traces that keep their
+     * points sorted by x values (e.g. <code>{@link info.monitorenter.gui.chart.traces.Trace2DSorted}</code>)
+     * are searched with a binary search, other traces visit every point.
+     * <p>
+     * <code>{@link #getNearestPoints(int, int, Chart2D)}</code> returns the
+     * nearest point of every trace for tool tips showing all traces.
+     * <p>
+     * 
+     * @see Chart2D#getNearestPointsX(int)
+     */
+    NEAREST_X {
+
+      /**
+       * @see info.monitorenter.gui.chart.Chart2D.PointFinder#getNearestPoint(java.awt.event.MouseEvent,
+       *      info.monitorenter.gui.chart.Chart2D)
+       */
+      public ITracePoint2D getNearestPoint(final int mouseEventX, final int mouseEventY, final Chart2D chart) {
+        ITracePoint2D result = null;
+        List<ITracePoint2D> points = chart.getNearestPointsX(mouseEventX);
+        if (points.size() > 0) {
+          result = points.get(0);
+        }
+        return result;
+      }
+
+      /**
+       * Returns the point with the nearest x value of every trace, the nearest
+       * one first.
+       * <p>
+       * 
+       * @see info.monitorenter.gui.chart.Chart2D.PointFinder#getNearestPoints(int,
+       *      int, info.monitorenter.gui.chart.Chart2D)
+       */
+      @Override
+      public List<ITracePoint2D> getNearestPoints(final int mouseEventX, final int mouseEventY, final Chart2D chart) {
+        return chart.getNearestPointsX(mouseEventX);
+      }
     };
 
     /**
@@ -368,25 +1008,182 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     public ITracePoint2D getNearestPoint(final MouseEvent me, final Chart2D chart) {
       return this.getNearestPoint(me.getX(), me.getY(), chart);
     }
+
+    /**
+     * Returns the points to show for the given mouse position, the nearest
+     * one first.
+     * <p>
+     * By default this is only the point returned from
+     * <code>{@link #getNearestPoint(int, int, Chart2D)}</code> (if any).
+     * <p>
+     * 
+     * @param mouseEventX
+     *          the x pixel value relative to the chart.
+     * 
+     * @param mouseEventY
+     *          the y pixel value relative to the chart.
+     * 
+     * @param chart
+     *          to search points within.
+     * 
+     * @return the points to show for the given mouse position, the nearest
+     *         one first.
+     */
+    public List<ITracePoint2D> getNearestPoints(final int mouseEventX, final int mouseEventY, final Chart2D chart) {
+      ITracePoint2D point = this.getNearestPoint(mouseEventX, mouseEventY, chart);
+      List<ITracePoint2D> result;
+      if (point == null) {
+        result = Collections.emptyList();
+      } else {
+        result = Collections.singletonList(point);
+      }
+      return result;
+    }
   }
 
   /**
    * Tracks mouse motion events and highlights the nearest point in the trace.
    * <p>
+   * The nearest point is searched in a background thread so a search in large
+   * charts does not delay painting and input handling on the event dispatch
+   * thread. Only the latest mouse position counts: Searches for outdated
+   * positions are dropped before they start and their results are discarded.
+   * The highlighters are changed on the event dispatch thread.
+   * <p>
    */
   final class PointHighlighter extends MouseMotionAdapter implements MouseMotionListener, PropertyChangeListener, Serializable {
 
+    /**
+     * The thread searching the nearest point to the mouse position, null if
+     * not needed yet.
+     */
+    private transient ExecutorService m_executor;
+
     /** Needed to de-highlight previously highlighted points. */
     private Map<ITrace2D, ITracePoint2D> m_previousHighlighted;
 
     /**
-     * Default constructor, adds property change listener for point highlighters
-     * to the enclosing chart.
+     * Counter of mouse positions: A search result is only applied if no newer
+     * mouse position has been received in the meantime.
+     */
+    private volatile int m_request;
+
+    /** The pending search of the nearest point, null if none. */
+    private transient NearestPointsSearch m_search;
+
+    /**
+     * The search of the nearest points to a mouse position in the background
+     * that highlights the nearest point on the event dispatch thread when
+     * done.
+     * <p>
+     * Failures of the search are reported to <code>System.err</code> as there
+     * is nobody waiting for the result.
      * <p>
      */
-    public PointHighlighter() {
-      /*
-       * Need an identity hash map as the trace keys will change upon points
+    private final class NearestPointsSearch extends FutureTask<List<ITracePoint2D>> {
+
+      /** The x pixel value of the mouse position searched for. */
+      private final int m_mouseX;
+
+      /** The y pixel value of the mouse position searched for. */
+      private final int m_mouseY;
+
+      /** The point finder the search was started with. */
+      private final IPointFinder m_pointFinder;
+
+      /** The mouse position counter value this search was started for. */
+      private final int m_searchRequest;
+
+      /**
+       * Creates a search for the position of the given mouse event.
+       * <p>
+       * 
+       * @param e
+       *          the mouse event to search the nearest points for.
+       * 
+       * @param request
+       *          the mouse position counter value for the mouse event.
+       */
+      NearestPointsSearch(final MouseEvent e, final int request) {
+        super(new Callable<List<ITracePoint2D>>() {
+          public List<ITracePoint2D> call() {
+            if (request != PointHighlighter.this.m_request) {
+              return null;
+            }
+            // the layout of the chart does not change while searching:
+            synchronized (Chart2D.this) {
+              return Chart2D.this.searchNearestPoints(e);
+            }
+          }
+        });
+        this.m_mouseX = e.getX();
+        this.m_mouseY = e.getY();
+        this.m_pointFinder = Chart2D.this.getPointFinder();
+        this.m_searchRequest = request;
+      }
+
+      /**
+       * Highlights the nearest point found on the event dispatch thread if the
+       * mouse has not been moved in the meantime.
+       * <p>
+       * 
+       * @see java.util.concurrent.FutureTask#done()
+       */
+      @Override
+      protected void done() {
+        if (!this.isCancelled()) {
+          try {
+            List<ITracePoint2D> points = this.get();
+            // don't work on empty charts or outdated searches:
+            if (points != null && !points.isEmpty()) {
+              final ITracePoint2D point = points.get(0);
+              final int request = this.m_searchRequest;
+              SwingUtilities.invokeLater(new Runnable() {
+                public void run() {
+                  if (request == PointHighlighter.this.m_request && Chart2D.this.isEnabledPointHighlighting()) {
+                    PointHighlighter.this.highlight(point);
+                  }
+                }
+              });
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } catch (ExecutionException e) {
+            e.getCause().printStackTrace(System.err);
+          }
+        }
+      }
+
+      /**
+       * Returns true if this search is for the given point finder and mouse
+       * position.
+       * <p>
+       * 
+       * @param pointFinder
+       *          the point finder to search with.
+       * 
+       * @param mouseX
+       *          the x pixel value of the mouse position.
+       * 
+       * @param mouseY
+       *          the y pixel value of the mouse position.
+       * 
+       * @return true if this search is for the given point finder and mouse
+       *         position.
+       */
+      boolean isSearchFor(final IPointFinder pointFinder, final int mouseX, final int mouseY) {
+        return this.m_pointFinder == pointFinder && this.m_mouseX == mouseX && this.m_mouseY == mouseY;
+      }
+    }
+
+    /**
+     * Default constructor, adds property change listener for point highlighters
+     * to the enclosing chart.
+     * <p>
+     */
+    public PointHighlighter() {
+      /*
+       * Need an identity hash map as the trace keys will change upon points
        * added thus making them "unfindable" in a map based on hashcode!
        */
       this.m_previousHighlighted = new IdentityHashMap<ITrace2D, ITracePoint2D>();
@@ -454,23 +1251,19 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     }
 
     /**
-     * Attaches highlighters of the trace of the point next to the cursor and
-     * removes highlighters from the previous highlighted point.
+     * Attaches highlighters of the trace of the given point and removes
+     * highlighters from the previous highlighted point of that trace.
      * <p>
      * 
-     * TODO: Peek at getToolTipText invocations: Save operations in case the
-     * mouse has not moved much?
-     * 
-     * @see java.awt.event.MouseMotionAdapter#mouseMoved(java.awt.event.MouseEvent)
+     * @param point
+     *          the point next to the cursor.
      */
-    @Override
-    public void mouseMoved(MouseEvent e) {
-      ITracePoint2D point = Chart2D.this.getPointFinder().getNearestPoint(e, Chart2D.this);
-      // don't work on empty charts:
-      if (point != null) {
-        ITracePoint2D previousHighlightedPoint = this.m_previousHighlighted.get(point.getListener());
+    void highlight(final ITracePoint2D point) {
+      final ITrace2D trace = point.getListener();
+      // the trace may have been removed in the meantime:
+      if (trace != null && trace.getRenderer() == Chart2D.this) {
+        ITracePoint2D previousHighlightedPoint = this.m_previousHighlighted.get(trace);
         if (!point.equals(previousHighlightedPoint)) {
-          ITrace2D trace = point.getListener();
           // avoid duplicate or no highlighting in concurrent paint situation.
           synchronized (Chart2D.this) {
             synchronized (trace) {
@@ -485,6 +1278,68 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
       }
     }
 
+    /**
+     * Returns the pending search for the given point finder and mouse position
+     * or null if there is none.
+     * <p>
+     * 
+     * @param pointFinder
+     *          the point finder to search with.
+     * 
+     * @param mouseX
+     *          the x pixel value of the mouse position.
+     * 
+     * @param mouseY
+     *          the y pixel value of the mouse position.
+     * 
+     * @return the pending search for the given point finder and mouse position
+     *         or null.
+     */
+    synchronized Future<List<ITracePoint2D>> getSearch(final IPointFinder pointFinder, final int mouseX,
+        final int mouseY) {
+      Future<List<ITracePoint2D>> result = null;
+      if (this.m_search != null && this.m_search.isSearchFor(pointFinder, mouseX, mouseY)) {
+        result = this.m_search;
+      }
+      return result;
+    }
+
+    /**
+     * Searches the point next to the cursor in the background and highlights
+     * it on the event dispatch thread if the mouse has not been moved again in
+     * the meantime.
+     * <p>
+     * The search is shared with the tool tip (see
+     * <code>{@link Chart2D#getNearestPoints(MouseEvent)}</code>): It waits for
+     * the pending search of the same mouse position instead of searching
+     * again.
+     * <p>
+     * 
+     * @see java.awt.event.MouseMotionAdapter#mouseMoved(java.awt.event.MouseEvent)
+     */
+    @Override
+    public void mouseMoved(final MouseEvent e) {
+      final int request;
+      synchronized (this) {
+        request = ++this.m_request;
+        if (this.m_search != null) {
+          // latest wins: don't search for outdated positions
+          this.m_search.cancel(false);
+        }
+        if (this.m_executor == null) {
+          this.m_executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            public Thread newThread(final Runnable r) {
+              final Thread thread = new Thread(r, "Chart2D point highlighting");
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+        }
+        this.m_search = new NearestPointsSearch(e, request);
+        this.m_executor.execute(this.m_search);
+      }
+    }
+
     /**
      * This is needed in case the point Highlighters of a trace (
      * <code>{@link ITrace2D#setPointHighlighter(IPointPainter)}</code>,
@@ -591,6 +1446,7 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
               }
             }
             Chart2D.this.removeMouseMotionListener(this);
+            this.release();
             Chart2D.this.firePropertyChange(PROPERTY_POINT_HIGHLIGHTING_ENABLED, Boolean.TRUE, Boolean.FALSE);
             this.m_previousHighlighted.clear();
             Chart2D.this.setRequestedRepaint(true);
@@ -610,6 +1466,22 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
       }
       return result;
     }
+
+    /**
+     * Discards pending searches and stops the search thread.
+     * <p>
+     */
+    void release() {
+      synchronized (this) {
+        // outdates results that are already being applied:
+        this.m_request++;
+        if (this.m_executor != null) {
+          this.m_executor.shutdownNow();
+          this.m_executor = null;
+        }
+        this.m_search = null;
+      }
+    }
   }
 
   /**
@@ -707,9 +1579,21 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
       @Override
       public String getToolTipText(final Chart2D chart, final MouseEvent me) {
         String result = null;
-        ITracePoint2D point = chart.getPointFinder().getNearestPoint(me, chart);
-        if (point != null) {
-          result = point.getTooltipText();
+        // all points for point finders that find more than one:
+        List<ITracePoint2D> points = chart.getNearestPoints(me);
+        if (points.size() == 1) {
+          result = points.get(0).getTooltipText();
+        } else if (points.size() > 1) {
+          StringBuilder buffer = new StringBuilder();
+          for (ITracePoint2D point : points) {
+            if (buffer.length() > 0) {
+              buffer.append("\n");
+            }
+            buffer.append(point.getListener().getName()).append("\n").append(point.getTooltipText());
+          }
+          result = buffer.toString();
+        }
+        if (result != null) {
           chart.setRequestedRepaint(true);
         }
         return result;
@@ -827,6 +1711,16 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    */
   public static final String PROPERTY_BEFORE_VISIBLE = "Chart2D.PROPERTY_BEFORE_VISIBLE";
 
+  /**
+   * The bean property <code>constant</code> identifying a change of the
+   * adaptive quality policy.
+   * <p>
+   * Use this constant to register a {@link java.beans.PropertyChangeListener}
+   * with the <code>Chart2D</code>.
+   * <p>
+   */
+  public static final String PROPERTY_ADAPTIVE_QUALITY_POLICY = "Chart2D.PROPERTY_ADAPTIVE_QUALITY_POLICY";
+
   /**
    * The bean property <code>constant</code> identifying a change of the
    * antialiasing enabled state.
@@ -837,6 +1731,141 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    */
   public static final String PROPERTY_ANTIALIASING_ENABLED = "Chart2D.PROPERTY_ANTIALIASING_ENABLED";
 
+  /**
+   * The bean property <code>constant</code> identifying a change of the
+   * background layer caching enabled state.
+   * <p>
+   * Use this constant to register a {@link java.beans.PropertyChangeListener}
+   * with the <code>Chart2D</code>.
+   * <p>
+   * 
+   * @see #setBackgroundLayerCaching(boolean)
+   */
+  public static final String PROPERTY_BACKGROUND_LAYER_CACHING = "Chart2D.PROPERTY_BACKGROUND_LAYER_CACHING";
+
+  /**
+   * The bean property <code>constant</code> identifying a change of the strip
+   * chart mode.
+   * <p>
+   * Use this constant to register a {@link java.beans.PropertyChangeListener}
+   * with the <code>Chart2D</code>.
+   * <p>
+   * 
+   * @see #setStripChart(boolean)
+   */
+  public static final String PROPERTY_STRIP_CHART = "Chart2D.PROPERTY_STRIP_CHART";
+
+  /**
+   * The bean property <code>constant</code> identifying a change of the amount
+   * of points rendered for the preview of progressive rendering.
+   * <p>
+   * Use this constant to register a {@link java.beans.PropertyChangeListener}
+   * with the <code>Chart2D</code>.
+   * <p>
+   * 
+   * @see #setProgressiveRenderingPoints(int)
+   */
+  public static final String PROPERTY_PROGRESSIVE_RENDERING_POINTS = "Chart2D.PROPERTY_PROGRESSIVE_RENDERING_POINTS";
+
+  /**
+   * The bean property <code>constant</code> identifying a change of the amount
+   * of threads rendering a trace.
+   * <p>
+   * Use this constant to register a {@link java.beans.PropertyChangeListener}
+   * with the <code>Chart2D</code>.
+   * <p>
+   * 
+   * @see #setParallelRenderingThreads(int)
+   */
+  public static final String PROPERTY_PARALLEL_RENDERING_THREADS = "Chart2D.PROPERTY_PARALLEL_RENDERING_THREADS";
+
+  /**
+   * The minimum amount of points of a trace rendered by one thread in parallel
+   * rendering: Smaller ranges do not outweigh the cost of compositing an image.
+   * <p>
+   * 
+   * @see #setParallelRenderingThreads(int)
+   */
+  private static final int PARALLEL_RENDERING_MIN_POINTS = 10000;
+
+  /**
+   * The bean property <code>constant</code> identifying a change of the trace
+   * layer caching enabled state.
+   * <p>
+   * Use this constant to register a {@link java.beans.PropertyChangeListener}
+   * with the <code>Chart2D</code>.
+   * <p>
+   * 
+   * @see #setTraceLayerCaching(boolean)
+   */
+  public static final String PROPERTY_TRACE_LAYER_CACHING = "Chart2D.PROPERTY_TRACE_LAYER_CACHING";
+
+  /**
+   * The property change events of a trace that invalidate its cached layer.
+   * <p>
+   * 
+   * @see #setTraceLayerCaching(boolean)
+   */
+  private static final String[] TRACE_LAYER_EVENTS = new String[] {ITrace2D.PROPERTY_TRACEPOINTS, ITrace2D.PROPERTY_TRACEPOINT_CHANGED_LOCATION,
+      ITrace2D.PROPERTY_TRACEPOINT_CHANGED_RENDERING, ITrace2D.PROPERTY_TRACEPOINT_CHANGED_HIGHLIGHTERS, ITrace2D.PROPERTY_MAX_X,
+      ITrace2D.PROPERTY_MIN_X, ITrace2D.PROPERTY_MAX_Y, ITrace2D.PROPERTY_MIN_Y, ITrace2D.PROPERTY_COLOR, ITrace2D.PROPERTY_STROKE,
+      ITrace2D.PROPERTY_PAINTERS, ITrace2D.PROPERTY_ERRORBARPOLICY, ITrace2D.PROPERTY_ERRORBARPOLICY_CONFIGURATION, ITrace2D.PROPERTY_VISIBLE,
+      ITrace2DDataAccumulating.PROPERTY_ACCUMULATION_STRATEGY, ITrace2DDataAccumulating.PROPERTY_ACCUMULATION_STRATEGY_ACCUMULATION_FUNCTION_CHANGED };
+
+  /**
+   * The rendering hints used for painting traces with antialiasing.
+   * <p>
+   * Shared to avoid creating them in every paint operation: They are only read
+   * (copied into the graphics context) and never exposed.
+   * <p>
+   * 
+   * @see #setUseAntialiasing(boolean)
+   */
+  private static final RenderingHints RENDERING_HINTS_ANTIALIASING = new RenderingHints(RenderingHints.KEY_ANTIALIASING,
+      RenderingHints.VALUE_ANTIALIAS_ON);
+
+  static {
+    RENDERING_HINTS_ANTIALIASING.put(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+    RENDERING_HINTS_ANTIALIASING.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+    RENDERING_HINTS_ANTIALIASING.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    RENDERING_HINTS_ANTIALIASING.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    RENDERING_HINTS_ANTIALIASING.put(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+  }
+
+  /**
+   * The rendering hints applied for frames rendered in fast quality. Shared
+   * like <code>{@link #RENDERING_HINTS_ANTIALIASING}</code>.
+   * <p>
+   * 
+   * @see #setAdaptiveQualityPolicy(AdaptiveQualityPolicy)
+   */
+  private static final RenderingHints RENDERING_HINTS_FAST = new RenderingHints(RenderingHints.KEY_ANTIALIASING,
+      RenderingHints.VALUE_ANTIALIAS_OFF);
+
+  static {
+    RENDERING_HINTS_FAST.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+    RENDERING_HINTS_FAST.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+  }
+
+  /**
+   * The stroke used for traces with wide or dashed strokes in frames rendered
+   * in fast quality.
+   * <p>
+   * 
+   * @see #setAdaptiveQualityPolicy(AdaptiveQualityPolicy)
+   */
+  private static final Stroke STROKE_FAST = new BasicStroke();
+
+  /**
+   * The amount of pixels left of the last painted point of a trace that is
+   * painted again in strip chart mode to complete point painters that extend
+   * beyond the point (e.g. discs).
+   * <p>
+   * 
+   * @see #setStripChart(boolean)
+   */
+  private static final int STRIP_CHART_MARGIN = 16;
+
   /**
    * The bean property <code>constant</code> identifying a change of the
    * internal <code>{@link IAxis}</code> instance for the x dimension.
@@ -1037,6 +2066,15 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
   /** Constant describing the y axis (needed for scaling). */
   public static final int Y = 2;
 
+  /**
+   * The policy that decides about rendering in fast quality under load, null
+   * if the chart always renders in full quality.
+   * <p>
+   * 
+   * @see #setAdaptiveQualityPolicy(AdaptiveQualityPolicy)
+   */
+  private AdaptiveQualityPolicy m_adaptiveQualityPolicy;
+
   /**
    * The bottom x axes of the chart.
    * <p>
@@ -1074,113 +2112,396 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
   /** The internal label painter for this chart. */
   private IAxisTickPainter m_axisTickPainter;
 
-  /** The grid color. */
-  private Color m_gridcolor = Color.lightGray;
-
-  /** The major grid stroke. */
-  private Stroke m_majorGridstroke = null;
-
-  /** The minor grid stroke. */
-  private Stroke m_minorGridstroke = null;
-
   /**
-   * Chart - wide setting for the ms to give a repaint operation time for
-   * collecting several repaint requests into one (performance versus update
-   * speed).
+   * The cached rendering of trace labels and the coordinate system (axes,
+   * ticks, grid) or null if not created yet.
    * <p>
+   * 
+   * @see #setBackgroundLayerCaching(boolean)
    */
-  protected int m_minPaintLatency = 50;
+  private transient LayerCache m_backgroundLayer;
 
   /**
-   * When not null this format will be used within paint: then we deal with a
-   * printing request.
+   * Flag that decides whether trace labels and the coordinate system are
+   * rendered to a cached image that is reused as long as layout relevant
+   * properties stay unchanged.
    */
-  private transient PageFormat m_pageFormat;
+  private boolean m_backgroundLayerCaching = false;
 
   /**
-   * Flag that decides whether labels for traces are painted below the chart.
+   * The segment between two points in scaled coordinates that is clipped to
+   * the visible area while painting a trace.
+   * <p>
+   * Reused for every segment to avoid creating garbage, access is guarded by
+   * the lock on this chart that is held while painting.
+   * <p>
+   *
+   * @see TracePoint2DUtil#clipToVisible(double[])
    */
-  private boolean m_paintLabels = true;
+  private final double[] m_clipSegment = new double[4];
+
+  /** The grid color. */
+  private Color m_gridcolor = Color.lightGray;
 
   /**
-   * The point finder used to find the nearest point corresponding to a mouse
-   * event.
+   * Flag that decides whether the traces are rendered to an image that is
+   * scrolled in case only the range of the x axis was shifted.
    */
-  private IPointFinder m_pointFinder = PointFinder.EUCLID;
+  private boolean m_stripChart = false;
 
   /**
-   * Used to track mouse motion events and highlight the nearest trace point
-   * according to the point highlighters in the corresponding trace (
-   * <code>{@link ITrace2D#getPointHighlighters()}</code>).
-   * <p>
-   * Also removes highlighters (potentially if they are exclusive) from the
-   * previous highlighted point.
-   * <p>
+   * The extent of the x axis the strip chart layer was rendered for.
    */
-  private final PointHighlighter m_pointHighlighter = new PointHighlighter();
+  private double m_stripChartExtent;
 
   /**
-   * The list of point highlight listeners.
-   * <p>
-   * These will get informed about highlighted points.
-   * <p>
+   * The x pixel coordinates of the last point of the traces in the strip chart
+   * layer, held in arrays to allow updates without creating garbage.
    */
-  private List<IPointHighlightListener> m_pointHighlightListeners = null;
+  private transient Map<ITrace2D, int[]> m_stripChartLastX;
 
   /**
-   * Internal timer for repaint control with guarantee that the interval between
-   * two frames will not be lower than <code>{@link Chart2D#m_minPaintLatency}
-   * </code> ms.
+   * The rendered traces for the strip chart mode or null if not created yet.
    * <p>
+   * 
+   * @see #setStripChart(boolean)
    */
-  private Timer m_repainter;
+  private transient LayerCache m_stripChartLayer;
 
   /**
-   * Internal flag that stores a request for a repaint that guarantees that two
-   * invocations of <code></code> will always have at least have an interval of
-   * <code>{@link Chart2D#m_minPaintLatency}</code> ms.
-   * <p>
-   * Access to it has to be synchronized!
+   * The value of the x axis the start of the chart area of the strip chart
+   * layer corresponds to.
    */
-  private boolean m_requestedRepaint;
+  private double m_stripChartOrigin;
 
   /**
-   * Flag to remember whether this chart has synchronized it's x start
-   * coordinates with another chart.
+   * Flag that decides whether every trace is rendered to a cached image that
+   * is reused as long as the trace and the axes stay unchanged.
    */
-  private boolean m_synchronizedXStart = false;
-
-  /** A chart this chart will synchronize it's start coordinates in x dimension. */
-  private Chart2D m_synchronizedXStartChart;
-
-  /** Flag for showing coordinates as tool tips. */
-  private IToolTipType m_toolTip = ToolTipType.NONE;
+  private boolean m_traceLayerCaching = false;
 
   /**
-   * Internal counter for all point highlighters of all traces to allow
-   * automatic enablement/disablement of highlighting (performance).
+   * The cached renderings of the traces or null if trace layer caching is
+   * disabled.
+   * <p>
+   * 
+   * @see #setTraceLayerCaching(boolean)
    */
-  private int m_traceHighlighterCount = 0;
+  private transient Map<ITrace2D, LayerCache> m_traceLayers;
 
   /**
-   * Boolean flag to turn on antialiasing.
+   * The amount of points rendered for the preview of progressive rendering, 0
+   * if progressive rendering is disabled.
+   * <p>
+   * 
+   * @see #setProgressiveRenderingPoints(int)
    */
-  private boolean m_useAntialiasing = false;
+  private int m_progressiveRenderingPoints = 0;
 
   /**
-   * The end x pixel coordinate of the chart.
+   * The duration in ms a pass of progressive rendering renders points.
+   * <p>
+   * 
+   * @see #setProgressiveRenderingMillis(int)
    */
-  private int m_xChartEnd;
+  private int m_progressiveRenderingMillis = 20;
 
   /**
-   * The start x coordinate of the chart.
+   * The amount of threads rendering a trace, 1 if parallel rendering is
+   * disabled.
+   * <p>
+   * 
+   * @see #setParallelRenderingThreads(int)
    */
-  private int m_xChartStart;
+  private int m_parallelRenderingThreads = 1;
 
   /**
-   * The y coordinate of the upper edge of the chart's display area in px.
+   * The worker threads of parallel rendering (the paint thread renders a tile
+   * itself), null if not needed yet.
    * <p>
-   * The px coordinates in awt / swing start from top and increase towards the
+   * 
+   * @see #setParallelRenderingThreads(int)
+   */
+  private transient ExecutorService m_parallelRenderingExecutor;
+
+  /**
+   * The tiles of parallel rendering reused for all traces, null if not needed
+   * yet.
+   * <p>
+   * 
+   * @see #setParallelRenderingThreads(int)
+   */
+  private transient TraceTile[] m_traceTiles;
+
+  /**
+   * The results of the tiles rendered by the worker threads in the current
+   * parallel rendering.
+   * <p>
+   */
+  private transient Future< ? >[] m_traceTileResults;
+
+  /**
+   * Buffer for the points of the trace rendered in parallel, reused for
+   * subsequent paint operations.
+   * <p>
+   * It is released after a paint operation that used less than half of it
+   * (see <code>{@link #m_traceTilePointsUsed}</code>), e.g. after the largest
+   * trace has been removed or has shrunk.
+   * <p>
+   */
+  private transient ITracePoint2D[] m_traceTilePoints;
+
+  /**
+   * The amount of points of the largest trace rendered in parallel in the
+   * current paint operation.
+   * <p>
+   * Access is guarded by the lock on this chart that is held while painting.
+   * <p>
+   */
+  private transient int m_traceTilePointsUsed;
+
+  /**
+   * The progressive renderings of the traces that are not completed yet, null
+   * if none has been started.
+   * <p>
+   * 
+   * @see #setProgressiveRenderingPoints(int)
+   */
+  private transient Map<ITrace2D, TraceRefinement> m_traceRefinements;
+
+  /**
+   * Counter of modifications of the set of traces (added or removed traces or
+   * x axes, changed z-indices) that outdate the snapshot returned by
+   * <code>{@link #getTracesSnapshot()}</code>.
+   */
+  private volatile int m_tracesModCount;
+
+  /**
+   * The snapshot of traces returned by
+   * <code>{@link #getTracesSnapshot()}</code> or null if not collected yet.
+   */
+  private transient volatile TracesSnapshot m_tracesSnapshot;
+
+  /**
+   * The last query for the nearest points to a mouse position or null.
+   * <p>
+   * 
+   * @see #getNearestPoints(MouseEvent)
+   */
+  private transient volatile NearestPointsQuery m_nearestPointsQuery;
+
+  /**
+   * Counter of paint iterations that outdate the last query for the nearest
+   * points to a mouse position.
+   * <p>
+   * 
+   * @see #getNearestPoints(MouseEvent)
+   */
+  private volatile int m_paintCount;
+
+  /**
+   * Counter of property changes of the chart that outdate all cached trace
+   * layers.
+   * <p>
+   * It is part of the trace layer keys as property changes may be fired on
+   * any thread, unsynchronized to the paint operation.
+   */
+  private volatile int m_traceLayersModCount;
+
+  /** The major grid stroke. */
+  private Stroke m_majorGridstroke = null;
+
+  /** The minor grid stroke. */
+  private Stroke m_minorGridstroke = null;
+
+  /**
+   * Chart - wide setting for the ms to give a repaint operation time for
+   * collecting several repaint requests into one (performance versus update
+   * speed).
+   * <p>
+   */
+  protected int m_minPaintLatency = 50;
+
+  /**
+   * When not null this format will be used within paint: then we deal with a
+   * printing request.
+   */
+  private transient PageFormat m_pageFormat;
+
+  /**
+   * The height of the image the chart is rendered to by
+   * <code>{@link #render(Graphics2D, int, int)}</code> or -1 if not rendering.
+   */
+  private int m_renderHeight = -1;
+
+  /**
+   * The width of the image the chart is rendered to by
+   * <code>{@link #render(Graphics2D, int, int)}</code> or -1 if not rendering.
+   */
+  private int m_renderWidth = -1;
+
+  /**
+   * The error bar policies of the trace that is currently painted, collected
+   * once per trace to avoid creating iterators for every point.
+   * <p>
+   * Access is guarded by the lock on this chart that is held while painting.
+   * <p>
+   * 
+   * @see #collectPaintDelegates(ITrace2D, boolean)
+   */
+  private IErrorBarPolicy< ? >[] m_paintErrorBarPolicies = new IErrorBarPolicy< ? >[2];
+
+  /** The amount of valid entries in {@link #m_paintErrorBarPolicies}. */
+  private int m_paintErrorBarPoliciesCount;
+
+  /**
+   * Flag that decides whether labels for traces are painted below the chart.
+   */
+  private boolean m_paintLabels = true;
+
+  /**
+   * The trace painters of the trace that is currently painted, collected once
+   * per trace to avoid creating iterators for every point.
+   * <p>
+   * Access is guarded by the lock on this chart that is held while painting.
+   * <p>
+   * 
+   * @see #collectPaintDelegates(ITrace2D, boolean)
+   */
+  private ITracePainter< ? >[] m_paintTracePainters = new ITracePainter< ? >[2];
+
+  /** The amount of valid entries in {@link #m_paintTracePainters}. */
+  private int m_paintTracePaintersCount;
+
+  /**
+   * The progressive rendering a pass is painted for by
+   * <code>{@link #paintTrace(ITrace2D, Graphics, int, int, int)}</code> or
+   * null if the trace is painted at once.
+   * <p>
+   * Access is guarded by the lock on this chart that is held while painting.
+   * <p>
+   */
+  private TraceRefinement m_paintRefinement;
+
+  /**
+   * Only every point with an index that is a multiple of this stride (besides
+   * the last point and discontinuations) is painted by
+   * <code>{@link #paintTrace(ITrace2D, Graphics, int, int, int)}</code>.
+   * <p>
+   * Access is guarded by the lock on this chart that is held while painting.
+   * <p>
+   */
+  private int m_paintPointStride = 1;
+
+  /**
+   * The amount of points rendered in the current paint operation, reported to
+   * the <code>{@link AdaptiveQualityPolicy}</code>.
+   * <p>
+   * Access is guarded by the lock on this chart that is held while painting.
+   * <p>
+   */
+  private int m_paintedPoints;
+
+  /**
+   * The amount of visible traces that were culled in the current paint
+   * operation.
+   * <p>
+   * Access is guarded by the lock on this chart that is held while painting.
+   * <p>
+   * 
+   * @see #getCulledTraces()
+   */
+  private int m_culledTraces;
+
+  /**
+   * Flag that is true if the current paint operation renders in fast quality.
+   * <p>
+   * Access is guarded by the lock on this chart that is held while painting.
+   * <p>
+   * 
+   * @see #setAdaptiveQualityPolicy(AdaptiveQualityPolicy)
+   */
+  private boolean m_paintFast;
+
+  /**
+   * The point finder used to find the nearest point corresponding to a mouse
+   * event.
+   */
+  private IPointFinder m_pointFinder = PointFinder.EUCLID;
+
+  /**
+   * Used to track mouse motion events and highlight the nearest trace point
+   * according to the point highlighters in the corresponding trace (
+   * <code>{@link ITrace2D#getPointHighlighters()}</code>).
+   * <p>
+   * Also removes highlighters (potentially if they are exclusive) from the
+   * previous highlighted point.
+   * <p>
+   */
+  private final PointHighlighter m_pointHighlighter = new PointHighlighter();
+
+  /**
+   * The list of point highlight listeners.
+   * <p>
+   * These will get informed about highlighted points.
+   * <p>
+   */
+  private List<IPointHighlightListener> m_pointHighlightListeners = null;
+
+  /**
+   * Internal timer for repaint control with guarantee that the interval between
+   * two frames will not be lower than <code>{@link Chart2D#m_minPaintLatency}
+   * </code> ms.
+   * <p>
+   */
+  private Timer m_repainter;
+
+  /**
+   * Internal flag that stores a request for a repaint that guarantees that two
+   * invocations of <code></code> will always have at least have an interval of
+   * <code>{@link Chart2D#m_minPaintLatency}</code> ms.
+   * <p>
+   * Access to it has to be synchronized!
+   */
+  private boolean m_requestedRepaint;
+
+  /**
+   * Flag to remember whether this chart has synchronized it's x start
+   * coordinates with another chart.
+   */
+  private boolean m_synchronizedXStart = false;
+
+  /** A chart this chart will synchronize it's start coordinates in x dimension. */
+  private Chart2D m_synchronizedXStartChart;
+
+  /** Flag for showing coordinates as tool tips. */
+  private IToolTipType m_toolTip = ToolTipType.NONE;
+
+  /**
+   * Internal counter for all point highlighters of all traces to allow
+   * automatic enablement/disablement of highlighting (performance).
+   */
+  private int m_traceHighlighterCount = 0;
+
+  /**
+   * Boolean flag to turn on antialiasing.
+   */
+  private boolean m_useAntialiasing = false;
+
+  /**
+   * The end x pixel coordinate of the chart.
+   */
+  private int m_xChartEnd;
+
+  /**
+   * The start x coordinate of the chart.
+   */
+  private int m_xChartStart;
+
+  /**
+   * The y coordinate of the upper edge of the chart's display area in px.
+   * <p>
+   * The px coordinates in awt / swing start from top and increase towards the
    * bottom.
    * <p>
    */
@@ -1239,6 +2560,12 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
        */
       public void actionPerformed(final ActionEvent e) {
         synchronized (Chart2D.this) {
+          final AdaptiveQualityPolicy policy = Chart2D.this.m_adaptiveQualityPolicy;
+          if (policy != null && policy.isRestoreDue()) {
+            // idle after fast frames: render once more in full quality:
+            policy.restore();
+            Chart2D.this.setRequestedRepaint(true);
+          }
           if (Chart2D.this.isRequestedRepaint()) {
             if (Chart2D.DEBUG_THREADING) {
               System.out.println(Thread.currentThread().getName() + " triggering repaint()");
@@ -1499,7 +2826,7 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    */
   private int calculateXChartEnd(final Graphics g) {
     int result;
-    result = (int) this.getSize().getWidth();
+    result = this.getPaintWidth();
     Graphics2D g2d = (Graphics2D) g;
 
     IAxis< ? > currentAxis;
@@ -1515,7 +2842,7 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
         }
         currentAxis.setPixelXLeft(result);
       }
-      if (result == this.getSize().getWidth()) {
+      if (result == this.getPaintWidth()) {
         // ensure a minimum offset for when no axes are present
         result -= 20;
       }
@@ -1670,7 +2997,7 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
   private int calculateYChartStart(final Graphics2D g2d, final int labelHeight) {
     int result;
     int axisLineWidth = 1;
-    result = (int) this.getSize().getHeight();
+    result = this.getPaintHeight();
     result = result - labelHeight-axisLineWidth;
     IAxis< ? > currentAxis;
     Iterator<IAxis< ? >> it = this.m_axesXBottom.iterator();
@@ -1682,7 +3009,7 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
       }
       currentAxis.setPixelYTop(result);
     }
-    if (result == this.getSize().getHeight()) {
+    if (result == this.getPaintHeight()) {
       // ensure minimum offset when no axis are visible
       result -= 20;
     }
@@ -1690,6 +3017,59 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
 
   }
 
+  /**
+   * Clips the connection of the given points to the visible area and stores
+   * the scaled coordinates of the clipped segment in
+   * <code>{@link #m_clipSegment}</code>.
+   * <p>
+   * 
+   * This replaces the interpolation of points that leave or enter the visible
+   * area by synthetic trace points and does not create any garbage.
+   * <p>
+   * 
+   * @param oldpoint
+   *          the previous point.
+   * 
+   * @param newpoint
+   *          the point following on oldpoint.
+   * 
+   * @return true if a part of the connection of both points is visible.
+   * 
+   * @see TracePoint2DUtil#clipToVisible(double[])
+   */
+  private boolean clipSegment(final ITracePoint2D oldpoint, final ITracePoint2D newpoint) {
+    this.m_clipSegment[0] = oldpoint.getScaledX();
+    this.m_clipSegment[1] = oldpoint.getScaledY();
+    this.m_clipSegment[2] = newpoint.getScaledX();
+    this.m_clipSegment[3] = newpoint.getScaledY();
+    return TracePoint2DUtil.clipToVisible(this.m_clipSegment);
+  }
+
+  /**
+   * Returns the given stroke if it is cheap to render (solid and not wider than
+   * one pixel) or a thin solid stroke else.
+   * <p>
+   * Used for traces in paint operations in fast quality.
+   * <p>
+   * 
+   * @param stroke
+   *          the stroke of a trace.
+   * 
+   * @return the given stroke if it is cheap to render or a thin solid stroke.
+   * 
+   * @see #setAdaptiveQualityPolicy(AdaptiveQualityPolicy)
+   */
+  private static Stroke simplifyStroke(final Stroke stroke) {
+    Stroke result = STROKE_FAST;
+    if (stroke instanceof BasicStroke) {
+      final BasicStroke basicStroke = (BasicStroke) stroke;
+      if (basicStroke.getLineWidth() <= 1f && basicStroke.getDashArray() == null) {
+        result = stroke;
+      }
+    }
+    return result;
+  }
+
   /**
    * @see javax.swing.JComponent#createToolTip()
    */
@@ -1732,6 +3112,8 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
 
       // terminate the timer
       this.m_repainter.stop();
+      this.releaseParallelRendering();
+      this.m_pointHighlighter.release();
 
     }
   }
@@ -1776,6 +3158,44 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     return result;
   }
 
+  /**
+   * Collects the trace painters and - if required - the error bar policies of
+   * the given trace into reused arrays for the paint iteration of the trace.
+   * <p>
+   * This avoids creating iterators over the delegates for every painted point.
+   * The collected delegates are released by
+   * <code>{@link #releasePaintDelegates()}</code>.
+   * <p>
+   * 
+   * @param trace
+   *          the trace to paint.
+   * 
+   * @param hasErrorBars
+   *          if false no error bar policies are collected.
+   */
+  private void collectPaintDelegates(final ITrace2D trace, final boolean hasErrorBars) {
+    Set<ITracePainter< ? >> tracePainters = trace.getTracePainters();
+    if (this.m_paintTracePainters.length < tracePainters.size()) {
+      this.m_paintTracePainters = new ITracePainter< ? >[tracePainters.size()];
+    }
+    int count = 0;
+    for (ITracePainter< ? > tracePainter : tracePainters) {
+      this.m_paintTracePainters[count++] = tracePainter;
+    }
+    this.m_paintTracePaintersCount = count;
+    count = 0;
+    if (hasErrorBars) {
+      Set<IErrorBarPolicy< ? >> errorBarPolicies = trace.getErrorBarPolicies();
+      if (this.m_paintErrorBarPolicies.length < errorBarPolicies.size()) {
+        this.m_paintErrorBarPolicies = new IErrorBarPolicy< ? >[errorBarPolicies.size()];
+      }
+      for (IErrorBarPolicy< ? > errorBarPolicy : errorBarPolicies) {
+        this.m_paintErrorBarPolicies[count++] = errorBarPolicy;
+      }
+    }
+    this.m_paintErrorBarPoliciesCount = count;
+  }
+
   /**
    * Ensures that the axis to add is not in duty in any axis function for this
    * chart.
@@ -1866,6 +3286,20 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     return result;
   }
 
+  /**
+   * Returns the policy that decides about rendering in fast quality under load
+   * or null if the chart always renders in full quality.
+   * <p>
+   * 
+   * @return the policy that decides about rendering in fast quality under load
+   *         or null.
+   * 
+   * @see #setAdaptiveQualityPolicy(AdaptiveQualityPolicy)
+   */
+  public final AdaptiveQualityPolicy getAdaptiveQualityPolicy() {
+    return this.m_adaptiveQualityPolicy;
+  }
+
   /**
    * Returns the <code>{@link List}&lt;{@link IAxis}&gt;</code> with all axes of
    * the chart.
@@ -2126,6 +3560,23 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     return result;
   }
 
+  /**
+   * Returns the amount of visible traces that were culled in the last paint
+   * operation.
+   * <p>
+   * A trace is culled if all of its points are beyond the range of its x axis
+   * or of its y axis (see <code>{@link IAxis#isOutOfRange(ITrace2D)}</code>),
+   * e.g. after zooming in on another trace: Its points are neither scaled nor
+   * painted nor searched for the nearest point.
+   * <p>
+   * 
+   * @return the amount of visible traces that were culled in the last paint
+   *         operation.
+   */
+  public synchronized int getCulledTraces() {
+    return this.m_culledTraces;
+  }
+
   /**
    * Returns the chart - wide setting for the ms to give a repaint operation
    * time for collecting several repaint requests into one (performance vs.
@@ -2166,8 +3617,7 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    * @return the nearest <code>{@link ITracePoint2D}</code> to the given mouse
    *         event's screen coordinates.
    * 
-   * @TODO: This is called twice per mouse move (tool tip and highlighter):
-   *        Cache value throughout a paint iteration (delete at end)
+   * @see #getNearestPoints(MouseEvent)
    */
   public ITracePoint2D getNearestPointEuclid(final int mouseEventX, final int mouseEventY) {
     ITracePoint2D result = null;
@@ -2185,20 +3635,19 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
       scaledY = 1.0 - ((double) mouseEventY - this.getYChartEnd()) / rangeY;
     }
 
-    /*
-     * TODO: Maybe cache this call because it searches all axes and evicts
-     * duplicates of their assigned traces (subject to profiling).
-     */
-    Set<ITrace2D> traces = this.getTraces();
+    Set<ITrace2D> traces = this.getTracesSnapshot();
     DistancePoint distanceBean;
     DistancePoint winner = null;
     for (ITrace2D trace : traces) {
-      distanceBean = trace.getNearestPointEuclid(scaledX, scaledY);
-      if (winner == null) {
-        winner = distanceBean;
-      } else {
-        if (distanceBean.getDistance() < winner.getDistance()) {
+      // the points of culled traces are not scaled:
+      if (!this.isCulled(trace)) {
+        distanceBean = trace.getNearestPointEuclid(scaledX, scaledY);
+        if (winner == null) {
           winner = distanceBean;
+        } else {
+          if (distanceBean.getDistance() < winner.getDistance()) {
+            winner = distanceBean;
+          }
         }
       }
     }
@@ -2262,8 +3711,7 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    * @return the nearest <code>{@link ITracePoint2D}</code> to the given mouse
    *         event's screen coordinates.
    * 
-   * @TODO: This is called twice per mouse move (tool tip and highlighter):
-   *        Cache value throughout a paint iteration (delete at end)
+   * @see #getNearestPoints(MouseEvent)
    */
   public ITracePoint2D getNearestPointManhattan(final int mouseEventX, final int mouseEventY) {
     ITracePoint2D result = null;
@@ -2281,20 +3729,19 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
       scaledY = 1.0 - ((double) mouseEventY - this.getYChartEnd()) / rangeY;
     }
 
-    /*
-     * TODO: Maybe cache this call because it searches all axes and evicts
-     * duplicates of their assigned traces (subject to profiling).
-     */
-    Set<ITrace2D> traces = this.getTraces();
+    Set<ITrace2D> traces = this.getTracesSnapshot();
     DistancePoint distanceBean;
     DistancePoint winner = null;
     for (ITrace2D trace : traces) {
-      distanceBean = trace.getNearestPointManhattan(scaledX, scaledY);
-      if (winner == null) {
-        winner = distanceBean;
-      } else {
-        if (distanceBean.getDistance() < winner.getDistance()) {
+      // the points of culled traces are not scaled:
+      if (!this.isCulled(trace)) {
+        distanceBean = trace.getNearestPointManhattan(scaledX, scaledY);
+        if (winner == null) {
           winner = distanceBean;
+        } else {
+          if (distanceBean.getDistance() < winner.getDistance()) {
+            winner = distanceBean;
+          }
         }
       }
     }
@@ -2332,6 +3779,178 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     return this.getNearestPointManhattan(me.getX(), me.getY());
   }
 
+  /**
+   * Returns the points found by the point finder of this chart for the given
+   * mouse event, the nearest one first.
+   * <p>
+   * This is the search shared by the tool tip
+   * (<code>{@link ToolTipType#VALUE_SNAP_TO_TRACEPOINTS}</code>), the point
+   * highlighting and <code>{@link #translateMousePosition(MouseEvent)}</code>:
+   * The result of the last search is returned again as long as the mouse
+   * position, the point finder, the traces and their points have not changed
+   * and the chart has not been painted since (see
+   * <code>{@link ITrace2D#getModificationCount()}</code>). So every mouse move
+   * costs at most one search: If the point highlighting is still searching
+   * the same mouse position in the background its result is awaited.
+   * <p>
+   * The search holds the lock on this chart, so the layout of the chart does
+   * not change while searching.
+   * <p>
+   * For instances of <code>{@link PointFinder}</code> the result is the one of
+   * <code>{@link PointFinder#getNearestPoints(int, int, Chart2D)}</code>,
+   * other point finders contribute their nearest point only.
+   * <p>
+   * 
+   * @param me
+   *          a mouse event fired on this component.
+   * 
+   * @return the unmodifiable list of points found for the given mouse event,
+   *         the nearest one first.
+   */
+  public List<ITracePoint2D> getNearestPoints(final MouseEvent me) {
+    // the background search may need the lock on this chart:
+    if (!Thread.holdsLock(this)) {
+      Future<List<ITracePoint2D>> search = this.m_pointHighlighter.getSearch(this.getPointFinder(), me.getX(),
+          me.getY());
+      if (search != null) {
+        try {
+          List<ITracePoint2D> result = search.get();
+          // null if the search was outdated before it started:
+          if (result != null) {
+            return result;
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+          // reported by the point highlighting, search again below
+        } catch (CancellationException e) {
+          // outdated by another mouse position, search below
+        }
+      }
+    }
+    synchronized (this) {
+      return this.searchNearestPoints(me);
+    }
+  }
+
+  /**
+   * Searches the points for the given mouse event or returns the result of
+   * the last search if it is still valid.
+   * <p>
+   * This must only be called with the lock on this chart.
+   * <p>
+   * 
+   * @param me
+   *          a mouse event fired on this component.
+   * 
+   * @return the unmodifiable list of points found for the given mouse event,
+   *         the nearest one first.
+   * 
+   * @see #getNearestPoints(MouseEvent)
+   */
+  List<ITracePoint2D> searchNearestPoints(final MouseEvent me) {
+    final IPointFinder pointFinder = this.getPointFinder();
+    final int mouseX = me.getX();
+    final int mouseY = me.getY();
+    // read before searching to detect modifications while searching:
+    final int paintCount = this.m_paintCount;
+    final int tracesModCount = this.m_tracesModCount;
+    final long dataGeneration = this.getDataGeneration();
+    NearestPointsQuery query = this.m_nearestPointsQuery;
+    if (query != null && query.isValid(pointFinder, mouseX, mouseY, paintCount, tracesModCount, dataGeneration)) {
+      return query.m_result;
+    }
+    List<ITracePoint2D> result;
+    if (pointFinder instanceof PointFinder) {
+      result = Collections.unmodifiableList(((PointFinder) pointFinder).getNearestPoints(mouseX, mouseY, this));
+    } else {
+      ITracePoint2D point = pointFinder.getNearestPoint(me, this);
+      if (point == null) {
+        result = Collections.emptyList();
+      } else {
+        result = Collections.singletonList(point);
+      }
+    }
+    this.m_nearestPointsQuery = new NearestPointsQuery(pointFinder, mouseX, mouseY, paintCount, tracesModCount,
+        dataGeneration, result);
+    return result;
+  }
+
+  /**
+   * Returns the sum of the modification counts of the points of all traces.
+   * <p>
+   * As long as the set of traces does not change the sum changes with every
+   * modification of a point.
+   * <p>
+   * 
+   * @return the sum of the modification counts of the points of all traces.
+   * 
+   * @see #getNearestPoints(MouseEvent)
+   */
+  private long getDataGeneration() {
+    long result = 0;
+    for (ITrace2D trace : this.getTracesSnapshot()) {
+      // modification counts only increase, so their sum changes with any:
+      result += trace.getModificationCount() & 0xFFFFFFFFL;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the point with the x value nearest to the given mouse x position
+   * of every trace, the nearest one first.
+   * <p>
+   * The mouse position is translated to an x value with the x axis of every
+   * trace which is searched with
+   * <code>{@link ITrace2D#getNearestPointX(double)}</code>: Traces that keep
+   * their points sorted by x values find the point with a binary search. The
+   * points are ordered by their distance to the mouse position in x
+   * dimension (on the screen).
+   * <p>
+   * 
+   * @param mouseEventX
+   *          the x pixel value relative to the chart (e.g.: <code>
+   *          {@link MouseEvent#getX()}</code>).
+   * 
+   * @return the point with the x value nearest to the given mouse x position
+   *         of every trace, the nearest one first.
+   */
+  public List<ITracePoint2D> getNearestPointsX(final int mouseEventX) {
+    double scaledX = 0;
+    double rangeX = this.getXChartEnd() - this.getXChartStart();
+    if (rangeX != 0) {
+      scaledX = ((double) mouseEventX - this.getXChartStart()) / rangeX;
+    }
+    List<DistancePoint> distanceBeans = new ArrayList<DistancePoint>();
+    DistancePoint distanceBean;
+    ITracePoint2D point;
+    IAxis< ? > axisX;
+    for (ITrace2D trace : this.getTracesSnapshot()) {
+      // the points of culled traces are not scaled:
+      if (!this.isCulled(trace)) {
+        axisX = this.getAxisX(trace);
+        if (axisX != null) {
+          distanceBean = trace.getNearestPointX(axisX.translatePxToValue(mouseEventX));
+          point = distanceBean.getPoint();
+          if (point != null) {
+            distanceBean.setDistance(Math.abs(point.getScaledX() - scaledX));
+            distanceBeans.add(distanceBean);
+          }
+        }
+      }
+    }
+    Collections.sort(distanceBeans, new Comparator<DistancePoint>() {
+      public int compare(final DistancePoint o1, final DistancePoint o2) {
+        return Double.compare(o1.getDistance(), o2.getDistance());
+      }
+    });
+    List<ITracePoint2D> result = new ArrayList<ITracePoint2D>(distanceBeans.size());
+    for (DistancePoint bean : distanceBeans) {
+      result.add(bean.getPoint());
+    }
+    return result;
+  }
+
   /**
    * Returns the point finder used to find the nearest point corresponding to a
    * mouse event.
@@ -2344,6 +3963,83 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     return this.m_pointFinder;
   }
 
+  /**
+   * Returns the height in px the chart is painted with: The height given to
+   * <code>{@link #render(Graphics2D, int, int)}</code> while rendering or
+   * <code>{@link #getHeight()}</code>.
+   * <p>
+   * Only meaningful for code that is invoked from painting the chart with the
+   * lock on this chart (e.g. axes and their painters).
+   * <p>
+   * 
+   * @return the height in px the chart is painted with.
+   */
+  public final int getPaintHeight() {
+    int result = this.m_renderHeight;
+    if (result == -1) {
+      result = this.getHeight();
+    }
+    return result;
+  }
+
+  /**
+   * Returns the width in px the chart is painted with: The width given to
+   * <code>{@link #render(Graphics2D, int, int)}</code> while rendering or
+   * <code>{@link #getWidth()}</code>.
+   * <p>
+   * Only meaningful for code that is invoked from painting the chart with the
+   * lock on this chart (e.g. axes and their painters).
+   * <p>
+   * 
+   * @return the width in px the chart is painted with.
+   */
+  public final int getPaintWidth() {
+    int result = this.m_renderWidth;
+    if (result == -1) {
+      result = this.getWidth();
+    }
+    return result;
+  }
+
+  /**
+   * Returns the amount of points rendered for the preview of progressive
+   * rendering or 0 if progressive rendering is disabled.
+   * <p>
+   * 
+   * @return the amount of points rendered for the preview of progressive
+   *         rendering or 0.
+   * 
+   * @see #setProgressiveRenderingPoints(int)
+   */
+  public final int getProgressiveRenderingPoints() {
+    return this.m_progressiveRenderingPoints;
+  }
+
+  /**
+   * Returns the amount of threads rendering a trace or 1 if parallel rendering
+   * is disabled.
+   * <p>
+   * 
+   * @return the amount of threads rendering a trace or 1.
+   * 
+   * @see #setParallelRenderingThreads(int)
+   */
+  public final int getParallelRenderingThreads() {
+    return this.m_parallelRenderingThreads;
+  }
+
+  /**
+   * Returns the duration in ms a pass of progressive rendering renders points.
+   * <p>
+   * 
+   * @return the duration in ms a pass of progressive rendering renders points.
+   * 
+   * @see #setProgressiveRenderingMillis(int)
+   */
+  public final int getProgressiveRenderingMillis() {
+    return this.m_progressiveRenderingMillis;
+  }
+
   /**
    * @see javax.swing.JComponent#getPreferredSize()
    */
@@ -2429,6 +4125,43 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    * @return the set of traces that are currently rendered by this instance.
    */
   public final SortedSet<ITrace2D> getTraces() {
+    return new TreeSet<ITrace2D>(this.getTracesSnapshot());
+  }
+
+  /**
+   * Returns the unmodifiable set of traces that are currently rendered by this
+   * instance ordered by their z-index for internal iterations.
+   * <p>
+   * The snapshot is cached and only collected anew after traces or x axes have
+   * been added or removed or the z-index of a trace has changed. So this method
+   * is cheap enough to be called for every paint operation or mouse event.
+   * <p>
+   * 
+   * @return the unmodifiable set of traces that are currently rendered by this
+   *         instance.
+   * 
+   * @see #getTraces()
+   */
+  private SortedSet<ITrace2D> getTracesSnapshot() {
+    TracesSnapshot snapshot = this.m_tracesSnapshot;
+    // read before collecting to detect modifications while collecting:
+    final int modCount = this.m_tracesModCount;
+    if (snapshot == null || snapshot.m_modCount != modCount) {
+      snapshot = new TracesSnapshot(modCount, Collections.unmodifiableSortedSet(this.collectTraces()));
+      this.m_tracesSnapshot = snapshot;
+    }
+    return snapshot.m_traces;
+  }
+
+  /**
+   * Collects the traces of all x axes into a new set ordered by their z-index.
+   * <p>
+   * 
+   * @return the traces of all x axes ordered by their z-index.
+   * 
+   * @see #getTracesSnapshot()
+   */
+  private SortedSet<ITrace2D> collectTraces() {
     SortedSet<ITrace2D> result = new TreeSet<ITrace2D>();
     // 1.1) axes x bottom:
     Iterator<IAxis< ? >> it = this.m_axesXBottom.iterator();
@@ -2558,36 +4291,29 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
   }
 
   /**
-   * Returns true if the connection of both interpolated points would cross the
-   * visible area.
-   * <p>
-   * 
-   * Caution this method is only intended for two points that were invisible and
-   * have been interpolated to a bound of the chart to avoid drawing horizontal
-   * or vertical lines at the bound. In case two points that were not
-   * interpolated really have a vertical or horizontal connection the result
-   * would not be quite correct in terms of painting: Their line would not be
-   * drawn even if it would be correct.
+   * Returns true if the connection of both clipped points of the given segment
+   * would cross the visible area.
    * <p>
    * 
-   * Also this method assumes that both points were interpolated towards a bound
-   * of the chart via a connection to a previous or following point (line) which
-   * means that two points interpolated to the maximum and the minimum (x or y)
-   * do not have to be tested for intersections with the viewport rectangle.
+   * Caution this method is only intended for a segment of two points that were
+   * invisible and have been clipped to the bounds of the chart to avoid drawing
+   * horizontal or vertical lines at the bound. In case two points that were not
+   * clipped really have a vertical or horizontal connection the result would
+   * not be quite correct in terms of painting: Their line would not be drawn
+   * even if it would be correct.
    * <p>
    * 
-   * @param oldpoint
-   *          interpolated point.
+   * @param segment
+   *          the clipped segment in scaled coordinates: x and y of the first
+   *          point followed by x and y of the second point.
    * 
-   * @param newpoint
-   *          interpolated point following on oldpoint
+   * @return true if the connection of both points crosses the visible area.
    * 
-   * @return true if the connection of both points
+   * @see TracePoint2DUtil#clipToVisible(double[])
    */
-  private boolean hasChartIntersection(ITracePoint2D oldpoint, ITracePoint2D newpoint) {
-    boolean result = true;
-    result = !(((oldpoint.getScaledX() >= 1.0) && (newpoint.getScaledX() >= 1.0)) || ((oldpoint.getScaledX() <= 0.0) && (newpoint.getScaledX() <= 0.0))
-        || ((oldpoint.getScaledY() >= 1.0) && (newpoint.getScaledY() >= 1.0)) || ((oldpoint.getScaledY() <= 0.0) && (newpoint.getScaledY() <= 0.0)));
+  private boolean hasChartIntersection(final double[] segment) {
+    boolean result = !(((segment[0] >= 1.0) && (segment[2] >= 1.0)) || ((segment[0] <= 0.0) && (segment[2] <= 0.0))
+        || ((segment[1] >= 1.0) && (segment[3] >= 1.0)) || ((segment[1] <= 0.0) && (segment[3] <= 0.0)));
     return result;
   }
 
@@ -2720,6 +4446,21 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     return this.m_paintLabels;
   }
 
+  /**
+   * Returns true if the chart is painted by
+   * <code>{@link #render(Graphics2D, int, int)}</code> instead of being painted
+   * on screen.
+   * <p>
+   * Has to be called with the lock on this chart.
+   * <p>
+   * 
+   * @return true if the chart is painted by
+   *         <code>{@link #render(Graphics2D, int, int)}</code>.
+   */
+  private boolean isRendering() {
+    return this.m_renderWidth != -1;
+  }
+
   /**
    * Returns the requestedRepaint.
    * <p>
@@ -2740,6 +4481,45 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     return this.m_toolTip == Chart2D.ToolTipType.DATAVALUES;
   }
 
+  /**
+   * Returns whether trace labels and the coordinate system are rendered to a
+   * cached image that is reused as long as layout relevant properties stay
+   * unchanged.
+   * <p>
+   * 
+   * @return whether trace labels and the coordinate system are cached.
+   * 
+   * @see #setBackgroundLayerCaching(boolean)
+   */
+  public final boolean isBackgroundLayerCaching() {
+    return this.m_backgroundLayerCaching;
+  }
+
+  /**
+   * Returns whether the strip chart mode is enabled.
+   * <p>
+   * 
+   * @return whether the strip chart mode is enabled.
+   * 
+   * @see #setStripChart(boolean)
+   */
+  public final boolean isStripChart() {
+    return this.m_stripChart;
+  }
+
+  /**
+   * Returns whether every trace is rendered to a cached image that is reused
+   * as long as the trace and the axes stay unchanged.
+   * <p>
+   * 
+   * @return whether the traces are cached.
+   * 
+   * @see #setTraceLayerCaching(boolean)
+   */
+  public final boolean isTraceLayerCaching() {
+    return this.m_traceLayerCaching;
+  }
+
   /**
    * Returns whether antialiasing is used.
    * <p>
@@ -2816,6 +4596,9 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    *          the trace to listen to.
    */
   private void listenToTrace(final ITrace2D trace) {
+    this.m_tracesModCount++;
+    // the snapshot of traces is ordered by z-index:
+    trace.addPropertyChangeListener(ITrace2D.PROPERTY_ZINDEX, this);
     // for tracking removal/addition of point highlighters visually:
     trace.addPropertyChangeListener(ITrace2D.PROPERTY_TRACEPOINT_CHANGED_HIGHLIGHTERS, this.m_pointHighlighter);
     // for tracking enablement/disablement of point highlighting feature
@@ -2839,7 +4622,11 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    * @see #calculateXChartEnd(Graphics)
    */
   private void negociateXChart(final Graphics2D g2d) {
-    if (this.m_synchronizedXStartChart != null) {
+    if (this.isRendering()) {
+      // the synchronized chart keeps its on-screen layout:
+      this.m_xChartStart = this.calculateXChartStart(g2d);
+      this.m_xChartEnd = this.calculateXChartEnd(g2d);
+    } else if (this.m_synchronizedXStartChart != null) {
       int myXChartStart = this.calculateXChartStart(g2d);
       int otherXChartStart = this.m_synchronizedXStartChart.calculateXChartStart(g2d);
       int correctionShift = Math.abs(myXChartStart - otherXChartStart);
@@ -2928,6 +4715,40 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
       System.out.println("paint, 1 lock");
     }
     super.paintComponent(g);
+    this.paintChart(g, false);
+  }
+
+  /**
+   * Computes the layout of the chart and paints the background layer and the
+   * traces.
+   * <p>
+   * <b>Caution</b> This is highly coupled code and only factored out for
+   * rendering without Swing. This method may only be called by
+   * {@link #paintComponent(Graphics)} and
+   * {@link #render(Graphics2D, int, int)} with the lock on this chart.
+   * <p>
+   * When rendering the adaptive quality policy is neither consulted nor
+   * informed and no visibility events are fired: Those belong to the on-screen
+   * chart.
+   * <p>
+   * 
+   * @param g
+   *          the graphics context to use.
+   * 
+   * @param forceScaling
+   *          if true all points are scaled anew, else only if the ranges of
+   *          the axes changed.
+   */
+  private void paintChart(final Graphics g, final boolean forceScaling) {
+    final boolean rendering = this.isRendering();
+    final AdaptiveQualityPolicy qualityPolicy = rendering ? null : this.m_adaptiveQualityPolicy;
+    final long startNanos = (qualityPolicy == null) ? 0 : System.nanoTime();
+    this.m_paintFast = (qualityPolicy != null) && qualityPolicy.isDegraded();
+    this.m_paintedPoints = 0;
+    this.m_culledTraces = 0;
+    this.m_traceTilePointsUsed = 0;
+    // the points are scaled anew:
+    this.m_paintCount++;
     Graphics2D g2d = (Graphics2D) g;
     // printing ?
     if (this.m_pageFormat != null) {
@@ -2939,236 +4760,1222 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
       double startY = this.m_pageFormat.getImageableY();
       g2d.translate(startX, startY);
     }
-    this.updateScaling(false);
+    this.updateScaling(forceScaling);
     // will be used in several iterations.
     ITrace2D trace;
     Iterator<ITrace2D> traceIt;
-    // painting trace labels
-    this.negociateXChart(g2d);
-
-    int labelHeight = this.paintTraceLabels(g);
-    // finding start point of coordinate System.
-    this.m_yChartStart = this.calculateYChartStart(g2d, labelHeight);
-    this.m_yChartEnd = this.calculateYChartEnd(g2d);
+    if (this.isBackgroundLayerCacheable()) {
+      this.paintBackgroundLayerCached(g2d);
+    } else {
+      this.paintBackgroundLayer(g2d);
+    }
     int rangex = this.m_xChartEnd - this.m_xChartStart;
     int rangey = this.m_yChartStart - this.m_yChartEnd;
-    this.paintCoordinateSystem(g2d);
-    if (this.firstPaint) {
+    if (this.firstPaint && !rendering) {
       this.firstPaint = false;
       this.firePropertyChange(PROPERTY_BEFORE_VISIBLE, Boolean.FALSE, Boolean.TRUE);
     }
 
     // paint Traces.
+    // Some operations (e.g. stroke) need Graphics2d
+    Stroke backupStroke = g2d.getStroke();
+    if (this.m_paintFast) {
+      g2d.setRenderingHints(RENDERING_HINTS_FAST);
+    } else if (this.isUseAntialiasing()) {
+      g2d.setRenderingHints(RENDERING_HINTS_ANTIALIASING);
+    }
+    if (this.isStripChartRenderable()) {
+      this.paintTracesStripChart(g2d, rangex, rangey);
+    } else if (this.isTraceLayerCacheable()) {
+      this.paintTracesCached(g2d, rangex, rangey);
+    } else {
+      traceIt = this.getTracesSnapshot().iterator();
+      while (traceIt.hasNext()) {
+        trace = traceIt.next();
+        this.paintTrace(trace, g2d, rangex, rangey, Integer.MIN_VALUE);
+      }
+    }
+    if (this.firstPaint && !rendering) {
+      this.firstPaint = false;
+      this.firePropertyChange(PROPERTY_VISIBLE, Boolean.FALSE, Boolean.TRUE);
+    }
+    g2d.setStroke(backupStroke);
+    if (this.m_traceTilePoints != null && this.m_traceTilePoints.length > 2 * this.m_traceTilePointsUsed) {
+      // don't keep the buffer for traces that are gone or have shrunk:
+      this.m_traceTilePoints = null;
+    }
+    if (qualityPolicy != null) {
+      qualityPolicy.frameRendered(System.nanoTime() - startNanos, this.m_paintedPoints, this.m_paintFast);
+    }
+  }
+
+  /**
+   * Paints the given trace.
+   * <p>
+   * <b>Caution</b> This is highly coupled code and only factored out for better
+   * overview. This method may only be called by {@link #paint(Graphics)} after
+   * the layout of the chart has been computed.
+   * <p>
+   * Points whose x pixel coordinate is lower than the given cut off are not
+   * painted but only used as predecessors of the following point. This is used
+   * by the strip chart mode (see <code>{@link #setStripChart(boolean)}</code>)
+   * to paint only the points that are not contained in the scrolled image of
+   * the previous paint operation.
+   * <p>
+   * 
+   * @param trace
+   *          the trace to paint.
+   * 
+   * @param g
+   *          the graphics context to use.
+   * 
+   * @param rangex
+   *          the width of the chart area in pixel.
+   * 
+   * @param rangey
+   *          the height of the chart area in pixel.
+   * 
+   * @param cutOffX
+   *          the x pixel coordinate left of which points are not painted or
+   *          <code>{@link Integer#MIN_VALUE}</code> to paint all points.
+   * 
+   * @return the x pixel coordinate of the last point of the trace or
+   *         <code>{@link Integer#MIN_VALUE}</code> if the trace is invisible or
+   *         contains no point.
+   */
+  private int paintTrace(final ITrace2D trace, final Graphics g, final int rangex, final int rangey, final int cutOffX) {
+    int result = Integer.MIN_VALUE;
+    Graphics2D g2d = (Graphics2D) g;
     int tmpx = 0;
     int oldtmpx;
     int tmpy = 0;
     int oldtmpy;
     ITracePoint2D oldpoint = null;
     ITracePoint2D newpoint = null;
-    ITracePoint2D tmppt = null;
-    traceIt = this.getTraces().iterator();
-    // Some operations (e.g. stroke) need Graphics2d
-    Stroke backupStroke = null;
-
-    g2d = (Graphics2D) g;
-    backupStroke = g2d.getStroke();
-    if (this.isUseAntialiasing()) {
-      RenderingHints renderHints = new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-      renderHints.put(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
-      renderHints.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-      renderHints.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
-      renderHints.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-      renderHints.put(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
-      g2d.setRenderingHints(renderHints);
-    }
-
-    Iterator<ITracePainter< ? >> itTracePainters;
-    Iterator<IErrorBarPolicy< ? >> itTraceErrorBarPolicies;
-    ITracePainter< ? > tracePainter;
-    IErrorBarPolicy< ? > errorBarPolicy;
+    ITracePoint2D lastpoint = null;
     Iterator<ITracePoint2D> pointIt;
-    while (traceIt.hasNext()) {
-      oldpoint = null;
-      newpoint = null;
-      trace = traceIt.next();
-      trace.initPaintIteration();
-      ITracePointProvider tracePointProvider = trace.getTracePointProvider();
-      if (trace.isVisible()) {
-        synchronized (trace) {
-          if (Chart2D.DEBUG_THREADING) {
-            System.out.println("Chart2D.paintComponent(" + Thread.currentThread().getName() + "), 2 locks (lock on trace " + trace.getName() + ")");
+    trace.initPaintIteration();
+    if (trace.isVisible() && this.isCulled(trace)) {
+      this.m_culledTraces++;
+    } else if (trace.isVisible()) {
+      synchronized (trace) {
+        if (Chart2D.DEBUG_THREADING) {
+          System.out.println("Chart2D.paintComponent(" + Thread.currentThread().getName() + "), 2 locks (lock on trace " + trace.getName() + ")");
+        }
+        boolean hasErrorBars = trace.getHasErrorBars();
+        if (g2d != null) {
+          g2d.setStroke(this.m_paintFast ? Chart2D.simplifyStroke(trace.getStroke()) : trace.getStroke());
+        }
+        g.setColor(trace.getColor());
+        if (this.isIncrementallyPaintable(trace, hasErrorBars, cutOffX)) {
+          for (ITracePainter< ? > tracePainter : trace.getTracePainters()) {
+            ((ITracePainterIncremental< ? >) tracePainter).paintTrace(trace, g);
           }
-          boolean hasErrorBars = trace.getHasErrorBars();
-          if (g2d != null) {
-            g2d.setStroke(trace.getStroke());
+          this.paintHighlightedPoints(trace, g, rangex, rangey, cutOffX);
+          return result;
+        }
+        if (this.isParallelRenderable(trace, g2d, hasErrorBars, cutOffX)) {
+          result = this.paintTraceParallel(trace, g2d, rangex, rangey);
+          this.paintHighlightedPoints(trace, g, rangex, rangey, cutOffX);
+          return result;
+        }
+        this.collectPaintDelegates(trace, hasErrorBars);
+        for (int i = 0; i < this.m_paintTracePaintersCount; i++) {
+          this.m_paintTracePainters[i].startPaintIteration(g);
+        }
+        for (int i = 0; i < this.m_paintErrorBarPoliciesCount; i++) {
+          this.m_paintErrorBarPolicies[i].startPaintIteration(g);
+        }
+        if (trace instanceof ITrace2DDataAccumulating) {
+          /*
+           * Use data accumulation.
+           * 
+           * 1. Use amount of pixels as the amount of points to be obtained.
+           */
+          // 1.
+          int pixelsX = this.getXAxisWidth();
+          int pixelsY = this.getYAxisHeight();
+          int amountOfPoints = Math.max(pixelsX, pixelsY);
+          pointIt = ((ITrace2DDataAccumulating) trace).iterator(amountOfPoints);
+        } else if (this.m_paintRefinement != null && this.m_paintRefinement.m_points != null) {
+          // resume the progressive rendering after the previous pass:
+          pointIt = this.m_paintRefinement.m_points;
+          newpoint = this.m_paintRefinement.m_predecessor;
+          tmpx = this.m_paintRefinement.m_predecessorX;
+          tmpy = this.m_paintRefinement.m_predecessorY;
+        } else {
+          pointIt = trace.iterator();
+        }
+        boolean newpointVisible = false;
+        boolean oldpointVisible = false;
+
+        int countPoints = 0;
+        int pointIndex = -1;
+        boolean lastPass = true;
+        final long passDeadline = (this.m_paintRefinement == null) ? 0 : System.nanoTime() + this.m_progressiveRenderingMillis * 1000000L;
+        IStopWatch stopWatchPointRendering = null;
+        if (Chart2D.DEBUG_DATA_ACCUMULATION) {
+          stopWatchPointRendering = new StopWatchSimple(true);
+        }
+        while (pointIt.hasNext()) {
+          if (this.m_paintRefinement != null && (countPoints & 0x3F) == 0x3F && System.nanoTime() >= passDeadline) {
+            // time of this pass is over: the next pass resumes here
+            lastPass = false;
+            break;
           }
-          g.setColor(trace.getColor());
-          Set<ITracePainter< ? >> tracePainters = trace.getTracePainters();
-          itTracePainters = tracePainters.iterator();
-          tracePainter = null;
-          while (itTracePainters.hasNext()) {
-            tracePainter = itTracePainters.next();
-            tracePainter.startPaintIteration(g);
+          oldpoint = newpoint;
+          oldtmpx = tmpx;
+          oldtmpy = tmpy;
+          newpoint = pointIt.next();
+          pointIndex++;
+          if (pointIndex % this.m_paintPointStride != 0 && pointIt.hasNext() && !newpoint.isDiscontinuation()) {
+            // not part of the preview: keep the previous point as predecessor
+            newpoint = oldpoint;
+            tmpx = oldtmpx;
+            tmpy = oldtmpy;
+            continue;
           }
-          if (hasErrorBars) {
-            errorBarPolicy = null;
-            Set<IErrorBarPolicy< ? >> errorBarPolicies = trace.getErrorBarPolicies();
-            itTraceErrorBarPolicies = errorBarPolicies.iterator();
-            while (itTraceErrorBarPolicies.hasNext()) {
-              errorBarPolicy = itTraceErrorBarPolicies.next();
-              errorBarPolicy.startPaintIteration(g);
+          countPoints++;
+          if (!newpoint.isDiscontinuation()) {
+            lastpoint = newpoint;
+          }
+          if (cutOffX != Integer.MIN_VALUE) {
+            // strip chart mode: skip points that are contained in the scrolled image
+            tmpx = this.m_xChartStart + (int) Math.round(newpoint.getScaledX() * rangex);
+            if (tmpx < cutOffX) {
+              tmpy = this.m_yChartStart - (int) Math.round(newpoint.getScaledY() * rangey);
+              continue;
             }
           }
-          if (trace instanceof ITrace2DDataAccumulating) {
-            /*
-             * Use data accumulation.
-             * 
-             * 1. Use amount of pixels as the amount of points to be obtained.
-             */
-            // 1.
-            int pixelsX = this.getXAxisWidth();
-            int pixelsY = this.getYAxisHeight();
-            int amountOfPoints = Math.max(pixelsX, pixelsY);
-            pointIt = ((ITrace2DDataAccumulating) trace).iterator(amountOfPoints);
+          newpointVisible = this.isVisible(newpoint);
+          oldpointVisible = this.isVisible(oldpoint);
+          /*
+           * Special case: if we have NaN just don't interpolate anything or
+           * paint but just continue (and give a signal to trace painters to
+           * discontinue which is neccessary for implementations that paint
+           * polylines and must not accumulate polylines that have a
+           * discontinuation within):
+           */
+          boolean isNaNNewpoint = newpoint.isDiscontinuation();
+          boolean isNanOldpoint;
+          if (oldpoint == null) {
+            isNanOldpoint = false;
           } else {
-            pointIt = trace.iterator();
+            isNanOldpoint = oldpoint.isDiscontinuation();
           }
-          boolean newpointVisible = false;
-          boolean oldpointVisible = false;
+          if (isNaNNewpoint || isNanOldpoint) {
+            /*
+             * Only discontinue when entering NaN space as calls to it for
+             * subsequent NaN values would repeat the same polyline paint of
+             * the last valid point in TracePainterPolyline (senseless).
+             */
+            if (!(isNanOldpoint) && (isNaNNewpoint)) {
+              for (int i = 0; i < this.m_paintTracePaintersCount; i++) {
+                this.m_paintTracePainters[i].discontinue(g2d);
+              }
+            }
+            if (!isNaNNewpoint) {
+              tmpx = this.m_xChartStart + (int) Math.round(newpoint.getScaledX() * rangex);
+              tmpy = this.m_yChartStart - (int) Math.round(newpoint.getScaledY() * rangey);
 
-          int countPoints = 0;
-          IStopWatch stopWatchPointRendering = null;
-          if (Chart2D.DEBUG_DATA_ACCUMULATION) {
-            stopWatchPointRendering = new StopWatchSimple(true);
-          }
-          while (pointIt.hasNext()) {
-            oldpoint = newpoint;
-            oldtmpx = tmpx;
-            oldtmpy = tmpy;
-            newpoint = pointIt.next();
-            newpointVisible = this.isVisible(newpoint);
-            oldpointVisible = this.isVisible(oldpoint);
-            countPoints++;
+            }
+          } else if (!newpointVisible) {
             /*
-             * Special case: if we have NaN just don't interpolate anything or
-             * paint but just continue (and give a signal to trace painters to
-             * discontinue which is neccessary for implementations that paint
-             * polylines and must not accumulate polylines that have a
-             * discontinuation within):
+             * Leaving the visible bounds or both points invisible: Clip the
+             * interconnection to the visible area without creating interpolated
+             * points. The unclipped coordinates of the new point are kept for
+             * the next loop.
              */
-            boolean isNaNNewpoint = newpoint.isDiscontinuation();
-            boolean isNanOldpoint;
-            if (oldpoint == null) {
-              isNanOldpoint = false;
-            } else {
-              isNanOldpoint = oldpoint.isDiscontinuation();
+            tmpx = this.m_xChartStart + (int) Math.round(newpoint.getScaledX() * rangex);
+            tmpy = this.m_yChartStart - (int) Math.round(newpoint.getScaledY() * rangey);
+            if (oldpoint != null && this.clipSegment(oldpoint, newpoint) && (oldpointVisible || this.hasChartIntersection(this.m_clipSegment))) {
+              // don't use error bars for interpolated points!
+              this.paintPoint(this.m_xChartStart + (int) Math.round(this.m_clipSegment[0] * rangex),
+                  this.m_yChartStart - (int) Math.round(this.m_clipSegment[1] * rangey),
+                  this.m_xChartStart + (int) Math.round(this.m_clipSegment[2] * rangex),
+                  this.m_yChartStart - (int) Math.round(this.m_clipSegment[3] * rangey), true, trace, g, oldpoint, false);
             }
-            if (isNaNNewpoint || isNanOldpoint) {
-              /*
-               * Only discontinue when entering NaN space as calls to it for
-               * subsequent NaN values would repeat the same polyline paint of
-               * the last valid point in TracePainterPolyline (senseless).
-               */
-              if (!(isNanOldpoint) && (isNaNNewpoint)) {
-                for (ITracePainter< ? > painter : trace.getTracePainters()) {
-                  painter.discontinue(g2d);
-                }
-              }
-              if (!isNaNNewpoint) {
-                tmpx = this.m_xChartStart + (int) Math.round(newpoint.getScaledX() * rangex);
-                tmpy = this.m_yChartStart - (int) Math.round(newpoint.getScaledY() * rangey);
+          } else if (!oldpointVisible) {
+            // entering the visible bounds: clip from old point to new point
+            tmpx = this.m_xChartStart + (int) Math.round(newpoint.getScaledX() * rangex);
+            tmpy = this.m_yChartStart - (int) Math.round(newpoint.getScaledY() * rangey);
+            // oldpoint is null in the first iteration: nothing to connect.
+            if (oldpoint != null && this.clipSegment(oldpoint, newpoint)) {
+              // don't use error bars for interpolated points!
+              this.paintPoint(this.m_xChartStart + (int) Math.round(this.m_clipSegment[0] * rangex),
+                  this.m_yChartStart - (int) Math.round(this.m_clipSegment[1] * rangey), tmpx, tmpy, true, trace, g, oldpoint, false);
+            }
+          } else {
+            // staying in the visible bounds: just paint
+            tmpx = this.m_xChartStart + (int) Math.round(newpoint.getScaledX() * rangex);
+            tmpy = this.m_yChartStart - (int) Math.round(newpoint.getScaledY() * rangey);
+            this.paintPoint(oldtmpx, oldtmpy, tmpx, tmpy, false, trace, g, newpoint, hasErrorBars);
+          }
+        }
+        this.m_paintedPoints += countPoints;
+        if (DEBUG_DATA_ACCUMULATION) {
+          stopWatchPointRendering.stop();
+          System.out.println(this.getClass().getName() + " rendered " + countPoints + " points of a trace with " + trace.getSize() + " points. It took "
+              + stopWatchPointRendering.snapShot() + " ms.");
+          stopWatchPointRendering.reset();
+        }
+        for (int i = 0; i < this.m_paintTracePaintersCount; i++) {
+          this.m_paintTracePainters[i].endPaintIteration(g);
+        }
+        for (int i = 0; i < this.m_paintErrorBarPoliciesCount; i++) {
+          this.m_paintErrorBarPolicies[i].endPaintIteration(g);
+        }
+        if (this.m_paintRefinement != null) {
+          this.m_paintRefinement.m_complete = lastPass;
+          this.m_paintRefinement.m_points = pointIt;
+          this.m_paintRefinement.m_predecessor = newpoint;
+          this.m_paintRefinement.m_predecessorX = tmpx;
+          this.m_paintRefinement.m_predecessorY = tmpy;
+        }
+        if (lastPass) {
+          this.paintHighlightedPoints(trace, g, rangex, rangey, cutOffX);
+        }
+        this.releasePaintDelegates();
+        if (lastpoint != null) {
+          result = this.m_xChartStart + (int) Math.round(lastpoint.getScaledX() * rangex);
+        }
+      }
+    }
+    if (Chart2D.DEBUG_THREADING) {
+      System.out.println("paint(" + Thread.currentThread().getName() + "), left lock on trace " + trace.getName());
+    }
+    return result;
+  }
+
+  /**
+   * Releases the references to the delegates collected by
+   * <code>{@link #collectPaintDelegates(ITrace2D, boolean)}</code> to allow
+   * garbage collection of removed painters.
+   * <p>
+   */
+  private void releasePaintDelegates() {
+    Arrays.fill(this.m_paintTracePainters, 0, this.m_paintTracePaintersCount, null);
+    this.m_paintTracePaintersCount = 0;
+    Arrays.fill(this.m_paintErrorBarPolicies, 0, this.m_paintErrorBarPoliciesCount, null);
+    this.m_paintErrorBarPoliciesCount = 0;
+  }
+
+  /**
+   * Adds all values that influence the layout and the rendering of the
+   * background layer (trace labels, axes, scales and grid) to the key of the
+   * background layer cache.
+   * <p>
+   * Changes of configuration that are not covered by this key (e.g. axis
+   * titles or range policies) invalidate the cache via property change events
+   * in <code>{@link #propertyChange(PropertyChangeEvent)}</code> and
+   * <code>{@link #firePropertyChange(String, Object, Object)}</code>.
+   * <p>
+   * 
+   * @param cache
+   *          the background layer cache to validate.
+   */
+  private void addBackgroundLayerKey(final LayerCache cache) {
+    cache.addKey(this.getPaintWidth());
+    cache.addKey(this.getPaintHeight());
+    cache.addKey(this.getFont());
+    cache.addKey(this.getForeground());
+    cache.addKey(this.m_gridcolor);
+    cache.addKey(this.m_majorGridstroke);
+    cache.addKey(this.m_minorGridstroke);
+    cache.addKeyIdentity(this.m_axisTickPainter);
+    cache.addKey(this.m_paintLabels ? 1 : 0);
+    this.addBackgroundLayerKey(cache, this.m_axesXBottom);
+    this.addBackgroundLayerKey(cache, this.m_axesXTop);
+    this.addBackgroundLayerKey(cache, this.m_axesYLeft);
+    this.addBackgroundLayerKey(cache, this.m_axesYRight);
+    if (this.m_paintLabels) {
+      for (ITrace2D trace : this.getTracesSnapshot()) {
+        cache.addKey(trace.isVisible() ? 1 : 0);
+        if (trace.isVisible()) {
+          cache.addKey(trace.getLabel());
+          cache.addKey(trace.getColor());
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the values of the given axes that influence the layout and the
+   * rendering of the background layer to the key of the background layer
+   * cache.
+   * <p>
+   * 
+   * @param cache
+   *          the background layer cache to validate.
+   * 
+   * @param axes
+   *          the axes of one chart position.
+   */
+  private void addBackgroundLayerKey(final LayerCache cache, final List<IAxis< ? >> axes) {
+    cache.addKey(axes.size());
+    IAxisLabelFormatter formatter;
+    for (IAxis< ? > axis : axes) {
+      cache.addKeyIdentity(axis);
+      cache.addKey(axis.isVisible() ? 1 : 0);
+      cache.addKey(axis.isPaintScale() ? 1 : 0);
+      cache.addKey(axis.isPaintGrid() ? 1 : 0);
+      cache.addKey(axis.getMin());
+      cache.addKey(axis.getMax());
+      cache.addKey(axis.getMajorTickSpacing());
+      cache.addKey(axis.getMinorTickSpacing());
+      formatter = axis.getFormatter();
+      cache.addKeyIdentity(formatter);
+      cache.addKeyIdentity(formatter.getUnit());
+      cache.addKey(formatter.getMaxAmountChars());
+    }
+  }
+
+  /**
+   * Marks the cached background layer as outdated in case a property that is
+   * not part of the background layer key is changed.
+   * <p>
+   * 
+   * @see java.awt.Component#firePropertyChange(java.lang.String,
+   *      java.lang.Object, java.lang.Object)
+   */
+  @Override
+  protected void firePropertyChange(final String propertyName, final Object oldValue, final Object newValue) {
+    // the events of the first paint operation do not change the layer:
+    if (!PROPERTY_BEFORE_VISIBLE.equals(propertyName) && !PROPERTY_VISIBLE.equals(propertyName)) {
+      if (this.m_backgroundLayer != null) {
+        this.m_backgroundLayer.invalidate();
+      }
+      if (this.m_stripChartLayer != null) {
+        this.m_stripChartLayer.invalidate();
+      }
+      this.m_traceLayersModCount++;
+    }
+    if (PROPERTY_ADD_REMOVE_TRACE.equals(propertyName) || PROPERTY_AXIS_X.equals(propertyName) || PROPERTY_AXIS_X_BOTTOM_REPLACE.equals(propertyName)
+        || PROPERTY_AXIS_X_TOP_REPLACE.equals(propertyName)) {
+      // the traces of the chart may have changed:
+      this.m_tracesModCount++;
+    }
+    super.firePropertyChange(propertyName, oldValue, newValue);
+  }
+
+  /**
+   * Returns true if the background layer may be taken from the cache in the
+   * current paint operation.
+   * <p>
+   * This is not the case for printing and for charts that synchronize their x
+   * start coordinate with other charts (layout is negotiated between charts).
+   * <p>
+   * 
+   * @return true if the background layer may be taken from the cache in the
+   *         current paint operation.
+   */
+  private boolean isBackgroundLayerCacheable() {
+    return this.m_backgroundLayerCaching && this.m_pageFormat == null && !this.isRendering() && this.m_synchronizedXStartChart == null
+        && !this.m_synchronizedXStart && this.getWidth() > 0 && this.getHeight() > 0;
+  }
+
+  /**
+   * Computes the layout of the chart and paints the trace labels and the
+   * coordinate system (axes, scales and grid).
+   * <p>
+   * <b>Caution</b> This is highly coupled code and only factored out for better
+   * overview. This method may only be called by {@link #paint(Graphics)}.
+   * <p>
+   * 
+   * @param g2d
+   *          the graphics context to use.
+   */
+  private void paintBackgroundLayer(final Graphics2D g2d) {
+    // painting trace labels
+    this.negociateXChart(g2d);
+
+    int labelHeight = this.paintTraceLabels(g2d);
+    // finding start point of coordinate System.
+    this.m_yChartStart = this.calculateYChartStart(g2d, labelHeight);
+    this.m_yChartEnd = this.calculateYChartEnd(g2d);
+    this.paintCoordinateSystem(g2d);
+  }
+
+  /**
+   * Paints the background layer (see
+   * <code>{@link #paintBackgroundLayer(Graphics2D)}</code>) from the cache and
+   * only renders it anew if the background layer key (see
+   * <code>{@link #addBackgroundLayerKey(LayerCache)}</code>) changed or the
+   * cache was invalidated by a property change.
+   * <p>
+   * In case the cache is valid the layout (e.g. <code>{@link #getXChartStart()}
+   * </code>) is not computed as it is unchanged.
+   * <p>
+   * 
+   * @param g2d
+   *          the graphics context to use.
+   */
+  private void paintBackgroundLayerCached(final Graphics2D g2d) {
+    if (this.m_backgroundLayer == null) {
+      this.m_backgroundLayer = new LayerCache();
+    }
+    final LayerCache cache = this.m_backgroundLayer;
+    cache.startKey();
+    this.addBackgroundLayerKey(cache);
+    if (!cache.isKeyUnchanged()) {
+      final BufferedImage layer = cache.getImage(this.getPaintWidth(), this.getPaintHeight());
+      final Graphics2D layerGraphics = layer.createGraphics();
+      try {
+        layerGraphics.setRenderingHints(g2d.getRenderingHints());
+        layerGraphics.setFont(g2d.getFont());
+        layerGraphics.setColor(g2d.getColor());
+        this.paintBackgroundLayer(layerGraphics);
+      } finally {
+        layerGraphics.dispose();
+      }
+    }
+    g2d.drawImage(cache.getCachedImage(), 0, 0, null);
+  }
+
+  /**
+   * Adds all values that influence the rendering of the strip chart layer
+   * except the range of the x axis to the key of the strip chart layer cache.
+   * <p>
+   * 
+   * @param cache
+   *          the strip chart layer cache to validate.
+   */
+  private void addStripChartLayerKey(final LayerCache cache) {
+    cache.addKey(this.getPaintWidth());
+    cache.addKey(this.getPaintHeight());
+    cache.addKey(this.m_xChartStart);
+    cache.addKey(this.m_xChartEnd);
+    cache.addKey(this.m_yChartStart);
+    cache.addKey(this.m_yChartEnd);
+    cache.addKey(this.m_useAntialiasing ? 1 : 0);
+    cache.addKey(this.m_paintFast ? 1 : 0);
+    for (IAxis< ? > axis : this.m_axesXBottom) {
+      cache.addKeyIdentity(axis);
+    }
+    for (IAxis< ? > axis : this.m_axesXTop) {
+      cache.addKeyIdentity(axis);
+    }
+    for (IAxis< ? > axis : this.m_axesYLeft) {
+      cache.addKeyIdentity(axis);
+      cache.addKey(axis.getMin());
+      cache.addKey(axis.getMax());
+    }
+    for (IAxis< ? > axis : this.m_axesYRight) {
+      cache.addKeyIdentity(axis);
+      cache.addKey(axis.getMin());
+      cache.addKey(axis.getMax());
+    }
+    for (ITrace2D trace : this.getTracesSnapshot()) {
+      cache.addKeyIdentity(trace);
+      cache.addKey(trace.isVisible() ? 1 : 0);
+      cache.addKey(trace.getColor());
+      cache.addKey(trace.getStroke());
+      cache.addKey(trace.getTracePainters().size());
+      for (ITracePainter< ? > painter : trace.getTracePainters()) {
+        cache.addKeyIdentity(painter);
+      }
+      cache.addKey(trace.getHasErrorBars() ? 1 : 0);
+      if (trace instanceof ITrace2DDataAccumulating) {
+        cache.addKeyIdentity(((ITrace2DDataAccumulating) trace).getAccumulationStrategy());
+      }
+    }
+  }
+
+  /**
+   * Returns true if the strip chart mode may be used in the current paint
+   * operation.
+   * <p>
+   * This is not the case for printing.
+   * <p>
+   * 
+   * @return true if the strip chart mode may be used in the current paint
+   *         operation.
+   * 
+   * @see #setStripChart(boolean)
+   */
+  private boolean isStripChartRenderable() {
+    return this.m_stripChart && this.m_pageFormat == null && !this.isRendering() && this.getWidth() > 0 && this.getHeight() > 0
+        && this.m_xChartEnd > this.m_xChartStart;
+  }
+
+  /**
+   * Returns true if the strip chart layer of the previous paint operation may
+   * be scrolled instead of being rendered completely.
+   * <p>
+   * This requires a single linear x axis and traces whose points are not
+   * accumulated (only <code>{@link AccumulationStrategyByPass}</code>) as
+   * accumulated points change with the visible range.
+   * <p>
+   * 
+   * @return true if the strip chart layer of the previous paint operation may
+   *         be scrolled.
+   */
+  private boolean isStripChartScrollable() {
+    boolean result = this.m_axesXBottom.size() + this.m_axesXTop.size() == 1 && this.getAxisX() instanceof AxisLinear;
+    if (result) {
+      for (ITrace2D trace : this.getTracesSnapshot()) {
+        if (trace instanceof ITrace2DDataAccumulating
+            && !(((ITrace2DDataAccumulating) trace).getAccumulationStrategy() instanceof AccumulationStrategyByPass)) {
+          result = false;
+          break;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Scrolls the strip chart layer by the given amount of pixels to the left
+   * and paints the points of the traces that are not contained in the scrolled
+   * image.
+   * <p>
+   * The painted strip starts left of the last painted point of every trace
+   * (and left of the exposed strip) by <code>{@link #STRIP_CHART_MARGIN}</code>
+   * pixels for point painters that extend to the left of the point to paint
+   * and by twice the margin for those that extend to the right.
+   * <p>
+   * 
+   * @param layer
+   *          the strip chart layer of the previous paint operation.
+   * 
+   * @param g2d
+   *          the graphics context of the chart to take rendering hints from.
+   * 
+   * @param dx
+   *          the amount of pixels to scroll to the left.
+   * 
+   * @param rangex
+   *          the width of the chart area in pixel.
+   * 
+   * @param rangey
+   *          the height of the chart area in pixel.
+   * 
+   * @return false if the layer could not be updated incrementally (e.g. a
+   *         trace was empty or points were removed) and has to be rendered
+   *         completely.
+   */
+  private boolean paintStripChartIncrement(final BufferedImage layer, final Graphics2D g2d, final int dx, final int rangex, final int rangey) {
+    int cutOff = this.m_xChartEnd - dx;
+    int[] lastX;
+    for (ITrace2D trace : this.getTracesSnapshot()) {
+      if (trace.isVisible()) {
+        lastX = this.m_stripChartLastX.get(trace);
+        if (lastX == null || lastX[0] == Integer.MIN_VALUE) {
+          return false;
+        }
+        lastX[0] -= dx;
+        cutOff = Math.min(cutOff, lastX[0]);
+      }
+    }
+    cutOff -= Chart2D.STRIP_CHART_MARGIN;
+    if (cutOff <= this.m_xChartStart) {
+      return false;
+    }
+    final int width = layer.getWidth();
+    final int height = layer.getHeight();
+    final Graphics2D layerGraphics = layer.createGraphics();
+    try {
+      if (dx > 0) {
+        // translucent pixels have to replace the old ones:
+        layerGraphics.setComposite(AlphaComposite.Src);
+        layerGraphics.copyArea(dx, 0, width - dx, height, -dx, 0);
+      }
+      layerGraphics.setComposite(AlphaComposite.Clear);
+      layerGraphics.fillRect(cutOff, 0, width - cutOff, height);
+      if (dx > 0) {
+        // scrolled out pixels must not cover the y axes:
+        layerGraphics.fillRect(0, 0, this.m_xChartStart, height);
+      }
+      layerGraphics.setComposite(AlphaComposite.SrcOver);
+      layerGraphics.setRenderingHints(g2d.getRenderingHints());
+      layerGraphics.clipRect(cutOff, 0, width - cutOff, height);
+      int paintedX;
+      for (ITrace2D trace : this.getTracesSnapshot()) {
+        paintedX = this.paintTrace(trace, layerGraphics, rangex, rangey, cutOff - Chart2D.STRIP_CHART_MARGIN);
+        lastX = this.m_stripChartLastX.get(trace);
+        if (trace.isVisible() && paintedX < lastX[0]) {
+          // points have been removed:
+          return false;
+        }
+        lastX[0] = paintedX;
+      }
+    } finally {
+      layerGraphics.dispose();
+    }
+    return true;
+  }
+
+  /**
+   * Paints the traces in strip chart mode (see
+   * <code>{@link #setStripChart(boolean)}</code>).
+   * <p>
+   * If only the range of the x axis has been shifted since the previous paint
+   * operation the strip chart layer is scrolled and only the points that are
+   * not contained in it are painted. Else the layer is rendered completely.
+   * <p>
+   * 
+   * @param g2d
+   *          the graphics context to use.
+   * 
+   * @param rangex
+   *          the width of the chart area in pixel.
+   * 
+   * @param rangey
+   *          the height of the chart area in pixel.
+   */
+  private void paintTracesStripChart(final Graphics2D g2d, final int rangex, final int rangey) {
+    if (this.m_stripChartLayer == null) {
+      this.m_stripChartLayer = new LayerCache();
+      this.m_stripChartLastX = new IdentityHashMap<ITrace2D, int[]>();
+    }
+    final LayerCache cache = this.m_stripChartLayer;
+    cache.startKey();
+    this.addStripChartLayerKey(cache);
+    boolean scrolled = cache.isKeyUnchanged() && this.isStripChartScrollable();
+    final IAxis< ? > axisX = this.getAxisX();
+    final double min = axisX.getMin();
+    final double extent = axisX.getMax() - min;
+    if (scrolled) {
+      // a changed extent changes the scale of the x axis:
+      scrolled = extent > 0 && Math.abs(extent - this.m_stripChartExtent) <= extent * 1e-9;
+      if (scrolled) {
+        final int dx = (int) Math.round((min - this.m_stripChartOrigin) * rangex / extent);
+        scrolled = dx >= 0 && dx < rangex && this.paintStripChartIncrement(cache.getCachedImage(), g2d, dx, rangex, rangey);
+        if (scrolled) {
+          this.m_stripChartOrigin += dx * extent / rangex;
+        }
+      }
+    }
+    if (!scrolled) {
+      final BufferedImage layer = cache.getImage(this.getPaintWidth(), this.getPaintHeight());
+      final Graphics2D layerGraphics = layer.createGraphics();
+      try {
+        layerGraphics.setRenderingHints(g2d.getRenderingHints());
+        this.m_stripChartLastX.clear();
+        for (ITrace2D trace : this.getTracesSnapshot()) {
+          this.m_stripChartLastX.put(trace, new int[] {this.paintTrace(trace, layerGraphics, rangex, rangey, Integer.MIN_VALUE) });
+        }
+      } finally {
+        layerGraphics.dispose();
+      }
+      this.m_stripChartOrigin = min;
+      this.m_stripChartExtent = extent;
+    }
+    g2d.drawImage(cache.getCachedImage(), 0, 0, null);
+  }
+
+  /**
+   * Adds all values that influence the rendering of the given trace except
+   * the properties reported by change events of the trace (see
+   * <code>{@link #TRACE_LAYER_EVENTS}</code>) to the key of its layer cache.
+   * <p>
+   * 
+   * @param cache
+   *          the layer cache of the trace to validate.
+   * 
+   * @param trace
+   *          the trace that is cached.
+   */
+  private void addTraceLayerKey(final LayerCache cache, final ITrace2D trace) {
+    cache.addKey(this.getPaintWidth());
+    cache.addKey(this.getPaintHeight());
+    cache.addKey(this.m_xChartStart);
+    cache.addKey(this.m_xChartEnd);
+    cache.addKey(this.m_yChartStart);
+    cache.addKey(this.m_yChartEnd);
+    cache.addKey(this.m_useAntialiasing ? 1 : 0);
+    cache.addKey(this.m_paintFast ? 1 : 0);
+    cache.addKey(this.m_traceLayersModCount);
+    this.addTraceLayerKey(cache, this.m_axesXBottom);
+    this.addTraceLayerKey(cache, this.m_axesXTop);
+    this.addTraceLayerKey(cache, this.m_axesYLeft);
+    this.addTraceLayerKey(cache, this.m_axesYRight);
+    // painters may be configured without the trace firing an event:
+    for (ITracePainter< ? > painter : trace.getTracePainters()) {
+      cache.addKeyIdentity(painter);
+    }
+  }
+
+  /**
+   * Adds the ranges of the given axes to the key of a trace layer cache.
+   * <p>
+   * 
+   * @param cache
+   *          the layer cache of a trace to validate.
+   * 
+   * @param axes
+   *          the axes of one chart position.
+   */
+  private void addTraceLayerKey(final LayerCache cache, final List<IAxis< ? >> axes) {
+    cache.addKey(axes.size());
+    for (IAxis< ? > axis : axes) {
+      cache.addKeyIdentity(axis);
+      cache.addKey(axis.getMin());
+      cache.addKey(axis.getMax());
+    }
+  }
+
+  /**
+   * Returns true if the traces may be taken from the trace layer caches in the
+   * current paint operation.
+   * <p>
+   * 
+   * @return true if the traces may be taken from the trace layer caches in the
+   *         current paint operation.
+   * 
+   * @see #setTraceLayerCaching(boolean)
+   */
+  private boolean isTraceLayerCacheable() {
+    return this.m_traceLayerCaching && this.m_pageFormat == null && !this.isRendering() && this.getWidth() > 0 && this.getHeight() > 0;
+  }
+
+  /**
+   * Registers the given layer cache of the trace to the events of the trace
+   * that invalidate it.
+   * <p>
+   * 
+   * @see #unlistenToTraceLayer(ITrace2D, LayerCache)
+   * 
+   * @param trace
+   *          the cached trace.
+   * 
+   * @param traceLayer
+   *          the layer cache of the trace.
+   */
+  private void listenToTraceLayer(final ITrace2D trace, final LayerCache traceLayer) {
+    for (String property : Chart2D.TRACE_LAYER_EVENTS) {
+      trace.addPropertyChangeListener(property, traceLayer);
+    }
+  }
+
+  /**
+   * Paints the traces from their layer caches in the order of their z-index
+   * and only renders those layers anew that are outdated (see
+   * <code>{@link #setTraceLayerCaching(boolean)}</code>).
+   * <p>
+   * 
+   * @param g2d
+   *          the graphics context to use.
+   * 
+   * @param rangex
+   *          the width of the chart area in pixel.
+   * 
+   * @param rangey
+   *          the height of the chart area in pixel.
+   */
+  private void paintTracesCached(final Graphics2D g2d, final int rangex, final int rangey) {
+    LayerCache traceLayer;
+    TraceRefinement refinement;
+    int stride;
+    BufferedImage layer;
+    Graphics2D layerGraphics;
+    for (ITrace2D trace : this.getTracesSnapshot()) {
+      if (!trace.isVisible()) {
+        trace.initPaintIteration();
+        continue;
+      }
+      if (this.isCulled(trace)) {
+        // the layer is outdated by the ranges once the trace gets into range:
+        trace.initPaintIteration();
+        this.m_culledTraces++;
+        continue;
+      }
+      traceLayer = this.m_traceLayers.get(trace);
+      if (traceLayer == null) {
+        traceLayer = new LayerCache();
+        this.listenToTraceLayer(trace, traceLayer);
+        this.m_traceLayers.put(trace, traceLayer);
+      }
+      traceLayer.startKey();
+      this.addTraceLayerKey(traceLayer, trace);
+      refinement = (this.m_traceRefinements == null) ? null : this.m_traceRefinements.get(trace);
+      if (traceLayer.isKeyUnchanged()) {
+        if (refinement == null) {
+          trace.initPaintIteration();
+        } else {
+          this.paintTraceRefinement(trace, traceLayer, refinement, g2d, rangex, rangey);
+        }
+      } else {
+        // a running refinement is outdated by the change:
+        stride = this.getProgressiveRenderingStride(trace);
+        if (stride > 1) {
+          if (refinement == null) {
+            refinement = new TraceRefinement();
+            if (this.m_traceRefinements == null) {
+              this.m_traceRefinements = new IdentityHashMap<ITrace2D, TraceRefinement>();
+            }
+            this.m_traceRefinements.put(trace, refinement);
+          }
+          refinement.m_layer.getImage(this.getPaintWidth(), this.getPaintHeight());
+          refinement.restart();
+          this.setRequestedRepaint(true);
+        } else if (refinement != null) {
+          this.m_traceRefinements.remove(trace);
+        }
+        layer = traceLayer.getImage(this.getPaintWidth(), this.getPaintHeight());
+        layerGraphics = layer.createGraphics();
+        try {
+          layerGraphics.setRenderingHints(g2d.getRenderingHints());
+          this.m_paintPointStride = stride;
+          this.paintTrace(trace, layerGraphics, rangex, rangey, Integer.MIN_VALUE);
+        } finally {
+          this.m_paintPointStride = 1;
+          layerGraphics.dispose();
+        }
+      }
+      g2d.drawImage(traceLayer.getCachedImage(), 0, 0, null);
+    }
+  }
+
+  /**
+   * Returns the stride of the points of the given trace that are painted for
+   * the coarse preview of progressive rendering or 1 if the trace is rendered
+   * at once.
+   * <p>
+   * 
+   * @param trace
+   *          the trace to render to its layer.
+   * 
+   * @return the stride of the points of the given trace that are painted for
+   *         the coarse preview of progressive rendering or 1.
+   * 
+   * @see #setProgressiveRenderingPoints(int)
+   */
+  private int getProgressiveRenderingStride(final ITrace2D trace) {
+    int result = 1;
+    // accumulating traces are decimated to the amount of pixels anyway:
+    if (this.m_progressiveRenderingPoints > 0
+        && (!(trace instanceof ITrace2DDataAccumulating) || ((ITrace2DDataAccumulating) trace).getAccumulationStrategy() instanceof AccumulationStrategyByPass)) {
+      final int size = trace.getSize();
+      if (size > this.m_progressiveRenderingPoints) {
+        result = (int) (((long) size + this.m_progressiveRenderingPoints - 1) / this.m_progressiveRenderingPoints);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Renders the next pass of the progressive rendering of the given trace and
+   * replaces the coarse preview in its layer by the full resolution rendering
+   * once it is complete.
+   * <p>
+   * The pass resumes with the point following the last point of the previous
+   * pass and renders points until <code>{@link #getProgressiveRenderingMillis()}
+   * </code> ms have passed.
+   * <p>
+   * Another repaint is requested while the rendering is not complete.
+   * <p>
+   * 
+   * @param trace
+   *          the trace to render.
+   * 
+   * @param traceLayer
+   *          the layer cache of the trace holding the coarse preview.
+   * 
+   * @param refinement
+   *          the progressive rendering of the trace.
+   * 
+   * @param g2d
+   *          the graphics context of the paint operation.
+   * 
+   * @param rangex
+   *          the width of the chart area in pixel.
+   * 
+   * @param rangey
+   *          the height of the chart area in pixel.
+   * 
+   * @see #setProgressiveRenderingPoints(int)
+   */
+  private void paintTraceRefinement(final ITrace2D trace, final LayerCache traceLayer, final TraceRefinement refinement, final Graphics2D g2d,
+      final int rangex, final int rangey) {
+    Graphics2D layerGraphics = refinement.m_layer.getCachedImage().createGraphics();
+    try {
+      layerGraphics.setRenderingHints(g2d.getRenderingHints());
+      this.m_paintRefinement = refinement;
+      // stays complete if the trace is not iterated (invisible or culled):
+      refinement.m_complete = true;
+      this.paintTrace(trace, layerGraphics, rangex, rangey, Integer.MIN_VALUE);
+    } finally {
+      this.m_paintRefinement = null;
+      layerGraphics.dispose();
+    }
+    if (refinement.m_complete) {
+      final BufferedImage layer = traceLayer.getImage(this.getPaintWidth(), this.getPaintHeight());
+      layerGraphics = layer.createGraphics();
+      try {
+        layerGraphics.drawImage(refinement.m_layer.getCachedImage(), 0, 0, null);
+      } finally {
+        layerGraphics.dispose();
+      }
+      refinement.m_layer.dispose();
+      this.m_traceRefinements.remove(trace);
+    } else {
+      this.setRequestedRepaint(true);
+    }
+  }
+
+  /**
+   * Returns true if all points of the given trace are beyond the range of its x
+   * axis or of its y axis.
+   * <p>
+   * The points of such a trace are not scaled by the axes and therefore must
+   * neither be painted nor searched.
+   * <p>
+   * 
+   * @param trace
+   *          a trace of this chart.
+   * 
+   * @return true if all points of the given trace are beyond the range of one
+   *         of its axes.
+   * 
+   * @see #getCulledTraces()
+   */
+  private boolean isCulled(final ITrace2D trace) {
+    final IAxis< ? > axisX = this.getAxisX(trace);
+    final IAxis< ? > axisY = this.getAxisY(trace);
+    return (axisX != null && axisX.isOutOfRange(trace)) || (axisY != null && axisY.isOutOfRange(trace));
+  }
+
+  /**
+   * Returns true if the given trace is rendered by its trace painters without
+   * submitting its points in the current paint iteration.
+   * <p>
+   * This is the case if all trace painters of the trace keep their own state
+   * of the points (see <code>{@link ITracePainterIncremental}</code>) and the
+   * points are not needed otherwise: Neither for error bars nor for data
+   * accumulation nor for the strip chart mode.
+   * <p>
+   * 
+   * @param trace
+   *          the trace to paint, the lock on it has to be held.
+   * 
+   * @param hasErrorBars
+   *          true if the trace has error bars.
+   * 
+   * @param cutOffX
+   *          the x pixel coordinate left of which points are not painted or
+   *          <code>{@link Integer#MIN_VALUE}</code> to paint all points.
+   * 
+   * @return true if the given trace is rendered without submitting its points.
+   * 
+   * @see ITracePainterIncremental#paintTrace(ITrace2D, Graphics)
+   */
+  private boolean isIncrementallyPaintable(final ITrace2D trace, final boolean hasErrorBars, final int cutOffX) {
+    boolean result = !hasErrorBars && cutOffX == Integer.MIN_VALUE && !this.m_stripChart
+        && (!(trace instanceof ITrace2DDataAccumulating) || ((ITrace2DDataAccumulating) trace).getAccumulationStrategy() instanceof AccumulationStrategyByPass);
+    for (ITracePainter< ? > tracePainter : trace.getTracePainters()) {
+      result = result && tracePainter instanceof ITracePainterIncremental< ? >;
+    }
+    return result;
+  }
 
-              }
-            } else if (!newpointVisible && !oldpointVisible) {
-              // save for next loop:
-              tmppt = (ITracePoint2D) newpoint.clone();
-              int tmptmpx = tmpx;
-              int tmptmpy = tmpy;
-              /*
-               * check if the interconnection of both invisible points cuts the
-               * visible area:
-               */
-              oldpoint = TracePoint2DUtil.interpolateVisible(oldpoint, newpoint, tracePointProvider);
-              newpoint = TracePoint2DUtil.interpolateVisible(newpoint, oldpoint, tracePointProvider);
+  /**
+   * Returns true if the given trace is rendered in parallel in the current
+   * paint iteration and prepares the tiles for its trace painters in that case.
+   * <p>
+   * 
+   * @param trace
+   *          the trace to paint, the lock on it has to be held.
+   * 
+   * @param g2d
+   *          the graphics context of the paint iteration.
+   * 
+   * @param hasErrorBars
+   *          true if the trace has error bars.
+   * 
+   * @param cutOffX
+   *          the x pixel coordinate left of which points are not painted or
+   *          <code>{@link Integer#MIN_VALUE}</code> to paint all points.
+   * 
+   * @return true if the given trace is rendered in parallel.
+   * 
+   * @see #setParallelRenderingThreads(int)
+   */
+  private boolean isParallelRenderable(final ITrace2D trace, final Graphics2D g2d, final boolean hasErrorBars, final int cutOffX) {
+    boolean result = this.m_parallelRenderingThreads > 1 && g2d != null && !hasErrorBars && cutOffX == Integer.MIN_VALUE
+        && this.m_pageFormat == null && this.m_paintRefinement == null && this.m_paintPointStride == 1
+        && trace.getSize() >= 2 * Chart2D.PARALLEL_RENDERING_MIN_POINTS && this.getPaintWidth() > 0 && this.getPaintHeight() > 0
+        && (!(trace instanceof ITrace2DDataAccumulating) || ((ITrace2DDataAccumulating) trace).getAccumulationStrategy() instanceof AccumulationStrategyByPass);
+    if (result) {
+      if (this.m_traceTiles == null) {
+        this.m_traceTiles = new TraceTile[this.m_parallelRenderingThreads];
+        for (int i = 0; i < this.m_traceTiles.length; i++) {
+          this.m_traceTiles[i] = new TraceTile();
+        }
+      }
+      for (ITracePainter< ? > tracePainter : trace.getTracePainters()) {
+        result = result && Chart2D.replicateTracePainter(tracePainter) != null;
+      }
+    }
+    return result;
+  }
 
-              tmpx = this.m_xChartStart + (int) Math.round(newpoint.getScaledX() * rangex);
-              tmpy = this.m_yChartStart - (int) Math.round(newpoint.getScaledY() * rangey);
-              oldtmpx = this.m_xChartStart + (int) Math.round(oldpoint.getScaledX() * rangex);
-              oldtmpy = this.m_yChartStart - (int) Math.round(oldpoint.getScaledY() * rangey);
-              // only paint if intersection!
-              if (this.hasChartIntersection(oldpoint, newpoint)) {
-                // don't use error bars for interpolated points that do not
-                // intersect the chart's viewport!
-                this.paintPoint(oldtmpx, oldtmpy, tmpx, tmpy, true, trace, g, oldpoint, false, rangex, rangey);
-              }
-              // restore for next loop start:
-              newpoint = tmppt;
-              tmpx = tmptmpx;
-              tmpy = tmptmpy;
-            } else if (newpointVisible && !oldpointVisible) {
-              // entering the visible bounds: interpolate from old point
-              // to new point
-              oldpoint = TracePoint2DUtil.interpolateVisible(oldpoint, newpoint, tracePointProvider);
-              tmpx = this.m_xChartStart + (int) Math.round(newpoint.getScaledX() * rangex);
-              tmpy = this.m_yChartStart - (int) Math.round(newpoint.getScaledY() * rangey);
-              oldtmpx = this.m_xChartStart + (int) Math.round(oldpoint.getScaledX() * rangex);
-              oldtmpy = this.m_yChartStart - (int) Math.round(oldpoint.getScaledY() * rangey);
-              /**
-               * Oldpoint was null before call to interpolate: First iteration.
-               */
-              if (oldpoint != newpoint) {
-                // don't use error bars for interpolated points!
-                this.paintPoint(oldtmpx, oldtmpy, tmpx, tmpy, true, trace, g, oldpoint, false, rangex, rangey);
-              }
-            } else if (!newpointVisible && oldpointVisible) {
-              // leaving the visible bounds:
-              tmppt = (ITracePoint2D) newpoint.clone();
-              newpoint = TracePoint2DUtil.interpolateVisible(newpoint, oldpoint, tracePointProvider);
-              tmpx = this.m_xChartStart + (int) Math.round(newpoint.getScaledX() * rangex);
-              tmpy = this.m_yChartStart - (int) Math.round(newpoint.getScaledY() * rangey);
-              // don't use error bars for interpolated points!
-              this.paintPoint(oldtmpx, oldtmpy, tmpx, tmpy, true, trace, g, oldpoint, false, rangex, rangey);
-              // restore for next loop start:
-              newpoint = tmppt;
-            } else {
-              // staying in the visible bounds: just paint
-              tmpx = this.m_xChartStart + (int) Math.round(newpoint.getScaledX() * rangex);
-              tmpy = this.m_yChartStart - (int) Math.round(newpoint.getScaledY() * rangey);
-              this.paintPoint(oldtmpx, oldtmpy, tmpx, tmpy, false, trace, g, newpoint, hasErrorBars, rangex, rangey);
-            }
-          }
-          if (DEBUG_DATA_ACCUMULATION) {
-            stopWatchPointRendering.stop();
-            System.out.println(this.getClass().getName() + " rendered " + countPoints + " points of a trace with " + trace.getSize() + " points. It took "
-                + stopWatchPointRendering.snapShot() + " ms.");
-            stopWatchPointRendering.reset();
-          }
-          itTracePainters = trace.getTracePainters().iterator();
-          while (itTracePainters.hasNext()) {
-            tracePainter = itTracePainters.next();
-            tracePainter.endPaintIteration(g);
-          }
-          if (hasErrorBars) {
-            itTraceErrorBarPolicies = trace.getErrorBarPolicies().iterator();
-            while (itTraceErrorBarPolicies.hasNext()) {
-              errorBarPolicy = itTraceErrorBarPolicies.next();
-              errorBarPolicy.endPaintIteration(g);
+  /**
+   * Renders the given trace in parallel: The points are split into ranges that
+   * are rendered to the images of the tiles by worker threads (the first one
+   * by the calling thread) and composited in their order.
+   * <p>
+   * <b>Caution</b> This method may only be called by
+   * <code>{@link #paintTrace(ITrace2D, Graphics, int, int, int)}</code> with
+   * the locks on this chart and on the trace if
+   * <code>{@link #isParallelRenderable(ITrace2D, Graphics2D, boolean, int)}</code>
+   * returned true. The worker threads only read the points while it waits
+   * holding the locks.
+   * <p>
+   * 
+   * @param trace
+   *          the trace to paint.
+   * 
+   * @param g2d
+   *          the graphics context configured with the color and the stroke of
+   *          the trace.
+   * 
+   * @param rangex
+   *          the width of the chart area in pixel.
+   * 
+   * @param rangey
+   *          the height of the chart area in pixel.
+   * 
+   * @return the x pixel coordinate of the last point of the trace or
+   *         <code>{@link Integer#MIN_VALUE}</code> if the trace contains no
+   *         point.
+   * 
+   * @see #setParallelRenderingThreads(int)
+   */
+  private int paintTraceParallel(final ITrace2D trace, final Graphics2D g2d, final int rangex, final int rangey) {
+    int result = Integer.MIN_VALUE;
+    int size = trace.getSize();
+    if (this.m_traceTilePoints == null || this.m_traceTilePoints.length < size) {
+      this.m_traceTilePoints = new ITracePoint2D[size];
+    }
+    this.m_traceTilePointsUsed = Math.max(this.m_traceTilePointsUsed, size);
+    final ITracePoint2D[] points = this.m_traceTilePoints;
+    size = 0;
+    for (Iterator<ITracePoint2D> it = trace.iterator(); it.hasNext();) {
+      points[size++] = it.next();
+    }
+    for (int i = size - 1; i >= 0 && result == Integer.MIN_VALUE; i--) {
+      if (!points[i].isDiscontinuation()) {
+        result = this.m_xChartStart + (int) Math.round(points[i].getScaledX() * rangex);
+      }
+    }
+    final int tiles = Math.min(this.m_traceTiles.length, size / Chart2D.PARALLEL_RENDERING_MIN_POINTS);
+    for (int i = 0; i < tiles; i++) {
+      this.m_traceTiles[i].prepare(trace, points, (int) ((long) size * i / tiles), (int) ((long) size * (i + 1) / tiles), g2d, rangex, rangey);
+    }
+    if (this.m_parallelRenderingExecutor == null) {
+      this.m_parallelRenderingExecutor = Executors.newFixedThreadPool(this.m_traceTiles.length - 1, new ThreadFactory() {
+        public Thread newThread(final Runnable r) {
+          final Thread thread = new Thread(r, "Chart2D parallel rendering");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      this.m_traceTileResults = new Future< ? >[this.m_traceTiles.length];
+    }
+    try {
+      for (int i = 1; i < tiles; i++) {
+        this.m_traceTileResults[i] = this.m_parallelRenderingExecutor.submit(this.m_traceTiles[i]);
+      }
+      this.m_traceTiles[0].call();
+      boolean interrupted = false;
+      for (int i = 1; i < tiles; i++) {
+        // the workers access the points: wait for all of them
+        while (true) {
+          try {
+            this.m_traceTileResults[i].get();
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+          } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+              throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+              throw (Error) cause;
             }
+            throw new IllegalStateException(cause);
           }
         }
       }
-      if (Chart2D.DEBUG_THREADING) {
-        System.out.println("paint(" + Thread.currentThread().getName() + "), left lock on trace " + trace.getName());
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      for (int i = 0; i < tiles; i++) {
+        g2d.drawImage(this.m_traceTiles[i].m_layer.getCachedImage(), 0, 0, null);
+      }
+    } finally {
+      for (int i = 0; i < tiles; i++) {
+        this.m_traceTiles[i].release();
+        this.m_traceTileResults[i] = null;
       }
-      if (this.firstPaint) {
-        this.firstPaint = false;
-        this.firePropertyChange(PROPERTY_VISIBLE, Boolean.FALSE, Boolean.TRUE);
+      Arrays.fill(points, 0, size, null);
+    }
+    this.m_paintedPoints += size;
+    return result;
+  }
+
+  /**
+   * Stops the worker threads of parallel rendering and releases the tiles.
+   * <p>
+   * 
+   * @see #setParallelRenderingThreads(int)
+   */
+  private void releaseParallelRendering() {
+    if (this.m_parallelRenderingExecutor != null) {
+      this.m_parallelRenderingExecutor.shutdown();
+      this.m_parallelRenderingExecutor = null;
+    }
+    if (this.m_traceTiles != null) {
+      for (TraceTile tile : this.m_traceTiles) {
+        tile.m_layer.dispose();
       }
+      this.m_traceTiles = null;
     }
-    if (g2d != null) {
-      g2d.setStroke(backupStroke);
+    this.m_traceTileResults = null;
+    this.m_traceTilePoints = null;
+  }
+
+  /**
+   * Returns a new replica of the given trace painter for parallel rendering or
+   * null if it may not be replicated.
+   * <p>
+   * 
+   * @param painter
+   *          a trace painter of the trace to render.
+   * 
+   * @return a new replica of the given trace painter or null.
+   * 
+   * @see ITracePainterReplicable#replicate()
+   */
+  private static ITracePainter< ? > replicateTracePainter(final ITracePainter< ? > painter) {
+    ITracePainter< ? > result = null;
+    if (painter instanceof ITracePainterReplicable< ? >) {
+      result = ((ITracePainterReplicable< ? >) painter).replicate();
+      if (result.getClass() != painter.getClass()) {
+        result = null;
+      }
     }
+    return result;
+  }
 
+  /**
+   * Removes the given layer cache of the trace from the events of the trace
+   * that invalidate it.
+   * <p>
+   * 
+   * @see #listenToTraceLayer(ITrace2D, LayerCache)
+   * 
+   * @param trace
+   *          the cached trace.
+   * 
+   * @param traceLayer
+   *          the layer cache of the trace.
+   */
+  private void unlistenToTraceLayer(final ITrace2D trace, final LayerCache traceLayer) {
+    for (String property : Chart2D.TRACE_LAYER_EVENTS) {
+      trace.removePropertyChangeListener(property, traceLayer);
+    }
   }
 
   /**
@@ -3224,7 +6031,9 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    * <p>
    * 
    * @param trace
-   *          needed to get the {@link IErrorBarPolicy} instances to use.
+   *          the trace to paint the error bars for, its
+   *          <code>{@link IErrorBarPolicy}</code> instances have been collected
+   *          by <code>{@link #collectPaintDelegates(ITrace2D, boolean)}</code>.
    * @param oldtmpx
    *          the x coordinate of the original point to render an error bar for.
    * @param oldtmpy
@@ -3249,9 +6058,8 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
   private void paintErrorBars(final ITrace2D trace, final int oldtmpx, final int oldtmpy, final int tmpx, final int tmpy, final Graphics g2d,
       final boolean discontinue, final ITracePoint2D original) {
     IErrorBarPolicy< ? > errorBarPolicy;
-    Iterator<IErrorBarPolicy< ? >> itTraceErrorBarPolicies = trace.getErrorBarPolicies().iterator();
-    while (itTraceErrorBarPolicies.hasNext()) {
-      errorBarPolicy = itTraceErrorBarPolicies.next();
+    for (int i = 0; i < this.m_paintErrorBarPoliciesCount; i++) {
+      errorBarPolicy = this.m_paintErrorBarPolicies[i];
       errorBarPolicy.paintPoint(oldtmpx, oldtmpy, tmpx, tmpy, g2d, original);
       if (discontinue) {
         errorBarPolicy.discontinue(g2d);
@@ -3259,6 +6067,60 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     }
   }
 
+  /**
+   * Paints the additional point painters of the points of the given trace that
+   * have some (<code>{@link ITrace2D#getHighlightedPoints()}</code>) on top of
+   * the trace.
+   * <p>
+   * Highlighting only marks a few points: Painting them in a separate pass
+   * spares asking every painted point for additional point painters.
+   * <p>
+   * 
+   * @param trace
+   *          the trace to paint the highlighted points of, the lock on it has
+   *          to be held.
+   * 
+   * @param g
+   *          the graphics context to use.
+   * 
+   * @param rangex
+   *          the width of the chart area in pixel.
+   * 
+   * @param rangey
+   *          the height of the chart area in pixel.
+   * 
+   * @param cutOffX
+   *          the x pixel coordinate left of which points are not painted or
+   *          <code>{@link Integer#MIN_VALUE}</code> to paint all points.
+   */
+  private void paintHighlightedPoints(final ITrace2D trace, final Graphics g, final int rangex, final int rangey, final int cutOffX) {
+    final Set<ITracePoint2D> highlightedPoints = trace.getHighlightedPoints();
+    // avoid creating an iterator for the common case:
+    if (!highlightedPoints.isEmpty()) {
+      g.setColor(trace.getColor());
+      double[] highlightSweetSpot;
+      int highlightX;
+      int highlightY;
+      for (final ITracePoint2D point : highlightedPoints) {
+        if (!point.isDiscontinuation() && this.isVisible(point)) {
+          highlightSweetSpot = point.getNormalizedHighlightSweetSpotCoordinates();
+          if (highlightSweetSpot == null) {
+            highlightX = this.m_xChartStart + (int) Math.round(point.getScaledX() * rangex);
+            highlightY = this.m_yChartStart - (int) Math.round(point.getScaledY() * rangey);
+          } else {
+            highlightX = this.m_xChartStart + (int) Math.round(highlightSweetSpot[0] * rangex);
+            highlightY = this.m_yChartStart - (int) Math.round(highlightSweetSpot[1] * rangey);
+          }
+          if (highlightX >= cutOffX) {
+            for (final IPointPainter< ? > highlighter : point.getAdditionalPointPainters()) {
+              highlighter.paintPoint(highlightX, highlightY, highlightX, highlightY, g, point);
+            }
+          }
+        }
+      }
+    }
+  }
+
   /**
    * Internally paints the point with respect to trace painters (
    * {@link ITracePainter}) and error bar painter ({@link IErrorBarPolicy}) of
@@ -3307,43 +6169,18 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    * @param errorBarSupport
    *          optimization that allows to skip error bar code.
    * 
-   * @param rangeX
-   *          needed in case the highlighters highlight not the exact coordinate
-   *          of the point.
-   *          
-   * @param rangey
-   *          needed in case the highlighters highlight not the exact coordinate
-   *          of the point.
+   * @see #paintHighlightedPoints(ITrace2D, Graphics, int, int, int)
    */
   private final void paintPoint(final int xPxOld, final int yPxOld, final int xPxNew, final int yPxNew, final boolean discontinue, final ITrace2D trace,
-      final Graphics g2d, final ITracePoint2D original, final boolean errorBarSupport, final double rangeX, final double rangeY) {
-    Iterator<ITracePainter< ? >> itTracePainters;
+      final Graphics g2d, final ITracePoint2D original, final boolean errorBarSupport) {
     ITracePainter< ? > tracePainter;
-    itTracePainters = trace.getTracePainters().iterator();
-    while (itTracePainters.hasNext()) {
-      tracePainter = itTracePainters.next();
+    for (int i = 0; i < this.m_paintTracePaintersCount; i++) {
+      tracePainter = this.m_paintTracePainters[i];
       tracePainter.paintPoint(xPxOld, yPxOld, xPxNew, yPxNew, g2d, original);
       if (discontinue) {
         tracePainter.discontinue(g2d);
       }
     }
-    Set<IPointPainter< ? >> additionalHighlighters = original.getAdditionalPointPainters();
-    Iterator<IPointPainter< ? >> itPointHighlighters = additionalHighlighters.iterator();
-    IPointPainter< ? > highlighter;
-    double[] highlightSweetSpot = original.getNormalizedHighlightSweetSpotCoordinates();
-    while (itPointHighlighters.hasNext()) {
-      highlighter = itPointHighlighters.next();
-      if(highlightSweetSpot == null) {
-        highlighter.paintPoint(xPxNew, yPxNew, xPxNew, yPxNew, g2d, original);
-      } else{
-        if(!discontinue) {
-          
-          int highlightX = this.m_xChartStart + (int) Math.round(highlightSweetSpot[0]  * rangeX);
-          int highlightY = this.m_yChartStart - (int) Math.round(highlightSweetSpot[1] * rangeY);
-          highlighter.paintPoint(highlightX, highlightY, highlightX, highlightY, g2d, original);
-        }
-      }
-    }
     if (errorBarSupport) {
       this.paintErrorBars(trace, xPxOld, yPxOld, xPxNew, yPxNew, g2d, discontinue, original);
     }
@@ -3359,10 +6196,10 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    */
   private int paintTraceLabels(final Graphics g2d) {
     int labelheight = 0;
-    Dimension d = this.getSize();
+    Dimension d = new Dimension(this.getPaintWidth(), this.getPaintHeight());
     if (this.m_paintLabels) {
       ITrace2D trace;
-      Iterator<ITrace2D> traceIt = this.getTraces().iterator();
+      Iterator<ITrace2D> traceIt = this.getTracesSnapshot().iterator();
       int xtmpos = this.m_xChartStart;
       int ytmpos = (int) d.getHeight() - 2;
       int remwidth = (int) d.getWidth() - this.m_xChartStart;
@@ -3455,6 +6292,15 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
       // TODO: use the property change reactor idiom also used in AAxis for
       // performance.
       String property = evt.getPropertyName();
+      if (this.m_backgroundLayer != null && !property.equals(ITrace2D.PROPERTY_TRACEPOINT_CHANGED_HIGHLIGHTERS)) {
+        // axis titles, range policies,... are not part of the background key:
+        this.m_backgroundLayer.invalidate();
+      }
+      if (this.m_stripChartLayer != null) {
+        // highlighters, accumulation, axis scale policies,... change the traces:
+        this.m_stripChartLayer.invalidate();
+      }
+      this.m_traceLayersModCount++;
       if (property.equals(IRangePolicy.PROPERTY_RANGE)) {
         // repaint
       } else if (property.equals(IRangePolicy.PROPERTY_RANGE_MAX)) {
@@ -3503,6 +6349,9 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
         // repaint
       } else if (property.equals(IAxis.PROPERTY_VISIBLE)) {
         // repaint
+      } else if (property.equals(ITrace2D.PROPERTY_ZINDEX)) {
+        // the order of traces changed:
+        this.m_tracesModCount++;
       } else if (property.equals(ITrace2DDataAccumulating.PROPERTY_ACCUMULATION_STRATEGY)) {
         // repaint
       } else if (property.equals(ITrace2DDataAccumulating.PROPERTY_ACCUMULATION_STRATEGY_ACCUMULATION_FUNCTION_CHANGED)) {
@@ -3809,6 +6658,35 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     this.setRequestedRepaint(true);
   }
 
+  /**
+   * Sets the policy that decides about rendering in fast quality under load.
+   * <p>
+   * 
+   * If a paint operation exceeds the frame budget or the point budget of the
+   * policy the following paint operations render without antialiasing and
+   * with thin solid strokes for the traces. After the chart has been idle for
+   * the idle delay of the policy it is repainted once in full quality (see
+   * <code>{@link AdaptiveQualityPolicy}</code>).
+   * <p>
+   * 
+   * Every chart needs its own policy instance.
+   * <p>
+   * 
+   * @param policy
+   *          the policy to use or null to always render in full quality (the
+   *          default).
+   * 
+   * @see #PROPERTY_ADAPTIVE_QUALITY_POLICY
+   */
+  public synchronized void setAdaptiveQualityPolicy(final AdaptiveQualityPolicy policy) {
+    final AdaptiveQualityPolicy old = this.m_adaptiveQualityPolicy;
+    if (old != policy) {
+      this.m_adaptiveQualityPolicy = policy;
+      this.firePropertyChange(Chart2D.PROPERTY_ADAPTIVE_QUALITY_POLICY, old, policy);
+      this.setRequestedRepaint(true);
+    }
+  }
+
   /**
    * Sets the axis tick painter.
    * <p>
@@ -4159,6 +7037,43 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     return old;
   }
 
+  /**
+   * Decide whether trace labels and the coordinate system (axes, scales and
+   * grid) are rendered to a cached image.
+   * <p>
+   * The cached image and the layout of the chart (e.g.
+   * <code>{@link #getXChartStart()}</code>) are reused as long as the size of
+   * the chart, the font, colors, grid strokes, the axes with their ranges,
+   * tick spacings and label formatters as well as the labels of the traces
+   * stay unchanged. Then a paint operation just draws the cached image and the
+   * traces. Any property change event of the chart or its axes discards the
+   * cache.
+   * <p>
+   * This pays for charts with fixed axis ranges whose data changes frequently
+   * at the cost of an image of the size of the chart. For charts whose ranges
+   * change with every new point it is useless.
+   * <p>
+   * It is ignored for printing and for charts that synchronize their x start
+   * coordinate with another chart (see
+   * <code>{@link #setSynchronizedXStartChart(Chart2D)}</code>).
+   * <p>
+   * 
+   * @param backgroundLayerCaching
+   *          true if trace labels and the coordinate system should be cached.
+   */
+  public final void setBackgroundLayerCaching(final boolean backgroundLayerCaching) {
+    if (this.m_backgroundLayerCaching != backgroundLayerCaching) {
+      boolean oldstate = this.m_backgroundLayerCaching;
+      this.m_backgroundLayerCaching = backgroundLayerCaching;
+      if (!backgroundLayerCaching && this.m_backgroundLayer != null) {
+        this.m_backgroundLayer.dispose();
+        this.m_backgroundLayer = null;
+      }
+      this.firePropertyChange(Chart2D.PROPERTY_BACKGROUND_LAYER_CACHING, oldstate, this.m_backgroundLayerCaching);
+      this.setRequestedRepaint(true);
+    }
+  }
+
   /**
    * Set the grid color to use.
    * <p>
@@ -4292,6 +7207,52 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     this.m_requestedRepaint = requestedRepaint;
   }
 
+  /**
+   * Decide whether the chart is rendered as a strip chart.
+   * <p>
+   * In strip chart mode the traces are rendered to an image that is kept
+   * between paint operations. If only the range of the x axis has been shifted
+   * since the previous paint operation (e.g. a sliding window of an
+   * oscilloscope like live chart) this image is scrolled to the left by the
+   * corresponding amount of pixels and only the exposed strip and the newly
+   * added points are painted. Any other change (a rescaling of the y axes, a
+   * change of the extent of the x range, resizing, changes of trace
+   * properties or property change events of the chart) causes a complete
+   * rendering of the traces.
+   * <p>
+   * This pays for charts with many points in a range of constant extent that
+   * is shifted by new points (e.g. by
+   * <code>{@link info.monitorenter.gui.chart.rangepolicies.RangePolicyHighestValues}</code>
+   * ) and a fixed y range. The following restrictions apply:
+   * <ul>
+   * <li>The points of the traces have to be added in ascending order of their
+   * x values.</li>
+   * <li>Only charts with a single linear x axis and traces without data
+   * accumulation are scrolled, others are always rendered completely.</li>
+   * <li>Scrolling is done in whole pixels: points are painted with a deviation
+   * of less than one pixel compared to a complete rendering.</li>
+   * </ul>
+   * <p>
+   * The strip chart mode is ignored for printing.
+   * <p>
+   * 
+   * @param stripChart
+   *          true if the chart should be rendered as a strip chart.
+   */
+  public final synchronized void setStripChart(final boolean stripChart) {
+    if (this.m_stripChart != stripChart) {
+      boolean oldstate = this.m_stripChart;
+      this.m_stripChart = stripChart;
+      if (!stripChart && this.m_stripChartLayer != null) {
+        this.m_stripChartLayer.dispose();
+        this.m_stripChartLayer = null;
+        this.m_stripChartLastX = null;
+      }
+      this.firePropertyChange(Chart2D.PROPERTY_STRIP_CHART, oldstate, this.m_stripChart);
+      this.setRequestedRepaint(true);
+    }
+  }
+
   /**
    * Sets the chart that will be synchronized for finding the start coordinate
    * of this chart to draw in x dimension ( <code>{@link #getXChartStart()}
@@ -4316,6 +7277,166 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     }
   }
 
+  /**
+   * Sets the amount of threads rendering a trace with many points.
+   * <p>
+   * A trace with more than 10000 points per thread is split into ranges of
+   * points that are rendered concurrently to images by the paint thread and
+   * worker threads of this chart. The images are composited in the order of
+   * the points: The result does not depend on the scheduling of the threads
+   * and only differs from serial rendering where the ranges meet (e.g. the
+   * join of a polyline or translucent pixels painted twice).
+   * <p>
+   * Parallel rendering only takes effect for traces whose trace painters all
+   * implement <code>{@link ITracePainterReplicable}</code>, without error bars
+   * and without data accumulation (see
+   * <code>{@link ITrace2DDataAccumulating#setAccumulationStrategy(IAccumulationStrategy)}</code>
+   * ). It is ignored for printing, in strip chart mode (see
+   * <code>{@link #setStripChart(boolean)}</code>) and for the passes of
+   * progressive rendering (see <code>{@link #setProgressiveRenderingPoints(int)}</code>).
+   * <p>
+   * 
+   * @param threads
+   *          the amount of threads rendering a trace or 1 to render serially
+   *          (the default).
+   * 
+   * @throws IllegalArgumentException
+   *           if the given amount of threads is not positive.
+   * 
+   * @see #PROPERTY_PARALLEL_RENDERING_THREADS
+   */
+  public final synchronized void setParallelRenderingThreads(final int threads) throws IllegalArgumentException {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Amount of rendering threads has to be positive: " + threads);
+    }
+    if (this.m_parallelRenderingThreads != threads) {
+      final int old = this.m_parallelRenderingThreads;
+      this.m_parallelRenderingThreads = threads;
+      this.releaseParallelRendering();
+      if (this.m_traceLayers != null) {
+        for (LayerCache traceLayer : this.m_traceLayers.values()) {
+          traceLayer.invalidate();
+        }
+      }
+      this.firePropertyChange(Chart2D.PROPERTY_PARALLEL_RENDERING_THREADS, Integer.valueOf(old), Integer.valueOf(threads));
+      this.setRequestedRepaint(true);
+    }
+  }
+
+  /**
+   * Sets the duration in ms a pass of progressive rendering renders points of
+   * a trace before the pass ends and the next paint operation is requested.
+   * <p>
+   * 
+   * @param millis
+   *          the duration in ms of a pass, 20 by default.
+   * 
+   * @throws IllegalArgumentException
+   *           if the given duration is not positive.
+   * 
+   * @see #setProgressiveRenderingPoints(int)
+   */
+  public final synchronized void setProgressiveRenderingMillis(final int millis) throws IllegalArgumentException {
+    if (millis <= 0) {
+      throw new IllegalArgumentException("Duration of a pass has to be positive: " + millis);
+    }
+    this.m_progressiveRenderingMillis = millis;
+  }
+
+  /**
+   * Sets the amount of points rendered for the preview of progressive
+   * rendering.
+   * <p>
+   * A trace with more points is rendered progressively to its layer: The
+   * first paint operation renders a coarse preview of only every n-th point
+   * so that at most the given amount of points are rendered. The following
+   * paint operations (requested automatically) each resume with the next
+   * points for <code>{@link #getProgressiveRenderingMillis()}</code> ms to a
+   * hidden full resolution rendering that replaces the preview once it is
+   * complete. Any change of the trace or the view (axis ranges, size) cancels
+   * the refinement and starts anew with a preview.
+   * <p>
+   * This keeps the user interface responsive for static traces with millions
+   * of points: The latency of every paint operation is bounded by the given
+   * amount of points or the duration of a pass instead of the size of the
+   * trace. Traces that accumulate
+   * their data (see
+   * <code>{@link ITrace2DDataAccumulating#setAccumulationStrategy(IAccumulationStrategy)}</code>
+   * ) are always rendered at once.
+   * <p>
+   * Progressive rendering only takes effect with trace layer caching (see
+   * <code>{@link #setTraceLayerCaching(boolean)}</code>).
+   * <p>
+   * 
+   * @param points
+   *          the amount of points rendered for the preview or 0 to render all traces
+   *          at once (the default).
+   * 
+   * @throws IllegalArgumentException
+   *           if the given amount of points is negative.
+   * 
+   * @see #PROPERTY_PROGRESSIVE_RENDERING_POINTS
+   */
+  public final synchronized void setProgressiveRenderingPoints(final int points) throws IllegalArgumentException {
+    if (points < 0) {
+      throw new IllegalArgumentException("Amount of points of the preview must not be negative: " + points);
+    }
+    if (this.m_progressiveRenderingPoints != points) {
+      final int old = this.m_progressiveRenderingPoints;
+      this.m_progressiveRenderingPoints = points;
+      // restart or complete running refinements:
+      if (this.m_traceLayers != null) {
+        for (LayerCache traceLayer : this.m_traceLayers.values()) {
+          traceLayer.invalidate();
+        }
+      }
+      this.m_traceRefinements = null;
+      this.firePropertyChange(Chart2D.PROPERTY_PROGRESSIVE_RENDERING_POINTS, Integer.valueOf(old), Integer.valueOf(points));
+      this.setRequestedRepaint(true);
+    }
+  }
+
+  /**
+   * Decide whether every trace is rendered to a cached image.
+   * <p>
+   * A cached trace image is reused as long as the trace does not fire a
+   * change event (points, color, stroke, painters, error bars, visibility,
+   * highlighting or data accumulation) and the ranges of the axes, the layout
+   * of the chart and the antialiasing setting stay unchanged. Then a paint
+   * operation just draws the cached images of the traces in the order of
+   * their z-index instead of iterating and painting their points.
+   * <p>
+   * This pays for charts with many static traces (e.g. reference curves)
+   * besides few changing traces at the cost of one image of the size of the
+   * chart per trace. Any property change event of the chart or its axes
+   * discards all cached images.
+   * <p>
+   * It is ignored for printing and in strip chart mode (see
+   * <code>{@link #setStripChart(boolean)}</code>).
+   * <p>
+   * 
+   * @param traceLayerCaching
+   *          true if the traces should be cached.
+   */
+  public final synchronized void setTraceLayerCaching(final boolean traceLayerCaching) {
+    if (this.m_traceLayerCaching != traceLayerCaching) {
+      boolean oldstate = this.m_traceLayerCaching;
+      this.m_traceLayerCaching = traceLayerCaching;
+      if (traceLayerCaching) {
+        this.m_traceLayers = new IdentityHashMap<ITrace2D, LayerCache>();
+      } else {
+        for (Map.Entry<ITrace2D, LayerCache> entry : this.m_traceLayers.entrySet()) {
+          this.unlistenToTraceLayer(entry.getKey(), entry.getValue());
+          entry.getValue().dispose();
+        }
+        this.m_traceLayers = null;
+        this.m_traceRefinements = null;
+      }
+      this.firePropertyChange(Chart2D.PROPERTY_TRACE_LAYER_CACHING, oldstate, this.m_traceLayerCaching);
+      this.setRequestedRepaint(true);
+    }
+  }
+
   /**
    * Set whether this component should display the chart coordinates as a tool
    * tip.
@@ -4382,6 +7503,88 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
     }
   }
 
+  /**
+   * Renders the chart to the given image.
+   * <p>
+   * 
+   * @param image
+   *          the image to render the chart to with its whole size.
+   * 
+   * @return the given image for convenience.
+   * 
+   * @see #render(Graphics2D, int, int)
+   */
+  public BufferedImage render(final BufferedImage image) {
+    final Graphics2D g2d = image.createGraphics();
+    try {
+      this.render(g2d, image.getWidth(), image.getHeight());
+    } finally {
+      g2d.dispose();
+    }
+    return image;
+  }
+
+  /**
+   * Renders the chart with the given size to the given graphics context
+   * without using Swing.
+   * <p>
+   * In contrast to <code>{@link #snapShot(int, int)}</code> the size of this
+   * component is not changed and no Swing paint code (borders, child
+   * components, double buffering) is involved: The layout is computed for the
+   * given size and the coordinate system and the traces are painted directly.
+   * The chart does not have to be realized or added to a container. This is
+   * intended for server side rendering of charts to images.
+   * <p>
+   * The rendering is synchronized on this chart. Different charts may be
+   * rendered concurrently on different threads. The layout for the given size
+   * is only used for the rendering: Afterwards the layout of the on-screen
+   * chart is restored, the layer caches of the on-screen chart are neither
+   * used nor changed, the adaptive quality policy is not involved and no
+   * visibility events are fired. The on-screen chart never sees the rendered
+   * size as it only reads the layout with the lock on this chart.
+   * <p>
+   * The rendering hints of the given graphics context are used (e.g.
+   * antialiasing). If this chart is opaque the area is filled with the
+   * background color first.
+   * <p>
+   * 
+   * @param g2d
+   *          the graphics context to render to.
+   * 
+   * @param width
+   *          the width in pixel to render the chart with.
+   * 
+   * @param height
+   *          the height in pixel to render the chart with.
+   */
+  public void render(final Graphics2D g2d, final int width, final int height) {
+    synchronized (this) {
+      if (Chart2D.DEBUG_THREADING) {
+        System.out.println("render, 1 lock");
+      }
+      final Layout screenLayout = new Layout(this);
+      this.m_renderWidth = width;
+      this.m_renderHeight = height;
+      try {
+        if (this.isOpaque()) {
+          g2d.setColor(this.getBackground());
+          g2d.fillRect(0, 0, width, height);
+        }
+        g2d.setColor(this.getForeground());
+        g2d.setFont(this.getFont());
+        /*
+         * Points added to a chart that has not been realized are not scaled
+         * (see AAxis) and there is no full rescale on the first display:
+         */
+        this.paintChart(g2d, super.getWidth() <= 0 || super.getHeight() <= 0);
+      } finally {
+        this.m_renderWidth = -1;
+        this.m_renderHeight = -1;
+        screenLayout.restore(this);
+      }
+    }
+  }
+
   /**
    * Returns a BufferedImage with the current width and height of the chart
    * filled with the Chart2D's graphics that may be written to a file or
@@ -4421,6 +7624,11 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    * .
    * <p>
    * 
+   * This temporarily changes the size of this component. To render charts
+   * without Swing (e.g. concurrently on a server) use
+   * <code>{@link #render(Graphics2D, int, int)}</code>.
+   * <p>
+   * 
    * @param width
    *          the width of the image to create.
    * @param height
@@ -4518,7 +7726,8 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
 
     ITracePoint2D result = null;
     ITrace2D nearestTrace = null;
-    ITracePoint2D nearestPoint = this.getPointFinder().getNearestPoint(mouseEvent, this);
+    List<ITracePoint2D> nearestPoints = this.getNearestPoints(mouseEvent);
+    ITracePoint2D nearestPoint = nearestPoints.isEmpty() ? null : nearestPoints.get(0);
     if (nearestPoint != null) {
       nearestTrace = nearestPoint.getListener();
       if (nearestTrace != null) {
@@ -4575,6 +7784,17 @@ public class Chart2D extends JPanel implements PropertyChangeListener, Iterable<
    *          the trace to not listen to any more.
    */
   private void unlistenToTrace(final ITrace2D removedTrace) {
+    if (this.m_traceLayers != null) {
+      final LayerCache traceLayer = this.m_traceLayers.remove(removedTrace);
+      if (traceLayer != null) {
+        this.unlistenToTraceLayer(removedTrace, traceLayer);
+      }
+    }
+    if (this.m_traceRefinements != null) {
+      this.m_traceRefinements.remove(removedTrace);
+    }
+    this.m_tracesModCount++;
+    removedTrace.removePropertyChangeListener(ITrace2D.PROPERTY_ZINDEX, this);
     removedTrace.removePropertyChangeListener(ITrace2D.PROPERTY_TRACEPOINT_CHANGED_HIGHLIGHTERS, this.m_pointHighlighter);
     removedTrace.removePropertyChangeListener(ITrace2D.PROPERTY_TRACEPOINT_CHANGED_HIGHLIGHTERS, this);
     if (removedTrace instanceof ITrace2DDataAccumulating) {
@@ -113,6 +113,24 @@ public interface IAccumulationFunction extends Serializable {
    */
   public ITracePoint2D getAccumulatedPoint();
 
+  /**
+   * Returns the next additional point of the accumulation result returned by
+   * the last call to {@link #getAccumulatedPoint()} or <code>null</code> if
+   * there is no (more) additional point.
+   * <p>
+   * Functions that accumulate several points into more than one point (e.g.
+   * the extremes of the accumulated points) return the first point from
+   * {@link #getAccumulatedPoint()} and the following ones (in the order they
+   * have to be rendered) from this method. Iterators have to invoke this
+   * method after every call to {@link #getAccumulatedPoint()} until it returns
+   * <code>null</code>.
+   * <p>
+   * 
+   * @return the next additional point of the last accumulation result or
+   *         <code>null</code>.
+   */
+  public ITracePoint2D getAccumulatedPointAdditional();
+
   /**
    * Returns the current amount of accumulated points.
    * <p>
@@ -0,0 +1,50 @@
+/*
+ *  IAccumulationFunctionReplicable.java of project jchart2d, an accumulation
+ *  function that may be replicated for concurrent accumulation.
+ *  Copyright (c) 2004 - 2013  Achim Westermann, Achim.Westermann@gmx.de
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+package info.monitorenter.gui.chart;
+
+/**
+ * An accumulation function that may accumulate parts of a trace concurrently
+ * by replicas of itself.
+ * <p>
+ *
+ * Accumulation functions keep the state of the current accumulation and
+ * therefore cannot be shared by threads. For parallel accumulation (see
+ * <code>{@link info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyXRangeParallel}</code>
+ * ) every part of a trace is accumulated with its own replica of the function.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ *
+ * @see ITracePainterReplicable
+ */
+public interface IAccumulationFunctionReplicable extends IAccumulationFunction {
+
+  /**
+   * Returns a new instance of the same class with the same configuration that
+   * does not share any accumulation state with this instance.
+   * <p>
+   *
+   * @return a new instance of the same class with the same configuration.
+   */
+  public IAccumulationFunctionReplicable replicate();
+}
@@ -28,6 +28,7 @@ package info.monitorenter.gui.chart;
 
 import info.monitorenter.gui.chart.traces.accumulationstrategies.AAccumulationStrategy;
 import info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyAmountOfPoints;
+import info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyXRangeWithRespectToDensity;
 import info.monitorenter.gui.chart.traces.iterators.AAccumulationIterator;
 
 import java.beans.PropertyChangeEvent;
@@ -201,6 +202,162 @@ public interface IAccumulationStrategy extends Serializable {
 
   }
 
+  /**
+   * Accumulates consecutive visible points that fall into the same x-range
+   * window.
+   * <p>
+   * The visible x-range is split into <code>desiredAmountOfPoints</code>
+   * windows of the same value-span (one pixel of the chart if the amount of
+   * pixels is desired). The window of a point is computed from its
+   * <code>{@link ITracePoint2D#getScaledX()}</code>. Points that are visible
+   * have a scaled x value in the range [0.0..1.0], so only visible points may
+   * be given to
+   * <code>{@link #getAccumulatedPointIfAccumulationDone(IAccumulationFunction, ITracePoint2D)}</code>.
+   * <p>
+   * The accumulation of a window is only known to be done when the first
+   * point of another window is given. Therefore
+   * <code>{@link #isAccumulationDone()}</code> always returns false and the
+   * accumulated point is returned by
+   * <code>{@link #getAccumulatedPointIfAccumulationDone(IAccumulationFunction, ITracePoint2D)}</code>
+   * only.
+   * <p>
+   *
+   * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+   */
+  public static class AccumulationControlXRange implements IAccumulationControl {
+
+    /** The amount of x-range windows the visible range is split into. */
+    private int m_amountOfWindows = 1;
+
+    /** The first point accumulated in the current window. */
+    private ITracePoint2D m_firstPoint;
+
+    /** True if there are not more points in total than windows. */
+    private boolean m_bypassable;
+
+    /** The window of the points currently accumulated in the function. */
+    private int m_window = -1;
+
+    /**
+     * Default constructor which does not initialize everything needed as that
+     * has to be done by the concrete {@link AAccumulationIterator}
+     * implementation which works with this.
+     * <p>
+     * Those have to call {@link #initializeControl(int, int)} first!
+     * <p>
+     */
+    public AccumulationControlXRange() {
+      // nop
+    }
+
+    /**
+     * Returns the amount of x-range windows the visible range is split into.
+     * <p>
+     *
+     * @return the amount of x-range windows the visible range is split into.
+     */
+    public int getAmountOfWindows() {
+      return this.m_amountOfWindows;
+    }
+
+    /**
+     * @see info.monitorenter.gui.chart.IAccumulationStrategy.IAccumulationControl#getAccumulatedPointIfAccumulationDone(info.monitorenter.gui.chart.IAccumulationFunction,
+     *      info.monitorenter.gui.chart.ITracePoint2D)
+     */
+    @Override
+    public ITracePoint2D getAccumulatedPointIfAccumulationDone(final IAccumulationFunction function,
+        final ITracePoint2D current) {
+      ITracePoint2D result = null;
+      int window = this.getWindow(current);
+      if (window != this.m_window) {
+        result = this.getAccumulatedPoint(function);
+      }
+      this.m_window = window;
+      if (function.getAccumulatedPointCount() == 0) {
+        this.m_firstPoint = current;
+      }
+      function.addPointToAccumulate(current);
+      return result;
+    }
+
+    /**
+     * Returns the accumulated point of the current window and resets the given
+     * function.
+     * <p>
+     * If only one point was accumulated that original point is returned
+     * instead of a copy created by the function.
+     * <p>
+     *
+     * @param function
+     *          the accumulation function to use.
+     *
+     * @return the accumulated point of the current window or <code>null</code>
+     *         if nothing was accumulated.
+     */
+    public ITracePoint2D getAccumulatedPoint(final IAccumulationFunction function) {
+      boolean single = function.getAccumulatedPointCount() == 1;
+      ITracePoint2D result = function.getAccumulatedPoint();
+      if (single) {
+        result = this.m_firstPoint;
+      }
+      this.m_firstPoint = null;
+      return result;
+    }
+
+    /**
+     * Returns the x-range window of the given visible point.
+     * <p>
+     *
+     * @param point
+     *          a visible point.
+     *
+     * @return the x-range window of the given visible point.
+     */
+    public int getWindow(final ITracePoint2D point) {
+      int result = (int) (point.getScaledX() * this.m_amountOfWindows);
+      if (result >= this.m_amountOfWindows) {
+        // scaled x of 1.0 belongs to the last window:
+        result = this.m_amountOfWindows - 1;
+      }
+      return result;
+    }
+
+    /**
+     * @see info.monitorenter.gui.chart.IAccumulationStrategy.IAccumulationControl#initializeControl(int,
+     *      int)
+     */
+    @Override
+    public void initializeControl(final int totalAmountOfPoints, final int desiredAmountOfPoints) {
+      this.m_amountOfWindows = Math.max(1, desiredAmountOfPoints);
+      this.m_bypassable = totalAmountOfPoints <= this.m_amountOfWindows;
+      this.m_window = -1;
+      if (Chart2D.DEBUG_DATA_ACCUMULATION) {
+        System.out.println(this.getClass().getName() + " accumulating " + totalAmountOfPoints + " points into "
+            + this.m_amountOfWindows + " x-range windows");
+      }
+    }
+
+    /**
+     * @see info.monitorenter.gui.chart.IAccumulationStrategy.IAccumulationControl#isAccumulationBypassable()
+     */
+    @Override
+    public boolean isAccumulationBypassable() {
+      return this.m_bypassable;
+    }
+
+    /**
+     * Always returns false as the accumulation of a window is only known to be
+     * done when a point of another window is given.
+     * <p>
+     *
+     * @see info.monitorenter.gui.chart.IAccumulationStrategy.IAccumulationControl#isAccumulationDone()
+     */
+    @Override
+    public boolean isAccumulationDone() {
+      return false;
+    }
+  }
+
   /**
    * Interface for encapsulation of the control of "how many" points get
    * accumulated to one.
@@ -766,6 +766,21 @@ public interface IAxis<T extends IAxisScalePolicy> extends Serializable {
    */
   public abstract double getScaledValue(final double absolute);
 
+  /**
+   * Returns the amount of times this axis has scaled points of its traces so
+   * far.
+   * <p>
+   * The count increases whenever the scaled values of points of the traces of
+   * this axis may have changed (<code>{@link #scaleTrace(ITrace2D)}</code>,
+   * <code>{@link #scale()}</code> or a single added or changed point). Use it
+   * to find out whether data computed from scaled values is outdated.
+   * <p>
+   * 
+   * @return the amount of times this axis has scaled points of its traces so
+   *         far.
+   */
+  public int getScaleCount();
+
   /**
    * Returns the title or <code>null</code> if there was no title configured
    * before.
@@ -885,6 +900,24 @@ public interface IAxis<T extends IAxisScalePolicy> extends Serializable {
    */
   public boolean isDirtyScaling();
 
+  /**
+   * Returns true if no point of the given trace lies within the range of this
+   * axis in the dimension of this axis.
+   * <p>
+   * Such a trace is not visible in the chart: Its points are not scaled by
+   * <code>{@link #scale()}</code> until the trace gets into the range again.
+   * Traces whose painters require a pixel transformation are never out of
+   * range as they may be painted beyond the bounds of their points.
+   * <p>
+   * 
+   * @param trace
+   *          a trace of this axis.
+   * 
+   * @return true if no point of the given trace lies within the range of this
+   *         axis.
+   */
+  public boolean isOutOfRange(ITrace2D trace);
+
   /**
    * Returns wether the x grid is painted or not.
    * <p>
@@ -729,6 +729,23 @@ public interface ITrace2D extends PropertyChangeListener, Comparable<ITrace2D>,
    */
   public boolean getHasErrorBars();
 
+  /**
+   * Returns the points of this trace that have additional point painters
+   * (<code>{@link ITracePoint2D#getAdditionalPointPainters()}</code>), e.g.
+   * the point highlighted by
+   * <code>{@link Chart2D#enablePointHighlighting(boolean)}</code>.
+   * <p>
+   * The chart paints the additional point painters of these points in a
+   * separate pass after the trace instead of asking every point for them.
+   * <p>
+   * The returned set must not be modified and must only be accessed with the
+   * lock on this trace held.
+   * <p>
+   * 
+   * @return the points of this trace that have additional point painters.
+   */
+  public Set<ITracePoint2D> getHighlightedPoints();
+
   /**
    * Callback method for the <code>Chart2D</code> that returns a
    * <code>String</code> describing the label of the <code>ITrace2D</code> that
@@ -818,6 +835,18 @@ public interface ITrace2D extends PropertyChangeListener, Comparable<ITrace2D>,
 
   double getMinY();
 
+  /**
+   * Returns the amount of modifications of the points of this trace so far.
+   * <p>
+   * Every added, removed, changed or evicted point and every removal of all
+   * points increases the count. Use it to find out whether data computed from
+   * the points of this trace is outdated.
+   * <p>
+   * 
+   * @return the amount of modifications of the points of this trace so far.
+   */
+  public int getModificationCount();
+
   /**
    * Returns the name of this trace.
    * <p>
@@ -876,6 +905,29 @@ public interface ITrace2D extends PropertyChangeListener, Comparable<ITrace2D>,
    */
   public DistancePoint getNearestPointManhattan(double x, double y);
 
+  /**
+   * Returns the point of this trace with the x value nearest to the given x
+   * value.
+   * <p>
+   * In contrast to <code>{@link #getNearestPointEuclid(double, double)}</code>
+   * the argument is a value in the unit of the x values of the points (not a
+   * normalized value) and the distance is the absolute difference of the x
+   * values. Discontinuations are never returned. Of points with the same
+   * distance the first one of <code>{@link #iterator()}</code> is returned.
+   * <p>
+   * Implementations that keep their points sorted by x values may find the
+   * point with a binary search, others have to visit every point.
+   * <p>
+   * 
+   * @param x
+   *          the x value to search the nearest point for.
+   * 
+   * @return the point of this trace with the x value nearest to the given x
+   *         value (<code>{@link DistancePoint#getPoint()}</code> is
+   *         <code>null</code> if there is none).
+   */
+  public DistancePoint getNearestPointX(double x);
+
   /**
    * Returns the concatenation <code>[x: "{@link #getPhysicalUnitsX()}", y: "
    * {@link #getPhysicalUnitsY()}"]</code>.
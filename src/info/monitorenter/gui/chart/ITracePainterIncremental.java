@@ -0,0 +1,68 @@
+/*
+ *  ITracePainterIncremental.java of project jchart2d, a trace painter that
+ *  keeps its own state of the points of a trace up to date.
+ *  Copyright (c) 2004 - 2013  Achim Westermann, Achim.Westermann@gmx.de
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+package info.monitorenter.gui.chart;
+
+import java.awt.Graphics;
+
+/**
+ * A trace painter that keeps its own state of the points of a trace up to
+ * date (e.g. by listening to the point events of the trace) and therefore does
+ * not need the points submitted for every paint operation.
+ * <p>
+ *
+ * If all painters of a trace implement this interface the chart does not
+ * iterate the points of the trace: Instead of
+ * <code>{@link #startPaintIteration(Graphics)}</code>,
+ * <code>{@link #paintPoint(int, int, int, int, Graphics, ITracePoint2D)}</code>
+ * and <code>{@link #endPaintIteration(Graphics)}</code> only
+ * <code>{@link #paintTrace(ITrace2D, Graphics)}</code> is invoked. The chart
+ * falls back to submitting the points if it needs them (e.g. for error bars,
+ * data accumulation or the strip chart mode), so implementations have to
+ * support both ways.
+ * <p>
+ *
+ * @param <T>
+ *          the type of the painter, see <code>{@link ITracePainter}</code>.
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ *
+ * @version $Revision: 1.1 $
+ */
+public interface ITracePainterIncremental<T extends ITracePainter<T>> extends ITracePainter<T> {
+
+  /**
+   * Renders the given trace without its points being submitted.
+   * <p>
+   * Invoked by the chart while it holds the locks on itself and on the given
+   * trace.
+   * <p>
+   *
+   * @param trace
+   *          the trace to render, this painter is one of its painters.
+   *
+   * @param g2d
+   *          the graphics context to paint to, may be null if nothing has to
+   *          be painted.
+   */
+  public void paintTrace(final ITrace2D trace, final Graphics g2d);
+}
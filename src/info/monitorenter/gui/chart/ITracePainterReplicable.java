@@ -0,0 +1,68 @@
+/*
+ *  ITracePainterReplicable.java of project jchart2d, a trace painter that
+ *  may be replicated for concurrent rendering.
+ *  Copyright (c) 2004 - 2013  Achim Westermann, Achim.Westermann@gmx.de
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+package info.monitorenter.gui.chart;
+
+/**
+ * A trace painter that may render a trace in parts concurrently by replicas of
+ * itself.
+ * <p>
+ *
+ * Trace painters keep state between
+ * <code>{@link #startPaintIteration(java.awt.Graphics)}</code> and
+ * <code>{@link #endPaintIteration(java.awt.Graphics)}</code> (e.g. the previous
+ * point or collected coordinates) and therefore cannot be shared by threads.
+ * For parallel rendering (see
+ * <code>{@link Chart2D#setParallelRenderingThreads(int)}</code>) the chart
+ * renders every part of a trace with its own replica of the painter to its own
+ * image and composites the images in the order of the points.
+ * <p>
+ *
+ * Only painters whose result does not depend on other points than the
+ * predecessor of a point may implement this interface: The rendering of the
+ * parts has to be equivalent to the rendering of the whole trace (e.g. lines or
+ * discs but no fills or densities).
+ * <p>
+ *
+ * @param <T>
+ *          the type of the painter, see <code>{@link ITracePainter}</code>.
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ *
+ * @version $Revision: 1.1 $
+ *
+ * @see Chart2D#setParallelRenderingThreads(int)
+ */
+public interface ITracePainterReplicable<T extends ITracePainter<T>> extends ITracePainter<T> {
+
+  /**
+   * Returns a new instance of the same class with the same configuration that
+   * does not share any paint state with this instance.
+   * <p>
+   * The chart renders serially with this instance if the replica is of another
+   * class (e.g. a subclass that does not override this method).
+   * <p>
+   *
+   * @return a new instance of the same class with the same configuration.
+   */
+  public T replicate();
+}
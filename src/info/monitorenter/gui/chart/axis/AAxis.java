@@ -42,7 +42,6 @@ import info.monitorenter.util.Range;
 import info.monitorenter.util.StringUtil;
 import info.monitorenter.util.math.MathUtil;
 
-import java.awt.Dimension;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Stroke;
@@ -51,6 +50,8 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -662,8 +663,7 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
     @Override
     protected final double getValueDistanceForPixel(final int pixel) {
       double result;
-      final Dimension d = this.m_chart.getSize();
-      final int pxrangex = (int) d.getWidth() - 60;
+      final int pxrangex = this.m_chart.getPaintWidth() - 60;
       if (pxrangex <= 0) {
         result = -1d;
       } else {
@@ -704,7 +704,7 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
     @Override
     protected void scaleTrace(final ITrace2D trace, final Range range) {
       Chart2D chart = TracePoint2DUtil.getChartFromTrace(trace);
-      if (chart.isVisible() && chart.getWidth() > 0) {
+      if (chart.isVisible() && chart.getPaintWidth() > 0) {
         Iterator<ITracePoint2D> itPoints;
         final double scaler = range.getExtent();
         if (trace.isVisible()) {
@@ -961,8 +961,7 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
     @Override
     protected final double getValueDistanceForPixel(final int pixel) {
       double result;
-      final Dimension d = this.m_chart.getSize();
-      final int pxrangey = (int) d.getHeight() - 40;
+      final int pxrangey = this.m_chart.getPaintHeight() - 40;
       if (pxrangey <= 0) {
         result = -1d;
       } else {
@@ -1199,6 +1198,14 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
    */
   protected IRangePolicy m_rangePolicy;
 
+  /**
+   * The traces that were out of range (see
+   * <code>{@link #isOutOfRange(ITrace2D)}</code>) in the last
+   * <code>{@link #scale()}</code> and have not been scaled since.
+   * <p>
+   */
+  protected final Set<ITrace2D> m_outOfRangeTraces = Collections.newSetFromMap(new IdentityHashMap<ITrace2D, Boolean>());
+
   /**
    * The range used for scaling in the previous paint operation.
    * <p>
@@ -1210,6 +1217,9 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
   /** Reused range for <code>{@link #getRange()}</code>. */
   private final Range m_reusedRange = new Range(0, 0);
 
+  /** The count returned from <code>{@link #getScaleCount()}</code>. */
+  private volatile int m_scaleCount;
+
   /**
    * Controls whether scale values are started from major ticks.
    * <p>
@@ -1459,7 +1469,7 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
         if (oldPt == null) {
           Chart2D chart = TracePoint2DUtil.getChartFromTracePoint(newPt);
           if (chart.isVisible() && chart.getWidth() > 0) {
-            receiver.scalePoint(newPt);
+            receiver.scalePoint((ITrace2D) changeEvent.getSource(), newPt);
             result = true;
           } else {
             /*
@@ -1524,7 +1534,7 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
       protected boolean propertyChangeSynced(final PropertyChangeEvent changeEvent, final AAxis< ? > receiver) {
         boolean result = false;
         final ITracePoint2D changed = (ITracePoint2D) changeEvent.getNewValue();
-        receiver.scalePoint(changed);
+        receiver.scalePoint((ITrace2D) changeEvent.getSource(), changed);
         result = true;
         return result;
       }
@@ -2128,6 +2138,13 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
     this.m_axisScalePolicy.initPaintIteration(this);
   }
 
+  /**
+   * @see info.monitorenter.gui.chart.IAxis#getScaleCount()
+   */
+  public final int getScaleCount() {
+    return this.m_scaleCount;
+  }
+
   /**
    * @see info.monitorenter.gui.chart.IAxis#isDirtyScaling()
    */
@@ -2141,6 +2158,22 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
     return result;
   }
 
+  /**
+   * @see info.monitorenter.gui.chart.IAxis#isOutOfRange(info.monitorenter.gui.chart.ITrace2D)
+   */
+  public boolean isOutOfRange(final ITrace2D trace) {
+    boolean result = false;
+    if (!trace.isPixelTransformationRequired()) {
+      final Range range = this.getRange();
+      if (this.m_accessor.getDimension() == Chart2D.X) {
+        result = trace.getMaxX() < range.getMin() || trace.getMinX() > range.getMax();
+      } else {
+        result = trace.getMaxY() < range.getMin() || trace.getMinY() > range.getMax();
+      }
+    }
+    return result;
+  }
+
   /**
    * Returns whether the x grid is painted or not.
    * <p>
@@ -2537,7 +2570,7 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
       }
       // unit-labeling
       final String unitName = this.getFormatter().getUnit().getUnitName();
-      g2d.drawString(unitName, (int) chart.getSize().getWidth() - fontdim.charsWidth(unitName.toCharArray(), 0, unitName.length()) - 4, yAxisEnd);
+      g2d.drawString(unitName, chart.getPaintWidth() - fontdim.charsWidth(unitName.toCharArray(), 0, unitName.length()) - 4, yAxisEnd);
 
     }
 
@@ -2634,6 +2667,7 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
   public boolean removeTrace(final ITrace2D trace) {
     final boolean result = this.m_traces.remove(trace);
     if (result) {
+      this.m_outOfRangeTraces.remove(trace);
       this.unlisten2Trace(trace);
       this.m_max = this.findMax();
       this.m_min = this.findMin();
@@ -2652,6 +2686,7 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
    *          bounds.
    */
   protected final void scalePoint(final ITracePoint2D point) {
+    this.scaled();
     final int axis = this.getAccessor().getDimension();
     if (axis == Chart2D.X) {
       point.setScaledX(this.getScaledValue(point.getX()));
@@ -2677,7 +2712,12 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
     ITrace2D trace;
     while (it.hasNext()) {
       trace = it.next();
-      this.scaleTrace(trace);
+      if (this.isOutOfRange(trace)) {
+        // not painted: scaled once it gets into range
+        this.m_outOfRangeTraces.add(trace);
+      } else {
+        this.scaleTrace(trace);
+      }
     }
     this.m_rangePreviousScaling.mimic(this.getRange());
     this.m_needsFullRescale = false;
@@ -2687,10 +2727,43 @@ public abstract class AAxis<T extends IAxisScalePolicy> implements IAxis<T>, Pro
    * @see info.monitorenter.gui.chart.IAxis#scaleTrace(info.monitorenter.gui.chart.ITrace2D)
    */
   public void scaleTrace(final ITrace2D trace) {
+    this.scaled();
+    this.m_outOfRangeTraces.remove(trace);
     final Range range = this.getRange();
     this.m_accessor.scaleTrace(trace, range);
   }
 
+  /**
+   * Scales the given point of the given trace unless the trace has been out of
+   * range in the last <code>{@link #scale()}</code>: Then the whole trace is
+   * scaled if it got into range by the point.
+   * <p>
+   * 
+   * @param trace
+   *          the trace of the point.
+   * 
+   * @param point
+   *          the added or moved point.
+   */
+  private void scalePoint(final ITrace2D trace, final ITracePoint2D point) {
+    if (!this.m_outOfRangeTraces.contains(trace)) {
+      this.scalePoint(point);
+    } else if (!this.isOutOfRange(trace)) {
+      this.scaleTrace(trace);
+    }
+  }
+
+  /**
+   * Increases the count returned from <code>{@link #getScaleCount()}</code>.
+   * <p>
+   * Has to be called by every implementation of
+   * <code>{@link #scaleTrace(ITrace2D)}</code>.
+   * <p>
+   */
+  protected final void scaled() {
+    this.m_scaleCount++;
+  }
+
   /**
    * Sets the accessor to the axis of the chart.
    * <p>
@@ -433,6 +433,8 @@ public abstract class AAxisTransformation<T extends AxisScalePolicyTransformatio
    */
   @Override
   public void scaleTrace(final ITrace2D trace) {
+    this.scaled();
+    this.m_outOfRangeTraces.remove(trace);
     final Range range = new Range(this.getMinTransformed(), this.getMaxTransformed());
     this.m_accessor.scaleTrace(trace, range);
   }
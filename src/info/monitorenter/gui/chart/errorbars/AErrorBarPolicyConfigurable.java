@@ -23,6 +23,8 @@
  */
 package info.monitorenter.gui.chart.errorbars;
 
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.IAxis;
 import info.monitorenter.gui.chart.IErrorBarPainter;
 import info.monitorenter.gui.chart.IErrorBarPolicy;
 import info.monitorenter.gui.chart.IPointPainter;
@@ -64,9 +66,52 @@ import javax.swing.event.SwingPropertyChangeSupport;
  */
 public abstract class AErrorBarPolicyConfigurable implements IErrorBarPolicy<AErrorBarPolicyConfigurable>, PropertyChangeListener {
 
+  /** The initial capacity in points of the buffers of a paint iteration. */
+  private static final int BUFFER_CAPACITY = 64;
+
+  /**
+   * The maximum amount of points whose error bars are buffered before they
+   * are painted.
+   */
+  private static final int FLUSH_SIZE = 1024;
+
   /** Generated <code>serialVersionUID</code>. **/
   private static final long serialVersionUID = -1163969612681194656L;
 
+  /**
+   * Counter of configuration changes, part of the key of the cached error
+   * pixels.
+   */
+  private int m_configurationModCount;
+
+  /**
+   * The key (configuration, chart area and axis ranges) the cached error
+   * pixels were computed for.
+   * <p>
+   * 
+   * @see #isErrorCacheable()
+   */
+  private final double[] m_errorCacheKey = new double[9];
+
+  /**
+   * The amount of points of the previous paint iteration whose error pixels
+   * may be reused if the point is unchanged.
+   */
+  private int m_errorCacheSize;
+
+  /**
+   * The error pixels of the points of the current paint iteration, four per
+   * point in the order negative x, positive x, negative y and positive y
+   * error.
+   */
+  private int[] m_errorPixels = new int[BUFFER_CAPACITY * 4];
+
+  /**
+   * The index of the first point of the current paint iteration whose error
+   * bar has not been painted yet.
+   */
+  private int m_flushIndex;
+
   /** The internal set of error bar painters delegated to. */
   private final Set<IErrorBarPainter> m_errorBarPainters = new LinkedHashSet<IErrorBarPainter>();
 
@@ -114,6 +159,27 @@ public abstract class AErrorBarPolicyConfigurable implements IErrorBarPolicy<AEr
    */
   protected PropertyChangeSupport m_propertyChangeSupport = new SwingPropertyChangeSupport(this);
 
+  /** The amount of points of the current paint iteration. */
+  private int m_pointCount;
+
+  /**
+   * The x and y coordinates in px of the points of the current paint
+   * iteration, two per point.
+   */
+  private int[] m_pointPixels = new int[BUFFER_CAPACITY * 2];
+
+  /**
+   * The original points of the current paint iteration whose error bars have
+   * not been painted yet.
+   */
+  private ITracePoint2D[] m_points = new ITracePoint2D[BUFFER_CAPACITY];
+
+  /**
+   * The x and y values of the points of the current paint iteration, two per
+   * point.
+   */
+  private double[] m_pointValues = new double[BUFFER_CAPACITY * 2];
+
   /** Internal shared error bar pixel instance to save Object allocation. */
   private final ErrorBarPixel m_reusedErrorBarPixel = new ErrorBarPixel(null);
 
@@ -364,20 +430,43 @@ public abstract class AErrorBarPolicyConfigurable implements IErrorBarPolicy<AEr
    * @see info.monitorenter.gui.chart.ITracePainter#discontinue(java.awt.Graphics)
    */
   public void discontinue(final Graphics g2d) {
-    this.endPaintIteration(g2d);
-    this.startPaintIteration(g2d);
+    this.flush(g2d);
+  }
+
+  /**
+   * Ensures that the buffers of the current paint iteration can hold the
+   * given amount of points.
+   * <p>
+   * 
+   * @param points
+   *          the amount of points to hold.
+   */
+  private void ensureCapacity(final int points) {
+    if (points > this.m_points.length) {
+      final int capacity = Math.max(points, this.m_points.length * 2);
+      final ITracePoint2D[] grownPoints = new ITracePoint2D[capacity];
+      System.arraycopy(this.m_points, 0, grownPoints, 0, this.m_pointCount);
+      this.m_points = grownPoints;
+      final int[] grownPixels = new int[capacity * 2];
+      System.arraycopy(this.m_pointPixels, 0, grownPixels, 0, this.m_pointPixels.length);
+      this.m_pointPixels = grownPixels;
+      final double[] grownValues = new double[capacity * 2];
+      System.arraycopy(this.m_pointValues, 0, grownValues, 0, this.m_pointValues.length);
+      this.m_pointValues = grownValues;
+      final int[] grownErrors = new int[capacity * 4];
+      System.arraycopy(this.m_errorPixels, 0, grownErrors, 0, this.m_errorPixels.length);
+      this.m_errorPixels = grownErrors;
+    }
   }
 
   /**
+   * Paints the buffered error bars.
+   * <p>
+   * 
    * @see info.monitorenter.gui.chart.ITracePainter#endPaintIteration(java.awt.Graphics)
    */
   public void endPaintIteration(final Graphics g2d) {
-    if (g2d != null) {
-      this.calculateErrorBar(this.getPreviousX(), this.getPreviousY(), this.m_reusedErrorBarPixel, this.getPreviousTracePoint());
-      for (final IErrorBarPainter painter : this.m_errorBarPainters) {
-        painter.paintErrorBar(this.getPreviousX(), this.getPreviousY(), this.getPreviousTracePoint(), g2d, this.m_reusedErrorBarPixel);
-      }
-    }
+    this.flush(g2d);
   }
 
   /**
@@ -448,85 +537,68 @@ public abstract class AErrorBarPolicyConfigurable implements IErrorBarPolicy<AEr
    *          the new value of the property.
    */
   protected final void firePropertyChange(final String property, final Object oldvalue, final Object newvalue) {
+    // any change may change the error pixels:
+    this.m_configurationModCount++;
     this.m_propertyChangeSupport.firePropertyChange(property, oldvalue, newvalue);
   }
 
   /**
-   * @see info.monitorenter.gui.chart.IErrorBarPolicy#getCustomConfigurator()
-   */
-  public JComponent getCustomConfigurator() {
-    return null;
-  }
-
-  /**
-   * @see info.monitorenter.gui.chart.IErrorBarPolicy#getErrorBarPainters()
-   */
-  public Set<IErrorBarPainter> getErrorBarPainters() {
-    return this.m_errorBarPainters;
-  }
-
-  /**
-   * Returns the previous X value that had to be painted by
-   * {@link #paintPoint(int, int, int, int, Graphics, ITracePoint2D)}.
+   * Paints the error bars of the points buffered since the last call with all
+   * error bar painters.
    * <p>
-   * 
-   * This value will be {@link Integer#MIN_VALUE} if no previous point had to be
-   * painted.
+   * Instances of <code>{@link ErrorBarPainter}</code> paint all error bars at
+   * once (see
+   * <code>{@link ErrorBarPainter#paintErrorBars(int[], int[], ITracePoint2D[], int, int, Graphics, info.monitorenter.gui.chart.Chart2D)}</code>
+   * ), other painters are called point by point.
    * <p>
    * 
-   * @return the previous X value that had to be painted by
-   *         {@link #paintPoint(int, int, int, int, Graphics, ITracePoint2D)}.
+   * @param g2d
+   *          needed for painting, if null the buffered points are discarded.
    */
-  private ITracePoint2D getPreviousTracePoint() {
-    final ITracePoint2D result = this.m_lastPoint;
-    return result;
+  private void flush(final Graphics g2d) {
+    final int from = this.m_flushIndex;
+    final int to = this.m_pointCount;
+    if (g2d != null && to > from) {
+      for (final IErrorBarPainter painter : this.m_errorBarPainters) {
+        if (painter instanceof ErrorBarPainter) {
+          ((ErrorBarPainter) painter).paintErrorBars(this.m_pointPixels, this.m_errorPixels, this.m_points, from, to, g2d, this.m_trace
+              .getRenderer());
+        } else {
+          for (int i = from; i < to; i++) {
+            this.m_reusedErrorBarPixel.setNegativeXErrorPixel(this.m_errorPixels[4 * i]);
+            this.m_reusedErrorBarPixel.setPositiveXErrorPixel(this.m_errorPixels[4 * i + 1]);
+            this.m_reusedErrorBarPixel.setNegativeYErrorPixel(this.m_errorPixels[4 * i + 2]);
+            this.m_reusedErrorBarPixel.setPositiveYErrorPixel(this.m_errorPixels[4 * i + 3]);
+            painter.paintErrorBar(this.m_pointPixels[2 * i], this.m_pointPixels[2 * i + 1], this.m_points[i], g2d, this.m_reusedErrorBarPixel);
+          }
+        }
+      }
+    }
+    // release the points, the cache only compares values:
+    for (int i = from; i < to; i++) {
+      this.m_points[i] = null;
+    }
+    if (this.isErrorCacheable()) {
+      this.m_flushIndex = to;
+    } else {
+      // nothing to cache: reuse the buffers
+      this.m_pointCount = 0;
+      this.m_flushIndex = 0;
+    }
   }
 
   /**
-   * Returns the previous X value that had to be painted by
-   * {@link #paintPoint(int, int, int, int, Graphics, ITracePoint2D)}.
-   * <p>
-   * 
-   * This value will be {@link Integer#MIN_VALUE} if no previous point had to be
-   * painted.
-   * <p>
-   * 
-   * @return the previous X value that had to be painted by
-   *         {@link #paintPoint(int, int, int, int, Graphics, ITracePoint2D)}.
+   * @see info.monitorenter.gui.chart.IErrorBarPolicy#getCustomConfigurator()
    */
-  private int getPreviousX() {
-    final int result = this.m_lastX;
-    if (this.m_isEnded) {
-      this.m_lastX = Integer.MIN_VALUE;
-      if (this.m_lastY == Integer.MIN_VALUE) {
-        this.m_isEnded = false;
-      }
-
-    }
-    return result;
+  public JComponent getCustomConfigurator() {
+    return null;
   }
 
   /**
-   * Returns the previous Y value that had to be painted by
-   * {@link #paintPoint(int, int, int, int, Graphics, ITracePoint2D)}.
-   * <p>
-   * 
-   * This value will be {@link Integer#MIN_VALUE} if no previous point had to be
-   * painted.
-   * <p>
-   * 
-   * @return the previous Y value that had to be painted by
-   *         {@link #paintPoint(int, int, int, int, Graphics, ITracePoint2D)}.
+   * @see info.monitorenter.gui.chart.IErrorBarPolicy#getErrorBarPainters()
    */
-  private int getPreviousY() {
-    final int result = this.m_lastY;
-    if (this.m_isEnded) {
-      this.m_lastY = Integer.MIN_VALUE;
-      if (this.m_lastX == Integer.MIN_VALUE) {
-        this.m_isEnded = false;
-      }
-    }
-    return result;
+  public Set<IErrorBarPainter> getErrorBarPainters() {
+    return this.m_errorBarPainters;
   }
 
   /**
@@ -652,6 +724,27 @@ public abstract class AErrorBarPolicyConfigurable implements IErrorBarPolicy<AEr
    *         value (not relative to the the origin value).
    */
   protected abstract int internalGetPositiveYError(final int xPixel, final int yPixel, final ITracePoint2D original);
+
+  /**
+   * Returns true if the error pixels computed by the
+   * <code>internalGetXXXError</code> methods only depend on the pixel
+   * coordinates and the values of the point, the configuration of this
+   * instance (changes have to be reported with
+   * <code>{@link #firePropertyChange(String, Object, Object)}</code>), the
+   * chart area and the ranges of the axes of the chart.
+   * <p>
+   * Then error pixels computed in a paint iteration are reused in the next
+   * paint iteration for the unchanged points at the same position of the
+   * iteration.
+   * <p>
+   * This implementation returns false.
+   * <p>
+   * 
+   * @return true if error pixels may be cached.
+   */
+  protected boolean isErrorCacheable() {
+    return false;
+  }
   
   
 
@@ -816,10 +909,28 @@ public abstract class AErrorBarPolicyConfigurable implements IErrorBarPolicy<AEr
    *      int, java.awt.Graphics, info.monitorenter.gui.chart.ITracePoint2D)
    */
   public void paintPoint(final int absoluteX, final int absoluteY, final int nextX, final int nextY, final Graphics g, final ITracePoint2D original) {
-
-    this.calculateErrorBar(nextX, nextY, this.m_reusedErrorBarPixel, original);
-    for (final IErrorBarPainter painter : this.m_errorBarPainters) {
-      painter.paintErrorBar(nextX, nextY, original, g, this.m_reusedErrorBarPixel);
+    final int index = this.m_pointCount;
+    this.ensureCapacity(index + 1);
+    final double x = original.getX();
+    final double y = original.getY();
+    final int pixel = 2 * index;
+    final int error = 4 * index;
+    if (index >= this.m_errorCacheSize || this.m_pointPixels[pixel] != nextX || this.m_pointPixels[pixel + 1] != nextY
+        || this.m_pointValues[pixel] != x || this.m_pointValues[pixel + 1] != y) {
+      this.calculateErrorBar(nextX, nextY, this.m_reusedErrorBarPixel, original);
+      this.m_errorPixels[error] = this.m_reusedErrorBarPixel.getNegativeXErrorPixel();
+      this.m_errorPixels[error + 1] = this.m_reusedErrorBarPixel.getPositiveXErrorPixel();
+      this.m_errorPixels[error + 2] = this.m_reusedErrorBarPixel.getNegativeYErrorPixel();
+      this.m_errorPixels[error + 3] = this.m_reusedErrorBarPixel.getPositiveYErrorPixel();
+      this.m_pointPixels[pixel] = nextX;
+      this.m_pointPixels[pixel + 1] = nextY;
+      this.m_pointValues[pixel] = x;
+      this.m_pointValues[pixel + 1] = y;
+    }
+    this.m_points[index] = original;
+    this.m_pointCount++;
+    if (this.m_pointCount - this.m_flushIndex >= FLUSH_SIZE) {
+      this.flush(g);
     }
 
     this.m_lastX = nextX;
@@ -969,13 +1080,63 @@ public abstract class AErrorBarPolicyConfigurable implements IErrorBarPolicy<AEr
   public void setTrace(final ITrace2D trace) {
     this.m_trace = trace;
     this.m_reusedErrorBarPixel.setTrace(trace);
+    this.m_configurationModCount++;
   }
 
   /**
+   * Starts buffering the error bars of the points of a paint iteration.
+   * <p>
+   * The error pixels of the previous paint iteration are kept for reuse if
+   * they may be cached (see <code>{@link #isErrorCacheable()}</code>) and the
+   * configuration, the chart area and the ranges of the axes are unchanged.
+   * <p>
+   * 
    * @see info.monitorenter.gui.chart.ITracePainter#startPaintIteration(java.awt.Graphics)
    */
   public void startPaintIteration(final Graphics g2d) {
-    // nop
+    if (this.isErrorCacheable() && this.updateErrorCacheKey()) {
+      this.m_errorCacheSize = this.m_pointCount;
+    } else {
+      this.m_errorCacheSize = 0;
+    }
+    for (int i = this.m_flushIndex; i < this.m_pointCount; i++) {
+      this.m_points[i] = null;
+    }
+    this.m_pointCount = 0;
+    this.m_flushIndex = 0;
+  }
+
+  /**
+   * Computes the key of the error pixels of the paint iteration to start and
+   * returns true if it is the same as for the previous paint iteration.
+   * <p>
+   * 
+   * @return true if the cached error pixels are valid for the paint iteration
+   *         to start.
+   * 
+   * @see #isErrorCacheable()
+   */
+  private boolean updateErrorCacheKey() {
+    final double[] key = this.m_errorCacheKey;
+    boolean result = false;
+    if (this.m_trace != null && this.m_trace.getRenderer() != null) {
+      final Chart2D chart = this.m_trace.getRenderer();
+      final IAxis< ? > axisX = chart.getAxisX();
+      final IAxis< ? > axisY = chart.getAxisY();
+      result = key[0] == this.m_configurationModCount && key[1] == chart.getXChartStart() && key[2] == chart.getXChartEnd()
+          && key[3] == chart.getYChartStart() && key[4] == chart.getYChartEnd() && key[5] == axisX.getMin() && key[6] == axisX.getMax()
+          && key[7] == axisY.getMin() && key[8] == axisY.getMax();
+      key[0] = this.m_configurationModCount;
+      key[1] = chart.getXChartStart();
+      key[2] = chart.getXChartEnd();
+      key[3] = chart.getYChartStart();
+      key[4] = chart.getYChartEnd();
+      key[5] = axisX.getMin();
+      key[6] = axisX.getMax();
+      key[7] = axisY.getMin();
+      key[8] = axisY.getMax();
+    }
+    return result;
   }
 
 }
@@ -624,6 +624,142 @@ public class ErrorBarPainter implements IErrorBarPainter {
         }
     }
 
+    /**
+     * Paints the error bars of a range of points at once: First the connection segments of all points, then their start points and then
+     * their end points.
+     * <p>
+     * The result is the same as calling {@link #paintErrorBar(int, int, ITracePoint2D, Graphics, IErrorBarPixel)} for every point except for
+     * the order of overlapping segments. Every segment painter is called within one paint iteration (
+     * {@link IPointPainter#startPaintIteration(Graphics)}, {@link IPointPainter#endPaintIteration(Graphics)}) and may batch its output.
+     * <p>
+     * Subclasses that override {@link #paintErrorBar(int, int, ITracePoint2D, Graphics, IErrorBarPixel)} have to override this method
+     * too.
+     * <p>
+     * 
+     * @param pixels
+     *            the x and y coordinates in px of the points, two per point.
+     * 
+     * @param errors
+     *            the error pixels of the points, four per point in the order negative x, positive x, negative y and positive y error (
+     *            {@link IErrorBarPixel#ERROR_PIXEL_NONE} for errors that are not shown).
+     * 
+     * @param originals
+     *            the original trace points the error bars are painted for.
+     * 
+     * @param from
+     *            the index of the first point to paint.
+     * 
+     * @param to
+     *            the index after the last point to paint.
+     * 
+     * @param g
+     *            needed for painting.
+     * 
+     * @param chart
+     *            the chart the error bars are painted for.
+     */
+    protected void paintErrorBars(final int[] pixels, final int[] errors, final ITracePoint2D[] originals, final int from, final int to,
+                    final Graphics g, final Chart2D chart) {
+        this.paintErrorBarSegments(pixels, errors, originals, from, to, g, chart, this.m_connectionPainter, false);
+        this.paintErrorBarSegments(pixels, errors, originals, from, to, g, chart, this.m_startPointPainter, false);
+        this.paintErrorBarSegments(pixels, errors, originals, from, to, g, chart, this.m_endPointPainter, true);
+    }
+
+    /**
+     * Paints one kind of segment of the error bars of a range of points with the given painter in one paint iteration.
+     * <p>
+     * Factored out code of {@link #paintErrorBars(int[], int[], ITracePoint2D[], int, int, Graphics, Chart2D)}, the clipping to the chart
+     * area is the same as in {@link #paintErrorBar(int, int, ITracePoint2D, Graphics, IErrorBarPixel)}.
+     * <p>
+     * 
+     * @param pixels
+     *            the x and y coordinates in px of the points, two per point.
+     * 
+     * @param errors
+     *            the error pixels of the points, four per point.
+     * 
+     * @param originals
+     *            the original trace points the error bars are painted for.
+     * 
+     * @param from
+     *            the index of the first point to paint.
+     * 
+     * @param to
+     *            the index after the last point to paint.
+     * 
+     * @param g
+     *            needed for painting.
+     * 
+     * @param chart
+     *            the chart the error bars are painted for.
+     * 
+     * @param pointPainter
+     *            the painter of the segment, null if the segment is invisible.
+     * 
+     * @param endPoint
+     *            true if end points are painted: They are painted from the error to the point and skipped if the error exceeds the chart
+     *            area.
+     */
+    private void paintErrorBarSegments(final int[] pixels, final int[] errors, final ITracePoint2D[] originals, final int from,
+                    final int to, final Graphics g, final Chart2D chart, final IPointPainter<?> pointPainter, final boolean endPoint) {
+        if (pointPainter != null) {
+            final int xStart = chart.getXChartStart();
+            final int xEnd = chart.getXChartEnd();
+            final int yStart = chart.getYChartStart();
+            final int yEnd = chart.getYChartEnd();
+            int x1;
+            int y1;
+            int x2;
+            int y2;
+            int error;
+            boolean clipped;
+            pointPainter.startPaintIteration(g);
+            for (int i = from; i < to; i++) {
+                x1 = pixels[2 * i];
+                if (x1 > xEnd) {
+                    x1 = xEnd;
+                }
+                y1 = pixels[2 * i + 1];
+                if (y1 < yEnd) {
+                    y1 = yEnd;
+                }
+                for (int part = 0; part < 4; part++) {
+                    error = errors[4 * i + part];
+                    if (error == IErrorBarPixel.ERROR_PIXEL_NONE) {
+                        continue;
+                    }
+                    x2 = x1;
+                    y2 = y1;
+                    switch (part) {
+                        case 0:
+                            x2 = (error < xStart) ? xStart : error;
+                            clipped = x2 != error;
+                            break;
+                        case 1:
+                            x2 = (error > xEnd) ? xEnd : error;
+                            clipped = x2 != error;
+                            break;
+                        case 2:
+                            y2 = (error > yStart) ? yStart : error;
+                            clipped = y2 != error;
+                            break;
+                        default:
+                            y2 = (error < yEnd) ? yEnd : error;
+                            clipped = y2 != error;
+                            break;
+                    }
+                    if (!endPoint) {
+                        pointPainter.paintPoint(x1, y1, x2, y2, g, originals[i]);
+                    } else if (!clipped) {
+                        // don't paint end point if bounds were exceeded:
+                        pointPainter.paintPoint(x2, y2, x1, y1, g, originals[i]);
+                    }
+                }
+            }
+            pointPainter.endPaintIteration(g);
+        }
+    }
+
     /**
      * Internally renders the given part of the error bar with support for color and invisibility (null painter) management.
      * <p>
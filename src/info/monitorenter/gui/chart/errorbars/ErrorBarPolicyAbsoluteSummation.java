@@ -294,6 +294,18 @@ public class ErrorBarPolicyAbsoluteSummation extends AErrorBarPolicyConfigurable
     return result;
   }
 
+  /**
+   * Returns true: The error pixels only depend on the point, the configured
+   * errors and the ranges of the axes.
+   * <p>
+   * 
+   * @see info.monitorenter.gui.chart.errorbars.AErrorBarPolicyConfigurable#isErrorCacheable()
+   */
+  @Override
+  protected boolean isErrorCacheable() {
+    return true;
+  }
+
   /**
    * Sets the absolute x error to add to each error bar.
    * <p>
@@ -320,6 +320,18 @@ public class ErrorBarPolicyRelative extends AErrorBarPolicyConfigurable {
     return yPixel - error;
   }
 
+  /**
+   * Returns true: The error pixels only depend on the point, the configured
+   * errors and the chart area.
+   * <p>
+   * 
+   * @see info.monitorenter.gui.chart.errorbars.AErrorBarPolicyConfigurable#isErrorCacheable()
+   */
+  @Override
+  protected boolean isErrorCacheable() {
+    return true;
+  }
+
   /**
    * Sets the relative X error to add to each error bar.
    * <p>
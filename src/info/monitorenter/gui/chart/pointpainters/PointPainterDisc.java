@@ -28,12 +28,21 @@ import info.monitorenter.gui.util.TracePoint2DUtil;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
 import java.awt.Stroke;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
 
 /**
  * Renders points in form of a disc with configurable diameter.
  * <p>
  * 
+ * Scatter plots with many points may choose a faster
+ * <code>{@link RenderingMode}</code> via
+ * <code>{@link #setRenderingMode(RenderingMode)}</code>.
+ * <p>
+ * 
  * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann</a>
  * 
  * 
@@ -41,6 +50,35 @@ import java.awt.Stroke;
  */
 public class PointPainterDisc extends APointPainter<PointPainterDisc> {
 
+  /**
+   * The strategies for getting the discs to the graphics context.
+   * <p>
+   * 
+   * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann</a>
+   * 
+   * @version $Revision: 1.22 $
+   */
+  public enum RenderingMode {
+    /**
+     * Every point is rendered by a call to <code>fillOval</code> (if a fill
+     * color is set) and <code>drawOval</code> of the graphics context.
+     * <p>
+     * This is the default.
+     * <p>
+     */
+    PRIMITIVE,
+
+    /**
+     * The disc is rendered once into a small image for the current color, fill
+     * color, stroke, diameter and antialiasing setting. Every point is rendered
+     * by stamping that image with <code>drawImage</code>.
+     * <p>
+     * The image is rebuilt only if one of these properties changes.
+     * <p>
+     */
+    SPRITE;
+  }
+
   /** Generated <code>serialVersionUID</code>. */
   private static final long serialVersionUID = -6317473632026920774L;
 
@@ -52,6 +90,33 @@ public class PointPainterDisc extends APointPainter<PointPainterDisc> {
    */
   private int m_halfDiscSize;
 
+  /** The way discs are transferred to the graphics context. */
+  private RenderingMode m_renderingMode = RenderingMode.PRIMITIVE;
+
+  /** The cached disc image for <code>{@link RenderingMode#SPRITE}</code>. */
+  private transient BufferedImage m_sprite;
+
+  /** The outline color the cached sprite was rendered with. */
+  private transient Color m_spriteColor;
+
+  /** The fill color the cached sprite was rendered with. */
+  private transient Color m_spriteColorFill;
+
+  /** The stroke the cached sprite was rendered with. */
+  private transient Stroke m_spriteStroke;
+
+  /** The antialiasing hint the cached sprite was rendered with. */
+  private transient Object m_spriteAntialiasing;
+
+  /** The disc size the cached sprite was rendered with. */
+  private transient int m_spriteDiscSize;
+
+  /**
+   * The offset from the disc bounds origin to the sprite origin (the stroke may
+   * extend the disc to the upper left).
+   */
+  private transient int m_spriteOffset;
+
   /**
    * Creates an instance with a default disc size of 4.
    * <p>
@@ -122,6 +187,9 @@ public class PointPainterDisc extends APointPainter<PointPainterDisc> {
     if (this.m_halfDiscSize != other.m_halfDiscSize) {
       return false;
     }
+    if (this.m_renderingMode != other.m_renderingMode) {
+      return false;
+    }
     return true;
   }
 
@@ -135,6 +203,16 @@ public class PointPainterDisc extends APointPainter<PointPainterDisc> {
     return this.m_discSize;
   }
 
+  /**
+   * Returns the way discs are transferred to the graphics context.
+   * <p>
+   * 
+   * @return the way discs are transferred to the graphics context.
+   */
+  public RenderingMode getRenderingMode() {
+    return this.m_renderingMode;
+  }
+
   /**
    * @see info.monitorenter.gui.chart.pointpainters.APointPainter#hashCode()
    */
@@ -144,6 +222,7 @@ public class PointPainterDisc extends APointPainter<PointPainterDisc> {
     int result = super.hashCode();
     result = prime * result + this.m_discSize;
     result = prime * result + this.m_halfDiscSize;
+    result = prime * result + this.m_renderingMode.hashCode();
     return result;
   }
 
@@ -184,6 +263,31 @@ public class PointPainterDisc extends APointPainter<PointPainterDisc> {
    *      int, java.awt.Graphics, info.monitorenter.gui.chart.ITracePoint2D)
    */
   public void paintPoint(final int absoluteX, final int absoluteY, final int nextX, final int nextY, final Graphics g, final ITracePoint2D original) {
+    if (this.m_renderingMode == RenderingMode.SPRITE && g instanceof Graphics2D) {
+      final Graphics2D g2d = (Graphics2D) g;
+      this.validateSprite(g2d);
+      g2d.drawImage(this.m_sprite, absoluteX - this.m_halfDiscSize - this.m_spriteOffset, absoluteY - this.m_halfDiscSize
+          - this.m_spriteOffset, null);
+    } else {
+      this.paintPointPrimitive(absoluteX, absoluteY, g);
+    }
+  }
+
+  /**
+   * Paints the disc with <code>fillOval</code> and <code>drawOval</code>
+   * (mode <code>{@link RenderingMode#PRIMITIVE}</code>).
+   * <p>
+   * 
+   * @param absoluteX
+   *          the x coordinate of the disc center in pixel.
+   * 
+   * @param absoluteY
+   *          the y coordinate of the disc center in pixel.
+   * 
+   * @param g
+   *          the graphics context to paint to.
+   */
+  private void paintPointPrimitive(final int absoluteX, final int absoluteY, final Graphics g) {
     final Stroke backupStroke = this.installStroke(g);
     Color backupColor = null;
     Color test = this.installColorFill(g);
@@ -229,4 +333,78 @@ public class PointPainterDisc extends APointPainter<PointPainterDisc> {
     this.m_halfDiscSize = this.m_discSize / 2;
   }
 
+  /**
+   * Sets the way discs are transferred to the graphics context.
+   * <p>
+   * 
+   * @param renderingMode
+   *          the way discs are transferred to the graphics context.
+   * 
+   * @return the previous rendering mode.
+   */
+  public RenderingMode setRenderingMode(final RenderingMode renderingMode) {
+    if (renderingMode == null) {
+      throw new IllegalArgumentException("Argument must not be null.");
+    }
+    final RenderingMode result = this.m_renderingMode;
+    this.m_renderingMode = renderingMode;
+    if (renderingMode != RenderingMode.SPRITE) {
+      this.m_sprite = null;
+    }
+    return result;
+  }
+
+  /**
+   * Ensures that the cached sprite matches the current outline color (the
+   * color of this painter or the color of the graphics context), fill color,
+   * stroke, disc size and antialiasing hint and renders it anew if not.
+   * <p>
+   * 
+   * @param g2d
+   *          the graphics context the sprite will be stamped to.
+   */
+  private void validateSprite(final Graphics2D g2d) {
+    Color color = this.getColor();
+    if (color == null) {
+      color = g2d.getColor();
+    }
+    final Color colorFill = this.getColorFill();
+    Stroke stroke = this.getStroke();
+    if (stroke == null) {
+      stroke = g2d.getStroke();
+    }
+    final Object antialiasing = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+    if (this.m_sprite != null && this.m_spriteDiscSize == this.m_discSize && color.equals(this.m_spriteColor)
+        && (colorFill == null ? this.m_spriteColorFill == null : colorFill.equals(this.m_spriteColorFill))
+        && (stroke == this.m_spriteStroke || stroke.equals(this.m_spriteStroke))
+        && (antialiasing == this.m_spriteAntialiasing)) {
+      return;
+    }
+    final Ellipse2D disc = new Ellipse2D.Float(0, 0, this.m_discSize, this.m_discSize);
+    final Rectangle bounds = stroke.createStrokedShape(disc).getBounds();
+    bounds.add(disc.getBounds());
+    // one pixel safety margin for antialiasing:
+    bounds.grow(1, 1);
+    final BufferedImage sprite = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB);
+    final Graphics2D spriteGraphics = sprite.createGraphics();
+    try {
+      if (antialiasing != null) {
+        spriteGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+      }
+      spriteGraphics.translate(-bounds.x, -bounds.y);
+      spriteGraphics.setStroke(stroke);
+      spriteGraphics.setColor(color);
+      this.paintPointPrimitive(this.m_halfDiscSize, this.m_halfDiscSize, spriteGraphics);
+    } finally {
+      spriteGraphics.dispose();
+    }
+    this.m_sprite = sprite;
+    this.m_spriteOffset = -bounds.x;
+    this.m_spriteColor = color;
+    this.m_spriteColorFill = colorFill;
+    this.m_spriteStroke = stroke;
+    this.m_spriteAntialiasing = antialiasing;
+    this.m_spriteDiscSize = this.m_discSize;
+  }
+
 }
@@ -49,6 +49,8 @@ import java.beans.PropertyChangeSupport;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -80,6 +82,13 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
    */
   private static int instanceCount = 0;
 
+  /**
+   * The minimum amount of points for searching the nearest point with a spatial
+   * index (see <code>{@link NearestPointIndex}</code>): Smaller traces are
+   * searched faster without building an index.
+   */
+  public static final int NEAREST_POINT_INDEX_MIN_POINTS = 1000;
+
   /**
    * Index for accessing the result of
    * {@link #calculatePointBounds(ITracePoint2D)}.
@@ -125,6 +134,30 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
    */
   private IAccumulationStrategy m_accumulationStrategy;
 
+  /**
+   * Caches the result of {@link #iterator(int)} between paints.
+   * <p>
+   * Created lazily as it is not serialized.
+   * <p>
+   */
+  private transient AccumulationCache m_accumulationCache;
+
+  /**
+   * The spatial index for <code>{@link #getNearestPointEuclid(double, double)}</code>
+   * and <code>{@link #getNearestPointManhattan(double, double)}</code>.
+   * <p>
+   * Created lazily as it is not serialized.
+   * <p>
+   */
+  private transient NearestPointIndex m_nearestPointIndex;
+
+  /**
+   * Flag set while {@link #iterator(int)} accumulates: Accumulated points
+   * created by the accumulation function are modified then (and report that to
+   * this instance) which is not a modification of this trace.
+   */
+  private transient boolean m_accumulating;
+
   /**
    * {@link javax.swing.event.ChangeListener} instances (mainly
    * <code>Char2D</code> instances that are interested in changes of internal
@@ -147,6 +180,16 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
    */
   private boolean m_firsttime = true;
 
+  /**
+   * The points of this trace that have additional point painters.
+   * <p>
+   * Identity based as the hash code of points changes with their location.
+   * <p>
+   * 
+   * @see #getHighlightedPoints()
+   */
+  private final Set<ITracePoint2D> m_highlightedPoints = Collections.newSetFromMap(new IdentityHashMap<ITracePoint2D, Boolean>());
+
   /**
    * Cached maximum x value for performance improvement.
    */
@@ -196,6 +239,17 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
    */
   protected String m_name = "";
 
+  /**
+   * The modification count returned from {@link #getModificationCount()}.
+   */
+  private int m_modificationCount;
+
+  /**
+   * The modification count after the last modification that was not an
+   * appended point (see {@link #isAppendOnly()}).
+   */
+  private int m_modificationCountNonAppend;
+
   /**
    * For tracking the amount of painters in the trace that require additional
    * space. If it is not needed min-max - tracking can be done much quicker
@@ -1103,6 +1157,11 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
          * space:
          */
         this.trackPainters(changed, state, oldValue, newValue);
+        if (state == ITracePoint2D.STATE.ADDED) {
+          this.modified(this.isAppendOnly());
+        } else if (state == ITracePoint2D.STATE.REMOVED || state == ITracePoint2D.STATE.CHANGED) {
+          this.modified(false);
+        }
 
         double collectMaxX;
         double collectMinX;
@@ -1397,6 +1456,13 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
     }
     return result;
   }
+  /**
+   * @see info.monitorenter.gui.chart.ITrace2D#getHighlightedPoints()
+   */
+  public final Set<ITracePoint2D> getHighlightedPoints() {
+    return this.m_highlightedPoints;
+  }
+
 
   /**
    * Returns a label for this trace.
@@ -1499,6 +1565,20 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
     }
   }
 
+  /**
+   * Returns the amount of modifications of the points of this trace so far.
+   * <p>
+   * Every added, removed, changed or evicted point and every removal of all
+   * points increases the count. Use it to find out whether data computed from
+   * the points of this trace is outdated.
+   * <p>
+   * 
+   * @return the amount of modifications of the points of this trace so far.
+   */
+  public final int getModificationCount() {
+    return this.m_modificationCount;
+  }
+
   /**
    * Returns the name of this trace.
    * <p>
@@ -1512,7 +1592,63 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
   }
 
   /**
-   * Naive implementation that iterates over every point.
+   * Searches the nearest point with the spatial index of this trace (see
+   * <code>{@link NearestPointIndex}</code>) if it has at least
+   * <code>{@link #NEAREST_POINT_INDEX_MIN_POINTS}</code> points and is
+   * assigned to the axes of a chart, else iterates over every point.
+   * <p>
+   * Holds the lock on this trace so that points may be added concurrently
+   * (e.g. while the point highlighting searches in the background).
+   * <p>
+   * 
+   * @param x
+   *          the scaled x value of the position.
+   * 
+   * @param y
+   *          the scaled y value of the position.
+   * 
+   * @param manhattan
+   *          true for the Manhattan distance, false for the Euclid distance.
+   * 
+   * @return the nearest point with its distance.
+   */
+  private DistancePoint getNearestPoint(final double x, final double y, final boolean manhattan) {
+    synchronized (this) {
+      if (this.getSize() >= ATrace2D.NEAREST_POINT_INDEX_MIN_POINTS) {
+        if (this.m_nearestPointIndex == null) {
+          this.m_nearestPointIndex = new NearestPointIndex();
+        }
+        DistancePoint result = this.m_nearestPointIndex.getNearestPoint(this, x, y, manhattan,
+            this.m_modificationCount);
+        if (result != null) {
+          return result;
+        }
+      }
+      final DistancePoint result = new DistancePoint();
+
+      final Iterator<ITracePoint2D> it = this.iterator();
+      ITracePoint2D point;
+      double distance;
+      double shortestDistance = Double.MAX_VALUE;
+      while (it.hasNext()) {
+        point = it.next();
+        if (!point.isDiscontinuation()) {
+          distance = manhattan ? point.getManhattanDistance(x, y) : point.getEuclidDistance(x, y);
+          if (distance < shortestDistance) {
+            shortestDistance = distance;
+            result.setPoint(point);
+            result.setDistance(shortestDistance);
+          }
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Uses a spatial index for traces with at least
+   * <code>{@link #NEAREST_POINT_INDEX_MIN_POINTS}</code> points, else iterates
+   * over every point.
    * <p>
    * Subclasses that have more insight about their internal data storage could
    * override this with a faster implementation (e.g. if the points are kept in
@@ -1523,26 +1659,13 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
    *      double)
    */
   public DistancePoint getNearestPointEuclid(final double x, final double y) {
-    final DistancePoint result = new DistancePoint();
-
-    final Iterator<ITracePoint2D> it = this.iterator();
-    ITracePoint2D point;
-    double distance;
-    double shortestDistance = Double.MAX_VALUE;
-    while (it.hasNext()) {
-      point = it.next();
-      distance = point.getEuclidDistance(x, y);
-      if (distance < shortestDistance) {
-        shortestDistance = distance;
-        result.setPoint(point);
-        result.setDistance(shortestDistance);
-      }
-    }
-    return result;
+    return this.getNearestPoint(x, y, false);
   }
 
   /**
-   * Naive implementation that iterates over every point.
+   * Uses a spatial index for traces with at least
+   * <code>{@link #NEAREST_POINT_INDEX_MIN_POINTS}</code> points, else iterates
+   * over every point.
    * <p>
    * Subclasses that have more insight about their internal data storage could
    * override this with a faster implementation (e.g. if the points are kept in
@@ -1553,21 +1676,38 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
    *      double)
    */
   public DistancePoint getNearestPointManhattan(final double x, final double y) {
-    final DistancePoint result = new DistancePoint();
+    return this.getNearestPoint(x, y, true);
+  }
 
-    final Iterator<ITracePoint2D> it = this.iterator();
-    ITracePoint2D point;
-    double manhattanDistance;
-    double shortestManhattanDistance = Double.MAX_VALUE;
-    while (it.hasNext()) {
-      point = it.next();
-      manhattanDistance = point.getManhattanDistance(x, y);
-      if (manhattanDistance < shortestManhattanDistance) {
-        shortestManhattanDistance = manhattanDistance;
-        result.setPoint(point);
-        result.setDistance(shortestManhattanDistance);
+  /**
+   * Naive implementation that iterates over every point with the lock on this
+   * trace.
+   * <p>
+   * Subclasses that keep their points sorted by x values should override this
+   * with a binary search (see
+   * <code>{@link Trace2DSorted#getNearestPointX(double)}</code>).
+   * <p>
+   * 
+   * @see info.monitorenter.gui.chart.ITrace2D#getNearestPointX(double)
+   */
+  public DistancePoint getNearestPointX(final double x) {
+    final DistancePoint result = new DistancePoint();
+    synchronized (this) {
+      final Iterator<ITracePoint2D> it = this.iterator();
+      ITracePoint2D point;
+      double distance;
+      double shortestDistance = Double.MAX_VALUE;
+      while (it.hasNext()) {
+        point = it.next();
+        if (!point.isDiscontinuation()) {
+          distance = Math.abs(point.getX() - x);
+          if (distance < shortestDistance) {
+            shortestDistance = distance;
+            result.setPoint(point);
+            result.setDistance(shortestDistance);
+          }
+        }
       }
-
     }
     return result;
   }
@@ -1703,6 +1843,24 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
     return result;
   }
 
+  /**
+   * Returns true if <code>{@link #addPointInternal(ITracePoint2D)}</code>
+   * always appends the point to the end of <code>{@link #iterator()}</code>
+   * and never drops points without notification.
+   * <p>
+   * This allows <code>{@link #iterator(int)}</code> to accumulate only the
+   * points added since the last call instead of all points. Returns false:
+   * Override this for implementations that only append.
+   * <p>
+   * 
+   * @return true if <code>{@link #addPointInternal(ITracePoint2D)}</code>
+   *         always appends the point to the end of
+   *         <code>{@link #iterator()}</code>.
+   */
+  protected boolean isAppendOnly() {
+    return false;
+  }
+
   /**
    * @see info.monitorenter.gui.chart.ITrace2D#isPixelTransformationRequired()
    */
@@ -1720,10 +1878,36 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
   }
 
   /**
+   * Returns the accumulated points of the current accumulation strategy.
+   * <p>
+   * The accumulated points are cached until this trace is modified or the
+   * amount of desired points, the range of the axes of this trace or the
+   * accumulation strategy change. If only points have been appended since the
+   * last call the cached points may be extended with the new points (see
+   * <code>{@link AccumulationCache}</code>).
+   * <p>
+   * 
    * @see info.monitorenter.gui.chart.ITrace2DDataAccumulating#iterator(int)
    */
   public final Iterator<ITracePoint2D> iterator(int amountOfDesiredPoints) {
-    return this.m_accumulationStrategy.iterator(this, amountOfDesiredPoints);
+    if (this.m_accumulationStrategy instanceof AccumulationStrategyByPass) {
+      return this.m_accumulationStrategy.iterator(this, amountOfDesiredPoints);
+    }
+    this.ensureInitialized();
+    synchronized (this.m_renderer) {
+      synchronized (this) {
+        if (this.m_accumulationCache == null) {
+          this.m_accumulationCache = new AccumulationCache();
+        }
+        this.m_accumulating = true;
+        try {
+          return this.m_accumulationCache.iterator(this, this.m_accumulationStrategy, amountOfDesiredPoints,
+              this.m_modificationCount, this.m_modificationCountNonAppend);
+        } finally {
+          this.m_accumulating = false;
+        }
+      }
+    }
   }
 
   /**
@@ -1930,6 +2114,8 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
 
         this.m_firsttime = true;
         this.removeAllPointsInternal();
+        this.modified(false);
+        this.m_highlightedPoints.clear();
         // property changes:
         double oldValue = this.m_maxX;
         this.m_maxX = 0;
@@ -2632,6 +2818,83 @@ public abstract class ATrace2D implements ITrace2D, ITrace2DDataAccumulating, Co
   private void trackPainters(final ITracePoint2D changed, final ITracePoint2D.STATE state, final Object oldValue, final Object newValue) {
     this.trackPainterAdditionalSpaceRequired(changed, state, oldValue, newValue);
     this.trackPainterPixelTransformationRequired(changed, state, oldValue, newValue);
+    this.trackHighlightedPoints(changed, state);
+  }
+
+  /**
+   * Tracks the points that have additional point painters for
+   * <code>{@link #getHighlightedPoints()}</code>.
+   * <p>
+   * 
+   * @param changed
+   *          the changed point.
+   * 
+   * @param state
+   *          see {@link ITracePoint2D.STATE}.
+   */
+  private void trackHighlightedPoints(final ITracePoint2D changed, final ITracePoint2D.STATE state) {
+    if (ITracePoint2D.STATE.REMOVED == state) {
+      this.m_highlightedPoints.remove(changed);
+    } else if (ITracePoint2D.STATE.ADDED == state || ITracePoint2D.STATE.ADDITIONAL_POINT_PAINTER_ADDED == state
+        || ITracePoint2D.STATE.ADDITIONAL_POINT_PAINTER_REMOVED == state) {
+      if (changed.getAdditionalPointPainters().isEmpty()) {
+        this.m_highlightedPoints.remove(changed);
+      } else {
+        this.m_highlightedPoints.add(changed);
+      }
+    }
+  }
+
+  /**
+   * Informs this instance that the given point was dropped by the
+   * implementation without a call to
+   * <code>{@link #firePointRemoved(ITracePoint2D)}</code> (e.g. a point
+   * overwritten in a ring buffer).
+   * <p>
+   * 
+   * @param evicted
+   *          the point that is no longer contained.
+   */
+  protected final void firePointEvicted(final ITracePoint2D evicted) {
+    this.modified(false);
+    this.m_highlightedPoints.remove(evicted);
+  }
+
+  /**
+   * Informs this instance that the implementation dropped an unknown amount of
+   * points without calls to <code>{@link #firePointRemoved(ITracePoint2D)}</code>
+   * (e.g. by shrinking a ring buffer).
+   * <p>
+   * The points returned by <code>{@link #getHighlightedPoints()}</code> that
+   * are no longer contained are forgotten.
+   * <p>
+   */
+  protected final void firePointsEvicted() {
+    this.modified(false);
+    if (!this.m_highlightedPoints.isEmpty()) {
+      final Set<ITracePoint2D> contained = Collections.newSetFromMap(new IdentityHashMap<ITracePoint2D, Boolean>());
+      final Iterator<ITracePoint2D> it = this.iterator();
+      while (it.hasNext()) {
+        contained.add(it.next());
+      }
+      this.m_highlightedPoints.retainAll(contained);
+    }
+  }
+
+  /**
+   * Counts a modification of the points of this trace.
+   * <p>
+   * 
+   * @param append
+   *          true if the modification only appended a point.
+   */
+  private void modified(final boolean append) {
+    if (!this.m_accumulating) {
+      this.m_modificationCount++;
+      if (!append) {
+        this.m_modificationCountNonAppend = this.m_modificationCount;
+      }
+    }
   }
 
   /**
@@ -0,0 +1,253 @@
+/*
+ *  AccumulationCache.java of project jchart2d, caches the accumulated points
+ *  of a trace between paints.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.IAccumulationFunction;
+import info.monitorenter.gui.chart.IAccumulationStrategy;
+import info.monitorenter.gui.chart.IAxis;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyXRangeWithRespectToDensity;
+import info.monitorenter.gui.chart.traces.iterators.AccumulatingIteratorXRange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Caches the points returned from
+ * <code>{@link IAccumulationStrategy#iterator(ITrace2D, int)}</code> for a
+ * trace between paints.
+ * <p>
+ * The accumulated points are valid as long as the trace was not modified and
+ * the amount of desired points, the visible range (and scale policy) of the
+ * axes of the trace and the accumulation strategy and function did not change.
+ * The chart requests the same amount of points for every paint unless it is
+ * resized, so repaints of unchanged traces do not accumulate again.
+ * <p>
+ * If the trace only had points appended since the last accumulation and the
+ * accumulation was done by an
+ * <code>{@link AccumulatingIteratorXRange}</code> the cached points are
+ * extended by resuming the accumulation at its last resume point (see
+ * <code>{@link AccumulatingIteratorXRange#getResumeSourceIndex()}</code>):
+ * Only the points of the last window and the new points are accumulated. Other
+ * strategies accumulate the whole trace again on a modification.
+ * <p>
+ * This class is not thread safe: The trace has to synchronize calls to
+ * <code>{@link #iterator(ITrace2D, IAccumulationStrategy, int, int, int)}</code>
+ * and the iteration over the result.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class AccumulationCache {
+
+  /** The amount of desired points of the cached accumulation. */
+  private int m_amountOfDesiredPoints = -1;
+
+  /** The accumulation function of the cached accumulation. */
+  private IAccumulationFunction m_function;
+
+  /** The trace modification count of the cached accumulation. */
+  private int m_modificationCount;
+
+  /** The cached accumulated points. */
+  private final List<ITracePoint2D> m_points = new ArrayList<ITracePoint2D>();
+
+  /** The amount of cached points that remain valid when resuming. */
+  private int m_resumeOutputIndex = -1;
+
+  /** The index of the trace point to resume accumulation at or -1. */
+  private int m_resumeSourceIndex = -1;
+
+  /** The scale policy of the x axis of the cached accumulation. */
+  private Object m_scalePolicyX;
+
+  /** The scale policy of the y axis of the cached accumulation. */
+  private Object m_scalePolicyY;
+
+  /** The accumulation strategy of the cached accumulation. */
+  private IAccumulationStrategy m_strategy;
+
+  /** The maximum of the x axis of the cached accumulation. */
+  private double m_xMax;
+
+  /** The minimum of the x axis of the cached accumulation. */
+  private double m_xMin;
+
+  /** The maximum of the y axis of the cached accumulation. */
+  private double m_yMax;
+
+  /** The minimum of the y axis of the cached accumulation. */
+  private double m_yMin;
+
+  /**
+   * Accumulates the whole trace and caches the result.
+   * <p>
+   *
+   * @param trace
+   *          the trace to accumulate.
+   *
+   * @param strategy
+   *          the accumulation strategy to use.
+   *
+   * @param amountOfDesiredPoints
+   *          the amount of points to accumulate to.
+   */
+  private void accumulate(final ITrace2D trace, final IAccumulationStrategy strategy,
+      final int amountOfDesiredPoints) {
+    this.m_points.clear();
+    Iterator<ITracePoint2D> it = strategy.iterator(trace, amountOfDesiredPoints);
+    while (it.hasNext()) {
+      this.m_points.add(it.next());
+    }
+    if (it instanceof AccumulatingIteratorXRange) {
+      AccumulatingIteratorXRange accumulating = (AccumulatingIteratorXRange) it;
+      this.m_resumeSourceIndex = accumulating.getResumeSourceIndex();
+      this.m_resumeOutputIndex = accumulating.getResumeOutputIndex();
+    } else {
+      this.m_resumeSourceIndex = -1;
+      this.m_resumeOutputIndex = -1;
+    }
+  }
+
+  /**
+   * Drops the cached points.
+   * <p>
+   */
+  public void clear() {
+    this.m_points.clear();
+    this.m_amountOfDesiredPoints = -1;
+    this.m_strategy = null;
+    this.m_function = null;
+    this.m_scalePolicyX = null;
+    this.m_scalePolicyY = null;
+    this.m_resumeSourceIndex = -1;
+    this.m_resumeOutputIndex = -1;
+  }
+
+  /**
+   * Returns an iterator over the accumulated points of the given trace.
+   * <p>
+   * The cached points are returned if they are still valid. Else they are
+   * extended (only appends since the last accumulation) or the whole trace is
+   * accumulated again.
+   * <p>
+   * If the trace is not contained in a chart's axes nothing is cached and the
+   * iterator of the strategy is returned.
+   * <p>
+   *
+   * @param trace
+   *          the trace to accumulate.
+   *
+   * @param strategy
+   *          the accumulation strategy to use.
+   *
+   * @param amountOfDesiredPoints
+   *          the amount of points to accumulate to.
+   *
+   * @param modificationCount
+   *          the current modification count of the trace.
+   *
+   * @param lastNonAppendModificationCount
+   *          the modification count of the trace after the last modification
+   *          that was not an appended point.
+   *
+   * @return an iterator over the accumulated points of the given trace.
+   */
+  public Iterator<ITracePoint2D> iterator(final ITrace2D trace, final IAccumulationStrategy strategy,
+      final int amountOfDesiredPoints, final int modificationCount, final int lastNonAppendModificationCount) {
+    Object renderer = trace.getRenderer();
+    IAxis< ? > axisX = null;
+    IAxis< ? > axisY = null;
+    if (renderer instanceof Chart2D) {
+      axisX = ((Chart2D) renderer).getAxisX(trace);
+      axisY = ((Chart2D) renderer).getAxisY(trace);
+    }
+    if (axisX == null || axisY == null) {
+      this.clear();
+      return strategy.iterator(trace, amountOfDesiredPoints);
+    }
+    boolean valid = this.m_strategy == strategy && this.m_function == strategy.getAccumulationFunction()
+        && this.m_amountOfDesiredPoints == amountOfDesiredPoints && this.m_xMin == axisX.getMin()
+        && this.m_xMax == axisX.getMax() && this.m_yMin == axisY.getMin() && this.m_yMax == axisY.getMax()
+        && this.m_scalePolicyX == axisX.getAxisScalePolicy() && this.m_scalePolicyY == axisY.getAxisScalePolicy();
+    if (!valid) {
+      this.accumulate(trace, strategy, amountOfDesiredPoints);
+      this.m_strategy = strategy;
+      this.m_function = strategy.getAccumulationFunction();
+      this.m_amountOfDesiredPoints = amountOfDesiredPoints;
+      this.m_xMin = axisX.getMin();
+      this.m_xMax = axisX.getMax();
+      this.m_yMin = axisY.getMin();
+      this.m_yMax = axisY.getMax();
+      this.m_scalePolicyX = axisX.getAxisScalePolicy();
+      this.m_scalePolicyY = axisY.getAxisScalePolicy();
+    } else if (this.m_modificationCount != modificationCount) {
+      if (this.m_modificationCount >= lastNonAppendModificationCount && this.m_resumeSourceIndex >= 0
+          && strategy instanceof AccumulationStrategyXRangeWithRespectToDensity) {
+        this.resume(trace, (AccumulationStrategyXRangeWithRespectToDensity) strategy, amountOfDesiredPoints);
+      } else {
+        this.accumulate(trace, strategy, amountOfDesiredPoints);
+      }
+    }
+    this.m_modificationCount = modificationCount;
+    return Collections.unmodifiableList(this.m_points).iterator();
+  }
+
+  /**
+   * Extends the cached points by resuming the accumulation at the last resume
+   * point with the points that have been appended to the trace.
+   * <p>
+   *
+   * @param trace
+   *          the trace to accumulate.
+   *
+   * @param strategy
+   *          the accumulation strategy to use.
+   *
+   * @param amountOfDesiredPoints
+   *          the amount of points to accumulate to.
+   */
+  private void resume(final ITrace2D trace, final AccumulationStrategyXRangeWithRespectToDensity strategy,
+      final int amountOfDesiredPoints) {
+    // collect the points from the resume point on from the end of the trace:
+    LinkedList<ITracePoint2D> tail = new LinkedList<ITracePoint2D>();
+    Iterator<ITracePoint2D> descending = trace.descendingIterator();
+    for (int i = trace.getSize() - this.m_resumeSourceIndex; i > 0; i--) {
+      tail.addFirst(descending.next());
+    }
+    this.m_points.subList(this.m_resumeOutputIndex, this.m_points.size()).clear();
+    AccumulatingIteratorXRange it = strategy.iterator(trace, tail.iterator(), amountOfDesiredPoints);
+    while (it.hasNext()) {
+      this.m_points.add(it.next());
+    }
+    if (it.getResumeSourceIndex() >= 0) {
+      this.m_resumeSourceIndex += it.getResumeSourceIndex();
+      this.m_resumeOutputIndex += it.getResumeOutputIndex();
+    }
+  }
+}
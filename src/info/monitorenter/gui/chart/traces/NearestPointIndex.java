@@ -0,0 +1,291 @@
+/*
+ *  NearestPointIndex.java of project jchart2d, a spatial index for finding
+ *  the nearest point of a trace.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.IAxis;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITrace2D.DistancePoint;
+import info.monitorenter.gui.chart.ITracePoint2D;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A uniform grid over the scaled coordinates of the points of a trace for
+ * finding the point nearest to a scaled position without visiting every
+ * point.
+ * <p>
+ * The grid covers the visible range (scaled values between 0.0 and 1.0):
+ * Points outside of it are put into the outermost cells. A query visits the
+ * cells in rings around the cell of the position until no unvisited cell can
+ * contain a nearer point. The result is the same as the one of a scan over all
+ * points in the order of the trace (on equal distances the first point wins).
+ * <p>
+ * The index is built lazily by the first query after the trace has been
+ * modified (see <code>{@link ATrace2D#getModificationCount()}</code>) or its
+ * axes have scaled points (see <code>{@link IAxis#getScaleCount()}</code>).
+ * <p>
+ * This class is not thread safe: The trace has to synchronize calls to
+ * <code>{@link #getNearestPoint(ITrace2D, double, double, boolean, int)}</code>.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class NearestPointIndex {
+
+  /** The maximum amount of cells per dimension. */
+  private static final int MAX_CELLS = 1024;
+
+  /** The average amount of points per cell the grid is sized for. */
+  private static final int POINTS_PER_CELL = 4;
+
+  /** The x axis the index was built for. */
+  private IAxis< ? > m_axisX;
+
+  /** The y axis the index was built for. */
+  private IAxis< ? > m_axisY;
+
+  /** The amount of cells per dimension. */
+  private int m_cells;
+
+  /**
+   * For every cell the index of its first point in {@link #m_cellPoints}, the
+   * last entry is the amount of indexed points.
+   */
+  private int[] m_cellStarts = new int[0];
+
+  /** The indices of the indexed points in {@link #m_points} ordered by cells. */
+  private int[] m_cellPoints = new int[0];
+
+  /** The trace modification count the index was built for. */
+  private int m_modificationCount;
+
+  /** The indexed points in the order of the trace. */
+  private ITracePoint2D[] m_points = new ITracePoint2D[0];
+
+  /** The x axis scale count the index was built for. */
+  private int m_scaleCountX;
+
+  /** The y axis scale count the index was built for. */
+  private int m_scaleCountY;
+
+  /** The trace the index was built for. */
+  private ITrace2D m_trace;
+
+  /**
+   * Builds the index over the current scaled values of the points of the given
+   * trace.
+   * <p>
+   *
+   * @param trace
+   *          the trace to index.
+   */
+  private void build(final ITrace2D trace) {
+    int size = trace.getSize();
+    if (this.m_points.length < size) {
+      this.m_points = new ITracePoint2D[size];
+      this.m_cellPoints = new int[size];
+    }
+    ITracePoint2D[] points = this.m_points;
+    int count = 0;
+    ITracePoint2D point;
+    for (Iterator<ITracePoint2D> it = trace.iterator(); it.hasNext() && count < points.length;) {
+      point = it.next();
+      // never nearest (distance NaN):
+      if (!point.isDiscontinuation() && !Double.isNaN(point.getScaledX()) && !Double.isNaN(point.getScaledY())) {
+        points[count++] = point;
+      }
+    }
+    // do not keep removed points reachable:
+    Arrays.fill(points, count, points.length, null);
+
+    int cells = (int) Math.sqrt(count / NearestPointIndex.POINTS_PER_CELL);
+    cells = Math.max(1, Math.min(NearestPointIndex.MAX_CELLS, cells));
+    this.m_cells = cells;
+    if (this.m_cellStarts.length != cells * cells + 1) {
+      this.m_cellStarts = new int[cells * cells + 1];
+    } else {
+      Arrays.fill(this.m_cellStarts, 0);
+    }
+    // counting sort of the points by cells (keeps the order within a cell):
+    int[] starts = this.m_cellStarts;
+    int[] pointCells = new int[count];
+    for (int i = 0; i < count; i++) {
+      pointCells[i] = this.getCell(points[i].getScaledX()) * cells + this.getCell(points[i].getScaledY());
+      starts[pointCells[i] + 1]++;
+    }
+    for (int i = 1; i < starts.length; i++) {
+      starts[i] += starts[i - 1];
+    }
+    int[] next = new int[cells * cells];
+    System.arraycopy(starts, 0, next, 0, next.length);
+    for (int i = 0; i < count; i++) {
+      this.m_cellPoints[next[pointCells[i]]++] = i;
+    }
+  }
+
+  /**
+   * Drops the index.
+   * <p>
+   */
+  public void clear() {
+    this.m_points = new ITracePoint2D[0];
+    this.m_cellPoints = new int[0];
+    this.m_cellStarts = new int[0];
+    this.m_trace = null;
+    this.m_axisX = null;
+    this.m_axisY = null;
+  }
+
+  /**
+   * Returns the cell of the given scaled value in one dimension.
+   * <p>
+   *
+   * @param scaled
+   *          the scaled value.
+   *
+   * @return the cell of the given scaled value in one dimension.
+   */
+  private int getCell(final double scaled) {
+    double cell = Math.floor(scaled * this.m_cells);
+    if (cell < 0) {
+      return 0;
+    } else if (cell >= this.m_cells) {
+      return this.m_cells - 1;
+    }
+    return (int) cell;
+  }
+
+  /**
+   * Returns the point of the given trace nearest to the given scaled position
+   * or <code>null</code> if the trace is not assigned to the axes of a chart.
+   * <p>
+   * The index is built again before if the trace has been modified or its axes
+   * have scaled points since it was built.
+   * <p>
+   *
+   * @param trace
+   *          the trace to search.
+   *
+   * @param x
+   *          the scaled x value of the position.
+   *
+   * @param y
+   *          the scaled y value of the position.
+   *
+   * @param manhattan
+   *          true for the Manhattan distance, false for the Euclid distance.
+   *
+   * @param modificationCount
+   *          the current modification count of the trace.
+   *
+   * @return the nearest point of the given trace with its distance or
+   *         <code>null</code> if the trace is not assigned to the axes of a
+   *         chart.
+   */
+  public DistancePoint getNearestPoint(final ITrace2D trace, final double x, final double y,
+      final boolean manhattan, final int modificationCount) {
+    Object renderer = trace.getRenderer();
+    IAxis< ? > axisX = null;
+    IAxis< ? > axisY = null;
+    if (renderer instanceof Chart2D) {
+      axisX = ((Chart2D) renderer).getAxisX(trace);
+      axisY = ((Chart2D) renderer).getAxisY(trace);
+    }
+    if (axisX == null || axisY == null) {
+      this.clear();
+      return null;
+    }
+    int scaleCountX = axisX.getScaleCount();
+    int scaleCountY = axisY.getScaleCount();
+    if (this.m_trace != trace || this.m_modificationCount != modificationCount || this.m_axisX != axisX
+        || this.m_axisY != axisY || this.m_scaleCountX != scaleCountX || this.m_scaleCountY != scaleCountY) {
+      this.build(trace);
+      this.m_trace = trace;
+      this.m_modificationCount = modificationCount;
+      this.m_axisX = axisX;
+      this.m_axisY = axisY;
+      this.m_scaleCountX = scaleCountX;
+      this.m_scaleCountY = scaleCountY;
+    }
+    return this.search(x, y, manhattan);
+  }
+
+  /**
+   * Searches the point nearest to the given scaled position.
+   * <p>
+   *
+   * @param x
+   *          the scaled x value of the position.
+   *
+   * @param y
+   *          the scaled y value of the position.
+   *
+   * @param manhattan
+   *          true for the Manhattan distance, false for the Euclid distance.
+   *
+   * @return the nearest point with its distance.
+   */
+  private DistancePoint search(final double x, final double y, final boolean manhattan) {
+    final DistancePoint result = new DistancePoint();
+    final int cells = this.m_cells;
+    final int cellX = this.getCell(x);
+    final int cellY = this.getCell(y);
+    int nearest = -1;
+    double shortestDistance = Double.MAX_VALUE;
+    for (int ring = 0; ring < cells; ring++) {
+      for (int i = Math.max(0, cellX - ring); i <= Math.min(cells - 1, cellX + ring); i++) {
+        // the whole column on the left and right side of the ring, else top and bottom:
+        int step = (Math.abs(i - cellX) == ring) ? 1 : 2 * ring;
+        for (int j = cellY - ring; j <= cellY + ring; j += step) {
+          if (j < 0 || j >= cells) {
+            continue;
+          }
+          int cell = i * cells + j;
+          for (int k = this.m_cellStarts[cell]; k < this.m_cellStarts[cell + 1]; k++) {
+            int index = this.m_cellPoints[k];
+            ITracePoint2D point = this.m_points[index];
+            double distance = manhattan ? point.getManhattanDistance(x, y) : point.getEuclidDistance(x, y);
+            if (distance < shortestDistance || (distance == shortestDistance && index < nearest)) {
+              shortestDistance = distance;
+              nearest = index;
+            }
+          }
+        }
+      }
+      /*
+       * Cells of the next rings are at least ring cell widths away (half a
+       * cell width of tolerance for rounding):
+       */
+      if (nearest >= 0 && shortestDistance < (ring - 0.5) / cells) {
+        break;
+      }
+    }
+    if (nearest >= 0) {
+      result.setPoint(this.m_points[nearest]);
+      result.setDistance(shortestDistance);
+    }
+    return result;
+  }
+}
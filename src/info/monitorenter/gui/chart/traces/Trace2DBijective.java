@@ -96,4 +96,16 @@ public class Trace2DBijective
     }
     return result;
   }
+
+  /**
+   * Returns false as adding a point may silently drop the point with the same x
+   * value.
+   * <p>
+   * 
+   * @see info.monitorenter.gui.chart.traces.Trace2DSimple#isAppendOnly()
+   */
+  @Override
+  protected boolean isAppendOnly() {
+    return false;
+  }
 }
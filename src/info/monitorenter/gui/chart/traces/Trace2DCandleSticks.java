@@ -239,6 +239,13 @@ public class Trace2DCandleSticks implements ITrace2D {
     return this.m_delegate.getHasErrorBars();
   }
 
+  /**
+   * @see info.monitorenter.gui.chart.ITrace2D#getHighlightedPoints()
+   */
+  public Set<ITracePoint2D> getHighlightedPoints() {
+    return this.m_delegate.getHighlightedPoints();
+  }
+
   /**
    * @see info.monitorenter.gui.chart.ITrace2D#getLabel()
    */
@@ -293,6 +300,13 @@ public class Trace2DCandleSticks implements ITrace2D {
     return this.m_delegate.getMinY();
   }
 
+  /**
+   * @see info.monitorenter.gui.chart.ITrace2D#getModificationCount()
+   */
+  public int getModificationCount() {
+    return this.m_delegate.getModificationCount();
+  }
+
   /**
    * @see info.monitorenter.gui.chart.ITrace2D#getName()
    */
@@ -320,6 +334,13 @@ public class Trace2DCandleSticks implements ITrace2D {
     return this.m_delegate.getNearestPointManhattan(x, y);
   }
 
+  /**
+   * @see info.monitorenter.gui.chart.ITrace2D#getNearestPointX(double)
+   */
+  public DistancePoint getNearestPointX(final double x) {
+    return this.m_delegate.getNearestPointX(x);
+  }
+
   /**
    * @see info.monitorenter.gui.chart.ITrace2D#getPhysicalUnits()
    */
@@ -44,7 +44,22 @@ import java.util.Iterator;
  * would increase the time for scaling and painting until system hangs or
  * java.lang.OutOfMemoryError is thrown.
  * <p>
- * 
+ * If the buffer holds a lot more points than the chart has pixels (heavy
+ * load) use data accumulation to paint at most two points per pixel without
+ * hiding peaks of spiky data:
+ *
+ * <pre>
+ * trace.setAccumulationStrategy(new AccumulationStrategyXRangeWithRespectToDensity(
+ *     new AccumulationFunctionMinMaxY()));
+ * </pre>
+ *
+ * See
+ * <code>{@link info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyXRangeWithRespectToDensity}</code>
+ * and
+ * <code>{@link info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionMinMaxY}</code>
+ * .
+ * <p>
+ *
  * @author <a href='mailto:Achim.Westermann@gmx.de'>Achim Westermann </a>
  * 
  * @version $Revision: 1.19 $
@@ -117,6 +132,7 @@ public class Trace2DLtd extends ATrace2D implements ITrace2D {
     double tmpx;
     double tmpy;
     if (removed != null) {
+      this.firePointEvicted(removed);
       tmpx = removed.getX();
       tmpy = removed.getY();
       if (tmpx >= this.m_maxX) {
@@ -310,6 +326,7 @@ public class Trace2DLtd extends ATrace2D implements ITrace2D {
           System.out.println("Trace2DLtd.setMaxSize, 2 locks");
         }
         this.m_buffer.setBufferSize(amount);
+        this.firePointsEvicted();
 
         final double xmin = this.m_minX;
         this.minXSearch();
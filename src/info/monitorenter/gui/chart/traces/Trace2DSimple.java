@@ -82,6 +82,17 @@ public class Trace2DSimple extends ATrace2D implements ITrace2D {
     return result;
   }
 
+  /**
+   * Returns true as points are always appended to the list.
+   * <p>
+   * 
+   * @see info.monitorenter.gui.chart.traces.ATrace2D#isAppendOnly()
+   */
+  @Override
+  protected boolean isAppendOnly() {
+    return true;
+  }
+
   /**
    * @see info.monitorenter.gui.chart.ITrace2D#getMaxSize()
    */
@@ -25,6 +25,7 @@ package info.monitorenter.gui.chart.traces;
 
 import info.monitorenter.gui.chart.ITrace2D;
 import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.tracepoints.TracePoint2D;
 
 import java.util.Iterator;
 import java.util.TreeSet;
@@ -85,6 +86,39 @@ public class Trace2DSorted extends ATrace2D implements ITrace2D {
     return this.m_points.add(p);
   }
   
+  /**
+   * Finds the point with the nearest x value with a binary search in the
+   * sorted points.
+   * <p>
+   * Falls back to the search over all points if a neighbor of the given x
+   * value is a discontinuation (they are not ordered by x values).
+   * <p>
+   * 
+   * @see info.monitorenter.gui.chart.traces.ATrace2D#getNearestPointX(double)
+   */
+  @Override
+  public DistancePoint getNearestPointX(final double x) {
+    synchronized (this) {
+      final ITracePoint2D probe = new TracePoint2D(x, 0);
+      final ITracePoint2D lower = this.m_points.floor(probe);
+      final ITracePoint2D higher = this.m_points.ceiling(probe);
+      if ((lower != null && lower.isDiscontinuation()) || (higher != null && higher.isDiscontinuation())
+          || Double.isNaN(x)) {
+        return super.getNearestPointX(x);
+      }
+      final DistancePoint result = new DistancePoint();
+      ITracePoint2D nearest = lower;
+      if (nearest == null || (higher != null && higher.getX() - x < x - nearest.getX())) {
+        nearest = higher;
+      }
+      if (nearest != null) {
+        result.setPoint(nearest);
+        result.setDistance(Math.abs(nearest.getX() - x));
+      }
+      return result;
+    }
+  }
+
   /**
    * @see info.monitorenter.gui.chart.ITrace2D#getMaxSize()
    */
@@ -204,6 +204,14 @@ public class TraceProxy implements ITrace2D {
     return this.m_delegate.getHasErrorBars();
   }
 
+  /**
+   * @see info.monitorenter.gui.chart.ITrace2D#getHighlightedPoints()
+   */
+  @Override
+  public Set<ITracePoint2D> getHighlightedPoints() {
+    return this.m_delegate.getHighlightedPoints();
+  }
+
   /**
    * @see info.monitorenter.gui.chart.ITrace2D#getLabel()
    */
@@ -252,6 +260,14 @@ public class TraceProxy implements ITrace2D {
     return this.m_delegate.getMinY();
   }
 
+  /**
+   * @see info.monitorenter.gui.chart.ITrace2D#getModificationCount()
+   */
+  @Override
+  public int getModificationCount() {
+    return this.m_delegate.getModificationCount();
+  }
+
   /**
    * @see info.monitorenter.gui.chart.ITrace2D#getName()
    */
@@ -278,6 +294,14 @@ public class TraceProxy implements ITrace2D {
     return this.m_delegate.getNearestPointManhattan(x, y);
   }
 
+  /**
+   * @see info.monitorenter.gui.chart.ITrace2D#getNearestPointX(double)
+   */
+  @Override
+  public DistancePoint getNearestPointX(final double x) {
+    return this.m_delegate.getNearestPointX(x);
+  }
+
   /**
    * @see info.monitorenter.gui.chart.ITrace2D#getPhysicalUnits()
    */
@@ -113,6 +113,17 @@ public abstract class AAccumulationFunction implements IAccumulationFunction {
     return result;
   }
 
+  /**
+   * Returns <code>null</code> as only one point is the result of an
+   * accumulation by default.
+   * <p>
+   * 
+   * @see info.monitorenter.gui.chart.IAccumulationFunction#getAccumulatedPointAdditional()
+   */
+  public ITracePoint2D getAccumulatedPointAdditional() {
+    return null;
+  }
+
   /**
    * Helper method to read a {@link ITracePointProvider} from the given point.
    * <p>
@@ -27,24 +27,39 @@
 package info.monitorenter.gui.chart.traces.accumulationfunctions;
 
 import info.monitorenter.gui.chart.Chart2D;
-import info.monitorenter.gui.chart.IPointPainter;
+import info.monitorenter.gui.chart.IAxis;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.IAccumulationFunctionReplicable;
 import info.monitorenter.gui.chart.ITracePoint2D;
 import info.monitorenter.gui.chart.ITracePointProvider;
 import info.monitorenter.util.math.MathUtil;
 
-import java.util.Set;
-import java.util.TreeSet;
-
 /**
  * Returns the arithmetic mean (x and y) of all points being accumulated by the
  * calls to <code>{@link #addPointToAccumulate(ITracePoint2D)}</code> since the
  * call to <code>{@link #getAccumulatedPoint()}</code>.
  * <p>
+ * The result is created with its final location (instead of being moved
+ * there) as moving it would report the change to the trace as if it was a
+ * contained point. It is scaled directly by the axes of the trace instead: So
+ * the painted location matches the location of the point also for non-linear
+ * axes (e.g. <code>{@link info.monitorenter.gui.chart.axis.AxisLog10}</code>
+ * ). This allows accumulating in other threads than the one holding the lock
+ * on the trace. Only if the trace is not displayed by a chart the scaled
+ * values are the arithmetic mean of the scaled values of the accumulated
+ * points.
+ * <p>
+ * 
+ * Additional point painters of the accumulated points are not transferred:
+ * The chart paints them for the original points
+ * (<code>{@link info.monitorenter.gui.chart.ITrace2D#getHighlightedPoints()}</code>).
+ * <p>
  * 
  * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
  * 
  */
-public class AccumulationFunctionArithmeticMeanXY extends AAccumulationFunction {
+public class AccumulationFunctionArithmeticMeanXY extends AAccumulationFunction
+    implements IAccumulationFunctionReplicable {
 
   /**
    * Needed as a divisor when {@link #getAccumulatedPoint()} is called to divide
@@ -59,12 +74,11 @@ public class AccumulationFunctionArithmeticMeanXY extends AAccumulationFunction
   /** To intermediately sum up all accumulations of Y values. */
   private double m_accumulatedSumY = 0;
 
-  /**
-   * During accumulation of a single output point all additional point painters
-   * ({@link ITracePoint2D#getAdditionalPointPainters()}) are collected here to
-   * finally be added to the outgoing point.
-   */
-  private Set<IPointPainter< ? >> m_collectedPointPainters = new TreeSet<IPointPainter< ? >>();
+  /** To intermediately sum up all accumulations of scaled x values. */
+  private double m_accumulatedSumScaledX = 0;
+
+  /** To intermediately sum up all accumulations of scaled y values. */
+  private double m_accumulatedSumScaledY = 0;
 
   /**
    * @see info.monitorenter.gui.chart.IAccumulationFunction#addPointToAccumulate(info.monitorenter.gui.chart.ITracePoint2D)
@@ -75,13 +89,14 @@ public class AccumulationFunctionArithmeticMeanXY extends AAccumulationFunction
       throw new IllegalArgumentException("Do not attemp to consume a discontinuation by accumulation - preserve them for the chart!");
     }
     ITracePoint2D accumulatedPointCurrent = this.getAccumulatedPointCurrent();
-    this.m_collectedPointPainters.addAll(point.getAdditionalPointPainters());
     if (accumulatedPointCurrent == null) {
       ITracePointProvider tracePointProvider = this.acquireTracePointProvider(point);
 
       accumulatedPointCurrent = tracePointProvider.createTracePoint(point.getX(), point.getY(), point.getListener());
       this.m_accumulatedSumX += point.getX();
       this.m_accumulatedSumY += point.getY();
+      this.m_accumulatedSumScaledX += point.getScaledX();
+      this.m_accumulatedSumScaledY += point.getScaledY();
       this.setAccumulatedPointCurrent(accumulatedPointCurrent);
     } else {
       /*
@@ -91,6 +106,8 @@ public class AccumulationFunctionArithmeticMeanXY extends AAccumulationFunction
        */
       this.m_accumulatedSumX += point.getX();
       this.m_accumulatedSumY += point.getY();
+      this.m_accumulatedSumScaledX += point.getScaledX();
+      this.m_accumulatedSumScaledY += point.getScaledY();
     }
     this.m_accumulatedPointsCount++;
   }
@@ -104,7 +121,6 @@ public class AccumulationFunctionArithmeticMeanXY extends AAccumulationFunction
     ITracePoint2D accumulatedPointCurrent = this.getAccumulatedPointCurrent();
     if (accumulatedPointCurrent != null) {
       // transfer state:
-      // 1. location: this also causes an update chain that scales the point:
       double accumulatedX = this.m_accumulatedSumX / this.m_accumulatedPointsCount;
       double accumulatedY = this.m_accumulatedSumY / this.m_accumulatedPointsCount;
       if (Chart2D.DEBUG_DATA_ACCUMULATION) {
@@ -112,7 +128,23 @@ public class AccumulationFunctionArithmeticMeanXY extends AAccumulationFunction
           throw new IllegalStateException("Accumulated to non double. x: " + accumulatedX + ", y: " + accumulatedY);
         }
       }
-      accumulatedPointCurrent.setLocation(accumulatedX, accumulatedY);
+      if (accumulatedPointCurrent.getX() != accumulatedX || accumulatedPointCurrent.getY() != accumulatedY) {
+        accumulatedPointCurrent = this.acquireTracePointProvider(accumulatedPointCurrent).createTracePoint(
+            accumulatedX, accumulatedY, accumulatedPointCurrent.getListener());
+        this.setAccumulatedPointCurrent(accumulatedPointCurrent);
+      }
+      // scale without firing a change of the point to the trace:
+      final ITrace2D trace = accumulatedPointCurrent.getListener();
+      final Chart2D chart = (trace == null) ? null : trace.getRenderer();
+      final IAxis< ? > axisX = (chart == null) ? null : chart.getAxisX(trace);
+      final IAxis< ? > axisY = (chart == null) ? null : chart.getAxisY(trace);
+      if (axisX != null && axisY != null) {
+        accumulatedPointCurrent.setScaledX(axisX.getScaledValue(accumulatedX));
+        accumulatedPointCurrent.setScaledY(axisY.getScaledValue(accumulatedY));
+      } else {
+        accumulatedPointCurrent.setScaledX(this.m_accumulatedSumScaledX / this.m_accumulatedPointsCount);
+        accumulatedPointCurrent.setScaledY(this.m_accumulatedSumScaledY / this.m_accumulatedPointsCount);
+      }
       if (Chart2D.DEBUG_DATA_ACCUMULATION) {
         double scaledX = accumulatedPointCurrent.getScaledX();
         double scaledY = accumulatedPointCurrent.getScaledY();
@@ -120,11 +152,6 @@ public class AccumulationFunctionArithmeticMeanXY extends AAccumulationFunction
           System.err.println("Accumulated point scaled into invisibility: x.scaled = " + scaledX + ", y.scaled =  " + scaledY);
         }
       }      
-      // 2. additional point painters:
-      accumulatedPointCurrent.removeAllAdditionalPointPainters();
-      for (IPointPainter< ? > pointPainter : this.m_collectedPointPainters) {
-        accumulatedPointCurrent.addAdditionalPointPainter(pointPainter);
-      }
       if (Chart2D.DEBUG_DATA_ACCUMULATION) {
         System.out.println(this.getClass().getName() + ": accumulated " + this.m_accumulatedPointsCount + " points into one: " + accumulatedPointCurrent);
       }
@@ -132,7 +159,8 @@ public class AccumulationFunctionArithmeticMeanXY extends AAccumulationFunction
       this.m_accumulatedPointsCount = 0;
       this.m_accumulatedSumX = 0;
       this.m_accumulatedSumY = 0;
-      this.m_collectedPointPainters.clear();
+      this.m_accumulatedSumScaledX = 0;
+      this.m_accumulatedSumScaledY = 0;
     }
     ITracePoint2D result = super.getAccumulatedPoint();
     return result;
@@ -147,4 +175,11 @@ public class AccumulationFunctionArithmeticMeanXY extends AAccumulationFunction
   }
   
   
+
+  /**
+   * @see info.monitorenter.gui.chart.IAccumulationFunctionReplicable#replicate()
+   */
+  public AccumulationFunctionArithmeticMeanXY replicate() {
+    return new AccumulationFunctionArithmeticMeanXY();
+  }
 }
@@ -63,6 +63,19 @@ public class AccumulationFunctionBypass implements IAccumulationFunction {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Throws a <code>{@link UnsupportedOperationException}</code>.
+   * <p>
+   * 
+   * @throws UnsupportedOperationException
+   * 
+   * @see info.monitorenter.gui.chart.IAccumulationFunction#getAccumulatedPointAdditional()
+   */
+  @Override
+  public ITracePoint2D getAccumulatedPointAdditional() {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Throws a <code>{@link UnsupportedOperationException}</code>.
    * <p>
@@ -0,0 +1,173 @@
+/*
+ *  AccumulationFunctionMinMaxY.java of project jchart2d, accumulation function
+ *  that keeps the envelope (minimum and maximum y value) of the accumulated points.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces.accumulationfunctions;
+
+import info.monitorenter.gui.chart.IAccumulationFunctionReplicable;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.ITracePointProvider;
+
+/**
+ * Returns the envelope of all points being accumulated by the calls to
+ * <code>{@link #addPointToAccumulate(ITracePoint2D)}</code> since the call to
+ * <code>{@link #getAccumulatedPoint()}</code>: The point with the minimum and
+ * the point with the maximum y value in the order of their x values.
+ * <p>
+ * The first of both is returned from <code>{@link #getAccumulatedPoint()}</code>
+ * and the second one from <code>{@link #getAccumulatedPointAdditional()}</code>.
+ * If all accumulated points have the same y value only one point is returned.
+ * <p>
+ * In contrast to <code>{@link AccumulationFunctionArithmeticMeanXY}</code> this
+ * does not hide peaks: Accumulated rendering of spiky data looks like the
+ * rendering of all points as long as one accumulation does not exceed one
+ * pixel (e.g. with
+ * <code>{@link info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyXRangeWithRespectToDensity}</code>
+ * ).
+ * <p>
+ * Additional point painters of the accumulated points are not transferred:
+ * The chart paints them for the original points
+ * (<code>{@link info.monitorenter.gui.chart.ITrace2D#getHighlightedPoints()}</code>).
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class AccumulationFunctionMinMaxY extends AAccumulationFunction
+    implements IAccumulationFunctionReplicable {
+
+  /** The amount of points accumulated since the last result. */
+  private int m_accumulatedPointsCount = 0;
+
+  /** The second point of the last result, returned only once. */
+  private ITracePoint2D m_additional;
+
+  /** The accumulated point with the maximum y value. */
+  private ITracePoint2D m_max;
+
+  /** The accumulated point with the minimum y value. */
+  private ITracePoint2D m_min;
+
+  /**
+   * @see info.monitorenter.gui.chart.IAccumulationFunction#addPointToAccumulate(info.monitorenter.gui.chart.ITracePoint2D)
+   */
+  public void addPointToAccumulate(final ITracePoint2D point) throws IllegalArgumentException {
+    if (point.isDiscontinuation()) {
+      throw new IllegalArgumentException("Do not attemp to consume a discontinuation by accumulation - preserve them for the chart!");
+    }
+    if (this.getAccumulatedPointCurrent() == null) {
+      ITracePointProvider tracePointProvider = this.acquireTracePointProvider(point);
+      ITracePoint2D accumulatedPointCurrent = tracePointProvider.createTracePoint(point.getX(), point.getY(),
+          point.getListener());
+      this.setAccumulatedPointCurrent(accumulatedPointCurrent);
+      this.m_min = point;
+      this.m_max = point;
+    } else {
+      double y = point.getY();
+      if (y < this.m_min.getY()) {
+        this.m_min = point;
+      } else if (y > this.m_max.getY()) {
+        this.m_max = point;
+      }
+    }
+    this.m_accumulatedPointsCount++;
+  }
+
+  /**
+   * Returns a copy of the given original point with the same location and
+   * scaled location.
+   * <p>
+   * The location of accumulated points is not changed after creation: This
+   * would be reported to the trace as a change of a contained point.
+   * <p>
+   *
+   * @param original
+   *          the original point.
+   *
+   * @return a copy of the given original point with the same location and
+   *         scaled location.
+   */
+  private ITracePoint2D copy(final ITracePoint2D original) {
+    ITracePoint2D result = this.acquireTracePointProvider(original).createTracePoint(original.getX(),
+        original.getY(), original.getListener());
+    result.setScaledX(original.getScaledX());
+    result.setScaledY(original.getScaledY());
+    return result;
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.traces.accumulationfunctions.AAccumulationFunction#getAccumulatedPoint()
+   */
+  @Override
+  public ITracePoint2D getAccumulatedPoint() {
+    this.m_additional = null;
+    ITracePoint2D accumulatedPointCurrent = this.getAccumulatedPointCurrent();
+    if (accumulatedPointCurrent != null) {
+      ITracePoint2D first = this.m_min;
+      ITracePoint2D second = this.m_max;
+      if (second.getX() < first.getX()) {
+        first = this.m_max;
+        second = this.m_min;
+      }
+      if (accumulatedPointCurrent.getX() == first.getX() && accumulatedPointCurrent.getY() == first.getY()) {
+        accumulatedPointCurrent.setScaledX(first.getScaledX());
+        accumulatedPointCurrent.setScaledY(first.getScaledY());
+      } else {
+        this.setAccumulatedPointCurrent(this.copy(first));
+      }
+      if (second != first) {
+        this.m_additional = this.copy(second);
+      }
+      this.m_accumulatedPointsCount = 0;
+      this.m_min = null;
+      this.m_max = null;
+    }
+    return super.getAccumulatedPoint();
+  }
+
+  /**
+   * Returns the second point of the envelope of the last result of
+   * <code>{@link #getAccumulatedPoint()}</code> once.
+   * <p>
+   *
+   * @see info.monitorenter.gui.chart.traces.accumulationfunctions.AAccumulationFunction#getAccumulatedPointAdditional()
+   */
+  @Override
+  public ITracePoint2D getAccumulatedPointAdditional() {
+    ITracePoint2D result = this.m_additional;
+    this.m_additional = null;
+    return result;
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IAccumulationFunction#getAccumulatedPointCount()
+   */
+  @Override
+  public int getAccumulatedPointCount() {
+    return this.m_accumulatedPointsCount;
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IAccumulationFunctionReplicable#replicate()
+   */
+  public AccumulationFunctionMinMaxY replicate() {
+    return new AccumulationFunctionMinMaxY();
+  }
+}
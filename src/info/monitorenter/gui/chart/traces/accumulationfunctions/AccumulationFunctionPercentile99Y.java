@@ -0,0 +1,49 @@
+/*
+ *  AccumulationFunctionPercentile99Y.java of project jchart2d, accumulates to
+ *  a streaming estimate of the 99th percentile of the y values.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces.accumulationfunctions;
+
+/**
+ * Returns a point with the estimated 99th percentile of the y values of all
+ * points being accumulated (see <code>{@link AccumulationFunctionQuantileY}</code>).
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class AccumulationFunctionPercentile99Y extends AccumulationFunctionQuantileY {
+
+  /**
+   * Defcon.
+   * <p>
+   */
+  public AccumulationFunctionPercentile99Y() {
+    super(0.99);
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionQuantileY#replicate()
+   */
+  @Override
+  public AccumulationFunctionPercentile99Y replicate() {
+    return new AccumulationFunctionPercentile99Y();
+  }
+}
@@ -0,0 +1,306 @@
+/*
+ *  AccumulationFunctionQuantileY.java of project jchart2d, accumulates to a
+ *  streaming estimate of a quantile of the y values.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces.accumulationfunctions;
+
+import info.monitorenter.gui.chart.IAccumulationFunctionReplicable;
+import info.monitorenter.gui.chart.ITracePoint2D;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Returns a point with the given quantile (e.g. the median) of the y values and
+ * the arithmetic mean of the x values of all points being accumulated by the
+ * calls to <code>{@link #addPointToAccumulate(ITracePoint2D)}</code> since the
+ * call to <code>{@link #getAccumulatedPoint()}</code>.
+ * <p>
+ * The quantile is estimated with the P-square algorithm (R. Jain and I.
+ * Chlamtac, "The P-Square Algorithm for Dynamic Calculation of Quantiles and
+ * Histograms Without Storing Observations", CACM 28(10), 1985): Five markers
+ * are adjusted with every accumulated point, so the memory needed does not
+ * depend on the amount of accumulated points and nothing has to be sorted.
+ * The estimate is exact for up to five accumulated points. The scaled y value
+ * of the result is estimated the same way from the scaled y values of the
+ * accumulated points.
+ * <p>
+ * The result is created with its final location (instead of being moved
+ * there) as moving it would report the change to the trace as if it was a
+ * contained point.
+ * <p>
+ * The parallel accumulation of
+ * <code>{@link info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyXRangeParallel}</code>
+ * uses replicas with the same quantile (see <code>{@link #replicate()}</code>).
+ * <p>
+ * Additional point painters of the accumulated points are not transferred:
+ * The chart paints them for the original points
+ * (<code>{@link info.monitorenter.gui.chart.ITrace2D#getHighlightedPoints()}</code>).
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class AccumulationFunctionQuantileY extends AAccumulationFunction
+    implements IAccumulationFunctionReplicable {
+
+  /**
+   * Streaming estimator of a quantile with the P-square algorithm.
+   * <p>
+   * The first five values are kept (sorted) and serve as the initial markers.
+   * <p>
+   * Serializable as it is part of the state of the accumulation function.
+   * <p>
+   */
+  private static final class P2Estimator implements Serializable {
+
+    /** Generated <code>serialVersionUID</code>. **/
+    private static final long serialVersionUID = 3265471036590132754L;
+
+    /** The increments of the desired marker positions per value. */
+    private final double[] m_increments;
+
+    /** The desired marker positions. */
+    private final double[] m_desired = new double[5];
+
+    /** The marker heights. */
+    private final double[] m_heights = new double[5];
+
+    /** The marker positions. */
+    private final double[] m_positions = new double[5];
+
+    /** The quantile to estimate. */
+    private final double m_quantile;
+
+    /** The amount of values added since the last reset. */
+    private int m_count;
+
+    /**
+     * Creates an estimator for the given quantile.
+     * <p>
+     *
+     * @param quantile
+     *          the quantile to estimate within ]0.0, 1.0[.
+     */
+    P2Estimator(final double quantile) {
+      this.m_quantile = quantile;
+      this.m_increments = new double[] {0, quantile / 2, quantile, (1 + quantile) / 2, 1 };
+    }
+
+    /**
+     * Adds the given value.
+     * <p>
+     *
+     * @param value
+     *          the value to add.
+     */
+    void add(final double value) {
+      double[] heights = this.m_heights;
+      if (this.m_count < 5) {
+        heights[this.m_count++] = value;
+        if (this.m_count == 5) {
+          Arrays.sort(heights);
+          for (int i = 0; i < 5; i++) {
+            this.m_positions[i] = i;
+          }
+          double p = this.m_quantile;
+          this.m_desired[0] = 0;
+          this.m_desired[1] = 2 * p;
+          this.m_desired[2] = 4 * p;
+          this.m_desired[3] = 2 + 2 * p;
+          this.m_desired[4] = 4;
+        }
+        return;
+      }
+      this.m_count++;
+      int k;
+      if (value < heights[0]) {
+        heights[0] = value;
+        k = 0;
+      } else if (value >= heights[4]) {
+        heights[4] = value;
+        k = 3;
+      } else {
+        k = 0;
+        while (value >= heights[k + 1]) {
+          k++;
+        }
+      }
+      double[] positions = this.m_positions;
+      for (int i = k + 1; i < 5; i++) {
+        positions[i]++;
+      }
+      for (int i = 0; i < 5; i++) {
+        this.m_desired[i] += this.m_increments[i];
+      }
+      for (int i = 1; i < 4; i++) {
+        double d = this.m_desired[i] - positions[i];
+        if ((d >= 1 && positions[i + 1] - positions[i] > 1) || (d <= -1 && positions[i - 1] - positions[i] < -1)) {
+          int sign = (d > 0) ? 1 : -1;
+          double parabolic = heights[i]
+              + sign
+              / (positions[i + 1] - positions[i - 1])
+              * ((positions[i] - positions[i - 1] + sign) * (heights[i + 1] - heights[i])
+                  / (positions[i + 1] - positions[i]) + (positions[i + 1] - positions[i] - sign)
+                  * (heights[i] - heights[i - 1]) / (positions[i] - positions[i - 1]));
+          if (heights[i - 1] < parabolic && parabolic < heights[i + 1]) {
+            heights[i] = parabolic;
+          } else {
+            heights[i] += sign * (heights[i + sign] - heights[i]) / (positions[i + sign] - positions[i]);
+          }
+          positions[i] += sign;
+        }
+      }
+    }
+
+    /**
+     * Returns the estimated quantile of the values added since the last reset.
+     * <p>
+     *
+     * @return the estimated quantile of the values added since the last reset.
+     */
+    double getQuantile() {
+      if (this.m_count >= 5) {
+        return this.m_heights[2];
+      }
+      // exact quantile (linear interpolation between the closest ranks):
+      Arrays.sort(this.m_heights, 0, this.m_count);
+      double rank = this.m_quantile * (this.m_count - 1);
+      int lower = (int) rank;
+      if (lower + 1 >= this.m_count) {
+        return this.m_heights[lower];
+      }
+      return this.m_heights[lower] + (rank - lower) * (this.m_heights[lower + 1] - this.m_heights[lower]);
+    }
+
+    /**
+     * Forgets all added values.
+     * <p>
+     */
+    void reset() {
+      this.m_count = 0;
+    }
+  }
+
+  /** The amount of points accumulated since the last result. */
+  private int m_accumulatedPointsCount = 0;
+
+  /** To intermediately sum up all accumulations of scaled x values. */
+  private double m_accumulatedSumScaledX = 0;
+
+  /** To intermediately sum up all accumulations of x values. */
+  private double m_accumulatedSumX = 0;
+
+  /** The first point accumulated since the last result. */
+  private ITracePoint2D m_first;
+
+  /** The quantile to accumulate to. */
+  private final double m_quantile;
+
+  /** Estimates the quantile of the scaled y values. */
+  private final P2Estimator m_scaledY;
+
+  /** Estimates the quantile of the y values. */
+  private final P2Estimator m_y;
+
+  /**
+   * Creates an accumulation function for the given quantile of the y values.
+   * <p>
+   *
+   * @param quantile
+   *          the quantile within ]0.0, 1.0[, e.g. 0.5 for the median.
+   *
+   * @throws IllegalArgumentException
+   *           if the quantile is not within ]0.0, 1.0[.
+   */
+  public AccumulationFunctionQuantileY(final double quantile) throws IllegalArgumentException {
+    if (!(quantile > 0.0 && quantile < 1.0)) {
+      throw new IllegalArgumentException("Quantile has to be within ]0.0, 1.0[: " + quantile);
+    }
+    this.m_quantile = quantile;
+    this.m_y = new P2Estimator(quantile);
+    this.m_scaledY = new P2Estimator(quantile);
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IAccumulationFunction#addPointToAccumulate(info.monitorenter.gui.chart.ITracePoint2D)
+   */
+  public void addPointToAccumulate(final ITracePoint2D point) throws IllegalArgumentException {
+    if (point.isDiscontinuation()) {
+      throw new IllegalArgumentException("Do not attemp to consume a discontinuation by accumulation - preserve them for the chart!");
+    }
+    if (this.m_accumulatedPointsCount == 0) {
+      this.m_first = point;
+    }
+    this.m_accumulatedSumX += point.getX();
+    this.m_accumulatedSumScaledX += point.getScaledX();
+    this.m_y.add(point.getY());
+    this.m_scaledY.add(point.getScaledY());
+    this.m_accumulatedPointsCount++;
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.traces.accumulationfunctions.AAccumulationFunction#getAccumulatedPoint()
+   */
+  @Override
+  public ITracePoint2D getAccumulatedPoint() {
+    if (this.m_accumulatedPointsCount > 0) {
+      ITracePoint2D accumulatedPointCurrent = this.acquireTracePointProvider(this.m_first).createTracePoint(
+          this.m_accumulatedSumX / this.m_accumulatedPointsCount, this.m_y.getQuantile(),
+          this.m_first.getListener());
+      accumulatedPointCurrent.setScaledX(this.m_accumulatedSumScaledX / this.m_accumulatedPointsCount);
+      accumulatedPointCurrent.setScaledY(this.m_scaledY.getQuantile());
+      this.setAccumulatedPointCurrent(accumulatedPointCurrent);
+
+      this.m_accumulatedPointsCount = 0;
+      this.m_accumulatedSumX = 0;
+      this.m_accumulatedSumScaledX = 0;
+      this.m_first = null;
+      this.m_y.reset();
+      this.m_scaledY.reset();
+    }
+    return super.getAccumulatedPoint();
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IAccumulationFunction#getAccumulatedPointCount()
+   */
+  @Override
+  public int getAccumulatedPointCount() {
+    return this.m_accumulatedPointsCount;
+  }
+
+  /**
+   * Returns the quantile to accumulate to.
+   * <p>
+   *
+   * @return the quantile to accumulate to.
+   */
+  public final double getQuantile() {
+    return this.m_quantile;
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IAccumulationFunctionReplicable#replicate()
+   */
+  public AccumulationFunctionQuantileY replicate() {
+    return new AccumulationFunctionQuantileY(this.m_quantile);
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ *  AccumulationStrategyXRangeParallel.java of project jchart2d, x-range
+ *  accumulation of huge traces in parallel.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces.accumulationstrategies;
+
+import info.monitorenter.gui.chart.IAccumulationFunction;
+import info.monitorenter.gui.chart.IAccumulationFunctionReplicable;
+import info.monitorenter.gui.chart.IAccumulationStrategy.AccumulationControlXRange;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.traces.iterators.AccumulatingIteratorXRange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An <code>{@link AccumulationStrategyXRangeWithRespectToDensity}</code> that
+ * accumulates huge traces in parallel.
+ * <p>
+ * A trace with at least <code>{@link #PARALLEL_MIN_POINTS}</code> points per
+ * thread is split into consecutive index ranges that are accumulated by the
+ * calling thread and worker threads of this instance. The ranges are split at
+ * points where the state of the accumulation does not depend on the points
+ * before (three consecutive visible points, the first two in different x-range
+ * windows): The accumulation of a range is resumed there (see
+ * <code>{@link AccumulatingIteratorXRange#AccumulatingIteratorXRange(ITrace2D, Iterator, IAccumulationFunction, AccumulationControlXRange, boolean, boolean)}</code>
+ * ) and continues until the next split point. So the concatenated results are
+ * the same as the result of the sequential accumulation. Ranges without such a
+ * point are joined with the previous one.
+ * <p>
+ * Every range is accumulated with its own replica of the accumulation
+ * function (see <code>{@link IAccumulationFunctionReplicable#replicate()}</code>
+ * ): Only replicable functions are accepted. They must not report changes of
+ * accumulated points to the trace (the calling thread holds the lock on the
+ * trace while waiting for the worker threads).
+ * <p>
+ * The result is not resumed when points are appended to the trace (see
+ * <code>{@link info.monitorenter.gui.chart.traces.AccumulationCache}</code>):
+ * Use this for huge static traces.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class AccumulationStrategyXRangeParallel extends AccumulationStrategyXRangeWithRespectToDensity {
+
+  /**
+   * The minimum amount of points accumulated by one thread: Smaller ranges do
+   * not outweigh the cost of handing them to a worker thread.
+   */
+  public static final int PARALLEL_MIN_POINTS = 100000;
+
+  /** The worker threads, null if not needed yet. */
+  private transient ExecutorService m_executor;
+
+  /** The amount of threads accumulating a trace. */
+  private final int m_threads;
+
+  /**
+   * Constructor taking the accumulation function and the amount of threads to
+   * use.
+   * <p>
+   *
+   * @param accumulationFunction
+   *          the replicable accumulation function to use.
+   *
+   * @param threads
+   *          the amount of threads accumulating a trace (including the calling
+   *          thread).
+   *
+   * @throws IllegalArgumentException
+   *           if the given amount of threads is not positive or the given
+   *           function is not an
+   *           <code>{@link IAccumulationFunctionReplicable}</code>.
+   */
+  public AccumulationStrategyXRangeParallel(final IAccumulationFunction accumulationFunction, final int threads)
+      throws IllegalArgumentException {
+    super(accumulationFunction);
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Amount of accumulation threads has to be positive: " + threads);
+    }
+    this.m_threads = threads;
+  }
+
+  /**
+   * Accumulates the given range of points.
+   * <p>
+   *
+   * @param source
+   *          the trace to accumulate.
+   *
+   * @param points
+   *          all points of the trace.
+   *
+   * @param from
+   *          the index of the first point of the range: 0 or a split point.
+   *
+   * @param to
+   *          the index after the last point of the range: The size of the
+   *          trace or the index after the point following the next split point.
+   *
+   * @param amountOfPoints
+   *          the amount of x-range windows.
+   *
+   * @param function
+   *          the accumulation function to use exclusively for the range.
+   *
+   * @return the accumulated points of the range.
+   */
+  private List<ITracePoint2D> accumulate(final ITrace2D source, final ITracePoint2D[] points, final int from,
+      final int to, final int amountOfPoints, final IAccumulationFunction function) {
+    AccumulationControlXRange control = new AccumulationControlXRange();
+    control.initializeControl(points.length, amountOfPoints);
+    Iterator<ITracePoint2D> it = new AccumulatingIteratorXRange(source, Arrays.asList(points).subList(from, to)
+        .iterator(), function, control, from > 0, to == points.length);
+    List<ITracePoint2D> result = new ArrayList<ITracePoint2D>();
+    while (it.hasNext()) {
+      result.add(it.next());
+    }
+    return result;
+  }
+
+  /**
+   * Returns a replica of the accumulation function for accumulating a range
+   * exclusively.
+   * <p>
+   *
+   * @return a replica of the accumulation function.
+   */
+  private IAccumulationFunction createAccumulationFunction() {
+    return ((IAccumulationFunctionReplicable) this.getAccumulationFunction()).replicate();
+  }
+
+  /**
+   * Returns the index of the first split point at or after <code>from</code>
+   * or -1 if there is none.
+   * <p>
+   * A split point is a visible point with a visible predecessor in another
+   * x-range window and a visible successor.
+   * <p>
+   *
+   * @param points
+   *          all points of the trace.
+   *
+   * @param from
+   *          the index to start the search at.
+   *
+   * @param control
+   *          defines the x-range windows.
+   *
+   * @return the index of the first split point at or after <code>from</code>
+   *         or -1.
+   */
+  private int findSplitPoint(final ITracePoint2D[] points, final int from, final AccumulationControlXRange control) {
+    for (int i = Math.max(1, from); i < points.length - 1; i++) {
+      if (points[i - 1].isVisble() && points[i].isVisble() && points[i + 1].isVisble()
+          && control.getWindow(points[i - 1]) != control.getWindow(points[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the amount of threads accumulating a trace.
+   * <p>
+   *
+   * @return the amount of threads accumulating a trace.
+   */
+  public int getThreads() {
+    return this.m_threads;
+  }
+
+  /**
+   * Returns an iterator over the points of the <code>source</code> accumulated
+   * in parallel if the <code>source</code> has enough points, else the
+   * iterator of <code>{@link AccumulationStrategyXRangeWithRespectToDensity}</code>.
+   * <p>
+   * The points are accumulated before this method returns.
+   * <p>
+   *
+   * @see info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyXRangeWithRespectToDensity#iterator(info.monitorenter.gui.chart.ITrace2D,
+   *      int)
+   */
+  @Override
+  public Iterator<ITracePoint2D> iterator(final ITrace2D source, final int amountOfPoints) {
+    int size = source.getSize();
+    int ranges = Math.min(this.m_threads, size / AccumulationStrategyXRangeParallel.PARALLEL_MIN_POINTS);
+    if (ranges < 2 || size <= amountOfPoints) {
+      return super.iterator(source, amountOfPoints);
+    }
+    final ITracePoint2D[] points = new ITracePoint2D[size];
+    size = 0;
+    for (Iterator<ITracePoint2D> it = source.iterator(); it.hasNext();) {
+      points[size++] = it.next();
+    }
+    AccumulationControlXRange control = new AccumulationControlXRange();
+    control.initializeControl(size, amountOfPoints);
+    int[] splits = new int[ranges + 1];
+    int count = 1;
+    for (int i = 1; i < ranges; i++) {
+      int split = this.findSplitPoint(points, Math.max((int) ((long) size * i / ranges), splits[count - 1] + 2),
+          control);
+      if (split < 0) {
+        break;
+      }
+      splits[count++] = split;
+    }
+    if (count < 2) {
+      return super.iterator(source, amountOfPoints);
+    }
+
+    List<Future<List<ITracePoint2D>>> results = new ArrayList<Future<List<ITracePoint2D>>>(count);
+    ExecutorService executor = this.getExecutor();
+    for (int i = 1; i < count; i++) {
+      final int to = (i == count - 1) ? size : splits[i + 1] + 2;
+      final int from = splits[i];
+      final IAccumulationFunction function = this.createAccumulationFunction();
+      results.add(executor.submit(new Callable<List<ITracePoint2D>>() {
+        public List<ITracePoint2D> call() {
+          return AccumulationStrategyXRangeParallel.this.accumulate(source, points, from, to, amountOfPoints,
+              function);
+        }
+      }));
+    }
+    List<ITracePoint2D> result = this.accumulate(source, points, 0, splits[1] + 2, amountOfPoints,
+        this.getAccumulationFunction());
+    boolean interrupted = false;
+    for (Future<List<ITracePoint2D>> future : results) {
+      // the workers access the points: wait for all of them
+      while (true) {
+        try {
+          result.addAll(future.get());
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          final Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          } else if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          throw new IllegalStateException(cause);
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    return result.iterator();
+  }
+
+  /**
+   * Returns the worker threads.
+   * <p>
+   * The worker threads terminate when idle so an unused instance does not keep
+   * threads.
+   * <p>
+   *
+   * @return the worker threads.
+   */
+  private synchronized ExecutorService getExecutor() {
+    if (this.m_executor == null) {
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(this.m_threads - 1, this.m_threads - 1, 10,
+          TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            public Thread newThread(final Runnable r) {
+              final Thread thread = new Thread(r, "Parallel data accumulation");
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+      executor.allowCoreThreadTimeOut(true);
+      this.m_executor = executor;
+    }
+    return this.m_executor;
+  }
+
+  /**
+   * Only accepts an <code>{@link IAccumulationFunctionReplicable}</code> as
+   * every range is accumulated with its own replica of the function.
+   * <p>
+   *
+   * @throws IllegalArgumentException
+   *           if the given function is no
+   *           <code>{@link IAccumulationFunctionReplicable}</code>.
+   *
+   * @see info.monitorenter.gui.chart.traces.accumulationstrategies.AAccumulationStrategy#setAccumulationFunction(info.monitorenter.gui.chart.IAccumulationFunction)
+   */
+  @Override
+  public IAccumulationFunction setAccumulationFunction(final IAccumulationFunction accumulationFunction)
+      throws IllegalArgumentException {
+    if (!(accumulationFunction instanceof IAccumulationFunctionReplicable)) {
+      throw new IllegalArgumentException("Parallel accumulation needs a replicable accumulation function: "
+          + accumulationFunction);
+    }
+    return super.setAccumulationFunction(accumulationFunction);
+  }
+}
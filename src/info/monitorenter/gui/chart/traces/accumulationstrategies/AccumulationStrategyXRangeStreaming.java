@@ -0,0 +1,239 @@
+/*
+ *  AccumulationStrategyXRangeStreaming.java of project jchart2d, x-range
+ *  envelope accumulation in a single pass without allocations.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces.accumulationstrategies;
+
+import info.monitorenter.gui.chart.IAccumulationFunction;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionMinMaxY;
+import info.monitorenter.gui.chart.traces.iterators.AXRangeGapFilter;
+import info.monitorenter.gui.chart.traces.iterators.AccumulatingIteratorXRange;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Accumulates the envelope of all consecutive visible points within the same
+ * x-range window in a single streaming pass over the trace.
+ * <p>
+ * The result has the same coordinates as the result of
+ * <code>{@link AccumulationStrategyXRangeWithRespectToDensity}</code> with an
+ * <code>{@link AccumulationFunctionMinMaxY}</code> (see
+ * <code>{@link AccumulatingIteratorXRange}</code> for the treatment of bursts,
+ * gaps and invisible points, both use an <code>{@link AXRangeGapFilter}</code>
+ * ). But the accumulation state is kept in primitive fields instead of an
+ * accumulation function and an accumulation control:
+ * The points with the minimum and maximum y value of an x-range window are
+ * original points of the trace, so they are returned instead of copies.
+ * <p>
+ * The result is collected in an output buffer that is reused by the next call
+ * of <code>{@link #iterator(ITrace2D, int)}</code>: No trace points are
+ * allocated. The returned iterator works on a copy of the buffer, so it stays
+ * valid after further calls and an instance may be shared by several traces.
+ * <p>
+ * The accumulation function is fixed to an
+ * <code>{@link AccumulationFunctionMinMaxY}</code> and not invoked.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class AccumulationStrategyXRangeStreaming extends AAccumulationStrategy {
+
+  /** Splits the points into the points to accumulate and to return. */
+  private final AXRangeGapFilter m_filter = new AXRangeGapFilter() {
+    @Override
+    protected void accumulate(final ITracePoint2D point) {
+      AccumulationStrategyXRangeStreaming.this.accumulate(point);
+    }
+
+    @Override
+    protected void flushWindow() {
+      AccumulationStrategyXRangeStreaming.this.flushWindow();
+    }
+
+    @Override
+    protected void output(final ITracePoint2D point) {
+      AccumulationStrategyXRangeStreaming.this.output(point);
+    }
+  };
+
+  /** The point with the maximum y value of the current window. */
+  private ITracePoint2D m_max;
+
+  /** The maximum y value of the current window. */
+  private double m_maxY;
+
+  /** The point with the minimum y value of the current window. */
+  private ITracePoint2D m_min;
+
+  /** The minimum y value of the current window. */
+  private double m_minY;
+
+  /** The reused buffer of accumulated points. */
+  private ITracePoint2D[] m_output = new ITracePoint2D[0];
+
+  /** The amount of accumulated points in {@link #m_output}. */
+  private int m_outputCount;
+
+  /** The window of the points accumulated in the current window. */
+  private int m_window;
+
+  /** The amount of x-range windows. */
+  private int m_windows;
+
+  /** The amount of points accumulated in the current window. */
+  private int m_windowCount;
+
+  /**
+   * Defcon.
+   * <p>
+   */
+  public AccumulationStrategyXRangeStreaming() {
+    super(new AccumulationFunctionMinMaxY());
+  }
+
+  /**
+   * Adds the given visible point to the current window after finishing the
+   * current window if the point is in another one.
+   * <p>
+   *
+   * @param point
+   *          the visible point to accumulate.
+   */
+  private void accumulate(final ITracePoint2D point) {
+    int window = (int) (point.getScaledX() * this.m_windows);
+    if (window >= this.m_windows) {
+      // scaled x of 1.0 belongs to the last window:
+      window = this.m_windows - 1;
+    }
+    if (window != this.m_window) {
+      this.flushWindow();
+      this.m_window = window;
+    }
+    double y = point.getY();
+    if (this.m_windowCount == 0) {
+      this.m_min = point;
+      this.m_max = point;
+      this.m_minY = y;
+      this.m_maxY = y;
+    } else if (y < this.m_minY) {
+      this.m_min = point;
+      this.m_minY = y;
+    } else if (y > this.m_maxY) {
+      this.m_max = point;
+      this.m_maxY = y;
+    }
+    this.m_windowCount++;
+  }
+
+  /**
+   * Outputs the envelope of the current window in the order of the x values.
+   * <p>
+   */
+  private void flushWindow() {
+    if (this.m_windowCount > 0) {
+      ITracePoint2D first = this.m_min;
+      ITracePoint2D second = this.m_max;
+      if (second.getX() < first.getX()) {
+        first = this.m_max;
+        second = this.m_min;
+      }
+      this.output(first);
+      if (second != first) {
+        this.output(second);
+      }
+      this.m_windowCount = 0;
+      this.m_min = null;
+      this.m_max = null;
+    }
+  }
+
+  /**
+   * Returns an iterator over the envelope of the <code>source</code> or the
+   * iterator of the <code>source</code> if it has not more points than the
+   * amount of x-range windows.
+   * <p>
+   * The points are accumulated before this method returns. The returned
+   * iterator does not support removal.
+   * <p>
+   *
+   * @see info.monitorenter.gui.chart.traces.accumulationstrategies.AAccumulationStrategy#iterator(info.monitorenter.gui.chart.ITrace2D,
+   *      int)
+   */
+  public synchronized Iterator<ITracePoint2D> iterator(final ITrace2D source, final int amountOfPoints) {
+    if (source.getSize() <= amountOfPoints) {
+      return source.iterator();
+    }
+    int previousCount = this.m_outputCount;
+    this.m_outputCount = 0;
+    this.m_windows = Math.max(amountOfPoints, 1);
+    this.m_window = -1;
+    this.m_windowCount = 0;
+    this.m_filter.reset(false);
+    for (Iterator<ITracePoint2D> it = source.iterator(); it.hasNext();) {
+      this.m_filter.process(it.next());
+    }
+    // end of the trace:
+    this.m_filter.finish();
+    if (previousCount > this.m_outputCount) {
+      // do not keep removed points reachable:
+      Arrays.fill(this.m_output, this.m_outputCount, previousCount, null);
+    }
+    // the buffer is overwritten by the next call:
+    return Arrays.asList(Arrays.copyOf(this.m_output, this.m_outputCount)).iterator();
+  }
+
+  /**
+   * Appends the given point to the output buffer.
+   * <p>
+   *
+   * @param point
+   *          the point to return.
+   */
+  private void output(final ITracePoint2D point) {
+    if (this.m_outputCount == this.m_output.length) {
+      this.m_output = Arrays.copyOf(this.m_output, Math.max(16, this.m_output.length * 2));
+    }
+    this.m_output[this.m_outputCount++] = point;
+  }
+
+  /**
+   * Only accepts an <code>{@link AccumulationFunctionMinMaxY}</code> as this
+   * strategy computes the envelope itself.
+   * <p>
+   *
+   * @throws IllegalArgumentException
+   *           if the given function is no
+   *           <code>{@link AccumulationFunctionMinMaxY}</code>.
+   *
+   * @see info.monitorenter.gui.chart.traces.accumulationstrategies.AAccumulationStrategy#setAccumulationFunction(info.monitorenter.gui.chart.IAccumulationFunction)
+   */
+  @Override
+  public IAccumulationFunction setAccumulationFunction(final IAccumulationFunction accumulationFunction)
+      throws IllegalArgumentException {
+    if (!(accumulationFunction instanceof AccumulationFunctionMinMaxY)) {
+      throw new IllegalArgumentException("Streaming accumulation only computes the envelope: " + accumulationFunction);
+    }
+    return super.setAccumulationFunction(accumulationFunction);
+  }
+}
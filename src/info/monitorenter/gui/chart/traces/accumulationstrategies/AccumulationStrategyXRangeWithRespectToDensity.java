@@ -0,0 +1,119 @@
+/*
+ *  AccumulationStrategyXRangeWithRespectToDensity.java of project jchart2d, accumulation
+ *  strategy that will accumulate all points within the same x-range window.
+ *  Copyright (C) 2002 - 2013, Achim Westermann, created on Dec 11, 2011
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ *
+ *
+ * File   : $Source: /cvsroot/jchart2d/jchart2d/codetemplates.xml,v $
+ * Date   : $Date: 2009/02/24 16:45:41 $
+ * Version: $Revision: 1.2 $
+ */
+
+package info.monitorenter.gui.chart.traces.accumulationstrategies;
+
+import info.monitorenter.gui.chart.IAccumulationFunction;
+import info.monitorenter.gui.chart.IAccumulationStrategy.AccumulationControlXRange;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.traces.iterators.AccumulatingIteratorXRange;
+
+import java.util.Iterator;
+
+/**
+ * This strategy splits up the visible x-range into <code>amountOfPoints</code>
+ * windows of the same value-span and accumulates all consecutive points of
+ * the <code>source</code> within a window to a single trace point. As the
+ * chart requests as many points as it has pixels, a window is one pixel's
+ * worth of the visible range.
+ * <p>
+ * Best use this whenever you have a trace with ordered x values that are
+ * sampled unevenly (bursts): Areas with a low density of x-values are kept
+ * while areas with a high density are accumulated. Discontinuations and
+ * invisible points end an accumulation and are preserved (see
+ * <code>{@link AccumulatingIteratorXRange}</code>).
+ * <p>
+ *
+ * @author Achim Westermann
+ */
+public class AccumulationStrategyXRangeWithRespectToDensity extends AAccumulationStrategy {
+
+  /**
+   * Constructor taking the accumulation function to use.
+   * <p>
+   *
+   * @param accumulationFunction
+   *          the accumulation function to use.
+   */
+  public AccumulationStrategyXRangeWithRespectToDensity(final IAccumulationFunction accumulationFunction) {
+    super(accumulationFunction);
+  }
+
+  /**
+   * Returns an iterator that splits up the visible range into
+   * <code>amountOfPoints</code> windows. All consecutive points within each
+   * window will be accumulated into one point.
+   * <p>
+   * If the <code>source</code> does not contain more points than
+   * <code>amountOfPoints</code> the iterator of the <code>source</code> is
+   * returned.
+   * <p>
+   *
+   * @see info.monitorenter.gui.chart.traces.accumulationstrategies.AAccumulationStrategy#iterator(info.monitorenter.gui.chart.ITrace2D,
+   *      int)
+   */
+  public Iterator<ITracePoint2D> iterator(final ITrace2D source, final int amountOfPoints) {
+    Iterator<ITracePoint2D> result = null;
+    AccumulationControlXRange control = new AccumulationControlXRange();
+    control.initializeControl(source.getSize(), amountOfPoints);
+    if (control.isAccumulationBypassable()) {
+      result = source.iterator();
+    } else {
+      result = new AccumulatingIteratorXRange(source, this.getAccumulationFunction(), control);
+    }
+    return result;
+  }
+
+  /**
+   * Returns an iterator that resumes a previous accumulation of the
+   * <code>source</code> with the same amount of windows at the resume point of
+   * the previous iterator.
+   * <p>
+   *
+   * @param source
+   *          the trace to accumulate.
+   *
+   * @param resumeIterator
+   *          the points of the source from the resume point on (see
+   *          <code>{@link AccumulatingIteratorXRange#getResumeSourceIndex()}</code>
+   *          ).
+   *
+   * @param amountOfPoints
+   *          the amount of windows of the previous accumulation.
+   *
+   * @return an iterator that resumes a previous accumulation of the
+   *         <code>source</code>.
+   */
+  public AccumulatingIteratorXRange iterator(final ITrace2D source, final Iterator<ITracePoint2D> resumeIterator,
+      final int amountOfPoints) {
+    AccumulationControlXRange control = new AccumulationControlXRange();
+    control.initializeControl(source.getSize(), amountOfPoints);
+    return new AccumulatingIteratorXRange(source, resumeIterator, this.getAccumulationFunction(), control);
+  }
+
+}
@@ -129,9 +129,35 @@ public abstract class AAccumulationIterator implements Iterator<ITracePoint2D> {
    */
   public AAccumulationIterator(final ITrace2D originalTrace, final IAccumulationFunction accumulationFunction,
       final IAccumulationStrategy.IAccumulationControl accumulationControl) {
+    this(originalTrace, originalTrace.iterator(), accumulationFunction, accumulationControl);
+  }
+
+  /**
+   * Constructor for accumulating only the points of the given iterator instead
+   * of all points of the original trace.
+   * <p>
+   * 
+   * @param originalTrace
+   *          the trace the points of the iterator belong to.
+   * 
+   * @param originalIterator
+   *          the points of the original trace to accumulate.
+   * 
+   * @param accumulationFunction
+   *          the function to use for point - accumulation.
+   * 
+   * @param accumulationControl
+   *          termination criteria for a single accumulation run. Note that it's
+   *          {@link IAccumulationControl#initializeControl(int, int)} method
+   *          has to be been called before.
+   * 
+   */
+  protected AAccumulationIterator(final ITrace2D originalTrace, final Iterator<ITracePoint2D> originalIterator,
+      final IAccumulationFunction accumulationFunction,
+      final IAccumulationStrategy.IAccumulationControl accumulationControl) {
     this.m_originalTrace = originalTrace;
     this.m_accumulationFunction = accumulationFunction;
-    this.m_originalIterator = this.m_originalTrace.iterator();
+    this.m_originalIterator = originalIterator;
     this.m_accumulationControl = accumulationControl;
   }
 
@@ -0,0 +1,257 @@
+/*
+ *  AXRangeGapFilter.java of project jchart2d, the treatment of gaps and
+ *  invisible points shared by the x-range accumulations.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+package info.monitorenter.gui.chart.traces.iterators;
+
+import info.monitorenter.gui.chart.ITracePoint2D;
+
+/**
+ * Splits the points of a trace into the points to accumulate and the points
+ * to return as-is for the accumulations within x-range windows.
+ * <p>
+ * A discontinuation or an invisible point ends the current visible run. The
+ * visible points on both sides of a gap are returned as-is so that the gap
+ * does not appear bigger than it actually is. Consecutive discontinuations
+ * are returned once. Invisible points are only returned if they are needed to
+ * render segments that cross the visible range: A point of a run of invisible
+ * points is skipped if it lies on the same outer side of the visible range as
+ * its predecessor and its successor.
+ * <p>
+ * Subclasses decide how the visible points are accumulated by implementing
+ * <code>{@link #accumulate(ITracePoint2D)}</code> and
+ * <code>{@link #flushWindow()}</code> and receive the result in
+ * <code>{@link #output(ITracePoint2D)}</code>.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ *
+ * @see AccumulatingIteratorXRange
+ */
+public abstract class AXRangeGapFilter {
+
+  /** Bit of {@link #getOutCode(ITracePoint2D)} for scaled x below 0.0. */
+  private static final int OUT_LEFT = 1;
+
+  /** Bit of {@link #getOutCode(ITracePoint2D)} for scaled x above 1.0. */
+  private static final int OUT_RIGHT = 2;
+
+  /** Bit of {@link #getOutCode(ITracePoint2D)} for scaled y below 0.0. */
+  private static final int OUT_BOTTOM = 4;
+
+  /** Bit of {@link #getOutCode(ITracePoint2D)} for scaled y above 1.0. */
+  private static final int OUT_TOP = 8;
+
+  /**
+   * Returns the sides of the visible range the given point is outside of as a
+   * bit mask.
+   * <p>
+   * If the masks of two points share a bit the segment between them cannot
+   * cross the visible range.
+   * <p>
+   *
+   * @param point
+   *          the point to compute the sides for.
+   *
+   * @return the sides of the visible range the given point is outside of as a
+   *         bit mask.
+   */
+  private static int getOutCode(final ITracePoint2D point) {
+    int result = 0;
+    double scaledX = point.getScaledX();
+    double scaledY = point.getScaledY();
+    if (scaledX < 0.0) {
+      result |= OUT_LEFT;
+    } else if (scaledX > 1.0) {
+      result |= OUT_RIGHT;
+    }
+    if (scaledY < 0.0) {
+      result |= OUT_BOTTOM;
+    } else if (scaledY > 1.0) {
+      result |= OUT_TOP;
+    }
+    return result;
+  }
+
+  /** Flag to remember that the previous point was a discontinuation. */
+  private boolean m_discontinued;
+
+  /**
+   * Flag to remember that the next visible point follows a gap (or is the
+   * first point) and has to be returned as-is.
+   */
+  private boolean m_gap = true;
+
+  /** The last invisible point that was returned in the current invisible run. */
+  private ITracePoint2D m_invisibleKept;
+
+  /**
+   * The last invisible point that was not decided to be returned or skipped
+   * yet.
+   */
+  private ITracePoint2D m_invisiblePending;
+
+  /**
+   * The last visible point that has not been accumulated yet.
+   * <p>
+   * It is held back to be able to return the last visible point before a gap
+   * (or the end) as-is.
+   * <p>
+   */
+  private ITracePoint2D m_pending;
+
+  /** True if {@link #m_pending} has to be returned as-is. */
+  private boolean m_pendingAsIs;
+
+  /**
+   * Adds the given visible point to the current accumulation.
+   * <p>
+   * The given point is neither the first nor the last point of its visible
+   * run.
+   * <p>
+   *
+   * @param point
+   *          the visible point to accumulate.
+   */
+  protected abstract void accumulate(final ITracePoint2D point);
+
+  /**
+   * Returns the held back points of the trace.
+   * <p>
+   * Invoked at the end of the trace.
+   * <p>
+   */
+  public final void finish() {
+    this.flushVisible();
+    if (this.m_invisiblePending != null) {
+      this.output(this.m_invisiblePending);
+      this.m_invisiblePending = null;
+    }
+    this.m_invisibleKept = null;
+  }
+
+  /**
+   * Returns the accumulation of the current window and the held back visible
+   * point.
+   * <p>
+   * Invoked whenever the visible run ends (gap or end of the trace).
+   * <p>
+   */
+  private void flushVisible() {
+    this.flushWindow();
+    if (this.m_pending != null) {
+      this.output(this.m_pending);
+      this.m_pending = null;
+    }
+  }
+
+  /**
+   * Returns the accumulation of the points added with
+   * <code>{@link #accumulate(ITracePoint2D)}</code> (if any) to
+   * <code>{@link #output(ITracePoint2D)}</code>.
+   * <p>
+   * Invoked whenever the visible run ends (gap or end of the trace).
+   * <p>
+   */
+  protected abstract void flushWindow();
+
+  /**
+   * Receives the next point to return.
+   * <p>
+   *
+   * @param point
+   *          the point to return.
+   */
+  protected abstract void output(final ITracePoint2D point);
+
+  /**
+   * Consumes the next point of the trace.
+   * <p>
+   *
+   * @param point
+   *          the next point of the trace.
+   */
+  public final void process(final ITracePoint2D point) {
+    if (point.isDiscontinuation()) {
+      this.flushVisible();
+      if (this.m_invisiblePending != null) {
+        this.output(this.m_invisiblePending);
+        this.m_invisiblePending = null;
+      }
+      this.m_invisibleKept = null;
+      if (!this.m_discontinued) {
+        this.output(point);
+        this.m_discontinued = true;
+      }
+      this.m_gap = true;
+    } else if (!point.isVisble()) {
+      this.m_discontinued = false;
+      this.flushVisible();
+      if (this.m_invisiblePending != null) {
+        if (this.m_invisibleKept != null
+            && (getOutCode(this.m_invisibleKept) & getOutCode(this.m_invisiblePending) & getOutCode(point)) != 0) {
+          // segments before and after the pending point are invisible: skip
+        } else {
+          this.output(this.m_invisiblePending);
+          this.m_invisibleKept = this.m_invisiblePending;
+        }
+      }
+      this.m_invisiblePending = point;
+      this.m_gap = true;
+    } else {
+      this.m_discontinued = false;
+      if (this.m_invisiblePending != null) {
+        // needed to render the segment into the visible range:
+        this.output(this.m_invisiblePending);
+        this.m_invisiblePending = null;
+        this.m_invisibleKept = null;
+      }
+      if (this.m_pending != null) {
+        if (this.m_pendingAsIs) {
+          this.output(this.m_pending);
+        } else {
+          this.accumulate(this.m_pending);
+        }
+      }
+      this.m_pending = point;
+      this.m_pendingAsIs = this.m_gap;
+      this.m_gap = false;
+    }
+  }
+
+  /**
+   * Forgets all points consumed so far to start with a new trace.
+   * <p>
+   *
+   * @param resume
+   *          true if the next point is a point an accumulation is resumed at
+   *          (within a visible run), false if it is the first point of the
+   *          trace.
+   */
+  public final void reset(final boolean resume) {
+    this.m_discontinued = false;
+    // a resume point is within a visible run and not after a gap:
+    this.m_gap = !resume;
+    this.m_invisibleKept = null;
+    this.m_invisiblePending = null;
+    this.m_pending = null;
+    this.m_pendingAsIs = false;
+  }
+}
@@ -0,0 +1,378 @@
+/*
+ *  AccumulatingIteratorXRange.java of project jchart2d, an iterator that
+ *  accumulates all consecutive points within the same x-range window.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+package info.monitorenter.gui.chart.traces.iterators;
+
+import info.monitorenter.gui.chart.IAccumulationFunction;
+import info.monitorenter.gui.chart.IAccumulationStrategy.AccumulationControlXRange;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An accumulating iterator that accumulates all consecutive visible points
+ * within the same x-range window of an
+ * <code>{@link AccumulationControlXRange}</code> in a single pass over the
+ * original trace.
+ * <p>
+ * In contrast to accumulating a fixed amount of consecutive points this keeps
+ * the shape of unevenly sampled (bursty) data: Regions with few points per
+ * window are returned unchanged while dense regions are accumulated to one
+ * point per window.
+ * <p>
+ * Gaps are treated like discontinuations: A discontinuation or an invisible
+ * point ends the current accumulation. The visible points on both sides of a
+ * gap are returned as-is so that the gap does not appear bigger than it
+ * actually is (see contract of <code>{@link AAccumulationIterator}</code>).
+ * Consecutive discontinuations are returned once and invisible points are
+ * only returned if they are needed to render segments that cross the visible
+ * range (see <code>{@link AXRangeGapFilter}</code>).
+ * <p>
+ * Works best with traces ordered ascending by x values. For unordered traces
+ * the result is correct but less points will be accumulated.
+ * <p>
+ * Whenever a window of a visible run is finished the iterator remembers where
+ * an accumulation of the same points may be resumed (see
+ * <code>{@link #getResumeSourceIndex()}</code>): Points appended to the
+ * original trace later on may be accumulated by continuing from there with
+ * <code>{@link #AccumulatingIteratorXRange(ITrace2D, Iterator, IAccumulationFunction, AccumulationControlXRange)}</code>
+ * instead of accumulating the whole trace again.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ *
+ */
+public class AccumulatingIteratorXRange extends AAccumulationIterator {
+
+  /**
+   * True if the end of the original iterator is the end of the trace, false if
+   * it only returns a part of the trace.
+   */
+  private final boolean m_complete;
+
+  /** Splits the original points into the points to accumulate and to return. */
+  private final AXRangeGapFilter m_filter = new AXRangeGapFilter() {
+    @Override
+    protected void accumulate(final ITracePoint2D point) {
+      AccumulatingIteratorXRange.this.accumulate(point);
+    }
+
+    @Override
+    protected void flushWindow() {
+      AccumulatingIteratorXRange.this.flushWindow();
+    }
+
+    @Override
+    protected void output(final ITracePoint2D point) {
+      AccumulatingIteratorXRange.this.output(point);
+    }
+  };
+
+  /**
+   * Ring buffer of points to return from {@link #next()}.
+   * <p>
+   * At most five points are produced per point of the original trace unless
+   * the accumulation function returns more than one additional point (see
+   * <code>{@link IAccumulationFunction#getAccumulatedPointAdditional()}</code>
+   * ): Then the buffer is grown.
+   * <p>
+   */
+  private ITracePoint2D[] m_output = new ITracePoint2D[5];
+
+  /** The amount of points handed to {@link #output(ITracePoint2D)} so far. */
+  private int m_outputTotal;
+
+  /** The amount of points to return in {@link #m_output}. */
+  private int m_outputCount;
+
+  /** The index of the next point to return in {@link #m_output}. */
+  private int m_outputStart;
+
+  /**
+   * The index of the last visible point within the points of the original
+   * trace.
+   */
+  private int m_pendingIndex;
+
+  /** The amount of points consumed from the original iterator so far. */
+  private int m_readCount;
+
+  /** See {@link #getResumeOutputIndex()}. */
+  private int m_resumeOutputIndex = -1;
+
+  /** See {@link #getResumeSourceIndex()}. */
+  private int m_resumeSourceIndex = -1;
+
+  /**
+   * Constructor with all that is needed for accumulating points.
+   * <p>
+   *
+   * @param originalTrace
+   *          the trace to decorate with the feature of accumulating points.
+   *
+   * @param accumulationFunction
+   *          the function to use for point - accumulation.
+   *
+   * @param accumulationControl
+   *          defines the x-range windows. Note that it's
+   *          {@link AccumulationControlXRange#initializeControl(int, int)}
+   *          method has to be been called before.
+   */
+  public AccumulatingIteratorXRange(final ITrace2D originalTrace, final IAccumulationFunction accumulationFunction,
+      final AccumulationControlXRange accumulationControl) {
+    super(originalTrace, accumulationFunction, accumulationControl);
+    this.m_complete = true;
+  }
+
+  /**
+   * Constructor for resuming an accumulation of the original trace.
+   * <p>
+   * The given iterator has to start with the point at
+   * <code>{@link #getResumeSourceIndex()}</code> of a previous accumulation of
+   * the same trace with the same windows. The points returned then are the
+   * points the previous accumulation returned from
+   * <code>{@link #getResumeOutputIndex()}</code> on (with the points of the
+   * iterator that have been appended to the trace in the meantime).
+   * <p>
+   * The indices returned from <code>{@link #getResumeSourceIndex()}</code> and
+   * <code>{@link #getResumeOutputIndex()}</code> of this instance are relative
+   * to the start of the given iterator.
+   * <p>
+   *
+   * @param originalTrace
+   *          the trace to decorate with the feature of accumulating points.
+   *
+   * @param resumeIterator
+   *          the points of the original trace from the resume index on.
+   *
+   * @param accumulationFunction
+   *          the function to use for point - accumulation.
+   *
+   * @param accumulationControl
+   *          defines the x-range windows. Note that it's
+   *          {@link AccumulationControlXRange#initializeControl(int, int)}
+   *          method has to be been called before.
+   */
+  public AccumulatingIteratorXRange(final ITrace2D originalTrace, final Iterator<ITracePoint2D> resumeIterator,
+      final IAccumulationFunction accumulationFunction, final AccumulationControlXRange accumulationControl) {
+    this(originalTrace, resumeIterator, accumulationFunction, accumulationControl, true, true);
+  }
+
+  /**
+   * Constructor for accumulating a part of the original trace.
+   * <p>
+   * If <code>resume</code> is true the given iterator has to start with a
+   * point an accumulation may be resumed at (see
+   * <code>{@link #AccumulatingIteratorXRange(ITrace2D, Iterator, IAccumulationFunction, AccumulationControlXRange)}</code>
+   * ), else with the first point of the trace.
+   * <p>
+   * If <code>complete</code> is false the end of the given iterator is not
+   * the end of the trace: The points of the last (unfinished) window and the
+   * held back points are not returned. This allows to accumulate consecutive
+   * parts of a trace separately.
+   * <p>
+   *
+   * @param originalTrace
+   *          the trace to decorate with the feature of accumulating points.
+   *
+   * @param originalIterator
+   *          the points of the original trace to accumulate.
+   *
+   * @param accumulationFunction
+   *          the function to use for point - accumulation.
+   *
+   * @param accumulationControl
+   *          defines the x-range windows. Note that it's
+   *          {@link AccumulationControlXRange#initializeControl(int, int)}
+   *          method has to be been called before.
+   *
+   * @param resume
+   *          true if the iterator starts with a resume point, false if it
+   *          starts with the first point of the trace.
+   *
+   * @param complete
+   *          true if the iterator ends with the last point of the trace.
+   */
+  public AccumulatingIteratorXRange(final ITrace2D originalTrace, final Iterator<ITracePoint2D> originalIterator,
+      final IAccumulationFunction accumulationFunction, final AccumulationControlXRange accumulationControl,
+      final boolean resume, final boolean complete) {
+    super(originalTrace, originalIterator, accumulationFunction, accumulationControl);
+    this.m_filter.reset(resume);
+    this.m_complete = complete;
+  }
+
+  /**
+   * Accumulates the given visible point and returns the accumulated point of
+   * the previous window if the point starts a new window.
+   * <p>
+   *
+   * @param point
+   *          the visible point at {@link #m_pendingIndex} to accumulate.
+   */
+  private void accumulate(final ITracePoint2D point) {
+    ITracePoint2D accumulated = this.getAccumulationControl().getAccumulatedPointIfAccumulationDone(
+        this.getAccumulationFunction(), point);
+    if (accumulated != null) {
+      /*
+       * The previous window is finished and the point is the only one of the
+       * new window: From here on the state is the same as for a resumed
+       * accumulation that starts with the point.
+       */
+      this.outputAccumulated(accumulated);
+      this.m_resumeSourceIndex = this.m_pendingIndex;
+      this.m_resumeOutputIndex = this.m_outputTotal;
+    }
+  }
+
+  /**
+   * Consumes points of the original trace until there is output to return or
+   * the original trace is exhausted.
+   * <p>
+   */
+  private void fill() {
+    Iterator<ITracePoint2D> iterator = this.getOriginalIterator();
+    while (this.m_outputCount == 0 && iterator.hasNext()) {
+      ITracePoint2D point = iterator.next();
+      this.m_readCount++;
+      // accumulates the previous visible point at the pending index:
+      this.m_filter.process(point);
+      if (!point.isDiscontinuation() && point.isVisble()) {
+        this.m_pendingIndex = this.m_readCount - 1;
+      }
+    }
+    if (this.m_outputCount == 0 && this.m_complete) {
+      // end of the original trace:
+      this.m_filter.finish();
+    }
+  }
+
+  /**
+   * Returns the accumulated point of the current window (if any).
+   * <p>
+   * Invoked whenever the visible run ends (gap or end of the original trace).
+   * <p>
+   */
+  private void flushWindow() {
+    ITracePoint2D accumulated = ((AccumulationControlXRange) this.getAccumulationControl())
+        .getAccumulatedPoint(this.getAccumulationFunction());
+    this.outputAccumulated(accumulated);
+  }
+
+  /**
+   * Returns the amount of points returned from {@link #next()} before the
+   * point at <code>{@link #getResumeSourceIndex()}</code> or -1 if there is no
+   * resume point (yet).
+   * <p>
+   * This is only complete after the iteration has finished.
+   * <p>
+   *
+   * @return the amount of points returned from {@link #next()} before the
+   *         point at <code>{@link #getResumeSourceIndex()}</code> or -1.
+   */
+  public int getResumeOutputIndex() {
+    return this.m_resumeOutputIndex;
+  }
+
+  /**
+   * Returns the index of the last point of the original trace an
+   * accumulation may be resumed at with
+   * <code>{@link #AccumulatingIteratorXRange(ITrace2D, Iterator, IAccumulationFunction, AccumulationControlXRange)}</code>
+   * or -1 if there is no such point (yet).
+   * <p>
+   * This is only complete after the iteration has finished.
+   * <p>
+   *
+   * @return the index of the last point of the original trace an accumulation
+   *         may be resumed at or -1.
+   */
+  public int getResumeSourceIndex() {
+    return this.m_resumeSourceIndex;
+  }
+
+  /**
+   * @see java.util.Iterator#hasNext()
+   */
+  public boolean hasNext() {
+    this.fill();
+    return this.m_outputCount > 0;
+  }
+
+  /**
+   * @see java.util.Iterator#next()
+   */
+  public ITracePoint2D next() {
+    this.fill();
+    if (this.m_outputCount == 0) {
+      throw new NoSuchElementException();
+    }
+    ITracePoint2D result = this.m_output[this.m_outputStart];
+    this.m_output[this.m_outputStart] = null;
+    this.m_outputStart = (this.m_outputStart + 1) % this.m_output.length;
+    this.m_outputCount--;
+    return result;
+  }
+
+  /**
+   * Appends the given point to the points to return from {@link #next()}.
+   * <p>
+   *
+   * @param point
+   *          the point to return.
+   */
+  private void output(final ITracePoint2D point) {
+    if (this.m_outputCount == this.m_output.length) {
+      ITracePoint2D[] grown = new ITracePoint2D[this.m_output.length * 2];
+      for (int i = 0; i < this.m_outputCount; i++) {
+        grown[i] = this.m_output[(this.m_outputStart + i) % this.m_output.length];
+      }
+      this.m_output = grown;
+      this.m_outputStart = 0;
+    }
+    this.m_output[(this.m_outputStart + this.m_outputCount) % this.m_output.length] = point;
+    this.m_outputCount++;
+    this.m_outputTotal++;
+  }
+
+  /**
+   * Appends the given accumulated point and the additional points of the
+   * accumulation function to the points to return from {@link #next()}.
+   * <p>
+   *
+   * @param accumulated
+   *          the accumulated point or <code>null</code> if nothing was
+   *          accumulated.
+   *
+   * @see IAccumulationFunction#getAccumulatedPointAdditional()
+   */
+  private void outputAccumulated(final ITracePoint2D accumulated) {
+    if (accumulated != null) {
+      this.output(accumulated);
+      IAccumulationFunction function = this.getAccumulationFunction();
+      ITracePoint2D additional = function.getAccumulatedPointAdditional();
+      while (additional != null) {
+        this.output(additional);
+        additional = function.getAccumulatedPointAdditional();
+      }
+    }
+  }
+}
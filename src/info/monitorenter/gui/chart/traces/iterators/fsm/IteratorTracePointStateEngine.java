@@ -72,6 +72,31 @@ public class IteratorTracePointStateEngine extends AIteratorITracePointStateEngi
 
   }
 
+  /**
+   * Adds the given accumulated point and the additional points of the
+   * accumulation function to the given output.
+   * <p>
+   * 
+   * @param accumulatedPoint
+   *          the result of {@link IAccumulationFunction#getAccumulatedPoint()}.
+   * 
+   * @param outputTarget
+   *          the output to add the points to.
+   * 
+   * @see IAccumulationFunction#getAccumulatedPointAdditional()
+   */
+  private void addAccumulatedPoints(final ITracePoint2D accumulatedPoint, final List<ITracePoint2D> outputTarget) {
+    outputTarget.add(accumulatedPoint);
+    if (accumulatedPoint != null) {
+      IAccumulationFunction function = this.getAccumulationFunction();
+      ITracePoint2D additional = function.getAccumulatedPointAdditional();
+      while (additional != null) {
+        outputTarget.add(additional);
+        additional = function.getAccumulatedPointAdditional();
+      }
+    }
+  }
+
   /**
    * Transition table:
    * 
@@ -590,7 +615,7 @@ public class IteratorTracePointStateEngine extends AIteratorITracePointStateEngi
         IAccumulationFunction function = IteratorTracePointStateEngine.this
             .getAccumulationFunction();
         ITracePoint2D accumulatedPoint = function.getAccumulatedPoint();
-        outputTarget.add(accumulatedPoint);
+        IteratorTracePointStateEngine.this.addAccumulatedPoints(accumulatedPoint, outputTarget);
         outputTarget.add(input);
       }
     };
@@ -638,7 +663,7 @@ public class IteratorTracePointStateEngine extends AIteratorITracePointStateEngi
 
         IAccumulationFunction function = IteratorTracePointStateEngine.this
             .getAccumulationFunction();
-        outputTarget.add(function.getAccumulatedPoint());
+        IteratorTracePointStateEngine.this.addAccumulatedPoints(function.getAccumulatedPoint(), outputTarget);
         outputTarget.add(IteratorTracePointStateEngine.this.getPreviousPoint());
         outputTarget.add(input);
       }
@@ -736,6 +761,9 @@ public class IteratorTracePointStateEngine extends AIteratorITracePointStateEngi
         IAccumulationFunction function = IteratorTracePointStateEngine.this.getAccumulationFunction();
         // erase: 
         ITracePoint2D accumPoint = function.getAccumulatedPoint();
+        while (accumPoint != null) {
+          accumPoint = function.getAccumulatedPointAdditional();
+        }
         // accumulate current
         function.addPointToAccumulate(input);
       }
@@ -792,7 +820,7 @@ public class IteratorTracePointStateEngine extends AIteratorITracePointStateEngi
           throw new RuntimeException(
               "Programming error: Expected accumulation to be ready. This action should only be invoked if the condition of the wrapping transition returned true.");
         }
-        outputTarget.add(accumulatedPoint);
+        IteratorTracePointStateEngine.this.addAccumulatedPoints(accumulatedPoint, outputTarget);
       }
     };
 
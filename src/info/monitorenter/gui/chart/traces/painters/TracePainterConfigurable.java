@@ -26,6 +26,7 @@ import info.monitorenter.gui.chart.IPointPainter;
 import info.monitorenter.gui.chart.IPointPainterConfigurableUI;
 import info.monitorenter.gui.chart.ITracePoint2D;
 
+import java.awt.Color;
 import java.awt.Graphics;
 
 /**
@@ -221,11 +222,35 @@ public class TracePainterConfigurable<T extends IPointPainterConfigurableUI<T>>
     this.m_pointPainter.paintPoint(absoluteX, absoluteY, nextX, nextY, g, original);
   }
 
+  /**
+   * Copies the colors and the stroke of the point painter to the given point
+   * painter of a replica of this instance.
+   * <p>
+   *
+   * @param replica
+   *          the point painter of a replica of this instance.
+   *
+   * @see info.monitorenter.gui.chart.ITracePainterReplicable#replicate()
+   */
+  protected final void replicatePointPainter(final T replica) {
+    final Color color = this.m_pointPainter.getColor();
+    if (color != null) {
+      replica.setColor(color);
+    }
+    final Color colorFill = this.m_pointPainter.getColorFill();
+    if (colorFill != null) {
+      replica.setColorFill(colorFill);
+    }
+    replica.setStroke(this.m_pointPainter.getStroke());
+  }
+
   /**
    * @see info.monitorenter.gui.chart.traces.painters.ATracePainter#startPaintIteration(java.awt.Graphics)
    */
   @Override
   public final void startPaintIteration(final Graphics g2d) {
+    // forget the last point of the previous iteration, see endPaintIteration:
+    super.startPaintIteration(g2d);
     this.m_pointPainter.startPaintIteration(g2d);
   }
 
@@ -0,0 +1,695 @@
+/*
+ *  TracePainterDensity.java of project jchart2d, paints a density heatmap.
+ *  Copyright (C) 2002 - 2013, Achim Westermann, created on 18.10.2013
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+package info.monitorenter.gui.chart.traces.painters;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.IAxis;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePainterIncremental;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.util.ColorIterator;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A trace painter that renders the density of the points instead of the points
+ * themselves: A heatmap for scatter traces with so many points that painting
+ * them one by one only produces an expensive blot.
+ * <p>
+ *
+ * The points are counted in a histogram with one bin per pixel of the chart
+ * area. No point is rasterized: The histogram is mapped to colors and painted
+ * as a single image.
+ * <p>
+ *
+ * The chart does not submit the points of a trace painted only by instances of
+ * this class (see <code>{@link ITracePainterIncremental}</code>): A histogram
+ * is kept per trace that is fed by the point events of the trace. It is only
+ * computed anew from all points if the axis ranges or the chart area change or
+ * if the trace was modified in another way than by adding or removing single
+ * points (e.g. points evicted by a <code>{@link info.monitorenter.gui.chart.traces.Trace2DLtd}</code>
+ * or moved). Therefore painting an unchanged or growing trace depends on the
+ * size of the chart area but not on the amount of points.
+ * <p>
+ *
+ * If the chart submits the points anyway (e.g. for data accumulation, error
+ * bars or the strip chart mode) the points submitted by
+ * {@link #paintPoint(int, int, int, int, Graphics, ITracePoint2D)} between
+ * {@link #startPaintIteration(Graphics)} and
+ * {@link #endPaintIteration(Graphics)} are counted in a histogram of the paint
+ * iteration.
+ * <p>
+ *
+ * Empty bins are transparent. The other bins are colored by the logarithm of
+ * their count relative to the densest bin, using colors taken from a
+ * <code>{@link ColorIterator}</code>. The default colors range from blue (sparse)
+ * over green and yellow to red (dense). The color of the trace is not used.
+ * <p>
+ *
+ * Connections between points are not painted. Points interpolated at the
+ * bounds of the chart area are not counted.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ *
+ * @version $Revision: 1.2 $
+ *
+ */
+public class TracePainterDensity extends ATracePainter implements ITracePainterIncremental<ATracePainter> {
+
+  /**
+   * A histogram with one bin per pixel of the chart area.
+   * <p>
+   *
+   * The histogram of a trace (see
+   * <code>{@link TracePainterDensity#paintTrace(ITrace2D, Graphics)}</code>)
+   * listens to the point events of the trace. Access is guarded by the locks
+   * on the chart and on the trace that are held while painting and while
+   * points are added or removed.
+   * <p>
+   */
+  private final class Histogram implements PropertyChangeListener {
+
+    /** The x axis the histogram of a trace was computed for. */
+    private IAxis< ? > m_axisX;
+
+    /** The y axis the histogram of a trace was computed for. */
+    private IAxis< ? > m_axisY;
+
+    /** The counts: One per pixel of the chart area in rows from top to bottom. */
+    private int[] m_counts;
+
+    /** The height of the chart area in pixel. */
+    private int m_height;
+
+    /** The maximum of the x axis the histogram of a trace was computed for. */
+    private double m_maxX;
+
+    /** The maximum of the y axis the histogram of a trace was computed for. */
+    private double m_maxY;
+
+    /** The minimum of the x axis the histogram of a trace was computed for. */
+    private double m_minX;
+
+    /** The minimum of the y axis the histogram of a trace was computed for. */
+    private double m_minY;
+
+    /**
+     * The modification count of the trace the counts correspond to, see
+     * <code>{@link ITrace2D#getModificationCount()}</code>.
+     */
+    private int m_modificationCount;
+
+    /** The trace counted or null for the histogram of a paint iteration. */
+    private final ITrace2D m_trace;
+
+    /** True if the counts correspond to the points of the trace. */
+    private boolean m_valid;
+
+    /** The width of the chart area in pixel. */
+    private int m_width;
+
+    /** The x coordinate of the left bound of the chart area. */
+    private int m_xStart;
+
+    /** The y coordinate of the upper bound of the chart area. */
+    private int m_yStart;
+
+    /**
+     * Creates a histogram.
+     * <p>
+     *
+     * @param trace
+     *          the trace to count the points of or null for the histogram of a
+     *          paint iteration.
+     */
+    Histogram(final ITrace2D trace) {
+      this.m_trace = trace;
+    }
+
+    /**
+     * Clears the counts.
+     * <p>
+     */
+    void clear() {
+      Arrays.fill(this.m_counts, 0, this.m_width * this.m_height, 0);
+    }
+
+    /**
+     * Counts the given pixel.
+     * <p>
+     *
+     * @param x
+     *          the x coordinate of the pixel.
+     *
+     * @param y
+     *          the y coordinate of the pixel.
+     *
+     * @param delta
+     *          1 to count the pixel, -1 to uncount it.
+     */
+    void count(final int x, final int y, final int delta) {
+      final int column = x - this.m_xStart;
+      final int row = y - this.m_yStart;
+      if (column >= 0 && column < this.m_width && row >= 0 && row < this.m_height) {
+        final int index = row * this.m_width + column;
+        if (delta > 0 || this.m_counts[index] > 0) {
+          this.m_counts[index] += delta;
+        }
+      }
+    }
+
+    /**
+     * Counts the pixel of the given point of the trace like the chart would
+     * submit it.
+     * <p>
+     *
+     * @param point
+     *          a point of the trace.
+     *
+     * @param delta
+     *          1 to count the point, -1 to uncount it.
+     */
+    private void countPoint(final ITracePoint2D point, final int delta) {
+      if (!point.isDiscontinuation()) {
+        final double scaledX = this.m_axisX.getScaledValue(point.getX());
+        final double scaledY = this.m_axisY.getScaledValue(point.getY());
+        if (scaledX >= 0.0 && scaledX <= 1.0 && scaledY >= 0.0 && scaledY <= 1.0) {
+          this.count(this.m_xStart + (int) Math.round(scaledX * (this.m_width - 1)),
+              this.m_yStart + this.m_height - 1 - (int) Math.round(scaledY * (this.m_height - 1)), delta);
+        }
+      }
+    }
+
+    /**
+     * Counts added points and uncounts removed points of the trace, other
+     * modifications invalidate the histogram.
+     * <p>
+     *
+     * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+     */
+    public void propertyChange(final PropertyChangeEvent evt) {
+      final String property = evt.getPropertyName();
+      if (ITrace2D.PROPERTY_TRACEPOINTS.equals(property)) {
+        if (this.m_valid) {
+          final int modificationCount = this.m_trace.getModificationCount();
+          if (modificationCount == this.m_modificationCount + 1) {
+            if (evt.getOldValue() == null) {
+              this.countPoint((ITracePoint2D) evt.getNewValue(), 1);
+            } else {
+              this.countPoint((ITracePoint2D) evt.getOldValue(), -1);
+            }
+            this.m_modificationCount = modificationCount;
+          } else {
+            // missed a modification (e.g. an evicted point):
+            this.m_valid = false;
+          }
+        }
+      } else if (ITrace2D.PROPERTY_PAINTERS.equals(property) && evt.getOldValue() == TracePainterDensity.this) {
+        TracePainterDensity.this.releaseHistogram(this.m_trace);
+      }
+    }
+
+    /**
+     * Adopts the bounds of the current chart area.
+     * <p>
+     *
+     * @return true if the bounds changed.
+     */
+    boolean updateBounds() {
+      final Chart2D chart = TracePainterDensity.this.m_chart;
+      final int xStart = chart.getXChartStart();
+      final int yStart = chart.getYChartEnd();
+      final int width = Math.max(0, chart.getXChartEnd() - xStart + 1);
+      final int height = Math.max(0, chart.getYChartStart() - yStart + 1);
+      final boolean result = this.m_counts == null || xStart != this.m_xStart || yStart != this.m_yStart || width != this.m_width
+          || height != this.m_height;
+      if (result) {
+        this.m_xStart = xStart;
+        this.m_yStart = yStart;
+        this.m_width = width;
+        this.m_height = height;
+        if (this.m_counts == null || this.m_counts.length < width * height) {
+          this.m_counts = new int[width * height];
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Computes the counts anew from all points of the trace if the axis
+     * ranges, the chart area or the points changed in a way that was not
+     * tracked.
+     * <p>
+     */
+    void validate() {
+      final IAxis< ? > axisX = TracePainterDensity.this.m_chart.getAxisX(this.m_trace);
+      final IAxis< ? > axisY = TracePainterDensity.this.m_chart.getAxisY(this.m_trace);
+      boolean stale = this.updateBounds();
+      stale = stale || !this.m_valid || this.m_modificationCount != this.m_trace.getModificationCount();
+      stale = stale || axisX != this.m_axisX || axisY != this.m_axisY;
+      stale = stale || axisX.getMin() != this.m_minX || axisX.getMax() != this.m_maxX || axisY.getMin() != this.m_minY
+          || axisY.getMax() != this.m_maxY;
+      if (stale) {
+        this.m_axisX = axisX;
+        this.m_axisY = axisY;
+        this.m_minX = axisX.getMin();
+        this.m_maxX = axisX.getMax();
+        this.m_minY = axisY.getMin();
+        this.m_maxY = axisY.getMax();
+        this.m_modificationCount = this.m_trace.getModificationCount();
+        this.clear();
+        for (Iterator<ITracePoint2D> it = this.m_trace.iterator(); it.hasNext();) {
+          this.countPoint(it.next(), 1);
+        }
+        this.m_valid = true;
+      }
+    }
+  }
+
+  /** The maximum amount of colors taken from the color iterator. */
+  private static final int COLOR_COUNT = 256;
+
+  /** Generated <code>serialVersionUID</code>. */
+  private static final long serialVersionUID = 2370530787566312357L;
+
+  /**
+   * Returns the default colors from blue (sparse) to red (dense).
+   * <p>
+   *
+   * @return the default colors from blue (sparse) to red (dense).
+   */
+  private static ColorIterator createDefaultColors() {
+    // blue has hue 2/3: walk down to red in COLOR_COUNT - 1 steps
+    final ColorIterator result = new ColorIterator(Color.BLUE, new ColorIterator.HueStepper((COLOR_COUNT - 1) * 3 / 2 + 1));
+    result.setAscendingDirection(false);
+    return result;
+  }
+
+  /** Stores the corresponding chart to know the bounds of the chart area. */
+  private final Chart2D m_chart;
+
+  /**
+   * The ARGB colors for ascending densities.
+   * <p>
+   */
+  private int[] m_colors;
+
+  /**
+   * True if the last submitted point was counted as the first point of a run
+   * that entered the chart area, see <code>{@link #discontinue(Graphics)}</code>.
+   */
+  private boolean m_continued;
+
+  /**
+   * True if the last point submitted with
+   * <code>{@link #paintPoint(int, int, int, int, Graphics, ITracePoint2D)}</code>
+   * entered the chart area from outside (or crossed it).
+   */
+  private boolean m_entered;
+
+  /** The histograms of the traces painted without submitting their points. */
+  private transient Map<ITrace2D, Histogram> m_histograms;
+
+  /** The image the histogram is rendered to, reused if the size is unchanged. */
+  private transient BufferedImage m_image;
+
+  /**
+   * The histogram of the points submitted in the current paint iteration.
+   * <p>
+   * Reused for subsequent paint iterations to avoid creating garbage.
+   * <p>
+   */
+  private transient Histogram m_iteration;
+
+  /**
+   * The x coordinate of a point on the bounds of the chart area that is
+   * counted unless the chart discontinues: The chart paints interpolated
+   * points on the bounds followed by a call to
+   * <code>{@link #discontinue(Graphics)}</code>. <code>{@link Integer#MIN_VALUE}</code>
+   * if no such point is pending.
+   */
+  private int m_pendingX = Integer.MIN_VALUE;
+
+  /** The y coordinate of the pending point, see {@link #m_pendingX}. */
+  private int m_pendingY;
+
+  /**
+   * True if the next submitted connection starts a run of points: Its first
+   * point has not been submitted as the second point of a connection.
+   */
+  private boolean m_runStart;
+
+  /**
+   * Creates an instance with colors from blue (sparse) to red (dense).
+   * <p>
+   *
+   * @param chart
+   *          needed for the bounds of the chart area.
+   */
+  public TracePainterDensity(final Chart2D chart) {
+    this(chart, TracePainterDensity.createDefaultColors());
+  }
+
+  /**
+   * Creates an instance with the given colors.
+   * <p>
+   *
+   * @param chart
+   *          needed for the bounds of the chart area.
+   *
+   * @param colors
+   *          provides the colors for ascending densities, see
+   *          <code>{@link #setColors(ColorIterator)}</code>.
+   */
+  public TracePainterDensity(final Chart2D chart, final ColorIterator colors) {
+    this.m_chart = chart;
+    this.setColors(colors);
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IPointPainter#calculateMaxX(info.monitorenter.gui.chart.ITracePoint2D)
+   */
+  public double calculateMaxX(final ITracePoint2D point) {
+    return point.getX();
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IPointPainter#calculateMaxY(info.monitorenter.gui.chart.ITracePoint2D)
+   */
+  public double calculateMaxY(final ITracePoint2D point) {
+    return point.getY();
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IPointPainter#calculateMinX(info.monitorenter.gui.chart.ITracePoint2D)
+   */
+  public double calculateMinX(final ITracePoint2D point) {
+    return point.getX();
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IPointPainter#calculateMinY(info.monitorenter.gui.chart.ITracePoint2D)
+   */
+  public double calculateMinY(final ITracePoint2D point) {
+    return point.getY();
+  }
+
+  /**
+   * Counts the pending point on the bounds of the chart area, if any.
+   * <p>
+   */
+  private void countPending() {
+    if (this.m_pendingX != Integer.MIN_VALUE) {
+      this.m_iteration.count(this.m_pendingX, this.m_pendingY, 1);
+      this.m_pendingX = Integer.MIN_VALUE;
+    }
+  }
+
+  /**
+   * Drops the pending point on the bounds of the chart area: It was
+   * interpolated by the chart.
+   * <p>
+   * The histogram is continued as connections are not painted. The chart also
+   * discontinues after a connection that entered the chart area: In that case
+   * the first point of the next run has already been counted.
+   * <p>
+   *
+   * @see info.monitorenter.gui.chart.traces.painters.ATracePainter#discontinue(java.awt.Graphics)
+   */
+  @Override
+  public void discontinue(final Graphics g2d) {
+    this.m_continued = this.m_entered && this.m_pendingX == Integer.MIN_VALUE;
+    this.m_entered = false;
+    this.m_pendingX = Integer.MIN_VALUE;
+    this.m_runStart = true;
+  }
+
+  /**
+   * Renders the histogram of the paint iteration.
+   * <p>
+   *
+   * @see info.monitorenter.gui.chart.traces.painters.ATracePainter#endPaintIteration(java.awt.Graphics)
+   */
+  @Override
+  public void endPaintIteration(final Graphics g2d) {
+    if (this.m_iteration != null) {
+      this.countPending();
+      this.render(this.m_iteration, g2d);
+    }
+  }
+
+  /**
+   * @see java.lang.Object#equals(java.lang.Object)
+   */
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (this.getClass() != obj.getClass()) {
+      return false;
+    }
+    final TracePainterDensity other = (TracePainterDensity) obj;
+    if (this.m_chart == null) {
+      if (other.m_chart != null) {
+        return false;
+      }
+    } else if (!this.m_chart.equals(other.m_chart)) {
+      return false;
+    }
+    return Arrays.equals(this.m_colors, other.m_colors);
+  }
+
+  /**
+   * @see java.lang.Object#hashCode()
+   */
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + ((this.m_chart == null) ? 0 : this.m_chart.hashCode());
+    result = prime * result + Arrays.hashCode(this.m_colors);
+    return result;
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IPointPainter#isAdditionalSpaceRequiredX()
+   */
+  public boolean isAdditionalSpaceRequiredX() {
+    return false;
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IPointPainter#isAdditionalSpaceRequiredY()
+   */
+  public boolean isAdditionalSpaceRequiredY() {
+    return false;
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IPointPainter#isPixelTransformationNeededX()
+   */
+  public boolean isPixelTransformationNeededX() {
+    return false;
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.IPointPainter#isPixelTransformationNeededY()
+   */
+  public boolean isPixelTransformationNeededY() {
+    return false;
+  }
+
+  /**
+   * Counts the point given by the second pair of coordinates and - for the
+   * first connection of a run of points - the point given by the first pair.
+   * <p>
+   *
+   * @see info.monitorenter.gui.chart.traces.painters.ATracePainter#paintPoint(int,
+   *      int, int, int, java.awt.Graphics,
+   *      info.monitorenter.gui.chart.ITracePoint2D)
+   */
+  @Override
+  public void paintPoint(final int absoluteX, final int absoluteY, final int nextX, final int nextY, final Graphics g, final ITracePoint2D original) {
+    super.paintPoint(absoluteX, absoluteY, nextX, nextY, g, original);
+    this.countPending();
+    // the original is invisible if the first point was interpolated:
+    final boolean visible = original == null || original.isVisble();
+    if (this.m_runStart) {
+      this.m_runStart = false;
+      if (visible && !this.m_continued) {
+        // the first point of a run is not submitted as a second point:
+        this.m_iteration.count(absoluteX, absoluteY, 1);
+      }
+    }
+    this.m_entered = !visible;
+    final Histogram histogram = this.m_iteration;
+    if (nextX == histogram.m_xStart || nextX == histogram.m_xStart + histogram.m_width - 1 || nextY == histogram.m_yStart
+        || nextY == histogram.m_yStart + histogram.m_height - 1) {
+      // maybe interpolated: wait for a discontinuation
+      this.m_pendingX = nextX;
+      this.m_pendingY = nextY;
+    } else {
+      histogram.count(nextX, nextY, 1);
+    }
+  }
+
+  /**
+   * Renders the histogram kept for the given trace, it is computed anew only
+   * if the axis ranges or the chart area changed or if the trace was modified
+   * in another way than adding or removing single points.
+   * <p>
+   *
+   * @see info.monitorenter.gui.chart.ITracePainterIncremental#paintTrace(info.monitorenter.gui.chart.ITrace2D,
+   *      java.awt.Graphics)
+   */
+  public void paintTrace(final ITrace2D trace, final Graphics g2d) {
+    if (this.m_histograms == null) {
+      this.m_histograms = new IdentityHashMap<ITrace2D, Histogram>();
+    }
+    Histogram histogram = this.m_histograms.get(trace);
+    if (histogram == null) {
+      histogram = new Histogram(trace);
+      this.m_histograms.put(trace, histogram);
+      trace.addPropertyChangeListener(ITrace2D.PROPERTY_TRACEPOINTS, histogram);
+      trace.addPropertyChangeListener(ITrace2D.PROPERTY_PAINTERS, histogram);
+    }
+    histogram.validate();
+    this.render(histogram, g2d);
+  }
+
+  /**
+   * Releases the histogram kept for the given trace after this painter has
+   * been removed from it.
+   * <p>
+   *
+   * @param trace
+   *          the trace this painter has been removed from.
+   */
+  void releaseHistogram(final ITrace2D trace) {
+    final Histogram histogram = this.m_histograms.remove(trace);
+    if (histogram != null) {
+      trace.removePropertyChangeListener(ITrace2D.PROPERTY_TRACEPOINTS, histogram);
+      trace.removePropertyChangeListener(ITrace2D.PROPERTY_PAINTERS, histogram);
+    }
+  }
+
+  /**
+   * Maps the given histogram to colors and paints it.
+   * <p>
+   *
+   * @param histogram
+   *          the histogram to render.
+   *
+   * @param g2d
+   *          the graphics context to paint to, may be null.
+   */
+  private void render(final Histogram histogram, final Graphics g2d) {
+    final int size = histogram.m_width * histogram.m_height;
+    final int[] counts = histogram.m_counts;
+    int maxCount = 0;
+    for (int i = size - 1; i >= 0; i--) {
+      if (counts[i] > maxCount) {
+        maxCount = counts[i];
+      }
+    }
+    if (g2d != null && maxCount > 0) {
+      if (this.m_image == null || this.m_image.getWidth() != histogram.m_width || this.m_image.getHeight() != histogram.m_height) {
+        this.m_image = new BufferedImage(histogram.m_width, histogram.m_height, BufferedImage.TYPE_INT_ARGB);
+      }
+      final int[] pixels = ((DataBufferInt) this.m_image.getRaster().getDataBuffer()).getData();
+      final int[] colors = this.m_colors;
+      final double scale = (colors.length - 1) / Math.log(1 + maxCount);
+      int count;
+      for (int i = pixels.length - 1; i >= 0; i--) {
+        count = counts[i];
+        if (count == 0) {
+          pixels[i] = 0;
+        } else {
+          pixels[i] = colors[(int) (Math.log(1 + count) * scale)];
+        }
+      }
+      g2d.drawImage(this.m_image, histogram.m_xStart, histogram.m_yStart, null);
+    }
+  }
+
+  /**
+   * Sets the colors for ascending densities.
+   * <p>
+   *
+   * The iterator is reset and up to 256 colors are taken from it: The first
+   * one is used for the sparsest, the last one for the densest bins.
+   * <p>
+   *
+   * @param colors
+   *          provides the colors for ascending densities.
+   *
+   * @throws IllegalArgumentException
+   *           if the iterator does not provide any color.
+   */
+  public void setColors(final ColorIterator colors) throws IllegalArgumentException {
+    colors.reset();
+    final int[] result = new int[COLOR_COUNT];
+    int size = 0;
+    while (size < COLOR_COUNT && colors.hasNext()) {
+      result[size++] = colors.next().getRGB();
+    }
+    if (size == 0) {
+      throw new IllegalArgumentException("The color iterator does not provide any color.");
+    }
+    this.m_colors = Arrays.copyOf(result, size);
+  }
+
+  /**
+   * Clears the histogram of the paint iteration for the bounds of the current
+   * chart area.
+   * <p>
+   *
+   * @see info.monitorenter.gui.chart.traces.painters.ATracePainter#startPaintIteration(java.awt.Graphics)
+   */
+  @Override
+  public void startPaintIteration(final Graphics g2d) {
+    super.startPaintIteration(g2d);
+    if (this.m_iteration == null) {
+      this.m_iteration = new Histogram(null);
+    }
+    this.m_iteration.updateBounds();
+    this.m_iteration.clear();
+    this.m_pendingX = Integer.MIN_VALUE;
+    this.m_continued = false;
+    this.m_entered = false;
+    this.m_runStart = true;
+  }
+}
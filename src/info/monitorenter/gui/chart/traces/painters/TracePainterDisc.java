@@ -21,6 +21,7 @@
  */
 package info.monitorenter.gui.chart.traces.painters;
 
+import info.monitorenter.gui.chart.ITracePainterReplicable;
 import info.monitorenter.gui.chart.ITracePoint2D;
 import info.monitorenter.gui.chart.pointpainters.PointPainterDisc;
 
@@ -34,7 +35,7 @@ import info.monitorenter.gui.chart.pointpainters.PointPainterDisc;
  * @version $Revision: 1.20 $
  * 
  */
-public class TracePainterDisc extends TracePainterConfigurable<PointPainterDisc> {
+public class TracePainterDisc extends TracePainterConfigurable<PointPainterDisc> implements ITracePainterReplicable<ATracePainter> {
 
   /** Generated <code>serialVersionUID</code>. */
   private static final long serialVersionUID = 8919406018882664083L;
@@ -68,6 +69,28 @@ public class TracePainterDisc extends TracePainterConfigurable<PointPainterDisc>
     return this.m_pointPainter.getDiscSize();
   }
 
+  /**
+   * Returns the way discs are transferred to the graphics context.
+   * <p>
+   * 
+   * @return the way discs are transferred to the graphics context.
+   * 
+   * @see PointPainterDisc#getRenderingMode()
+   */
+  public PointPainterDisc.RenderingMode getRenderingMode() {
+    return this.m_pointPainter.getRenderingMode();
+  }
+
+  /**
+   * @see info.monitorenter.gui.chart.ITracePainterReplicable#replicate()
+   */
+  public ATracePainter replicate() {
+    final TracePainterDisc result = new TracePainterDisc(this.getDiscSize());
+    result.setRenderingMode(this.getRenderingMode());
+    this.replicatePointPainter(result.m_pointPainter);
+    return result;
+  }
+
   /**
    * Sets the diameter of the discs to paint in pixel.
    * <p>
@@ -78,4 +101,24 @@ public class TracePainterDisc extends TracePainterConfigurable<PointPainterDisc>
   public void setDiscSize(final int discSize) {
     this.m_pointPainter.setDiscSize(discSize);
   }
+
+  /**
+   * Sets the way discs are transferred to the graphics context.
+   * <p>
+   * 
+   * For scatter plots with many points
+   * <code>{@link PointPainterDisc.RenderingMode#SPRITE}</code> is
+   * considerably faster than the default.
+   * <p>
+   * 
+   * @param renderingMode
+   *          the way discs are transferred to the graphics context.
+   * 
+   * @return the previous rendering mode.
+   * 
+   * @see PointPainterDisc#setRenderingMode(PointPainterDisc.RenderingMode)
+   */
+  public PointPainterDisc.RenderingMode setRenderingMode(final PointPainterDisc.RenderingMode renderingMode) {
+    return this.m_pointPainter.setRenderingMode(renderingMode);
+  }
 }
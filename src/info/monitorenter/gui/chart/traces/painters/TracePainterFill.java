@@ -57,6 +57,18 @@ public class TracePainterFill extends TracePainterPolyline {
    */
   private final Chart2D m_chart;
 
+  /**
+   * The x coordinates of the polygon to fill, reused for subsequent paint
+   * iterations to avoid creating garbage.
+   */
+  private int[] m_polygonX;
+
+  /**
+   * The y coordinates of the polygon to fill, reused for subsequent paint
+   * iterations to avoid creating garbage.
+   */
+  private int[] m_polygonY;
+
   /**
    * Constructor with the corresponding chart.
    * <p>
@@ -88,33 +100,25 @@ public class TracePainterFill extends TracePainterPolyline {
   @Override
   public void endPaintIteration(final Graphics g2d) {
     if (g2d != null) {
-
-      final int[] x = new int[this.m_xPoints.size() + 4];
-      x[0] = this.m_chart.getXChartStart();
-      int count = 1;
-      for (final Integer xpoint : this.m_xPoints) {
-        x[count] = xpoint.intValue();
-        count++;
+      final int length = this.getPointCount() + 4;
+      if (this.m_polygonX == null || this.m_polygonX.length < length) {
+        this.m_polygonX = new int[Math.max(length, (this.m_polygonX == null) ? 0 : this.m_polygonX.length * 2)];
+        this.m_polygonY = new int[this.m_polygonX.length];
       }
-      x[count] = this.getPreviousX();
-      // step down (or up) to the y=0 for the last value (in y)
-      x[count + 1] = x[count];
-      // step back to startx,starty (root)
-      x[count + 2] = this.m_chart.getXChartStart();
-
-      final int[] y = new int[this.m_yPoints.size() + 4];
+      final int[] x = this.m_polygonX;
+      final int[] y = this.m_polygonY;
+      x[0] = this.m_chart.getXChartStart();
       y[0] = this.m_chart.getYChartStart();
-      count = 1;
-      for (final Integer ypoint : this.m_yPoints) {
-        y[count] = ypoint.intValue();
-        count++;
-      }
+      int count = this.copyPoints(x, y, 1) + 1;
+      x[count] = this.getPreviousX();
       y[count] = this.getPreviousY();
       // step down (or up) to the y=0 for the last value (in y)
+      x[count + 1] = x[count];
       y[count + 1] = this.m_chart.getYChartStart();
       // step back to startx,starty (root)
+      x[count + 2] = this.m_chart.getXChartStart();
       y[count + 2] = this.m_chart.getYChartStart();
-      this.doDrawOperation(g2d, x, y, x.length);
+      this.doDrawOperation(g2d, x, y, length);
     }
   }
 
@@ -126,8 +130,8 @@ public class TracePainterFill extends TracePainterPolyline {
    *      int[], int[], int)
    */
   @Override
-  protected void doDrawOperation(Graphics g2d, int[] x, int[] y, int length) {
-    g2d.fillPolygon(x, y, x.length);
+  protected void doDrawOperation(final Graphics g2d, final int[] x, final int[] y, final int length) {
+    g2d.fillPolygon(x, y, length);
   }
 
   /**
@@ -152,20 +156,6 @@ public class TracePainterFill extends TracePainterPolyline {
     } else if (!this.m_chart.equals(other.m_chart)) {
       return false;
     }
-    if (this.m_xPoints == null) {
-      if (other.m_xPoints != null) {
-        return false;
-      }
-    } else if (!this.m_xPoints.equals(other.m_xPoints)) {
-      return false;
-    }
-    if (this.m_yPoints == null) {
-      if (other.m_yPoints != null) {
-        return false;
-      }
-    } else if (!this.m_yPoints.equals(other.m_yPoints)) {
-      return false;
-    }
     return true;
   }
 
@@ -177,25 +167,6 @@ public class TracePainterFill extends TracePainterPolyline {
     final int prime = 31;
     int result = super.hashCode();
     result = prime * result + ((this.m_chart == null) ? 0 : this.m_chart.hashCode());
-    result = prime * result + ((this.m_xPoints == null) ? 0 : this.m_xPoints.hashCode());
-    result = prime * result + ((this.m_yPoints == null) ? 0 : this.m_yPoints.hashCode());
     return result;
   }
-
-  /**
-   * @see info.monitorenter.gui.chart.traces.painters.ATracePainter#paintPoint(int,
-   *      int, int, int, java.awt.Graphics,
-   *      info.monitorenter.gui.chart.ITracePoint2D)
-   */
-  @Override
-  public void paintPoint(final int absoluteX, final int absoluteY, final int nextX,
-      final int nextY, final Graphics g, final ITracePoint2D original) {
-
-    this.m_xPoints.add(Integer.valueOf(absoluteX));
-    this.m_yPoints.add(Integer.valueOf(absoluteY));
-    super.paintPoint(absoluteX, absoluteY, nextX, nextY, g, original);
-  }
-
-
-
 }
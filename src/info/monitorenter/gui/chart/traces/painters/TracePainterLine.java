@@ -21,6 +21,7 @@
  */
 package info.monitorenter.gui.chart.traces.painters;
 
+import info.monitorenter.gui.chart.ITracePainterReplicable;
 import info.monitorenter.gui.chart.pointpainters.PointPainterLine;
 
 /**
@@ -32,7 +33,7 @@ import info.monitorenter.gui.chart.pointpainters.PointPainterLine;
  * @version $Revision: 1.22 $
  * 
  */
-public class TracePainterLine extends TracePainterConfigurable<PointPainterLine> {
+public class TracePainterLine extends TracePainterConfigurable<PointPainterLine> implements ITracePainterReplicable<ATracePainter> {
 
   /** Generated <code>serialVersionUID</code>. */
   private static final long serialVersionUID = -3310431930065989648L;
@@ -44,4 +45,13 @@ public class TracePainterLine extends TracePainterConfigurable<PointPainterLine>
   public TracePainterLine() {    
     super(new PointPainterLine());
   }
+
+  /**
+   * @see info.monitorenter.gui.chart.ITracePainterReplicable#replicate()
+   */
+  public ATracePainter replicate() {
+    final TracePainterLine result = new TracePainterLine();
+    this.replicatePointPainter(result.m_pointPainter);
+    return result;
+  }
 }
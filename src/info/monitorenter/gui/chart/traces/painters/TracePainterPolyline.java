@@ -21,11 +21,10 @@
  */
 package info.monitorenter.gui.chart.traces.painters;
 
+import info.monitorenter.gui.chart.ITracePainterReplicable;
 import info.monitorenter.gui.chart.ITracePoint2D;
 
 import java.awt.Graphics;
-import java.util.LinkedList;
-import java.util.List;
 
 /**
  * A trace painter that increases performance by summing up all points to render
@@ -36,20 +35,49 @@ import java.util.List;
  * paint for a paint call of the corresponding
  * {@link info.monitorenter.gui.chart.Chart2D}.
  * <p>
+ * The coordinates are collected in reused <code>int</code> arrays instead of
+ * lists of boxed integers (the former protected fields
+ * <code>m_xPoints</code> and <code>m_yPoints</code>): Subclasses get them
+ * passed to {@link #doDrawOperation(Graphics, int[], int[], int)} or copy them
+ * with {@link #copyPoints(int[], int[], int)}.
+ * <p>
  * 
  * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
  * @version $Revision: 1.22 $
  */
-public class TracePainterPolyline extends ATracePainter {
+public class TracePainterPolyline extends ATracePainter implements ITracePainterReplicable<ATracePainter> {
 
   /** Generated <code>serialVersionUID</code>. */
   private static final long serialVersionUID = 142122979535173974L;
 
-  /** The list of x coordinates collected in one paint iteration. */
-  protected List<Integer> m_xPoints;
+  /** The initial capacity of the coordinate buffers. */
+  private static final int INITIAL_CAPACITY = 64;
+
+  /**
+   * The amount of coordinates collected in {@link #m_xBuffer} and
+   * {@link #m_yBuffer} in the current paint iteration.
+   */
+  private int m_pointCount;
 
-  /** The list of y coordinates collected in one paint iteration. */
-  protected List<Integer> m_yPoints;
+  /**
+   * The x coordinates collected in one paint iteration.
+   * <p>
+   * The buffer is reused for subsequent paint iterations (and only grown if
+   * needed) to avoid creating garbage. Only the first {@link #m_pointCount}
+   * values are valid.
+   * <p>
+   */
+  private int[] m_xBuffer;
+
+  /**
+   * The y coordinates collected in one paint iteration.
+   * <p>
+   * The buffer is reused for subsequent paint iterations (and only grown if
+   * needed) to avoid creating garbage. Only the first {@link #m_pointCount}
+   * values are valid.
+   * <p>
+   */
+  private int[] m_yBuffer;
 
   /**
    * Default Constructor.
@@ -91,15 +119,61 @@ public class TracePainterPolyline extends ATracePainter {
     return point.getY();
   }
 
+  /**
+   * Copies the coordinates collected in the current paint iteration to the
+   * given arrays starting at the given offset.
+   * <p>
+   * 
+   * @param x
+   *          the array to copy the x coordinates to.
+   * 
+   * @param y
+   *          the array to copy the y coordinates to.
+   * 
+   * @param offset
+   *          the index in the given arrays to copy the first coordinate to.
+   * 
+   * @return the amount of copied coordinates.
+   * 
+   * @see #getPointCount()
+   */
+  protected final int copyPoints(final int[] x, final int[] y, final int offset) {
+    if (this.m_pointCount > 0) {
+      System.arraycopy(this.m_xBuffer, 0, x, offset, this.m_pointCount);
+      System.arraycopy(this.m_yBuffer, 0, y, offset, this.m_pointCount);
+    }
+    return this.m_pointCount;
+  }
+
   /**
    * Internally invokes the draw operation (to allow subclassing with a
    * different one).
    * <p>
    * This implementation uses {@link Graphics#drawPolyline(int[], int[], int)}.
    * <p>
+   * 
+   * The given arrays are reused buffers that are usually longer than the
+   * amount of coordinates to paint: Only the first <code>length</code> values
+   * are valid. Overriding implementations have to use <code>length</code>
+   * instead of the length of the arrays and must not keep references to the
+   * arrays after returning.
+   * <p>
+   * 
+   * @param g2d
+   *          the graphics context to paint to.
+   * 
+   * @param x
+   *          the x coordinates to paint.
+   * 
+   * @param y
+   *          the y coordinates to paint.
+   * 
+   * @param length
+   *          the amount of valid coordinates in the given arrays (at most
+   *          their length).
    */
-  protected void doDrawOperation(final Graphics g2d, int[] x, int[] y, int length) {
-    g2d.drawPolyline(x, y, x.length);
+  protected void doDrawOperation(final Graphics g2d, final int[] x, final int[] y, final int length) {
+    g2d.drawPolyline(x, y, length);
   }
 
   /**
@@ -108,23 +182,34 @@ public class TracePainterPolyline extends ATracePainter {
   @Override
   public void endPaintIteration(final Graphics g2d) {
     if (g2d != null) {
+      this.ensureCapacity(this.m_pointCount + 1);
+      this.m_xBuffer[this.m_pointCount] = this.getPreviousX();
+      this.m_yBuffer[this.m_pointCount] = this.getPreviousY();
+      this.doDrawOperation(g2d, this.m_xBuffer, this.m_yBuffer, this.m_pointCount + 1);
+    }
+  }
 
-      final int[] x = new int[this.m_xPoints.size() + 1];
-      int count = 0;
-      for (final Integer xpoint : this.m_xPoints) {
-        x[count] = xpoint.intValue();
-        count++;
-      }
-      x[count] = this.getPreviousX();
-
-      final int[] y = new int[this.m_yPoints.size() + 1];
-      count = 0;
-      for (final Integer ypoint : this.m_yPoints) {
-        y[count] = ypoint.intValue();
-        count++;
-      }
-      y[count] = this.getPreviousY();
-      this.doDrawOperation(g2d, x, y, x.length);
+  /**
+   * Ensures that the coordinate buffers {@link #m_xBuffer} and
+   * {@link #m_yBuffer} may hold the given amount of coordinates.
+   * <p>
+   * Valid coordinates are kept when the buffers are grown.
+   * <p>
+   * 
+   * @param capacity
+   *          the amount of coordinates the buffers have to hold.
+   */
+  private void ensureCapacity(final int capacity) {
+    if (this.m_xBuffer == null) {
+      this.m_xBuffer = new int[Math.max(capacity, INITIAL_CAPACITY)];
+      this.m_yBuffer = new int[this.m_xBuffer.length];
+    } else if (this.m_xBuffer.length < capacity) {
+      final int[] x = new int[Math.max(capacity, this.m_xBuffer.length * 2)];
+      System.arraycopy(this.m_xBuffer, 0, x, 0, this.m_pointCount);
+      final int[] y = new int[x.length];
+      System.arraycopy(this.m_yBuffer, 0, y, 0, this.m_pointCount);
+      this.m_xBuffer = x;
+      this.m_yBuffer = y;
     }
   }
 
@@ -143,23 +228,31 @@ public class TracePainterPolyline extends ATracePainter {
       return false;
     }
     final TracePainterPolyline other = (TracePainterPolyline) obj;
-    if (this.m_xPoints == null) {
-      if (other.m_xPoints != null) {
-        return false;
-      }
-    } else if (!this.m_xPoints.equals(other.m_xPoints)) {
+    if (this.m_pointCount != other.m_pointCount) {
       return false;
     }
-    if (this.m_yPoints == null) {
-      if (other.m_yPoints != null) {
+    for (int i = 0; i < this.m_pointCount; i++) {
+      if (this.m_xBuffer[i] != other.m_xBuffer[i] || this.m_yBuffer[i] != other.m_yBuffer[i]) {
         return false;
       }
-    } else if (!this.m_yPoints.equals(other.m_yPoints)) {
-      return false;
     }
     return true;
   }
 
+  /**
+   * Returns the amount of coordinates collected in the current paint iteration
+   * (not including the last point that is kept as the previous point).
+   * <p>
+   * 
+   * @return the amount of coordinates collected in the current paint
+   *         iteration.
+   * 
+   * @see #copyPoints(int[], int[], int)
+   */
+  protected final int getPointCount() {
+    return this.m_pointCount;
+  }
+
   /**
    * @see java.lang.Object#hashCode()
    */
@@ -167,8 +260,10 @@ public class TracePainterPolyline extends ATracePainter {
   public int hashCode() {
     final int prime = 31;
     int result = super.hashCode();
-    result = prime * result + ((this.m_xPoints == null) ? 0 : this.m_xPoints.hashCode());
-    result = prime * result + ((this.m_yPoints == null) ? 0 : this.m_yPoints.hashCode());
+    for (int i = 0; i < this.m_pointCount; i++) {
+      result = prime * result + this.m_xBuffer[i];
+      result = prime * result + this.m_yBuffer[i];
+    }
     return result;
   }
 
@@ -212,27 +307,31 @@ public class TracePainterPolyline extends ATracePainter {
   @Override
   public void paintPoint(final int absoluteX, final int absoluteY, final int nextX, final int nextY, final Graphics g, final ITracePoint2D original) {
     super.paintPoint(absoluteX, absoluteY, nextX, nextY, g, original);
-    this.m_xPoints.add(new Integer(absoluteX));
-    this.m_yPoints.add(new Integer(absoluteY));
+    this.ensureCapacity(this.m_pointCount + 1);
+    this.m_xBuffer[this.m_pointCount] = absoluteX;
+    this.m_yBuffer[this.m_pointCount] = absoluteY;
+    this.m_pointCount++;
 
   }
 
+  /**
+   * Subclasses that paint differently have to override this method to be
+   * rendered in parallel.
+   * <p>
+   *
+   * @see info.monitorenter.gui.chart.ITracePainterReplicable#replicate()
+   */
+  public ATracePainter replicate() {
+    return new TracePainterPolyline();
+  }
+
   /**
    * @see info.monitorenter.gui.chart.ITracePainter#startPaintIteration(java.awt.Graphics)
    */
   @Override
   public final void startPaintIteration(final Graphics g2d) {
     super.startPaintIteration(g2d);
-    if (this.m_xPoints == null) {
-      this.m_xPoints = new LinkedList<Integer>();
-    } else {
-      this.m_xPoints.clear();
-    }
-    if (this.m_yPoints == null) {
-      this.m_yPoints = new LinkedList<Integer>();
-    } else {
-      this.m_yPoints.clear();
-    }
+    this.m_pointCount = 0;
   }
 
 }
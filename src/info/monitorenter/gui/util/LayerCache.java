@@ -0,0 +1,328 @@
+/*
+ *  LayerCache.java of project jchart2d, an image cache validated by a key.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ *
+ */
+
+package info.monitorenter.gui.util;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+
+/**
+ * A cached, translucent image (a "layer") that is valid as long as the key it
+ * was rendered for does not change.
+ * <p>
+ *
+ * The key is not an object but a sequence of values that is pushed anew for
+ * every paint operation:
+ *
+ * <pre>
+ * cache.startKey();
+ * cache.addKey(width);
+ * cache.addKey(font);
+ * ...
+ * if (!cache.isKeyUnchanged()) {
+ *   BufferedImage layer = cache.getImage(width, height);
+ *   // render to layer
+ * }
+ * g.drawImage(cache.getCachedImage(), 0, 0, null);
+ * </pre>
+ *
+ * This allows to validate the cache in every frame without creating garbage:
+ * The values of the current and the previous key are kept in two pairs of
+ * arrays that are swapped.
+ * <p>
+ *
+ * Instances are not thread safe: Callers have to synchronize the key and paint
+ * sequence (e.g. by doing it in a synchronized paint method).
+ * <p>
+ * 
+ * Instances may be registered as <code>{@link PropertyChangeListener}</code>
+ * to sources of changes that are not covered by the key: Every event
+ * invalidates the cache without acquiring any lock.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann</a>
+ *
+ * @version $Revision: 1.1 $
+ */
+public class LayerCache implements PropertyChangeListener {
+
+  /** The cached image, null if not rendered yet. */
+  private BufferedImage m_image;
+
+  /** Identity compared key values of the key in progress. */
+  private Object[] m_keyIdentities = new Object[16];
+
+  /** Identity compared key values of the previous key. */
+  private Object[] m_keyIdentitiesPrevious = new Object[16];
+
+  /** The amount of identity compared values of the key in progress. */
+  private int m_keyIdentitiesSize;
+
+  /** The amount of identity compared values of the previous key. */
+  private int m_keyIdentitiesSizePrevious;
+
+  /** Numeric key values of the key in progress. */
+  private long[] m_keyNumbers = new long[32];
+
+  /** Numeric key values of the previous key. */
+  private long[] m_keyNumbersPrevious = new long[32];
+
+  /** The amount of numeric values of the key in progress. */
+  private int m_keyNumbersSize;
+
+  /** The amount of numeric values of the previous key. */
+  private int m_keyNumbersSizePrevious;
+
+  /** Equality compared key values of the key in progress. */
+  private Object[] m_keyValues = new Object[16];
+
+  /** Equality compared key values of the previous key. */
+  private Object[] m_keyValuesPrevious = new Object[16];
+
+  /** The amount of equality compared values of the key in progress. */
+  private int m_keyValuesSize;
+
+  /** The amount of equality compared values of the previous key. */
+  private int m_keyValuesSizePrevious;
+
+  /**
+   * Flag that is false if the cached image was invalidated from outside or
+   * never rendered.
+   */
+  private volatile boolean m_valid;
+
+  /**
+   * Defcon.
+   * <p>
+   */
+  public LayerCache() {
+    // nop
+  }
+
+  /**
+   * Adds a numeric value to the key in progress.
+   * <p>
+   *
+   * @param value
+   *          the numeric value to add to the key.
+   */
+  public void addKey(final double value) {
+    this.addKey(Double.doubleToLongBits(value));
+  }
+
+  /**
+   * Adds a numeric value to the key in progress.
+   * <p>
+   *
+   * @param value
+   *          the numeric value to add to the key.
+   */
+  public void addKey(final long value) {
+    if (this.m_keyNumbersSize == this.m_keyNumbers.length) {
+      final long[] grown = new long[this.m_keyNumbers.length * 2];
+      System.arraycopy(this.m_keyNumbers, 0, grown, 0, this.m_keyNumbersSize);
+      this.m_keyNumbers = grown;
+    }
+    this.m_keyNumbers[this.m_keyNumbersSize++] = value;
+  }
+
+  /**
+   * Adds a value to the key in progress that will be compared by
+   * <code>{@link Object#equals(Object)}</code>.
+   * <p>
+   *
+   * Use this for immutable value objects like <code>String</code>,
+   * <code>Color</code> or <code>Font</code>.
+   * <p>
+   *
+   * @param value
+   *          the value to add to the key, may be null.
+   */
+  public void addKey(final Object value) {
+    if (this.m_keyValuesSize == this.m_keyValues.length) {
+      final Object[] grown = new Object[this.m_keyValues.length * 2];
+      System.arraycopy(this.m_keyValues, 0, grown, 0, this.m_keyValuesSize);
+      this.m_keyValues = grown;
+    }
+    this.m_keyValues[this.m_keyValuesSize++] = value;
+  }
+
+  /**
+   * Adds a value to the key in progress that will be compared by identity.
+   * <p>
+   *
+   * Use this for mutable objects whose state changes are either added to the
+   * key separately or reported by a call to <code>{@link #invalidate()}</code>.
+   * <p>
+   *
+   * @param value
+   *          the value to add to the key, may be null.
+   */
+  public void addKeyIdentity(final Object value) {
+    if (this.m_keyIdentitiesSize == this.m_keyIdentities.length) {
+      final Object[] grown = new Object[this.m_keyIdentities.length * 2];
+      System.arraycopy(this.m_keyIdentities, 0, grown, 0, this.m_keyIdentitiesSize);
+      this.m_keyIdentities = grown;
+    }
+    this.m_keyIdentities[this.m_keyIdentitiesSize++] = value;
+  }
+
+  /**
+   * Releases the cached image.
+   * <p>
+   * The next call to <code>{@link #isKeyUnchanged()}</code> will return false.
+   * <p>
+   */
+  public void dispose() {
+    this.m_valid = false;
+    this.m_image = null;
+  }
+
+  /**
+   * Returns the cached image or null if none has been rendered yet.
+   * <p>
+   *
+   * @return the cached image or null if none has been rendered yet.
+   */
+  public BufferedImage getCachedImage() {
+    return this.m_image;
+  }
+
+  /**
+   * Returns a cleared (fully transparent) image of the given size to render the
+   * layer to and marks the cache as valid.
+   * <p>
+   *
+   * The previous image is reused if it has the same size.
+   * <p>
+   *
+   * @param width
+   *          the width of the layer in pixel.
+   *
+   * @param height
+   *          the height of the layer in pixel.
+   *
+   * @return a cleared image of the given size to render the layer to.
+   */
+  public BufferedImage getImage(final int width, final int height) {
+    if (this.m_image == null || this.m_image.getWidth() != width || this.m_image.getHeight() != height) {
+      this.m_image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    } else {
+      final Graphics2D g2d = this.m_image.createGraphics();
+      final Composite backup = g2d.getComposite();
+      g2d.setComposite(AlphaComposite.Clear);
+      g2d.fillRect(0, 0, width, height);
+      g2d.setComposite(backup);
+      g2d.dispose();
+    }
+    this.m_valid = true;
+    return this.m_image;
+  }
+
+  /**
+   * Marks the cached image as outdated regardless of the key.
+   * <p>
+   * May be called from any thread, e.g. from property change listeners.
+   * <p>
+   */
+  public void invalidate() {
+    this.m_valid = false;
+  }
+
+  /**
+   * Completes the key in progress, compares it to the previous key and returns
+   * true if the cached image is still valid for it.
+   * <p>
+   * The key in progress becomes the previous key for the next validation.
+   * <p>
+   *
+   * @return true if the cached image may be used, false if it has to be
+   *         rendered anew via <code>{@link #getImage(int, int)}</code>.
+   */
+  public boolean isKeyUnchanged() {
+    boolean result = this.m_valid && this.m_image != null;
+    if (result) {
+      result = this.m_keyNumbersSize == this.m_keyNumbersSizePrevious && this.m_keyValuesSize == this.m_keyValuesSizePrevious
+          && this.m_keyIdentitiesSize == this.m_keyIdentitiesSizePrevious;
+    }
+    for (int i = 0; result && i < this.m_keyNumbersSize; i++) {
+      result = this.m_keyNumbers[i] == this.m_keyNumbersPrevious[i];
+    }
+    for (int i = 0; result && i < this.m_keyIdentitiesSize; i++) {
+      result = this.m_keyIdentities[i] == this.m_keyIdentitiesPrevious[i];
+    }
+    Object value;
+    for (int i = 0; result && i < this.m_keyValuesSize; i++) {
+      value = this.m_keyValues[i];
+      result = (value == null) ? this.m_keyValuesPrevious[i] == null : value.equals(this.m_keyValuesPrevious[i]);
+    }
+    // swap:
+    final long[] numbers = this.m_keyNumbersPrevious;
+    this.m_keyNumbersPrevious = this.m_keyNumbers;
+    this.m_keyNumbers = numbers;
+    this.m_keyNumbersSizePrevious = this.m_keyNumbersSize;
+    Object[] objects = this.m_keyValuesPrevious;
+    this.m_keyValuesPrevious = this.m_keyValues;
+    this.m_keyValues = objects;
+    this.m_keyValuesSizePrevious = this.m_keyValuesSize;
+    objects = this.m_keyIdentitiesPrevious;
+    this.m_keyIdentitiesPrevious = this.m_keyIdentities;
+    this.m_keyIdentities = objects;
+    this.m_keyIdentitiesSizePrevious = this.m_keyIdentitiesSize;
+    return result;
+  }
+
+  /**
+   * Invalidates the cache.
+   * <p>
+   * 
+   * @param evt
+   *          ignored.
+   * 
+   * @see #invalidate()
+   * 
+   * @see java.beans.PropertyChangeListener#propertyChange(java.beans.PropertyChangeEvent)
+   */
+  public void propertyChange(final PropertyChangeEvent evt) {
+    this.invalidate();
+  }
+
+  /**
+   * Starts a new key for validation of the cached image.
+   * <p>
+   *
+   * @see #isKeyUnchanged()
+   */
+  public void startKey() {
+    this.m_keyNumbersSize = 0;
+    // release references of the key before the previous one:
+    Arrays.fill(this.m_keyValues, null);
+    this.m_keyValuesSize = 0;
+    Arrays.fill(this.m_keyIdentities, null);
+    this.m_keyIdentitiesSize = 0;
+  }
+}
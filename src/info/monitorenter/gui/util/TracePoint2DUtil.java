@@ -207,6 +207,8 @@ public class TracePoint2DUtil {
    * @return the interpolation towards the exceeded bound or the given visible
    *         point if a mathematical miracle or a programming error was
    *         encountered.
+   * 
+   * @see #clipToVisible(double[])
    */
   public static ITracePoint2D interpolateVisible(final ITracePoint2D invisible, final ITracePoint2D visible, final ITracePointProvider tracePointProvider) {
 
@@ -271,7 +273,8 @@ public class TracePoint2DUtil {
          */
         result = visible;
       } else {
-        result = tracePointProvider.createTracePoint(0, 0, visible.getListener());
+        // no listener yet: the trace must not register the synthetic point as highlighted
+        result = tracePointProvider.createTracePoint(0, 0, null);
         // transfer potential point highlighters to the synthetic point:
         for (IPointPainter< ? > highlighter : invisible.getAdditionalPointPainters()) {
           result.addAdditionalPointPainter(highlighter);
@@ -283,4 +286,103 @@ public class TracePoint2DUtil {
     }
     return result;
   }
+
+  /**
+   * Clips the given line segment to the visible area without creating any
+   * objects.
+   * <p>
+   * 
+   * The segment is given in scaled coordinates (see
+   * <code>{@link ITracePoint2D#getScaledX()}</code>,
+   * <code>{@link ITracePoint2D#getScaledY()}</code>) so the bounding box
+   * (0,0) (1,1) defines the visible area. Clipping is done with the
+   * Liang-Barsky algorithm: Both ends of the segment are moved along the
+   * parametric line <nobr>p(t) = p0 + t * (p1 - p0), t in [0,1]</nobr> to the
+   * bounds they exceed. Ends that are visible are not modified.
+   * <p>
+   * 
+   * This is the allocation free alternative to
+   * <code>{@link #interpolateVisible(ITracePoint2D, ITracePoint2D, ITracePointProvider)}</code>
+   * for the paint loop where no trace point is needed but only the clipped
+   * coordinates.
+   * <p>
+   * 
+   * @param segment
+   *          x and y of the first point followed by x and y of the second point
+   *          in scaled coordinates, will be overwritten with the clipped
+   *          coordinates if the result is true.
+   * 
+   * @return true if a part of the segment is within the visible area, false if
+   *         the segment is completely invisible or contains NaN coordinates (in
+   *         that case the given array remains unchanged).
+   */
+  public static boolean clipToVisible(final double[] segment) {
+    final double x0 = segment[0];
+    final double y0 = segment[1];
+    final double dx = segment[2] - x0;
+    final double dy = segment[3] - y0;
+    if (Double.isNaN(dx) || Double.isNaN(dy)) {
+      return false;
+    }
+    double tEnter = 0.0;
+    double tLeave = 1.0;
+    double p;
+    double q;
+    double t;
+    // left, right, bottom, top bound:
+    for (int bound = 0; bound < 4; bound++) {
+      switch (bound) {
+        case 0:
+          p = -dx;
+          q = x0;
+          break;
+        case 1:
+          p = dx;
+          q = 1.0 - x0;
+          break;
+        case 2:
+          p = -dy;
+          q = y0;
+          break;
+        default:
+          p = dy;
+          q = 1.0 - y0;
+          break;
+      }
+      if (p == 0.0) {
+        // parallel to the bound: completely outside or irrelevant
+        if (q < 0.0) {
+          return false;
+        }
+      } else {
+        t = q / p;
+        if (p < 0.0) {
+          // entering the visible area through this bound
+          if (t > tLeave) {
+            return false;
+          }
+          if (t > tEnter) {
+            tEnter = t;
+          }
+        } else {
+          // leaving the visible area through this bound
+          if (t < tEnter) {
+            return false;
+          }
+          if (t < tLeave) {
+            tLeave = t;
+          }
+        }
+      }
+    }
+    if (tLeave < 1.0) {
+      segment[2] = x0 + tLeave * dx;
+      segment[3] = y0 + tLeave * dy;
+    }
+    if (tEnter > 0.0) {
+      segment[0] = x0 + tEnter * dx;
+      segment[1] = y0 + tEnter * dy;
+    }
+    return true;
+  }
 }
@@ -62,6 +62,27 @@ import java.util.Map;
 public class MockGraphics2D
     extends Graphics2D {
 
+  /** The current color. */
+  private Color m_color;
+
+  /** The current font. */
+  private Font m_font = new Font("SansSerif", Font.PLAIN, 10);
+
+  /**
+   * The font metrics returned for every font, shared to avoid creating garbage
+   * while painting.
+   */
+  private final FontMetrics m_fontMetrics = new MockFontMetrics(this.m_font);
+
+  /** The font render context for text measurement. */
+  private final FontRenderContext m_fontRenderContext = new FontRenderContext(null, false, false);
+
+  /** The current rendering hints. */
+  private final RenderingHints m_renderingHints = new RenderingHints(null);
+
+  /** The current stroke. */
+  private Stroke m_stroke;
+
   /**
    * defcon.
    * <p>
@@ -75,8 +96,7 @@ public class MockGraphics2D
    */
   @Override
   public void addRenderingHints(final Map< ? , ? > hints) {
-    // TODO Auto-generated method stub
-
+    this.m_renderingHints.putAll(hints);
   }
 
   /**
@@ -121,8 +141,8 @@ public class MockGraphics2D
    */
   @Override
   public Graphics create() {
-    // TODO Auto-generated method stub
-    return null;
+    // allows painting components (JComponent.paintComponent()):
+    return this;
   }
 
   /**
@@ -442,8 +462,7 @@ public class MockGraphics2D
    */
   @Override
   public Color getColor() {
-    // TODO Auto-generated method stub
-    return null;
+    return this.m_color;
   }
 
   /**
@@ -469,8 +488,7 @@ public class MockGraphics2D
    */
   @Override
   public Font getFont() {
-    // TODO Auto-generated method stub
-    return null;
+    return this.m_font;
   }
 
   /**
@@ -478,8 +496,7 @@ public class MockGraphics2D
    */
   @Override
   public FontMetrics getFontMetrics(final Font f) {
-    // TODO Auto-generated method stub
-    return new MockFontMetrics(new Font("SansSerif", Font.PLAIN, 10));
+    return this.m_fontMetrics;
   }
 
   /**
@@ -487,8 +504,7 @@ public class MockGraphics2D
    */
   @Override
   public FontRenderContext getFontRenderContext() {
-    // TODO Auto-generated method stub
-    return null;
+    return this.m_fontRenderContext;
   }
 
   /**
@@ -505,8 +521,7 @@ public class MockGraphics2D
    */
   @Override
   public Object getRenderingHint(final Key hintKey) {
-    // TODO Auto-generated method stub
-    return null;
+    return this.m_renderingHints.get(hintKey);
   }
 
   /**
@@ -514,8 +529,7 @@ public class MockGraphics2D
    */
   @Override
   public RenderingHints getRenderingHints() {
-    // TODO Auto-generated method stub
-    return null;
+    return this.m_renderingHints;
   }
 
   /**
@@ -523,8 +537,7 @@ public class MockGraphics2D
    */
   @Override
   public Stroke getStroke() {
-    // TODO Auto-generated method stub
-    return null;
+    return this.m_stroke;
   }
 
   /**
@@ -603,8 +616,7 @@ public class MockGraphics2D
    */
   @Override
   public void setColor(final Color c) {
-    // TODO Auto-generated method stub
-
+    this.m_color = c;
   }
 
   /**
@@ -621,7 +633,9 @@ public class MockGraphics2D
    */
   @Override
   public void setFont(final Font font) {
-    // TODO Auto-generated method stub
+    if (font != null) {
+      this.m_font = font;
+    }
   }
 
   /**
@@ -648,8 +662,7 @@ public class MockGraphics2D
    */
   @Override
   public void setRenderingHint(final Key hintKey, final Object hintValue) {
-    // TODO Auto-generated method stub
-
+    this.m_renderingHints.put(hintKey, hintValue);
   }
 
   /**
@@ -657,8 +670,8 @@ public class MockGraphics2D
    */
   @Override
   public void setRenderingHints(final Map< ? , ? > hints) {
-    // TODO Auto-generated method stub
-
+    this.m_renderingHints.clear();
+    this.m_renderingHints.putAll(hints);
   }
 
   /**
@@ -666,8 +679,7 @@ public class MockGraphics2D
    */
   @Override
   public void setStroke(final Stroke s) {
-    // TODO Auto-generated method stub
-
+    this.m_stroke = s;
   }
 
   /**
@@ -24,20 +24,62 @@ package info.monitorenter.gui.chart;
 
 import info.monitorenter.gui.chart.axis.AAxis;
 import info.monitorenter.gui.chart.axis.AxisLinear;
+import info.monitorenter.gui.chart.errorbars.ErrorBarPainter;
+import info.monitorenter.gui.chart.errorbars.ErrorBarPolicyRelative;
 import info.monitorenter.gui.chart.events.Chart2DActionSaveImageSingleton;
 import info.monitorenter.gui.chart.labelformatters.LabelFormatterDate;
+import info.monitorenter.gui.chart.pointpainters.PointPainterDisc;
+import info.monitorenter.gui.chart.rangepolicies.RangePolicyFixedViewport;
+import info.monitorenter.gui.chart.rangepolicies.RangePolicyHighestValues;
+import info.monitorenter.gui.chart.tracepoints.TracePoint2D;
 import info.monitorenter.gui.chart.traces.Trace2DLtd;
 import info.monitorenter.gui.chart.traces.Trace2DSimple;
+import info.monitorenter.gui.chart.traces.Trace2DSorted;
+import info.monitorenter.gui.chart.traces.TraceProxy;
+import info.monitorenter.gui.chart.traces.painters.TracePainterDensity;
+import info.monitorenter.gui.chart.traces.painters.TracePainterDisc;
+import info.monitorenter.gui.chart.traces.painters.TracePainterFill;
+import info.monitorenter.gui.chart.traces.painters.TracePainterLine;
+import info.monitorenter.util.Range;
 
+import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionListener;
 import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedSet;
 import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 
 import junit.framework.Assert;
@@ -223,5 +265,1261 @@ public class TestChart2DHeadless extends TestCase {
     assertTrue("The trace was not removed after changing z-index!", removed);
 
   }
-  
+
+  /**
+   * Tests that <code>{@link Chart2D#getTraces()}</code> returns modifiable
+   * copies that follow added or removed traces and changed z-indices.
+   * <p>
+   */
+  public void testGetTracesSnapshot() {
+    Chart2D chart = new Chart2D();
+    ITrace2D first = new Trace2DSimple();
+    chart.addTrace(first);
+    first.setZIndex(Integer.valueOf(10));
+    SortedSet<ITrace2D> traces = chart.getTraces();
+    Assert.assertNotSame(traces, chart.getTraces());
+    traces.clear();
+    Assert.assertEquals(1, chart.getTraces().size());
+    Iterator<ITrace2D> it = chart.iterator();
+    it.next();
+    it.remove();
+    Assert.assertSame(first, chart.getTraces().first());
+
+    ITrace2D second = new Trace2DSimple();
+    chart.addTrace(second);
+    second.setZIndex(Integer.valueOf(20));
+    traces = chart.getTraces();
+    Assert.assertEquals(2, traces.size());
+    Assert.assertSame(first, traces.first());
+    Assert.assertSame(second, traces.last());
+
+    first.setZIndex(Integer.valueOf(30));
+    traces = chart.getTraces();
+    Assert.assertSame(second, traces.first());
+    Assert.assertSame(first, traces.last());
+
+    Assert.assertTrue(chart.removeTrace(second));
+    traces = chart.getTraces();
+    Assert.assertEquals(1, traces.size());
+    Assert.assertSame(first, traces.first());
+
+    AxisLinear axisX = new AxisLinear();
+    chart.addAxisXTop(axisX);
+    ITrace2D top = new Trace2DSimple();
+    chart.addTrace(top, axisX, chart.getAxisY());
+    Assert.assertTrue(chart.getTraces().contains(top));
+    chart.destroy();
+  }
+
+  /**
+   * Creates a chart with a fixed viewport and a trace with the given amount of
+   * points.
+   * <p>
+   * 
+   * @param points
+   *          the amount of points to add.
+   * 
+   * @param trace
+   *          the trace to add to the chart.
+   * 
+   * @return a chart with a fixed viewport showing the trace.
+   */
+  private Chart2D createFixedViewportChart(final ITrace2D trace, final int points) {
+    Chart2D chart = new Chart2D();
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 200)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+    trace.setName("trace");
+    chart.addTrace(trace);
+    for (int i = 0; i < points; i++) {
+      trace.addPoint(i, i % 10);
+    }
+    return chart;
+  }
+
+  /**
+   * Asserts that the given images are equal except for small rounding
+   * differences of antialiased pixels.
+   * <p>
+   * 
+   * @param expected
+   *          the expected image.
+   * 
+   * @param actual
+   *          the actual image.
+   */
+  private void assertImagesEqual(final BufferedImage expected, final BufferedImage actual) {
+    Assert.assertEquals(expected.getWidth(), actual.getWidth());
+    Assert.assertEquals(expected.getHeight(), actual.getHeight());
+    int rgbExpected;
+    int rgbActual;
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        rgbExpected = expected.getRGB(x, y);
+        rgbActual = actual.getRGB(x, y);
+        for (int shift = 0; shift < 32; shift += 8) {
+          if (Math.abs(((rgbExpected >> shift) & 0xff) - ((rgbActual >> shift) & 0xff)) > 2) {
+            Assert.fail("Pixel " + x + "," + y + " differs: " + Integer.toHexString(rgbExpected) + " vs. "
+                + Integer.toHexString(rgbActual));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests that a chart with a cached background layer renders the same as a
+   * chart without it, also after data has changed and after the layout
+   * relevant configuration changed.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testBackgroundLayerCaching() {
+    ITrace2D traceUncached = new Trace2DSimple();
+    ITrace2D traceCached = new Trace2DSimple();
+    Chart2D uncached = this.createFixedViewportChart(traceUncached, 50);
+    Chart2D cached = this.createFixedViewportChart(traceCached, 50);
+    cached.setBackgroundLayerCaching(true);
+    Assert.assertTrue(cached.isBackgroundLayerCaching());
+
+    this.assertImagesEqual(uncached.snapShot(400, 300), cached.snapShot(400, 300));
+    // data only change: cached layer is reused
+    for (int i = 50; i < 150; i++) {
+      traceUncached.addPoint(i, i % 7);
+      traceCached.addPoint(i, i % 7);
+    }
+    this.assertImagesEqual(uncached.snapShot(400, 300), cached.snapShot(400, 300));
+    // configuration change: cached layer has to be discarded
+    uncached.setGridColor(Color.RED);
+    cached.setGridColor(Color.RED);
+    uncached.getAxisY().setPaintGrid(true);
+    cached.getAxisY().setPaintGrid(true);
+    traceUncached.setName("renamed");
+    traceCached.setName("renamed");
+    this.assertImagesEqual(uncached.snapShot(400, 300), cached.snapShot(400, 300));
+    // size change:
+    this.assertImagesEqual(uncached.snapShot(300, 200), cached.snapShot(300, 200));
+    uncached.destroy();
+    cached.destroy();
+  }
+
+  /**
+   * Asserts that the given images are equal except for pixels of the given
+   * trace color: for those a pixel of the trace color with a distance of at
+   * most two pixels in both dimensions has to exist in the other image.
+   * Pixels of the trace color in the columns of the left border of the chart
+   * area are ignored as scrolled out points may remain there.
+   * <p>
+   * 
+   * @param expected
+   *          the expected image.
+   * 
+   * @param actual
+   *          the actual image.
+   * 
+   * @param traceColor
+   *          the color of the trace that may deviate.
+   * 
+   * @param xChartStart
+   *          the x coordinate of the left border of the chart area.
+   */
+  private void assertImagesSimilar(final BufferedImage expected, final BufferedImage actual, final Color traceColor,
+      final int xChartStart) {
+    Assert.assertEquals(expected.getWidth(), actual.getWidth());
+    Assert.assertEquals(expected.getHeight(), actual.getHeight());
+    int rgbTrace = traceColor.getRGB();
+    int rgbExpected;
+    int rgbActual;
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        rgbExpected = expected.getRGB(x, y);
+        rgbActual = actual.getRGB(x, y);
+        if (rgbExpected != rgbActual) {
+          if (x <= xChartStart + 1 && (rgbExpected == rgbTrace || rgbActual == rgbTrace)) {
+            continue;
+          } else if (rgbExpected == rgbTrace) {
+            Assert.assertTrue("Trace pixel " + x + "," + y + " of expected image is missing.", this.hasPixelNearby(actual, x, y, rgbTrace));
+          } else if (rgbActual == rgbTrace) {
+            Assert.assertTrue("Trace pixel " + x + "," + y + " of actual image is wrong.", this.hasPixelNearby(expected, x, y, rgbTrace));
+          } else {
+            Assert.fail("Pixel " + x + "," + y + " differs: " + Integer.toHexString(rgbExpected) + " vs. " + Integer.toHexString(rgbActual));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns true if the pixel at the given coordinate of the image or one
+   * with a distance of at most two pixels in both dimensions has the given
+   * color.
+   * <p>
+   * 
+   * @param image
+   *          the image to search.
+   * 
+   * @param x
+   *          the x coordinate of the pixel.
+   * 
+   * @param y
+   *          the y coordinate of the pixel.
+   * 
+   * @param rgb
+   *          the color to search.
+   * 
+   * @return true if a pixel of the given color was found.
+   */
+  private boolean hasPixelNearby(final BufferedImage image, final int x, final int y, final int rgb) {
+    for (int i = Math.max(0, x - 2); i <= Math.min(image.getWidth() - 1, x + 2); i++) {
+      for (int j = Math.max(0, y - 2); j <= Math.min(image.getHeight() - 1, y + 2); j++) {
+        if (image.getRGB(i, j) == rgb) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Paints the given chart to a new image without antialiasing.
+   * <p>
+   * 
+   * @param chart
+   *          the chart to paint.
+   * 
+   * @return the image of the chart.
+   */
+  private BufferedImage paint(final Chart2D chart) {
+    BufferedImage result = new BufferedImage(chart.getWidth(), chart.getHeight(), BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g2d = result.createGraphics();
+    chart.paint(g2d);
+    g2d.dispose();
+    return result;
+  }
+
+  /**
+   * Tests <code>{@link Chart2D.PointFinder#NEAREST_X}</code>: The point with
+   * the nearest x value of every trace is found (for a sorted and an unsorted
+   * trace), the nearest one first.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testNearestPointsX() {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 200)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+    ITrace2D sorted = new Trace2DSorted();
+    sorted.setName("sorted");
+    chart.addTrace(sorted);
+    ITrace2D simple = new Trace2DSimple();
+    simple.setName("simple");
+    chart.addTrace(simple);
+    for (int i = 200; i >= 0; i -= 10) {
+      sorted.addPoint(i, 2);
+      simple.addPoint(i + 5, 7);
+    }
+    this.paint(chart);
+    int pixel = chart.getXChartStart() + (int) Math.round(27.0 / 200 * (chart.getXChartEnd() - chart.getXChartStart()));
+    List<ITracePoint2D> points = chart.getNearestPointsX(pixel);
+    Assert.assertEquals(2, points.size());
+    Assert.assertEquals(25.0, points.get(0).getX(), 0.0);
+    Assert.assertSame(simple, points.get(0).getListener());
+    Assert.assertEquals(30.0, points.get(1).getX(), 0.0);
+    Assert.assertSame(sorted, points.get(1).getListener());
+    Assert.assertSame(points.get(0), Chart2D.PointFinder.NEAREST_X.getNearestPoint(pixel, 0, chart));
+    Assert.assertEquals(points, Chart2D.PointFinder.NEAREST_X.getNearestPoints(pixel, 0, chart));
+    Assert.assertEquals(1, Chart2D.PointFinder.EUCLID.getNearestPoints(pixel, 0, chart).size());
+    chart.destroy();
+  }
+
+  /**
+   * Tests that the tool tip and the translation of a mouse position share one
+   * search for the nearest point per mouse position that is only repeated
+   * after the data changed or the chart was painted.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testNearestPointsCache() {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    ITrace2D trace = new Trace2DSimple();
+    chart.addTrace(trace);
+    for (int i = 0; i < 100; i += 10) {
+      trace.addPoint(i, i);
+    }
+    final int[] searches = new int[1];
+    chart.setPointFinder(new IPointFinder() {
+      private static final long serialVersionUID = 1L;
+
+      public ITracePoint2D getNearestPoint(final int mouseEventX, final int mouseEventY, final Chart2D chart2d) {
+        searches[0]++;
+        return Chart2D.PointFinder.EUCLID.getNearestPoint(mouseEventX, mouseEventY, chart2d);
+      }
+
+      public ITracePoint2D getNearestPoint(final MouseEvent me, final Chart2D chart2d) {
+        return this.getNearestPoint(me.getX(), me.getY(), chart2d);
+      }
+    });
+    this.paint(chart);
+    MouseEvent me = new MouseEvent(chart, MouseEvent.MOUSE_MOVED, 0, 0, 200, 150, 0, false);
+    Assert.assertNotNull(Chart2D.ToolTipType.VALUE_SNAP_TO_TRACEPOINTS.getToolTipText(chart, me));
+    ITracePoint2D mouse = chart.translateMousePosition(me);
+    List<ITracePoint2D> points = chart.getNearestPoints(me);
+    Assert.assertEquals(1, searches[0]);
+    Assert.assertEquals(1, points.size());
+
+    // data changed:
+    ITracePoint2D added = new TracePoint2D(mouse.getX(), mouse.getY());
+    trace.addPoint(added);
+    Assert.assertSame(added, chart.getNearestPoints(me).get(0));
+    Assert.assertEquals(2, searches[0]);
+    // other trace with the same amount of modifications:
+    chart.removeTrace(trace);
+    ITrace2D copy = new Trace2DSimple();
+    chart.addTrace(copy);
+    for (Iterator<ITracePoint2D> it = trace.iterator(); it.hasNext();) {
+      ITracePoint2D point = it.next();
+      copy.addPoint(point.getX(), point.getY());
+    }
+    Assert.assertSame(copy, chart.getNearestPoints(me).get(0).getListener());
+    Assert.assertEquals(3, searches[0]);
+
+    // painted:
+    this.paint(chart);
+    chart.getNearestPoints(me);
+    Assert.assertEquals(4, searches[0]);
+    // other position:
+    chart.getNearestPoints(new MouseEvent(chart, MouseEvent.MOUSE_MOVED, 0, 0, 201, 150, 0, false));
+    Assert.assertEquals(5, searches[0]);
+
+    // wrapped trace counts the modifications of its delegate:
+    chart.removeTrace(copy);
+    ITrace2D proxy = new TraceProxy(new Trace2DSimple());
+    chart.addTrace(proxy);
+    proxy.addPoint(50, 50);
+    chart.getNearestPoints(me);
+    chart.getNearestPoints(me);
+    Assert.assertEquals(6, searches[0]);
+    proxy.addPoint(51, 51);
+    chart.getNearestPoints(me);
+    Assert.assertEquals(7, searches[0]);
+    chart.destroy();
+  }
+
+  /**
+   * Tests that the point highlighting searches the nearest point in the
+   * background and applies only the result for the latest mouse position on
+   * the event dispatch thread.
+   * <p>
+   * 
+   * @throws Exception
+   *           if something goes wrong.
+   * 
+   * @org.junit.Test
+   */
+  public void testPointHighlightingAsynchronous() throws Exception {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    ITrace2D trace = new Trace2DSimple();
+    chart.addTrace(trace);
+    ITracePoint2D left = new TracePoint2D(10, 50);
+    trace.addPoint(left);
+    ITracePoint2D right = new TracePoint2D(90, 50);
+    trace.addPoint(right);
+    trace.addPointHighlighter(new PointPainterDisc(10));
+    chart.enablePointHighlighting(true);
+    this.paint(chart);
+    Chart2D.PointHighlighter highlighter = null;
+    for (MouseMotionListener listener : chart.getMouseMotionListeners()) {
+      if (listener instanceof Chart2D.PointHighlighter) {
+        highlighter = (Chart2D.PointHighlighter) listener;
+      }
+    }
+    Assert.assertNotNull(highlighter);
+    final List<ITracePoint2D> highlighted = Collections.synchronizedList(new LinkedList<ITracePoint2D>());
+    final boolean[] onEventDispatchThread = new boolean[] {true };
+    final CountDownLatch latch = new CountDownLatch(1);
+    final ITracePoint2D expected = right;
+    chart.addPointHighlightListener(new IPointHighlightListener() {
+      private static final long serialVersionUID = 1L;
+
+      public void highlight(final ITracePoint2D point) {
+        onEventDispatchThread[0] &= SwingUtilities.isEventDispatchThread();
+        highlighted.add(point);
+        if (point == expected) {
+          latch.countDown();
+        }
+      }
+    });
+    int y = chart.getYChartStart() + (chart.getYChartEnd() - chart.getYChartStart()) / 2;
+    highlighter.mouseMoved(new MouseEvent(chart, MouseEvent.MOUSE_MOVED, 0, 0, chart.getXChartStart(), y, 0, false));
+    highlighter.mouseMoved(new MouseEvent(chart, MouseEvent.MOUSE_MOVED, 0, 0, chart.getXChartEnd(), y, 0, false));
+    Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    // flush results that might still be applied:
+    Thread.sleep(100);
+    SwingUtilities.invokeAndWait(new Runnable() {
+      public void run() {
+        // nop
+      }
+    });
+    Assert.assertTrue(onEventDispatchThread[0]);
+    Assert.assertSame(right, highlighted.get(highlighted.size() - 1));
+    Assert.assertTrue(right.getAdditionalPointPainters().size() > 0);
+    Assert.assertEquals(0, left.getAdditionalPointPainters().size());
+    chart.destroy();
+  }
+
+  /**
+   * Tests that the tool tip waits for the background search of the point
+   * highlighting for the same mouse position instead of searching again and
+   * that failures of the background search are reported.
+   * <p>
+   * 
+   * @throws Exception
+   *           if something goes wrong.
+   * 
+   * @org.junit.Test
+   */
+  public void testPointHighlightingSharedSearch() throws Exception {
+    final Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    ITrace2D trace = new Trace2DSimple();
+    chart.addTrace(trace);
+    trace.addPoint(50, 50);
+    chart.enablePointHighlighting(true);
+    this.paint(chart);
+    Chart2D.PointHighlighter highlighter = null;
+    for (MouseMotionListener listener : chart.getMouseMotionListeners()) {
+      if (listener instanceof Chart2D.PointHighlighter) {
+        highlighter = (Chart2D.PointHighlighter) listener;
+      }
+    }
+    Assert.assertNotNull(highlighter);
+    final int[] searches = new int[1];
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    chart.setPointFinder(new IPointFinder() {
+      private static final long serialVersionUID = 1L;
+
+      public ITracePoint2D getNearestPoint(final int mouseEventX, final int mouseEventY, final Chart2D chart2d) {
+        if (mouseEventX == 0) {
+          throw new IllegalStateException("search failure");
+        }
+        synchronized (searches) {
+          searches[0]++;
+        }
+        started.countDown();
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return Chart2D.PointFinder.EUCLID.getNearestPoint(mouseEventX, mouseEventY, chart2d);
+      }
+
+      public ITracePoint2D getNearestPoint(final MouseEvent me, final Chart2D chart2d) {
+        return this.getNearestPoint(me.getX(), me.getY(), chart2d);
+      }
+    });
+    final MouseEvent me = new MouseEvent(chart, MouseEvent.MOUSE_MOVED, 0, 0, 200, 150, 0, false);
+    highlighter.mouseMoved(me);
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    ExecutorService toolTip = Executors.newSingleThreadExecutor();
+    Future<List<ITracePoint2D>> shared = toolTip.submit(new Callable<List<ITracePoint2D>>() {
+      public List<ITracePoint2D> call() {
+        return chart.getNearestPoints(me);
+      }
+    });
+    Thread.sleep(100);
+    Assert.assertFalse(shared.isDone());
+    release.countDown();
+    Assert.assertEquals(1, shared.get(10, TimeUnit.SECONDS).size());
+    toolTip.shutdown();
+    synchronized (searches) {
+      Assert.assertEquals(1, searches[0]);
+    }
+
+    // failures of the background search are reported:
+    PrintStream err = System.err;
+    ByteArrayOutputStream errBytes = new ByteArrayOutputStream();
+    System.setErr(new PrintStream(errBytes, true));
+    try {
+      highlighter.mouseMoved(new MouseEvent(chart, MouseEvent.MOUSE_MOVED, 0, 0, 0, 150, 0, false));
+      for (int i = 0; i < 100 && errBytes.size() == 0; i++) {
+        Thread.sleep(50);
+      }
+    } finally {
+      System.setErr(err);
+    }
+    Assert.assertTrue(errBytes.toString().contains("search failure"));
+    chart.destroy();
+  }
+
+  /**
+   * Tests that a chart in strip chart mode renders like a chart without it
+   * (with a deviation caused by scrolling in whole pixels) while the x range
+   * is shifted by new points and after the y range changed.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testStripChart() {
+    ITrace2D[] traces = new ITrace2D[] {new Trace2DSimple(), new Trace2DSimple() };
+    Chart2D[] charts = new Chart2D[2];
+    for (int i = 0; i < charts.length; i++) {
+      charts[i] = new Chart2D();
+      // new points are only scaled for charts with a size:
+      charts[i].setSize(400, 300);
+      charts[i].getAxisX().setRangePolicy(new RangePolicyHighestValues(100));
+      charts[i].getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+      traces[i].setColor(Color.RED);
+      traces[i].setName("trace");
+      charts[i].addTrace(traces[i]);
+    }
+    charts[1].setStripChart(true);
+    Assert.assertTrue(charts[1].isStripChart());
+    for (int i = 0; i < 300; i++) {
+      for (ITrace2D trace : traces) {
+        trace.addPoint(i, (i * 7) % 10);
+      }
+      if (i >= 100 && i % 5 == 0) {
+        this.assertImagesSimilar(this.paint(charts[0]), this.paint(charts[1]), Color.RED, charts[0].getXChartStart());
+      }
+      if (i == 200) {
+        // rescaling of y axis:
+        for (Chart2D chart : charts) {
+          chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(-5, 10)));
+        }
+      }
+    }
+    for (Chart2D chart : charts) {
+      chart.destroy();
+    }
+  }
+
+  /**
+   * Tests that a chart with cached trace layers renders the same as a chart
+   * without them, also after the points of a trace, the color of a trace, the
+   * z-index of a trace or the set of traces changed.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testTraceLayerCaching() {
+    ITrace2D[][] traces = new ITrace2D[2][3];
+    Chart2D[] charts = new Chart2D[2];
+    for (int i = 0; i < charts.length; i++) {
+      charts[i] = new Chart2D();
+      charts[i].setSize(400, 300);
+      charts[i].getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 200)));
+      charts[i].getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+      for (int j = 0; j < traces[i].length; j++) {
+        traces[i][j] = new Trace2DSimple();
+        traces[i][j].setName("trace " + j);
+        charts[i].addTrace(traces[i][j]);
+        // distinct z-indices: equal ones are ordered by hash code
+        traces[i][j].setZIndex(new Integer(j * 10));
+        for (int k = 0; k < 200; k++) {
+          traces[i][j].addPoint(k, (k * (j + 3)) % 10);
+        }
+      }
+    }
+    charts[1].setTraceLayerCaching(true);
+    Assert.assertTrue(charts[1].isTraceLayerCaching());
+
+    this.assertImagesEqual(this.paint(charts[0]), this.paint(charts[1]));
+    // changing trace:
+    for (int k = 0; k < 10; k++) {
+      for (int i = 0; i < charts.length; i++) {
+        traces[i][0].addPoint(k * 20 + 5, k % 7);
+      }
+      this.assertImagesEqual(this.paint(charts[0]), this.paint(charts[1]));
+    }
+    for (int i = 0; i < charts.length; i++) {
+      traces[i][1].setColor(Color.GREEN);
+      traces[i][2].setZIndex(new Integer(5));
+    }
+    this.assertImagesEqual(this.paint(charts[0]), this.paint(charts[1]));
+    for (int i = 0; i < charts.length; i++) {
+      charts[i].removeTrace(traces[i][1]);
+    }
+    this.assertImagesEqual(this.paint(charts[0]), this.paint(charts[1]));
+    charts[1].setTraceLayerCaching(false);
+    this.assertImagesEqual(this.paint(charts[0]), this.paint(charts[1]));
+    for (Chart2D chart : charts) {
+      chart.destroy();
+    }
+  }
+
+  /**
+   * Tests that a chart with progressive rendering first paints a coarse preview
+   * and after the refinement passes renders the same as a chart without it,
+   * also if the refinement is cancelled by a change of the trace.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testProgressiveRendering() {
+    ITrace2D[] traces = new ITrace2D[2];
+    Chart2D[] charts = new Chart2D[2];
+    for (int i = 0; i < charts.length; i++) {
+      charts[i] = new Chart2D();
+      charts[i].setSize(400, 300);
+      charts[i].getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 200)));
+      charts[i].getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+      charts[i].setTraceLayerCaching(true);
+      traces[i] = new Trace2DSimple();
+      traces[i].setName("trace");
+      charts[i].addTrace(traces[i]);
+      for (int k = 0; k < 2000; k++) {
+        traces[i].addPoint(k / 10.0, 5 + 4 * Math.sin(k / 3.0));
+      }
+    }
+    charts[1].setProgressiveRenderingPoints(300);
+    Assert.assertEquals(300, charts[1].getProgressiveRenderingPoints());
+    charts[1].setProgressiveRenderingMillis(1);
+    Assert.assertEquals(1, charts[1].getProgressiveRenderingMillis());
+
+    BufferedImage expected = this.paint(charts[0]);
+    BufferedImage preview = this.paint(charts[1]);
+    Assert.assertFalse("Preview renders all points.", Arrays.equals(expected.getRGB(0, 0, 400, 300, null, 0, 400), preview.getRGB(0, 0, 400,
+        300, null, 0, 400)));
+    // cancel the refinement after some passes:
+    this.paint(charts[1]);
+    this.paint(charts[1]);
+    for (int i = 0; i < charts.length; i++) {
+      traces[i].addPoint(200, 5);
+    }
+    expected = this.paint(charts[0]);
+    // preview and the passes that each resume after the previous one:
+    BufferedImage actual;
+    int passes = 0;
+    boolean refining;
+    do {
+      // the repaint timer must not take the request for the next pass:
+      synchronized (charts[1]) {
+        charts[1].setRequestedRepaint(false);
+        actual = this.paint(charts[1]);
+        refining = charts[1].isRequestedRepaint();
+      }
+      passes++;
+    } while (refining && passes < 10000);
+    Assert.assertTrue("Refinement does not complete.", passes < 10000);
+    this.assertImagesEqual(expected, actual);
+    // the completed rendering is cached:
+    this.assertImagesEqual(expected, this.paint(charts[1]));
+
+    charts[1].setProgressiveRenderingPoints(0);
+    this.assertImagesEqual(expected, this.paint(charts[1]));
+    for (Chart2D chart : charts) {
+      chart.destroy();
+    }
+  }
+
+  /**
+   * Tests that a chart with parallel rendering renders like a chart without it,
+   * also for a trace with discontinuations and points outside of the visible
+   * area.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testParallelRendering() {
+    ITrace2D[] traces = new ITrace2D[2];
+    Chart2D[] charts = new Chart2D[2];
+    for (int i = 0; i < charts.length; i++) {
+      charts[i] = new Chart2D();
+      charts[i].setSize(400, 300);
+      charts[i].getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 5000)));
+      charts[i].getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+      traces[i] = new Trace2DSimple();
+      traces[i].setName("trace");
+      charts[i].addTrace(traces[i]);
+      for (int k = 0; k < 60000; k++) {
+        traces[i].addPoint(k / 10.0, (k % 20000 == 0) ? Double.NaN : 5 + 6 * Math.sin(k / 30.0));
+      }
+    }
+    try {
+      charts[1].setParallelRenderingThreads(0);
+      Assert.fail("Zero rendering threads accepted.");
+    } catch (IllegalArgumentException expected) {
+      // nop
+    }
+    charts[1].setParallelRenderingThreads(4);
+    Assert.assertEquals(4, charts[1].getParallelRenderingThreads());
+    this.assertImagesEqual(this.paint(charts[0]), this.paint(charts[1]));
+    // reused tiles:
+    TracePainterDisc[] discs = new TracePainterDisc[charts.length];
+    for (int i = 0; i < charts.length; i++) {
+      discs[i] = new TracePainterDisc();
+      traces[i].setTracePainter(discs[i]);
+    }
+    this.assertImagesEqual(this.paint(charts[0]), this.paint(charts[1]));
+    // the same painters reconfigured:
+    for (int i = 0; i < charts.length; i++) {
+      discs[i].setDiscSize(12);
+    }
+    this.assertImagesEqual(this.paint(charts[0]), this.paint(charts[1]));
+
+    // the buffer of the points is released with the trace:
+    charts[1].removeTrace(traces[1]);
+    this.paint(charts[1]);
+    try {
+      Field buffer = Chart2D.class.getDeclaredField("m_traceTilePoints");
+      buffer.setAccessible(true);
+      Assert.assertNull(buffer.get(charts[1]));
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    }
+    for (Chart2D chart : charts) {
+      chart.destroy();
+    }
+  }
+
+  /**
+   * Tests that a trace beyond the range of its x axis is neither painted nor
+   * searched for the nearest point, although its points were scaled for
+   * another range, and that it is scaled again once a point gets into range.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testTraceCulling() {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+    ITrace2D inRange = new Trace2DSimple();
+    inRange.setColor(Color.BLUE);
+    chart.addTrace(inRange);
+    ITrace2D culled = new Trace2DSimple();
+    culled.setColor(Color.RED);
+    chart.addTrace(culled);
+    for (int i = 0; i <= 10; i++) {
+      inRange.addPoint(i, 1);
+      culled.addPoint(20 + i, 5);
+    }
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(15, 35)));
+    this.paint(chart);
+    Assert.assertEquals(1, chart.getCulledTraces());
+    // the culled trace keeps the scaling of the previous range:
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+    Assert.assertFalse(this.containsChartAreaColor(this.paint(chart), chart, Color.RED));
+    Assert.assertEquals(1, chart.getCulledTraces());
+    int x = chart.getXChartStart() + (chart.getXChartEnd() - chart.getXChartStart()) / 4;
+    int y = chart.getYChartEnd() + (chart.getYChartStart() - chart.getYChartEnd()) / 2;
+    Assert.assertEquals(1.0, chart.getNearestPointEuclid(x, y).getY(), 0.0);
+    Assert.assertEquals(1.0, chart.getNearestPointManhattan(x, y).getY(), 0.0);
+
+    // at the minimum of the axis: the bounds of the axis do not change
+    culled.addPoint(0, 5);
+    Assert.assertTrue(this.containsChartAreaColor(this.paint(chart), chart, Color.RED));
+    Assert.assertEquals(0, chart.getCulledTraces());
+    Assert.assertEquals(2.0, culled.iterator().next().getScaledX(), 0.0);
+    chart.destroy();
+  }
+
+  /**
+   * Returns true if the given image of the given chart contains a pixel of the
+   * given color within the chart area.
+   * <p>
+   * 
+   * @param image
+   *          the image of the chart.
+   * 
+   * @param chart
+   *          the painted chart.
+   * 
+   * @param color
+   *          the color to search.
+   * 
+   * @return true if the given image contains a pixel of the given color within
+   *         the chart area.
+   */
+  private boolean containsChartAreaColor(final BufferedImage image, final Chart2D chart, final Color color) {
+    for (int x = chart.getXChartStart(); x <= chart.getXChartEnd(); x++) {
+      for (int y = chart.getYChartEnd(); y <= chart.getYChartStart(); y++) {
+        if (image.getRGB(x, y) == color.getRGB()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Tests that the density trace painter colors exactly the pixels hit by
+   * points with a color depending on the amount of points and that a repaint
+   * starts with an empty histogram.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testTracePainterDensity() {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+    ITrace2D trace = new Trace2DSimple();
+    chart.addTrace(trace);
+    trace.setTracePainter(new TracePainterDensity(chart));
+    trace.addPoint(2, 2);
+    for (int i = 0; i < 100; i++) {
+      trace.addPoint(5, 5);
+    }
+    Map<Integer, Integer> colored = this.getDensityPixels(chart);
+    Assert.assertEquals(2, colored.size());
+    Assert.assertEquals(2, new HashSet<Integer>(colored.values()).size());
+    // a repaint does not accumulate the counts of the previous paint:
+    Assert.assertEquals(colored, this.getDensityPixels(chart));
+
+    for (int i = 0; i < 100; i++) {
+      trace.addPoint(8, 8);
+    }
+    Map<Integer, Integer> recolored = this.getDensityPixels(chart);
+    Assert.assertEquals(3, recolored.size());
+    Assert.assertEquals(2, new HashSet<Integer>(recolored.values()).size());
+    Assert.assertTrue(recolored.entrySet().containsAll(colored.entrySet()));
+    chart.destroy();
+  }
+
+  /**
+   * Tests that the density trace painter keeps the histogram of a trace up to
+   * date with the added and removed points without iterating the trace and
+   * that it counts the same points as if the chart submitted them: Including
+   * the first point of the trace and the first point after a discontinuation.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testTracePainterDensityIncremental() {
+    final int[] iterations = new int[1];
+    Chart2D[] charts = new Chart2D[2];
+    ITrace2D[] traces = new ITrace2D[2];
+    for (int i = 0; i < charts.length; i++) {
+      charts[i] = new Chart2D();
+      charts[i].setSize(400, 300);
+      charts[i].getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+      charts[i].getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+    }
+    traces[0] = new Trace2DSimple() {
+      /** Generated <code>serialVersionUID</code>. */
+      private static final long serialVersionUID = -7395254413834713416L;
+
+      @Override
+      public Iterator<ITracePoint2D> iterator() {
+        iterations[0]++;
+        return super.iterator();
+      }
+    };
+    traces[1] = new Trace2DSimple();
+    charts[0].addTrace(traces[0]);
+    traces[0].setTracePainter(new TracePainterDensity(charts[0]));
+    // a painter that needs the points makes the chart submit them to the density painter:
+    charts[1].addTrace(traces[1]);
+    traces[1].setColor(new Color(0, 0, 0, 0));
+    traces[1].setTracePainter(new TracePainterLine());
+    traces[1].addTracePainter(new TracePainterDensity(charts[1]));
+    Random random = new Random(4711);
+    for (ITrace2D trace : traces) {
+      trace.addPoint(Double.NaN, Double.NaN);
+      // only run of the column:
+      trace.addPoint(0.5, 9.5);
+      trace.addPoint(0.5, 8.5);
+      trace.addPoint(Double.NaN, Double.NaN);
+      trace.addPoint(9.5, 9.5);
+      trace.addPoint(9.5, 8.5);
+    }
+    Map<Integer, Integer> colored = this.getDensityPixels(charts[0]);
+    Assert.assertEquals(4, colored.size());
+    Assert.assertEquals(colored, this.getDensityPixels(charts[1]));
+
+    int rebuilt = iterations[0];
+    for (int i = 0; i < 1000; i++) {
+      double x = random.nextDouble() * 14 - 2;
+      double y = random.nextDouble() * 14 - 2;
+      for (ITrace2D trace : traces) {
+        trace.addPoint(x, y);
+      }
+    }
+    colored = this.getDensityPixels(charts[0]);
+    Assert.assertEquals(rebuilt, iterations[0]);
+    Assert.assertEquals(colored, this.getDensityPixels(charts[1]));
+
+    for (ITrace2D trace : traces) {
+      Iterator<ITracePoint2D> it = trace.iterator();
+      // a point within the random run:
+      for (int j = 0; j < 10; j++) {
+        it.next();
+      }
+      trace.removePoint(it.next());
+    }
+    rebuilt = iterations[0];
+    colored = this.getDensityPixels(charts[0]);
+    Assert.assertEquals(rebuilt, iterations[0]);
+    Assert.assertEquals(colored, this.getDensityPixels(charts[1]));
+
+    // new axis range: computed anew
+    for (Chart2D chart : charts) {
+      chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(-1, 5)));
+    }
+    colored = this.getDensityPixels(charts[0]);
+    Assert.assertTrue(rebuilt < iterations[0]);
+    Assert.assertEquals(colored, this.getDensityPixels(charts[1]));
+    for (Chart2D chart : charts) {
+      chart.destroy();
+    }
+  }
+
+  /**
+   * Paints the given chart and returns the colors of the pixels inside the
+   * chart area that differ from the background, keyed by their position.
+   * <p>
+   * 
+   * @param chart
+   *          the chart to paint.
+   * 
+   * @return the colors of the pixels inside the chart area that differ from
+   *         the background, keyed by their position.
+   */
+  private Map<Integer, Integer> getDensityPixels(final Chart2D chart) {
+    BufferedImage image = this.paint(chart);
+    int background = image.getRGB(chart.getXChartStart() + 1, chart.getYChartEnd() + 1);
+    Map<Integer, Integer> result = new HashMap<Integer, Integer>();
+    int rgb;
+    for (int x = chart.getXChartStart() + 1; x < chart.getXChartEnd(); x++) {
+      for (int y = chart.getYChartEnd() + 1; y < chart.getYChartStart(); y++) {
+        rgb = image.getRGB(x, y);
+        if (rgb != background) {
+          result.put(Integer.valueOf(y * image.getWidth() + x), Integer.valueOf(rgb));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Ensures that cached error bars are computed anew if the error bar
+   * configuration or the axis ranges change.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testErrorBarCaching() {
+    Chart2D chart = this.createErrorBarChart(0.1, new Range(0, 10));
+    ErrorBarPolicyRelative policy = (ErrorBarPolicyRelative) chart.getTraces().first().getErrorBarPolicies().iterator().next();
+    // fill the cache:
+    this.paint(chart);
+    this.assertErrorBarChartPaint(0.1, new Range(0, 10), chart);
+
+    policy.setRelativeYError(0.3);
+    this.assertErrorBarChartPaint(0.3, new Range(0, 10), chart);
+
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(2, 8)));
+    this.assertErrorBarChartPaint(0.3, new Range(2, 8), chart);
+    chart.destroy();
+  }
+
+  /**
+   * Asserts that the given chart renders like a new chart created by
+   * <code>{@link #createErrorBarChart(double, Range)}</code> with the given
+   * arguments.
+   * <p>
+   * 
+   * @param relativeYError
+   *          the relative y error of the expected chart.
+   * 
+   * @param rangeY
+   *          the fixed y range of the expected chart.
+   * 
+   * @param actual
+   *          the chart to check.
+   */
+  private void assertErrorBarChartPaint(final double relativeYError, final Range rangeY, final Chart2D actual) {
+    Chart2D expected = this.createErrorBarChart(relativeYError, rangeY);
+    this.assertImagesEqual(this.paint(expected), this.paint(actual));
+    expected.destroy();
+  }
+
+  /**
+   * Creates a chart with a sine trace with relative error bars in all
+   * directions.
+   * <p>
+   * 
+   * @param relativeYError
+   *          the relative y error of the error bars.
+   * 
+   * @param rangeY
+   *          the fixed y range of the chart.
+   * 
+   * @return a chart with a sine trace with relative error bars.
+   */
+  private Chart2D createErrorBarChart(final double relativeYError, final Range rangeY) {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(rangeY));
+    ITrace2D trace = new Trace2DSimple();
+    trace.setName("trace");
+    chart.addTrace(trace);
+    ErrorBarPolicyRelative policy = new ErrorBarPolicyRelative(0.1, relativeYError);
+    policy.setShowNegativeXErrors(true);
+    policy.setShowPositiveXErrors(true);
+    policy.setShowNegativeYErrors(true);
+    policy.setShowPositiveYErrors(true);
+    ErrorBarPainter painter = new ErrorBarPainter();
+    painter.setStartPointPainter(new PointPainterDisc(4));
+    policy.setErrorBarPainter(painter);
+    trace.setErrorBarPolicy(policy);
+    for (int k = 0; k < 100; k++) {
+      trace.addPoint(k, 5 + 4 * Math.sin(k / 5.0));
+    }
+    return chart;
+  }
+
+  /**
+   * Tests that <code>{@link Chart2D#render(Graphics2D, int, int)}</code> with a
+   * different size leaves the state of the on-screen chart alone: Its layout,
+   * the pixel bounds of its axes, its adaptive quality policy and its
+   * visibility events.
+   * <p>
+   * 
+   * @org.junit.Test
+   */
+  public void testRenderKeepsScreenState() {
+    Chart2D chart = this.createRealizedFixedViewportChart(300);
+    AdaptiveQualityPolicy policy = new AdaptiveQualityPolicy(10000, 100, 1);
+    chart.setAdaptiveQualityPolicy(policy);
+    final List<String> events = new LinkedList<String>();
+    chart.addPropertyChangeListener(Chart2D.PROPERTY_BEFORE_VISIBLE, new PropertyChangeListener() {
+      public void propertyChange(final PropertyChangeEvent evt) {
+        events.add(evt.getPropertyName());
+      }
+    });
+
+    BufferedImage rendered = chart.render(new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB));
+    // the layout was computed for the rendered size:
+    Color trace = chart.getTraces().first().getColor();
+    boolean beyondScreenSize = false;
+    for (int x = 450; x < 800 && !beyondScreenSize; x++) {
+      for (int y = 0; y < 600 && !beyondScreenSize; y++) {
+        beyondScreenSize = rendered.getRGB(x, y) == trace.getRGB();
+      }
+    }
+    Assert.assertTrue(beyondScreenSize);
+    Assert.assertEquals(0, events.size());
+    Assert.assertFalse(policy.isDegraded());
+
+    this.paint(chart);
+    Assert.assertEquals(1, events.size());
+    Assert.assertTrue(policy.isDegraded());
+    policy.restore();
+    int xChartStart = chart.getXChartStart();
+    int xChartEnd = chart.getXChartEnd();
+    int yChartStart = chart.getYChartStart();
+    int yChartEnd = chart.getYChartEnd();
+    IAxis< ? > axisX = chart.getAxisX();
+    int pixelXRight = axisX.getPixelXRight();
+    int pixelYBottom = chart.getAxisY().getPixelYBottom();
+    Assert.assertTrue(xChartEnd < 400);
+
+    chart.render(new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB));
+    Assert.assertEquals(xChartStart, chart.getXChartStart());
+    Assert.assertEquals(xChartEnd, chart.getXChartEnd());
+    Assert.assertEquals(yChartStart, chart.getYChartStart());
+    Assert.assertEquals(yChartEnd, chart.getYChartEnd());
+    Assert.assertEquals(pixelXRight, axisX.getPixelXRight());
+    Assert.assertEquals(pixelYBottom, chart.getAxisY().getPixelYBottom());
+    Assert.assertEquals(400, chart.getWidth());
+    Assert.assertEquals(1, events.size());
+    Assert.assertFalse(policy.isDegraded());
+    chart.destroy();
+  }
+
+  /**
+   * Tests that charts that have never been realized can be rendered
+   * concurrently by <code>{@link Chart2D#render(BufferedImage)}</code> with
+   * the same result as sequentially and without changing their size.
+   * <p>
+   * 
+   * @throws Exception
+   *           if rendering fails.
+   * 
+   * @org.junit.Test
+   */
+  public void testRenderConcurrently() throws Exception {
+    final Chart2D[] charts = new Chart2D[8];
+    BufferedImage[] expected = new BufferedImage[charts.length];
+    for (int i = 0; i < charts.length; i++) {
+      ITrace2D trace = new Trace2DSimple();
+      charts[i] = this.createFixedViewportChart(trace, 100 + i * 10);
+      expected[i] = charts[i].render(new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB));
+      Assert.assertEquals(0, charts[i].getWidth());
+      Assert.assertEquals(0, charts[i].getHeight());
+    }
+    // points beyond the first 100 have to be rendered although the charts are
+    // not realized:
+    this.assertImagesEqual(this.paint(this.createRealizedFixedViewportChart(100 + (charts.length - 1) * 10)), expected[charts.length - 1]);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<BufferedImage>> results = new LinkedList<Future<BufferedImage>>();
+      for (int round = 0; round < 4; round++) {
+        for (int i = 0; i < charts.length; i++) {
+          final Chart2D chart = charts[i];
+          results.add(executor.submit(new Callable<BufferedImage>() {
+            public BufferedImage call() {
+              return chart.render(new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB));
+            }
+          }));
+        }
+      }
+      int index = 0;
+      for (Future<BufferedImage> result : results) {
+        this.assertImagesEqual(expected[index % charts.length], result.get());
+        index++;
+      }
+    } finally {
+      executor.shutdown();
+    }
+    for (Chart2D chart : charts) {
+      Assert.assertEquals(0, chart.getWidth());
+      chart.destroy();
+    }
+  }
+
+  /**
+   * Paints a static chart repeatedly to a <code>{@link MockGraphics2D}</code>
+   * and asserts that painting the traces creates (almost) no garbage in steady
+   * state.
+   * <p>
+   * 
+   * The background layer is cached as formatting the axis labels creates
+   * strings in every paint operation. The allocated bytes are read from the
+   * <code>com.sun.management.ThreadMXBean</code> via reflection: The test is
+   * skipped on virtual machines that do not provide it.
+   * <p>
+   * 
+   * @throws Exception
+   *           if something goes wrong.
+   */
+  public void testPaintAllocation() throws Exception {
+    Object threadBean = ManagementFactory.getThreadMXBean();
+    Method allocatedBytes;
+    try {
+      Class< ? > threadBeanClass = Class.forName("com.sun.management.ThreadMXBean");
+      if (!threadBeanClass.isInstance(threadBean)
+          || !((Boolean) threadBeanClass.getMethod("isThreadAllocatedMemorySupported").invoke(threadBean)).booleanValue()
+          || !((Boolean) threadBeanClass.getMethod("isThreadAllocatedMemoryEnabled").invoke(threadBean)).booleanValue()) {
+        // not measurable on this virtual machine:
+        return;
+      }
+      allocatedBytes = threadBeanClass.getMethod("getThreadAllocatedBytes", long.class);
+    } catch (ClassNotFoundException e) {
+      // not measurable on this virtual machine:
+      return;
+    } catch (NoSuchMethodException e) {
+      // not measurable on this virtual machine:
+      return;
+    }
+    // points exceed the viewport to include clipping:
+    Chart2D chart = this.createRealizedFixedViewportChart(300);
+    ITrace2D filled = new Trace2DSimple();
+    filled.setName("filled");
+    chart.addTrace(filled);
+    filled.setTracePainter(new TracePainterFill(chart));
+    for (int i = 0; i < 300; i++) {
+      filled.addPoint(i, (i % 20) / 4.0);
+    }
+    chart.setBackgroundLayerCaching(true);
+    MockGraphics2D graphics = new MockGraphics2D();
+    Long threadId = Long.valueOf(Thread.currentThread().getId());
+    // warm up (caches, buffers and JIT):
+    for (int i = 0; i < 500; i++) {
+      chart.paintComponent(graphics);
+    }
+    final int frames = 500;
+    long before = ((Long) allocatedBytes.invoke(threadBean, threadId)).longValue();
+    for (int i = 0; i < frames; i++) {
+      chart.paintComponent(graphics);
+    }
+    long after = ((Long) allocatedBytes.invoke(threadBean, threadId)).longValue();
+    Assert.assertTrue("Measuring the allocated bytes failed.", before > 0 && after >= before);
+    long bytesPerFrame = (after - before) / frames;
+    Assert.assertTrue("Painting allocates " + bytesPerFrame + " bytes per frame.", bytesPerFrame < 1024);
+    chart.destroy();
+  }
+
+  /**
+   * Tests that a chart with an <code>{@link AdaptiveQualityPolicy}</code>
+   * renders without antialiasing after a frame exceeded the point budget and
+   * restores full quality once after being idle.
+   * <p>
+   * 
+   * @throws InterruptedException
+   *           if interrupted while waiting for the idle delay.
+   */
+  public void testAdaptiveQuality() throws InterruptedException {
+    Chart2D chart = this.createRealizedFixedViewportChart(300);
+    chart.setUseAntialiasing(true);
+    AdaptiveQualityPolicy policy = new AdaptiveQualityPolicy(10000, 100, 1);
+    chart.setAdaptiveQualityPolicy(policy);
+    Assert.assertSame(policy, chart.getAdaptiveQualityPolicy());
+    MockGraphics2D graphics = new MockGraphics2D();
+
+    chart.paintComponent(graphics);
+    Assert.assertEquals(RenderingHints.VALUE_ANTIALIAS_ON, graphics.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+    Assert.assertTrue(policy.isDegraded());
+    chart.paintComponent(graphics);
+    Assert.assertEquals(RenderingHints.VALUE_ANTIALIAS_OFF, graphics.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+
+    Thread.sleep(20);
+    Assert.assertTrue(policy.isRestoreDue());
+    policy.restore();
+    chart.paintComponent(graphics);
+    Assert.assertEquals(RenderingHints.VALUE_ANTIALIAS_ON, graphics.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+    // still over budget but the full quality frame must not cause another
+    // restoration:
+    Assert.assertTrue(policy.isDegraded());
+    Thread.sleep(20);
+    Assert.assertFalse(policy.isRestoreDue());
+
+    chart.setAdaptiveQualityPolicy(null);
+    chart.paintComponent(graphics);
+    Assert.assertEquals(RenderingHints.VALUE_ANTIALIAS_ON, graphics.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+    chart.destroy();
+  }
+
+  /**
+   * Creates a chart with a fixed viewport and a trace with the given amount of
+   * points that has the size of 400 x 300 pixels before the points are added.
+   * <p>
+   * 
+   * @param points
+   *          the amount of points to add.
+   * 
+   * @return a chart with a size and a fixed viewport showing a trace.
+   */
+  private Chart2D createRealizedFixedViewportChart(final int points) {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 200)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 10)));
+    ITrace2D trace = new Trace2DSimple();
+    trace.setName("trace");
+    chart.addTrace(trace);
+    for (int i = 0; i < points; i++) {
+      trace.addPoint(i, i % 10);
+    }
+    return chart;
+  }
+
 }
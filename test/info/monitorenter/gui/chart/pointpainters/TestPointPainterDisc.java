@@ -0,0 +1,112 @@
+/*
+ *  TestPointPainterDisc.java of project jchart2d, tests the rendering modes
+ *  of PointPainterDisc. 
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ *
+ */
+package info.monitorenter.gui.chart.pointpainters;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the <code>{@link PointPainterDisc.RenderingMode}</code>
+ * variants of <code>{@link PointPainterDisc}</code>.
+ * <p>
+ * 
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann</a>
+ */
+public class TestPointPainterDisc {
+
+  /** Size of the images to paint to. */
+  private static final int IMAGE_SIZE = 600;
+
+  /**
+   * Paints the given points in one paint iteration with the given mode.
+   * <p>
+   * 
+   * @param mode
+   *          the rendering mode to use.
+   * 
+   * @param xs
+   *          the x coordinates of the points.
+   * 
+   * @param ys
+   *          the y coordinates of the points.
+   * 
+   * @return the image painted to.
+   */
+  private BufferedImage paint(final PointPainterDisc.RenderingMode mode, final int[] xs, final int[] ys) {
+    final PointPainterDisc painter = new PointPainterDisc(6);
+    painter.setColorFill(Color.YELLOW);
+    painter.setRenderingMode(mode);
+    final BufferedImage image = new BufferedImage(IMAGE_SIZE, IMAGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+    final Graphics2D g2d = image.createGraphics();
+    g2d.setColor(Color.RED);
+    g2d.setStroke(new BasicStroke(2f));
+    painter.startPaintIteration(g2d);
+    for (int i = 0; i < xs.length; i++) {
+      painter.paintPoint(xs[i], ys[i], xs[i], ys[i], g2d, null);
+    }
+    painter.endPaintIteration(g2d);
+    g2d.dispose();
+    return image;
+  }
+
+  /**
+   * Asserts that stamped sprites are pixel - identical to the primitive
+   * rendering of discs within and at the border of the image.
+   * <p>
+   */
+  @Test
+  public void testRenderingModesEquivalent() {
+    final int[] xs = new int[] {10, 50, 300, 599 };
+    final int[] ys = new int[] {10, 80, 300, 599 };
+    final BufferedImage primitive = this.paint(PointPainterDisc.RenderingMode.PRIMITIVE, xs, ys);
+    final BufferedImage sprite = this.paint(PointPainterDisc.RenderingMode.SPRITE, xs, ys);
+    for (int x = 0; x < IMAGE_SIZE; x++) {
+      for (int y = 0; y < IMAGE_SIZE; y++) {
+        Assert.assertEquals("Sprite differs at " + x + "," + y, primitive.getRGB(x, y), sprite.getRGB(x, y));
+      }
+    }
+    Assert.assertEquals(Color.YELLOW.getRGB(), sprite.getRGB(300, 300));
+    Assert.assertEquals(Color.RED.getRGB(), sprite.getRGB(303, 300));
+    Assert.assertEquals(0, sprite.getRGB(310, 300));
+  }
+
+  /**
+   * Asserts that painters with different rendering modes are not equal.
+   * <p>
+   */
+  @Test
+  public void testEqualsRenderingMode() {
+    final PointPainterDisc primitive = new PointPainterDisc(6);
+    final PointPainterDisc sprite = new PointPainterDisc(6);
+    Assert.assertEquals(primitive, sprite);
+    Assert.assertEquals(primitive.hashCode(), sprite.hashCode());
+    sprite.setRenderingMode(PointPainterDisc.RenderingMode.SPRITE);
+    Assert.assertFalse(primitive.equals(sprite));
+    Assert.assertFalse(primitive.hashCode() == sprite.hashCode());
+  }
+}
@@ -44,6 +44,7 @@ import org.junit.runners.Suite;
     info.monitorenter.gui.chart.labelformatters.AllTests.class,
     info.monitorenter.gui.chart.tracepoints.AllTests.class,
     info.monitorenter.gui.chart.traces.AllTests.class,
+    info.monitorenter.gui.util.AllTests.class,
     info.monitorenter.util.collections.AllTests.class })
 public final class AllTests {
   // nop
@@ -31,7 +31,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({TestTrace2D.class, TestTrace2DLtd.class, TestTrace2DReplacing.class, TestTrace2DSimple.class })
+@SuiteClasses({TestAccumulationCache.class, TestNearestPointIndex.class, TestTrace2D.class, TestTrace2DLtd.class, TestTrace2DReplacing.class, TestTrace2DSimple.class, TestTrace2DSorted.class })
 public class AllTests {
 
 }
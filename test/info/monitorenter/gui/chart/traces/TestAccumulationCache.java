@@ -0,0 +1,204 @@
+/*
+ *  TestAccumulationCache.java of project jchart2d, junit tests for
+ *  the cache of accumulated points.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.rangepolicies.RangePolicyFixedViewport;
+import info.monitorenter.gui.chart.tracepoints.TracePoint2D;
+import info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionMinMaxY;
+import info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyXRangeWithRespectToDensity;
+import info.monitorenter.util.Range;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the caching of accumulated points by
+ * {@link ATrace2D#iterator(int)} ({@link AccumulationCache}).
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class TestAccumulationCache {
+
+  /** The accumulation strategy of the trace. */
+  private AccumulationStrategyXRangeWithRespectToDensity m_strategy;
+
+  /** Trace needed for test. */
+  private Trace2DSimple m_trace;
+
+  /**
+   * Adds the given amount of spiky points continuing the x values of the
+   * trace.
+   * <p>
+   *
+   * @param amount
+   *          the amount of points to add.
+   */
+  private void addPoints(final int amount) {
+    int size = this.m_trace.getSize();
+    for (int i = size; i < size + amount; i++) {
+      this.m_trace.addPoint(new TracePoint2D(i / 100.0, (i % 7 == 0) ? 90 : 40 + (i % 5)));
+    }
+  }
+
+  /**
+   * Asserts that the cached points of the trace have the same coordinates as
+   * the points of a new accumulation of the whole trace.
+   * <p>
+   *
+   * @param windows
+   *          the amount of x-range windows.
+   *
+   * @return the cached points of the trace.
+   */
+  private List<ITracePoint2D> assertSameAsAccumulation(final int windows) {
+    List<ITracePoint2D> cached = this.iterate(windows);
+    List<ITracePoint2D> expected = new ArrayList<ITracePoint2D>();
+    Iterator<ITracePoint2D> it = this.m_strategy.iterator(this.m_trace, windows);
+    while (it.hasNext()) {
+      expected.add(it.next());
+    }
+    Assert.assertEquals(expected.size(), cached.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assert.assertEquals("Point " + i, expected.get(i).getX(), cached.get(i).getX(), 0.0);
+      Assert.assertEquals("Point " + i, expected.get(i).getY(), cached.get(i).getY(), 0.0);
+    }
+    return cached;
+  }
+
+  /**
+   * Returns all points of {@link ATrace2D#iterator(int)} of the test trace.
+   * <p>
+   * The points are scaled before as this is only done when painting.
+   * <p>
+   *
+   * @param windows
+   *          the amount of x-range windows.
+   *
+   * @return all points of {@link ATrace2D#iterator(int)} of the test trace.
+   */
+  private List<ITracePoint2D> iterate(final int windows) {
+    Chart2D chart = this.m_trace.getRenderer();
+    chart.getAxisX().scale();
+    chart.getAxisY().scale();
+    List<ITracePoint2D> result = new ArrayList<ITracePoint2D>();
+    Iterator<ITracePoint2D> it = this.m_trace.iterator(windows);
+    while (it.hasNext()) {
+      result.add(it.next());
+    }
+    return result;
+  }
+
+  /**
+   * JUnit setup.
+   */
+  @Before
+  public void setUp() {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    this.m_trace = new Trace2DSimple();
+    chart.addTrace(this.m_trace);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    this.m_strategy = new AccumulationStrategyXRangeWithRespectToDensity(new AccumulationFunctionMinMaxY());
+    this.m_trace.setAccumulationStrategy(this.m_strategy);
+  }
+
+  /**
+   * Appends points in several steps and asserts that the cached points are
+   * extended to the result of an accumulation of the whole trace without
+   * accumulating the points before the last window again.
+   * <p>
+   */
+  @Test
+  public void testAppend() {
+    this.addPoints(1000);
+    List<ITracePoint2D> before = this.assertSameAsAccumulation(50);
+    for (int i = 1; i < 20; i++) {
+      this.addPoints(i * 13);
+      List<ITracePoint2D> after = this.assertSameAsAccumulation(50);
+      // accumulated points of finished windows are kept:
+      Assert.assertSame(before.get(1), after.get(1));
+      before = after;
+    }
+  }
+
+  /**
+   * Asserts that the cached points are replaced after the range of an axis,
+   * the amount of desired points, the accumulation function or the points
+   * (other than by appending) changed.
+   * <p>
+   */
+  @Test
+  public void testInvalidation() {
+    this.addPoints(1000);
+    List<ITracePoint2D> before = this.assertSameAsAccumulation(50);
+
+    this.m_trace.getRenderer().getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 50)));
+    List<ITracePoint2D> after = this.assertSameAsAccumulation(50);
+    Assert.assertNotSame(before.get(1), after.get(1));
+
+    before = this.assertSameAsAccumulation(60);
+    Assert.assertNotSame(after.get(1), before.get(1));
+
+    this.m_strategy.setAccumulationFunction(new AccumulationFunctionMinMaxY());
+    after = this.assertSameAsAccumulation(60);
+    Assert.assertNotSame(before.get(1), after.get(1));
+
+    this.m_trace.iterator().next().setLocation(0.0, 10.0);
+    before = this.assertSameAsAccumulation(60);
+    Assert.assertEquals(10.0, before.get(0).getY(), 0.0);
+
+    this.m_trace.removePoint(this.m_trace.iterator().next());
+    after = this.assertSameAsAccumulation(60);
+    Assert.assertEquals(0.01, after.get(0).getX(), 0.0);
+
+    this.m_trace.removeAllPoints();
+    Assert.assertEquals(0, this.iterate(60).size());
+  }
+
+  /**
+   * Asserts that the same accumulated points are returned for an unmodified
+   * trace.
+   * <p>
+   */
+  @Test
+  public void testUnmodified() {
+    this.addPoints(1000);
+    int modifications = this.m_trace.getModificationCount();
+    List<ITracePoint2D> before = this.assertSameAsAccumulation(50);
+    List<ITracePoint2D> after = this.iterate(50);
+    Assert.assertEquals(modifications, this.m_trace.getModificationCount());
+    Assert.assertEquals(before.size(), after.size());
+    for (int i = 0; i < before.size(); i++) {
+      Assert.assertSame(before.get(i), after.get(i));
+    }
+  }
+}
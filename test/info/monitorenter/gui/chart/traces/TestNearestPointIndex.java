@@ -0,0 +1,148 @@
+/*
+ *  TestNearestPointIndex.java of project jchart2d, junit tests for the
+ *  spatial index for finding the nearest point of a trace.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.ITrace2D.DistancePoint;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.rangepolicies.RangePolicyFixedViewport;
+import info.monitorenter.gui.chart.tracepoints.TracePoint2D;
+import info.monitorenter.util.Range;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the search of the nearest point by
+ * {@link ATrace2D#getNearestPointEuclid(double, double)} and
+ * {@link ATrace2D#getNearestPointManhattan(double, double)} with a
+ * {@link NearestPointIndex}.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class TestNearestPointIndex {
+
+  /** Trace needed for test. */
+  private Trace2DSimple m_trace;
+
+  /**
+   * Asserts that the nearest points found for random positions (also outside
+   * of the visible range) are the ones found by a scan over all points.
+   * <p>
+   *
+   * @param random
+   *          the source of the positions.
+   */
+  private void assertSameAsScan(final Random random) {
+    Chart2D chart = this.m_trace.getRenderer();
+    chart.getAxisX().scale();
+    chart.getAxisY().scale();
+    for (int i = 0; i < 200; i++) {
+      double x = random.nextDouble() * 1.4 - 0.2;
+      double y = random.nextDouble() * 1.4 - 0.2;
+      for (int manhattan = 0; manhattan < 2; manhattan++) {
+        ITracePoint2D expected = null;
+        double shortestDistance = Double.MAX_VALUE;
+        for (Iterator<ITracePoint2D> it = this.m_trace.iterator(); it.hasNext();) {
+          ITracePoint2D point = it.next();
+          double distance = (manhattan == 1) ? point.getManhattanDistance(x, y) : point.getEuclidDistance(x, y);
+          if (!point.isDiscontinuation() && distance < shortestDistance) {
+            shortestDistance = distance;
+            expected = point;
+          }
+        }
+        DistancePoint result = (manhattan == 1) ? this.m_trace.getNearestPointManhattan(x, y) : this.m_trace
+            .getNearestPointEuclid(x, y);
+        Assert.assertSame("Position " + x + ", " + y, expected, result.getPoint());
+        Assert.assertEquals(shortestDistance, result.getDistance(), 0.0);
+      }
+    }
+  }
+
+  /**
+   * JUnit setup.
+   */
+  @Before
+  public void setUp() {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    this.m_trace = new Trace2DSimple();
+    chart.addTrace(this.m_trace);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+  }
+
+  /**
+   * Searches random positions in a trace with clusters, points outside of the
+   * visible range and discontinuations.
+   * <p>
+   */
+  @Test
+  public void testSameAsScan() {
+    Random random = new Random(42);
+    for (int i = 0; i < 20000; i++) {
+      if (i % 1000 == 999) {
+        this.m_trace.addPoint(new TracePoint2D(Double.NaN, Double.NaN));
+      } else if (i % 3 == 0) {
+        // cluster:
+        this.m_trace.addPoint(new TracePoint2D(30 + random.nextGaussian(), 60 + random.nextGaussian()));
+      } else {
+        this.m_trace.addPoint(new TracePoint2D(random.nextDouble() * 140 - 20, random.nextDouble() * 140 - 20));
+      }
+    }
+    this.assertSameAsScan(random);
+  }
+
+  /**
+   * Asserts that the index is built again after the trace has been modified or
+   * rescaled.
+   * <p>
+   */
+  @Test
+  public void testInvalidation() {
+    Random random = new Random(7);
+    for (int i = 0; i < 5000; i++) {
+      this.m_trace.addPoint(new TracePoint2D(i / 50.0, 50 + 20 * Math.sin(i / 100.0)));
+    }
+    this.assertSameAsScan(random);
+
+    // rescale:
+    this.m_trace.getRenderer().getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(20, 40)));
+    this.assertSameAsScan(random);
+
+    // modify:
+    ITracePoint2D point = this.m_trace.iterator().next();
+    point.setLocation(30, 90);
+    this.assertSameAsScan(random);
+    Assert.assertSame(point, this.m_trace.getNearestPointEuclid(0.5, 0.9).getPoint());
+
+    this.m_trace.removePoint(point);
+    Assert.assertNotSame(point, this.m_trace.getNearestPointEuclid(0.5, 0.9).getPoint());
+    this.assertSameAsScan(random);
+  }
+}
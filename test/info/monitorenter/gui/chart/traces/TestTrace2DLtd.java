@@ -22,8 +22,10 @@
 package info.monitorenter.gui.chart.traces;
 
 import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.IPointPainter;
 import info.monitorenter.gui.chart.ITrace2D;
 import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.pointpainters.PointPainterDisc;
 
 import java.util.Map;
 import java.util.WeakHashMap;
@@ -83,4 +85,46 @@ public class TestTrace2DLtd extends TestCase {
     System.out.println("Points remaining in the weakMap: " + keys);
     Assert.assertFalse("There are " + keys + " TracePoint2D instances not deleted from the WeakHashMap.", keys > traceSize);
   }
+
+  /**
+   * Ensures that <code>{@link ITrace2D#getHighlightedPoints()}</code> tracks
+   * points with additional point painters and forgets them once they drop out
+   * of the ring buffer.
+   * <p>
+   */
+  @org.junit.Test
+  public void testHighlightedPoints() {
+    Chart2D dummyChart = new Chart2D();
+    Trace2DLtd trace = new Trace2DLtd(10);
+    dummyChart.addTrace(trace);
+    for (int i = 0; i < 10; i++) {
+      trace.addPoint(i, i);
+    }
+    Assert.assertTrue(trace.getHighlightedPoints().isEmpty());
+    ITracePoint2D highlighted = trace.iterator().next();
+    IPointPainter< ? > highlighter = new PointPainterDisc(10);
+    highlighted.addAdditionalPointPainter(highlighter);
+    Assert.assertEquals(1, trace.getHighlightedPoints().size());
+    Assert.assertSame(highlighted, trace.getHighlightedPoints().iterator().next());
+    highlighted.removeAdditionalPointPainter(highlighter);
+    Assert.assertTrue(trace.getHighlightedPoints().isEmpty());
+
+    // point highlighted before being added:
+    ITracePoint2D added = new info.monitorenter.gui.chart.tracepoints.TracePoint2D(10, 10);
+    added.addAdditionalPointPainter(highlighter);
+    trace.addPoint(added);
+    Assert.assertEquals(1, trace.getHighlightedPoints().size());
+    // evicted by the ring buffer:
+    for (int i = 11; i < 21; i++) {
+      trace.addPoint(i, i);
+    }
+    Assert.assertTrue(trace.getHighlightedPoints().isEmpty());
+
+    // dropped by shrinking the ring buffer:
+    trace.iterator().next().addAdditionalPointPainter(highlighter);
+    Assert.assertEquals(1, trace.getHighlightedPoints().size());
+    trace.setMaxSize(5);
+    Assert.assertTrue(trace.getHighlightedPoints().isEmpty());
+    dummyChart.destroy();
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ *  TestTrace2DSorted.java of project jchart2d, junit tests for the sorted
+ *  trace.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.ITrace2D.DistancePoint;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.tracepoints.TracePoint2D;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link Trace2DSorted}.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class TestTrace2DSorted {
+
+  /** Trace needed for test. */
+  private Trace2DSorted m_trace;
+
+  /**
+   * Asserts that {@link Trace2DSorted#getNearestPointX(double)} finds the same
+   * point as a scan over all points.
+   * <p>
+   *
+   * @param x
+   *          the x value to search the nearest point for.
+   */
+  private void assertNearestPointX(final double x) {
+    ITracePoint2D expected = null;
+    double shortestDistance = Double.MAX_VALUE;
+    for (Iterator<ITracePoint2D> it = this.m_trace.iterator(); it.hasNext();) {
+      ITracePoint2D point = it.next();
+      if (!point.isDiscontinuation() && Math.abs(point.getX() - x) < shortestDistance) {
+        shortestDistance = Math.abs(point.getX() - x);
+        expected = point;
+      }
+    }
+    DistancePoint result = this.m_trace.getNearestPointX(x);
+    Assert.assertSame("x: " + x, expected, result.getPoint());
+    if (expected != null) {
+      Assert.assertEquals(shortestDistance, result.getDistance(), 0.0);
+    }
+  }
+
+  /**
+   * JUnit setup.
+   */
+  @Before
+  public void setUp() {
+    this.m_trace = new Trace2DSorted();
+    new Chart2D().addTrace(this.m_trace);
+  }
+
+  /**
+   * Searches the point with the nearest x value in a trace filled in random
+   * order, before and after the points and with a discontinuation.
+   * <p>
+   */
+  @Test
+  public void testGetNearestPointX() {
+    this.assertNearestPointX(1.0);
+    Random random = new Random(3);
+    // distinct x values in random order:
+    for (int i = 0; i < 1000; i++) {
+      this.m_trace.addPoint(new TracePoint2D((i * 7919) % 1000 + random.nextDouble() / 2, i));
+    }
+    for (int i = 0; i < 1000; i++) {
+      this.assertNearestPointX(random.nextDouble() * 1200 - 100);
+    }
+    // ties: the lower one is found first in iteration order
+    this.m_trace.removeAllPoints();
+    this.m_trace.addPoint(new TracePoint2D(3, 0));
+    this.m_trace.addPoint(new TracePoint2D(1, 0));
+    Assert.assertEquals(1.0, this.m_trace.getNearestPointX(2).getPoint().getX(), 0.0);
+
+    this.m_trace.addPoint(new TracePoint2D(Double.NaN, Double.NaN));
+    this.assertNearestPointX(2.9);
+    this.assertNearestPointX(4);
+  }
+}
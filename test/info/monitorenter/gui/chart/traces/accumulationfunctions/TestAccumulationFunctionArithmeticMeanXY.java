@@ -28,8 +28,11 @@ package info.monitorenter.gui.chart.traces.accumulationfunctions;
 
 import info.monitorenter.gui.chart.Chart2D;
 import info.monitorenter.gui.chart.IAccumulationFunction;
+import info.monitorenter.gui.chart.IAxis;
 import info.monitorenter.gui.chart.ITrace2D;
 import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.axis.AxisLog10;
+import info.monitorenter.gui.chart.axis.scalepolicy.AxisScalePolicyTransformation;
 import info.monitorenter.gui.chart.traces.Trace2DSimple;
 
 import org.junit.Assert;
@@ -107,6 +110,31 @@ public class TestAccumulationFunctionArithmeticMeanXY {
     Assert.assertEquals(1.5d, result.getY(), 0.0);
   }
 
+  /**
+   * Accumulates two points of a trace on a logarithmic y axis and expects the
+   * result to be scaled at its location (not at the mean of the scaled values).
+   * <p>
+   */
+  @Test
+  public void testScaledLog() {
+    this.m_chart.setAxisYLeft(new AxisLog10<AxisScalePolicyTransformation>(), 0);
+    ITracePoint2D one = new info.monitorenter.gui.chart.tracepoints.TracePoint2D(1.0, 1.0);
+    ITracePoint2D two = new info.monitorenter.gui.chart.tracepoints.TracePoint2D(3.0, 100.0);
+    ITrace2D trace = new Trace2DSimple();
+    this.m_chart.addTrace(trace);
+    trace.addPoint(one);
+    trace.addPoint(two);
+    this.m_toTest.addPointToAccumulate(one);
+    this.m_toTest.addPointToAccumulate(two);
+    ITracePoint2D result = this.m_toTest.getAccumulatedPoint();
+    Assert.assertEquals(50.5d, result.getY(), 0.0);
+    IAxis< ? > axisY = this.m_chart.getAxisY(trace);
+    Assert.assertEquals(axisY.getScaledValue(50.5d), result.getScaledY(), 0.0);
+    Assert.assertEquals(this.m_chart.getAxisX(trace).getScaledValue(2.0d), result.getScaledX(), 0.0);
+    // the mean of the scaled values would be 0.5:
+    Assert.assertEquals(Math.log10(50.5d) / 2, result.getScaledY(), 1e-9);
+  }
+
   /**
    * Adds one point with {@link ITracePoint2D#getX()} being {@link Double#NaN}
    * and expects an exception being thrown.
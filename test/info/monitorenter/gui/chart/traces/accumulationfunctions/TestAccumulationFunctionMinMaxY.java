@@ -0,0 +1,157 @@
+/*
+ *  TestAccumulationFunctionMinMaxY.java of project jchart2d, junit tests for
+ *  the envelope accumulation function.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces.accumulationfunctions;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.IAccumulationFunction;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.tracepoints.TracePoint2D;
+import info.monitorenter.gui.chart.traces.Trace2DSimple;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link AccumulationFunctionMinMaxY}.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ *
+ */
+public class TestAccumulationFunctionMinMaxY {
+
+  /**
+   * Instance under test.
+   */
+  private IAccumulationFunction m_toTest;
+
+  /**
+   * Trace that contains the points to accumulate.
+   */
+  private ITrace2D m_trace;
+
+  /**
+   * Adds the given points to the trace and to the accumulation.
+   * <p>
+   *
+   * @param points
+   *          the points to accumulate.
+   */
+  private void accumulate(final ITracePoint2D... points) {
+    for (ITracePoint2D point : points) {
+      this.m_trace.addPoint(point);
+      this.m_toTest.addPointToAccumulate(point);
+    }
+  }
+
+  /**
+   *
+   */
+  @Before
+  public void setUp() {
+    this.m_toTest = new AccumulationFunctionMinMaxY();
+    this.m_trace = new Trace2DSimple();
+    new Chart2D().addTrace(this.m_trace);
+  }
+
+  /**
+   * Tests an empty instance.
+   */
+  @Test
+  public void testEmpty() {
+    Assert.assertNull(this.m_toTest.getAccumulatedPoint());
+    Assert.assertNull(this.m_toTest.getAccumulatedPointAdditional());
+  }
+
+  /**
+   * Adds one point and expects an equal result without additional point.
+   * <p>
+   */
+  @Test
+  public void test1value() {
+    ITracePoint2D one = new TracePoint2D(1.0, 1.0);
+    this.accumulate(one);
+    Assert.assertEquals(one, this.m_toTest.getAccumulatedPoint());
+    Assert.assertNull(this.m_toTest.getAccumulatedPointAdditional());
+  }
+
+  /**
+   * Adds points with the same y value and expects only the first one.
+   * <p>
+   */
+  @Test
+  public void testFlat() {
+    this.accumulate(new TracePoint2D(1.0, 3.0), new TracePoint2D(2.0, 3.0), new TracePoint2D(3.0, 3.0));
+    ITracePoint2D result = this.m_toTest.getAccumulatedPoint();
+    Assert.assertEquals(1.0, result.getX(), 0.0);
+    Assert.assertEquals(3.0, result.getY(), 0.0);
+    Assert.assertNull(this.m_toTest.getAccumulatedPointAdditional());
+  }
+
+  /**
+   * Adds spiky points and expects the maximum and the minimum in x order,
+   * then a new accumulation.
+   * <p>
+   */
+  @Test
+  public void testSpikes() {
+    this.accumulate(new TracePoint2D(0.0, 1.0), new TracePoint2D(1.0, 5.0), new TracePoint2D(2.0, -3.0),
+        new TracePoint2D(3.0, 2.0));
+    Assert.assertEquals(4, this.m_toTest.getAccumulatedPointCount());
+    ITracePoint2D result = this.m_toTest.getAccumulatedPoint();
+    Assert.assertEquals(1.0, result.getX(), 0.0);
+    Assert.assertEquals(5.0, result.getY(), 0.0);
+    result = this.m_toTest.getAccumulatedPointAdditional();
+    Assert.assertEquals(2.0, result.getX(), 0.0);
+    Assert.assertEquals(-3.0, result.getY(), 0.0);
+    Assert.assertNull(this.m_toTest.getAccumulatedPointAdditional());
+    Assert.assertEquals(0, this.m_toTest.getAccumulatedPointCount());
+
+    this.accumulate(new TracePoint2D(4.0, 0.0), new TracePoint2D(5.0, 10.0));
+    result = this.m_toTest.getAccumulatedPoint();
+    Assert.assertEquals(4.0, result.getX(), 0.0);
+    Assert.assertEquals(0.0, result.getY(), 0.0);
+    result = this.m_toTest.getAccumulatedPointAdditional();
+    Assert.assertEquals(5.0, result.getX(), 0.0);
+    Assert.assertEquals(10.0, result.getY(), 0.0);
+  }
+
+  /**
+   * Adds one point with {@link ITracePoint2D#getY()} being {@link Double#NaN}
+   * and expects an exception being thrown.
+   * <p>
+   */
+  @Test
+  public void testSingleNaNY() {
+    ITracePoint2D one = new TracePoint2D(1.0, Double.NaN);
+    this.m_trace.addPoint(one);
+    try {
+      this.m_toTest.addPointToAccumulate(one);
+      Assert.fail("It must not be possible to enter trace points containing NaN.");
+    } catch (IllegalArgumentException iae) {
+      // all good!
+    }
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ *  TestAccumulationFunctionQuantileY.java of project jchart2d, junit tests
+ *  for the quantile accumulation functions.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces.accumulationfunctions;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.IAccumulationFunction;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.tracepoints.TracePoint2D;
+import info.monitorenter.gui.chart.traces.Trace2DSimple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link AccumulationFunctionQuantileY},
+ * {@link AccumulationFunctionMedianY} and
+ * {@link AccumulationFunctionPercentile99Y}.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ *
+ */
+public class TestAccumulationFunctionQuantileY {
+
+  /**
+   * Trace that contains the points to accumulate.
+   */
+  private ITrace2D m_trace;
+
+  /**
+   * Adds a point with the given location to the trace and to the given
+   * accumulation function.
+   * <p>
+   *
+   * @param function
+   *          the accumulation function.
+   *
+   * @param x
+   *          the x value of the point.
+   *
+   * @param y
+   *          the y value of the point.
+   */
+  private void accumulate(final IAccumulationFunction function, final double x, final double y) {
+    ITracePoint2D point = new TracePoint2D(x, y);
+    this.m_trace.addPoint(point);
+    point.setScaledY(y / 1000.0);
+    function.addPointToAccumulate(point);
+  }
+
+  /**
+   * Accumulates the shuffled values 0 to 9999 and asserts the estimate of the
+   * quantile of the given function.
+   * <p>
+   *
+   * @param function
+   *          the accumulation function to test.
+   *
+   * @param seed
+   *          the seed for shuffling the values.
+   */
+  private void assertQuantile(final AccumulationFunctionQuantileY function, final long seed) {
+    List<Double> values = new ArrayList<Double>();
+    for (int i = 0; i < 10000; i++) {
+      values.add(Double.valueOf(i));
+    }
+    Collections.shuffle(values, new Random(seed));
+    for (Double y : values) {
+      this.accumulate(function, 1.0, y.doubleValue());
+    }
+    Assert.assertEquals(10000, function.getAccumulatedPointCount());
+    ITracePoint2D result = function.getAccumulatedPoint();
+    double expected = function.getQuantile() * 9999;
+    Assert.assertEquals(expected, result.getY(), 100);
+    Assert.assertEquals(result.getY() / 1000.0, result.getScaledY(), 0.1);
+    Assert.assertEquals(1.0, result.getX(), 0.0);
+    Assert.assertEquals(0, function.getAccumulatedPointCount());
+  }
+
+  /**
+   *
+   */
+  @Before
+  public void setUp() {
+    this.m_trace = new Trace2DSimple();
+    new Chart2D().addTrace(this.m_trace);
+  }
+
+  /**
+   * Tests an empty instance.
+   */
+  @Test
+  public void testEmpty() {
+    Assert.assertNull(new AccumulationFunctionMedianY().getAccumulatedPoint());
+  }
+
+  /**
+   * Tests that few points give the exact quantile and the arithmetic mean of
+   * the x values.
+   * <p>
+   */
+  @Test
+  public void testFewPoints() {
+    IAccumulationFunction function = new AccumulationFunctionMedianY();
+    this.accumulate(function, 1.0, 7.0);
+    this.accumulate(function, 2.0, 1.0);
+    this.accumulate(function, 6.0, 3.0);
+    ITracePoint2D result = function.getAccumulatedPoint();
+    Assert.assertEquals(3.0, result.getX(), 0.0);
+    Assert.assertEquals(3.0, result.getY(), 0.0);
+    Assert.assertEquals(0.003, result.getScaledY(), 0.0);
+
+    // new accumulation, interpolated between the middle ranks:
+    this.accumulate(function, 1.0, 4.0);
+    this.accumulate(function, 1.0, 2.0);
+    Assert.assertEquals(3.0, function.getAccumulatedPoint().getY(), 0.0);
+  }
+
+  /**
+   * Tests the estimates of median and 99th percentile of many points in
+   * consecutive accumulations.
+   * <p>
+   */
+  @Test
+  public void testManyPoints() {
+    AccumulationFunctionQuantileY median = new AccumulationFunctionMedianY();
+    AccumulationFunctionQuantileY p99 = new AccumulationFunctionPercentile99Y();
+    for (int i = 0; i < 3; i++) {
+      this.assertQuantile(median, i);
+      this.assertQuantile(p99, i);
+    }
+    this.assertQuantile(new AccumulationFunctionQuantileY(0.9), 42);
+  }
+
+  /**
+   * Serializes a function in the middle of an accumulation, continues the
+   * accumulation with the deserialized copy and expects the same result as
+   * with the original.
+   * <p>
+   *
+   * @throws IOException
+   *           if something goes wrong.
+   *
+   * @throws ClassNotFoundException
+   *           if something goes wrong.
+   */
+  @Test
+  public void testSerialization() throws IOException, ClassNotFoundException {
+    AccumulationFunctionQuantileY function = new AccumulationFunctionPercentile99Y();
+    for (int i = 0; i < 100; i++) {
+      this.accumulate(function, 1.0, (i * 37) % 100);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream objOut = new ObjectOutputStream(bytes);
+    objOut.writeObject(function);
+    objOut.close();
+    ObjectInputStream objIn = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    AccumulationFunctionQuantileY copy = (AccumulationFunctionQuantileY) objIn.readObject();
+    objIn.close();
+
+    Assert.assertEquals(function.getQuantile(), copy.getQuantile(), 0.0);
+    Assert.assertEquals(function.getAccumulatedPointCount(), copy.getAccumulatedPointCount());
+    for (int i = 100; i < 200; i++) {
+      this.accumulate(function, 1.0, (i * 37) % 100);
+      this.accumulate(copy, 1.0, (i * 37) % 100);
+    }
+    Assert.assertEquals(function.getAccumulatedPoint().getY(), copy.getAccumulatedPoint().getY(), 0.0);
+  }
+
+  /**
+   * Asserts that quantiles outside of ]0.0, 1.0[ are rejected.
+   * <p>
+   */
+  @Test
+  public void testInvalidQuantile() {
+    try {
+      new AccumulationFunctionQuantileY(1.0);
+      Assert.fail("Quantile 1.0 must be rejected.");
+    } catch (IllegalArgumentException iae) {
+      // all good!
+    }
+  }
+
+  /**
+   * Adds one point with {@link ITracePoint2D#getY()} being {@link Double#NaN}
+   * and expects an exception being thrown.
+   * <p>
+   */
+  @Test
+  public void testDiscontinuation() {
+    ITracePoint2D one = new TracePoint2D(1.0, Double.NaN);
+    this.m_trace.addPoint(one);
+    try {
+      new AccumulationFunctionMedianY().addPointToAccumulate(one);
+      Assert.fail("It must not be possible to accumulate discontinuations.");
+    } catch (IllegalArgumentException iae) {
+      // all good!
+    }
+  }
+}
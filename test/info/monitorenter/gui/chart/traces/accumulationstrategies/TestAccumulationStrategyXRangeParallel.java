@@ -0,0 +1,188 @@
+/*
+ *  TestAccumulationStrategyXRangeParallel.java of project jchart2d, junit
+ *  tests for the parallel x-range accumulation.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces.accumulationstrategies;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.IAccumulationFunction;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.rangepolicies.RangePolicyFixedViewport;
+import info.monitorenter.gui.chart.tracepoints.TracePoint2D;
+import info.monitorenter.gui.chart.traces.Trace2DSimple;
+import info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionArithmeticMeanXY;
+import info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionBypass;
+import info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionMinMaxY;
+import info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionQuantileY;
+import info.monitorenter.util.Range;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link AccumulationStrategyXRangeParallel}.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class TestAccumulationStrategyXRangeParallel {
+
+  /** Trace needed for test. */
+  private ITrace2D m_trace;
+
+  /**
+   * Asserts that the parallel accumulation of the test trace returns the same
+   * points as the sequential one.
+   * <p>
+   *
+   * @param windows
+   *          the amount of x-range windows.
+   *
+   * @param sequential
+   *          the accumulation function for the sequential accumulation.
+   *
+   * @param parallel
+   *          the accumulation function for the parallel accumulation.
+   */
+  private void assertSameAsSequential(final int windows, final IAccumulationFunction sequential,
+      final IAccumulationFunction parallel) {
+    Chart2D chart = this.m_trace.getRenderer();
+    chart.getAxisX().scale();
+    chart.getAxisY().scale();
+    List<ITracePoint2D> expected = this.toList(new AccumulationStrategyXRangeWithRespectToDensity(sequential)
+        .iterator(this.m_trace, windows));
+    List<ITracePoint2D> result = this.toList(new AccumulationStrategyXRangeParallel(parallel, 4).iterator(
+        this.m_trace, windows));
+    Assert.assertEquals(expected.size(), result.size());
+    for (int i = 0; i < expected.size(); i++) {
+      ITracePoint2D expectedPoint = expected.get(i);
+      ITracePoint2D point = result.get(i);
+      if (expectedPoint.isDiscontinuation()) {
+        Assert.assertTrue("Point " + i, point.isDiscontinuation());
+      } else {
+        Assert.assertEquals("Point " + i, expectedPoint.getX(), point.getX(), 0.0);
+        Assert.assertEquals("Point " + i, expectedPoint.getY(), point.getY(), 0.0);
+      }
+    }
+  }
+
+  /**
+   * JUnit setup.
+   */
+  @Before
+  public void setUp() {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    this.m_trace = new Trace2DSimple();
+    chart.addTrace(this.m_trace);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+  }
+
+  /**
+   * Accumulates a trace with bursts, gaps and invisible points in parallel and
+   * expects the same result as the sequential accumulation.
+   * <p>
+   */
+  @Test
+  public void testSameAsSequential() {
+    Random random = new Random(42);
+    int size = 4 * AccumulationStrategyXRangeParallel.PARALLEL_MIN_POINTS;
+    double x = 0;
+    for (int i = 0; i < size; i++) {
+      if (i % 100000 == 99999) {
+        this.m_trace.addPoint(new TracePoint2D(Double.NaN, Double.NaN));
+      } else {
+        // bursts with dense x values:
+        x += ((i / 20000) % 2 == 0) ? 0.00001 : 0.0005;
+        // spikes out of the visible range:
+        double y = (random.nextInt(5000) == 0) ? 150 : 50 + random.nextGaussian() * 10;
+        this.m_trace.addPoint(new TracePoint2D(x, y));
+      }
+    }
+    this.assertSameAsSequential(300, new AccumulationFunctionMinMaxY(), new AccumulationFunctionMinMaxY());
+    this.assertSameAsSequential(1000, new AccumulationFunctionArithmeticMeanXY(),
+        new AccumulationFunctionArithmeticMeanXY());
+    // configured function without a constructor without arguments:
+    this.assertSameAsSequential(300, new AccumulationFunctionQuantileY(0.9), new AccumulationFunctionQuantileY(0.9));
+  }
+
+  /**
+   * Asserts that only replicable accumulation functions are accepted.
+   * <p>
+   */
+  @Test
+  public void testSetAccumulationFunction() {
+    try {
+      new AccumulationStrategyXRangeParallel(new AccumulationFunctionBypass(), 4);
+      Assert.fail("Parallel accumulation must only accept replicable functions.");
+    } catch (IllegalArgumentException expected) {
+      // expected
+    }
+    AccumulationStrategyXRangeParallel strategy = new AccumulationStrategyXRangeParallel(
+        new AccumulationFunctionMinMaxY(), 4);
+    try {
+      strategy.setAccumulationFunction(new AccumulationFunctionBypass());
+      Assert.fail("Parallel accumulation must only accept replicable functions.");
+    } catch (IllegalArgumentException expected) {
+      // expected
+    }
+    Assert.assertTrue(strategy.getAccumulationFunction() instanceof AccumulationFunctionMinMaxY);
+  }
+
+  /**
+   * Accumulates a trace that cannot be split (all points within one window)
+   * and expects the same result as the sequential accumulation.
+   * <p>
+   */
+  @Test
+  public void testUnsplittable() {
+    int size = 2 * AccumulationStrategyXRangeParallel.PARALLEL_MIN_POINTS;
+    for (int i = 0; i < size; i++) {
+      this.m_trace.addPoint(new TracePoint2D(50 + i / (double) size, i % 100));
+    }
+    this.assertSameAsSequential(10, new AccumulationFunctionMinMaxY(), new AccumulationFunctionMinMaxY());
+  }
+
+  /**
+   * Returns the remaining points of the given iterator.
+   * <p>
+   *
+   * @param it
+   *          the iterator to drain.
+   *
+   * @return the remaining points of the given iterator.
+   */
+  private List<ITracePoint2D> toList(final Iterator<ITracePoint2D> it) {
+    List<ITracePoint2D> result = new ArrayList<ITracePoint2D>();
+    while (it.hasNext()) {
+      result.add(it.next());
+    }
+    return result;
+  }
+}
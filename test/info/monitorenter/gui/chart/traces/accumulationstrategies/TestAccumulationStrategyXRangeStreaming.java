@@ -0,0 +1,207 @@
+/*
+ *  TestAccumulationStrategyXRangeStreaming.java of project jchart2d, junit
+ *  tests for the streaming x-range envelope accumulation.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces.accumulationstrategies;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.rangepolicies.RangePolicyFixedViewport;
+import info.monitorenter.gui.chart.tracepoints.TracePoint2D;
+import info.monitorenter.gui.chart.traces.Trace2DSimple;
+import info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionArithmeticMeanXY;
+import info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionMinMaxY;
+import info.monitorenter.util.Range;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link AccumulationStrategyXRangeStreaming}.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class TestAccumulationStrategyXRangeStreaming {
+
+  /** Trace needed for test. */
+  private ITrace2D m_trace;
+
+  /**
+   * Adds spiky points with bursts, gaps and invisible points to the test
+   * trace.
+   * <p>
+   *
+   * @param size
+   *          the amount of points to add.
+   *
+   * @param seed
+   *          the seed of the random y values.
+   */
+  private void addPoints(final int size, final long seed) {
+    Random random = new Random(seed);
+    double x = 0;
+    for (int i = 0; i < size; i++) {
+      if (i % 5000 == 4999) {
+        this.m_trace.addPoint(new TracePoint2D(Double.NaN, Double.NaN));
+      } else {
+        // bursts with dense x values:
+        x += ((i / 2000) % 2 == 0) ? 0.0001 : 0.01;
+        // runs out of the visible range:
+        double y = ((i / 300) % 7 == 0) ? 150 + i % 3 : 50 + random.nextGaussian() * 10;
+        this.m_trace.addPoint(new TracePoint2D(x, y));
+      }
+    }
+  }
+
+  /**
+   * Asserts that the streaming accumulation of the test trace returns original
+   * points with the same coordinates as the accumulation by
+   * {@link AccumulationStrategyXRangeWithRespectToDensity} with
+   * {@link AccumulationFunctionMinMaxY}.
+   * <p>
+   *
+   * @param strategy
+   *          the streaming strategy to test.
+   *
+   * @param windows
+   *          the amount of x-range windows.
+   */
+  private void assertSameAsXRange(final AccumulationStrategyXRangeStreaming strategy, final int windows) {
+    Chart2D chart = this.m_trace.getRenderer();
+    chart.getAxisX().scale();
+    chart.getAxisY().scale();
+    List<ITracePoint2D> expected = this.toList(new AccumulationStrategyXRangeWithRespectToDensity(
+        new AccumulationFunctionMinMaxY()).iterator(this.m_trace, windows));
+    List<ITracePoint2D> result = this.toList(strategy.iterator(this.m_trace, windows));
+    Map<ITracePoint2D, Object> originals = new IdentityHashMap<ITracePoint2D, Object>();
+    for (Iterator<ITracePoint2D> it = this.m_trace.iterator(); it.hasNext();) {
+      originals.put(it.next(), null);
+    }
+    Assert.assertEquals(expected.size(), result.size());
+    for (int i = 0; i < expected.size(); i++) {
+      ITracePoint2D expectedPoint = expected.get(i);
+      ITracePoint2D point = result.get(i);
+      Assert.assertTrue("Point " + i, originals.containsKey(point));
+      if (expectedPoint.isDiscontinuation()) {
+        Assert.assertTrue("Point " + i, point.isDiscontinuation());
+      } else {
+        Assert.assertEquals("Point " + i, expectedPoint.getX(), point.getX(), 0.0);
+        Assert.assertEquals("Point " + i, expectedPoint.getY(), point.getY(), 0.0);
+      }
+    }
+  }
+
+  /**
+   * JUnit setup.
+   */
+  @Before
+  public void setUp() {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    this.m_trace = new Trace2DSimple();
+    chart.addTrace(this.m_trace);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+  }
+
+  /**
+   * Accumulates a trace with bursts, gaps and invisible points repeatedly with
+   * the same instance (reusing the output buffer) and expects the same result
+   * as the x-range accumulation with the envelope function.
+   * <p>
+   */
+  @Test
+  public void testSameAsXRange() {
+    AccumulationStrategyXRangeStreaming strategy = new AccumulationStrategyXRangeStreaming();
+    this.addPoints(40000, 42);
+    this.assertSameAsXRange(strategy, 300);
+    this.assertSameAsXRange(strategy, 1000);
+    this.m_trace.removeAllPoints();
+    this.addPoints(10000, 43);
+    this.assertSameAsXRange(strategy, 50);
+    this.assertSameAsXRange(strategy, 3);
+  }
+
+  /**
+   * Asserts that an iterator returned by a shared instance is not changed by
+   * the next accumulation with the same instance.
+   * <p>
+   */
+  @Test
+  public void testSharedInstance() {
+    AccumulationStrategyXRangeStreaming strategy = new AccumulationStrategyXRangeStreaming();
+    this.addPoints(10000, 42);
+    Chart2D chart = this.m_trace.getRenderer();
+    chart.getAxisX().scale();
+    chart.getAxisY().scale();
+    List<ITracePoint2D> expected = this.toList(strategy.iterator(this.m_trace, 100));
+    Iterator<ITracePoint2D> first = strategy.iterator(this.m_trace, 100);
+    first.next();
+    // overwrites the output buffer of the instance:
+    this.toList(strategy.iterator(this.m_trace, 7));
+    List<ITracePoint2D> result = this.toList(first);
+    Assert.assertEquals(expected.subList(1, expected.size()), result);
+  }
+
+  /**
+   * Asserts that only the envelope function is accepted.
+   * <p>
+   */
+  @Test
+  public void testSetAccumulationFunction() {
+    AccumulationStrategyXRangeStreaming strategy = new AccumulationStrategyXRangeStreaming();
+    Assert.assertTrue(strategy.getAccumulationFunction() instanceof AccumulationFunctionMinMaxY);
+    strategy.setAccumulationFunction(new AccumulationFunctionMinMaxY());
+    try {
+      strategy.setAccumulationFunction(new AccumulationFunctionArithmeticMeanXY());
+      Assert.fail("Streaming accumulation must only accept the envelope function.");
+    } catch (IllegalArgumentException expected) {
+      // expected
+    }
+  }
+
+  /**
+   * Returns the remaining points of the given iterator.
+   * <p>
+   *
+   * @param it
+   *          the iterator to drain.
+   *
+   * @return the remaining points of the given iterator.
+   */
+  private List<ITracePoint2D> toList(final Iterator<ITracePoint2D> it) {
+    List<ITracePoint2D> result = new ArrayList<ITracePoint2D>();
+    while (it.hasNext()) {
+      result.add(it.next());
+    }
+    return result;
+  }
+}
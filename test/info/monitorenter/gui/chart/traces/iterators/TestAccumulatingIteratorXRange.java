@@ -0,0 +1,272 @@
+/*
+ *  TestAccumulatingIteratorXRange.java of project jchart2d, junit tests for
+ *  the x-range accumulating iterator.
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ */
+
+package info.monitorenter.gui.chart.traces.iterators;
+
+import info.monitorenter.gui.chart.Chart2D;
+import info.monitorenter.gui.chart.IAccumulationFunction;
+import info.monitorenter.gui.chart.IAccumulationStrategy.AccumulationControlXRange;
+import info.monitorenter.gui.chart.ITrace2D;
+import info.monitorenter.gui.chart.ITracePoint2D;
+import info.monitorenter.gui.chart.rangepolicies.RangePolicyFixedViewport;
+import info.monitorenter.gui.chart.tracepoints.TracePoint2D;
+import info.monitorenter.gui.chart.traces.Trace2DSimple;
+import info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionArithmeticMeanXY;
+import info.monitorenter.gui.chart.traces.accumulationfunctions.AccumulationFunctionMinMaxY;
+import info.monitorenter.gui.chart.traces.accumulationstrategies.AccumulationStrategyXRangeWithRespectToDensity;
+import info.monitorenter.util.Range;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link AccumulatingIteratorXRange}.
+ * <p>
+ *
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann </a>
+ */
+public class TestAccumulatingIteratorXRange {
+
+  /** Trace needed for test. */
+  private ITrace2D m_trace;
+
+  /**
+   * Returns all points of an {@link AccumulatingIteratorXRange} over the test
+   * trace with the given amount of x-range windows.
+   * <p>
+   * @param windows
+   *          the amount of x-range windows.
+   *
+   * @return all points of the iterator.
+   */
+  private List<ITracePoint2D> accumulate(final int windows) {
+    return this.accumulate(windows, new AccumulationFunctionArithmeticMeanXY());
+  }
+
+  /**
+   * Returns all points of an {@link AccumulatingIteratorXRange} over the test
+   * trace with the given amount of x-range windows and the given accumulation
+   * function.
+   * <p>
+   * The points are scaled before as this is only done when painting (x
+   * values are only scaled for a chart with a size).
+   * <p>
+   *
+   * @param windows
+   *          the amount of x-range windows.
+   *
+   * @param function
+   *          the accumulation function to use.
+   *
+   * @return all points of the iterator.
+   */
+  private List<ITracePoint2D> accumulate(final int windows, final IAccumulationFunction function) {
+    Chart2D chart = this.m_trace.getRenderer();
+    chart.getAxisX().scale();
+    chart.getAxisY().scale();
+    AccumulationControlXRange control = new AccumulationControlXRange();
+    control.initializeControl(this.m_trace.getSize(), windows);
+    Iterator<ITracePoint2D> toTest = new AccumulatingIteratorXRange(this.m_trace, function, control);
+    List<ITracePoint2D> result = new ArrayList<ITracePoint2D>();
+    while (toTest.hasNext()) {
+      result.add(toTest.next());
+    }
+    return result;
+  }
+
+  /**
+   * JUnit setup.
+   */
+  @Before
+  public void setUp() {
+    Chart2D chart = new Chart2D();
+    chart.setSize(400, 300);
+    this.m_trace = new Trace2DSimple();
+    chart.addTrace(this.m_trace);
+    chart.getAxisX().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+    chart.getAxisY().setRangePolicy(new RangePolicyFixedViewport(new Range(0, 100)));
+  }
+
+  /**
+   * Tests bursty data: A burst of points within one window has to be
+   * accumulated into one point while the sparse points before and after the
+   * burst have to be returned unchanged.
+   * <p>
+   */
+  @Test
+  public void testBurst() {
+    List<ITracePoint2D> sparse = new ArrayList<ITracePoint2D>();
+    for (int i = 0; i < 5; i++) {
+      ITracePoint2D point = new TracePoint2D(i * 10, 10);
+      sparse.add(point);
+      this.m_trace.addPoint(point);
+    }
+    for (int i = 0; i < 1000; i++) {
+      this.m_trace.addPoint(new TracePoint2D(50.0 + i / 1000.0 * 0.9, 20));
+    }
+    for (int i = 6; i <= 10; i++) {
+      ITracePoint2D point = new TracePoint2D(i * 10, 10);
+      sparse.add(point);
+      this.m_trace.addPoint(point);
+    }
+    List<ITracePoint2D> result = this.accumulate(100);
+    Assert.assertEquals(11, result.size());
+    for (int i = 0; i < 5; i++) {
+      Assert.assertSame(sparse.get(i), result.get(i));
+    }
+    ITracePoint2D burst = result.get(5);
+    Assert.assertEquals(50.45, burst.getX(), 0.001);
+    Assert.assertEquals(20.0, burst.getY(), 0.0);
+    for (int i = 5; i < 10; i++) {
+      Assert.assertSame(sparse.get(i), result.get(i + 1));
+    }
+  }
+
+  /**
+   * Tests that a spiky window accumulated with
+   * {@link AccumulationFunctionMinMaxY} returns both extremes in x order.
+   * <p>
+   */
+  @Test
+  public void testEnvelope() {
+    ITracePoint2D first = new TracePoint2D(0, 50);
+    this.m_trace.addPoint(first);
+    for (int i = 1; i < 100; i++) {
+      this.m_trace.addPoint(new TracePoint2D(10 + i / 100.0, (i == 30) ? 90 : (i == 70) ? 5 : 50));
+    }
+    ITracePoint2D last = new TracePoint2D(20, 50);
+    this.m_trace.addPoint(last);
+    List<ITracePoint2D> result = this.accumulate(10, new AccumulationFunctionMinMaxY());
+    Assert.assertEquals(4, result.size());
+    Assert.assertSame(first, result.get(0));
+    Assert.assertEquals(10.3, result.get(1).getX(), 0.0001);
+    Assert.assertEquals(90.0, result.get(1).getY(), 0.0);
+    Assert.assertEquals(0.103, result.get(1).getScaledX(), 0.0001);
+    Assert.assertEquals(10.7, result.get(2).getX(), 0.0001);
+    Assert.assertEquals(5.0, result.get(2).getY(), 0.0);
+    Assert.assertSame(last, result.get(3));
+  }
+
+  /**
+   * Tests that a discontinuation ends the accumulation, consecutive
+   * discontinuations are returned once and that the visible points next to
+   * the gap are returned unchanged.
+   * <p>
+   */
+  @Test
+  public void testDiscontinuation() {
+    for (int i = 0; i < 100; i++) {
+      this.m_trace.addPoint(new TracePoint2D(i / 100.0, 10));
+    }
+    ITracePoint2D beforeGap = new TracePoint2D(1.0, 10);
+    this.m_trace.addPoint(beforeGap);
+    this.m_trace.addPoint(new TracePoint2D(Double.NaN, Double.NaN));
+    this.m_trace.addPoint(new TracePoint2D(Double.NaN, Double.NaN));
+    ITracePoint2D afterGap = new TracePoint2D(1.1, 20);
+    this.m_trace.addPoint(afterGap);
+    for (int i = 1; i < 100; i++) {
+      this.m_trace.addPoint(new TracePoint2D(1.1 + i / 100.0, 20));
+    }
+    List<ITracePoint2D> result = this.accumulate(100);
+    int gap = -1;
+    for (int i = 0; i < result.size(); i++) {
+      if (result.get(i).isDiscontinuation()) {
+        Assert.assertEquals("Consecutive discontinuations have to be returned once.", -1, gap);
+        gap = i;
+      }
+    }
+    Assert.assertTrue(gap > 0);
+    Assert.assertSame(beforeGap, result.get(gap - 1));
+    Assert.assertSame(afterGap, result.get(gap + 1));
+    for (ITracePoint2D point : result) {
+      if (!point.isDiscontinuation()) {
+        Assert.assertTrue("Accumulation must not bridge the gap: " + point,
+            point.getY() == 10 || point.getY() == 20);
+      }
+    }
+    Assert.assertTrue(result.size() < 20);
+  }
+
+  /**
+   * Tests an empty trace and a trace with one point.
+   * <p>
+   */
+  @Test
+  public void testEmptyAndOnePoint() {
+    Assert.assertEquals(0, this.accumulate(1).size());
+    ITracePoint2D point = new TracePoint2D(50, 50);
+    this.m_trace.addPoint(point);
+    List<ITracePoint2D> result = this.accumulate(1);
+    Assert.assertEquals(1, result.size());
+    Assert.assertSame(point, result.get(0));
+  }
+
+  /**
+   * Tests that runs of invisible points on the same side of the visible range
+   * are skipped but the invisible points needed to render segments that cross
+   * the visible range are returned.
+   * <p>
+   */
+  @Test
+  public void testInvisiblePoints() {
+    for (int i = 0; i < 50; i++) {
+      this.m_trace.addPoint(new TracePoint2D(i, -10));
+    }
+    ITracePoint2D lastBelow = new TracePoint2D(50, -10);
+    this.m_trace.addPoint(lastBelow);
+    ITracePoint2D above = new TracePoint2D(51, 110);
+    this.m_trace.addPoint(above);
+    ITracePoint2D visible = new TracePoint2D(52, 50);
+    this.m_trace.addPoint(visible);
+    ITracePoint2D last = new TracePoint2D(53, 50);
+    this.m_trace.addPoint(last);
+
+    List<ITracePoint2D> result = this.accumulate(1);
+    Assert.assertEquals(5, result.size());
+    Assert.assertEquals(0.0, result.get(0).getX(), 0.0);
+    Assert.assertSame(lastBelow, result.get(1));
+    Assert.assertSame(above, result.get(2));
+    Assert.assertSame(visible, result.get(3));
+    Assert.assertSame(last, result.get(4));
+  }
+
+  /**
+   * Tests that {@link AccumulationStrategyXRangeWithRespectToDensity} bypasses
+   * accumulation if there are not more points than windows.
+   * <p>
+   */
+  @Test
+  public void testStrategyBypass() {
+    for (int i = 0; i < 10; i++) {
+      this.m_trace.addPoint(new TracePoint2D(i, i));
+    }
+    AccumulationStrategyXRangeWithRespectToDensity strategy = new AccumulationStrategyXRangeWithRespectToDensity(
+        new AccumulationFunctionArithmeticMeanXY());
+    Assert.assertFalse(strategy.iterator(this.m_trace, 10) instanceof AccumulatingIteratorXRange);
+    Assert.assertTrue(strategy.iterator(this.m_trace, 5) instanceof AccumulatingIteratorXRange);
+  }
+}
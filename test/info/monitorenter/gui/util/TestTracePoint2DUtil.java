@@ -0,0 +1,114 @@
+/*
+ *  TestTracePoint2DUtil.java of project jchart2d, <enterpurposehere>. 
+ *  Copyright (C) 2002 - 2013, Achim Westermann.
+ *
+ *  This library is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU Lesser General Public
+ *  License as published by the Free Software Foundation; either
+ *  version 2.1 of the License, or (at your option) any later version.
+ *  This library is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *  Lesser General Public License for more details.
+ * 
+ *  You should have received a copy of the GNU Lesser General Public
+ *  License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ *
+ *  If you modify or optimize the code in a useful way please let me know.
+ *  Achim.Westermann@gmx.de
+ *
+ */
+
+package info.monitorenter.gui.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests for <code>{@link TracePoint2DUtil}</code>.
+ * <p>
+ * 
+ * @author <a href="mailto:Achim.Westermann@gmx.de">Achim Westermann</a>
+ * 
+ */
+public class TestTracePoint2DUtil {
+
+  /** Tolerance for comparison of clipped coordinates. */
+  private static final double EPSILON = 1e-12;
+
+  /**
+   * Asserts the given segment equals the expected coordinates.
+   * <p>
+   * 
+   * @param expected
+   *          the expected coordinates.
+   * 
+   * @param segment
+   *          the clipped segment.
+   */
+  private static void assertSegment(final double[] expected, final double[] segment) {
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals("Coordinate " + i, expected[i], segment[i], EPSILON);
+    }
+  }
+
+  /**
+   * Tests that segments within the visible area are not modified.
+   * <p>
+   */
+  @Test
+  public void testClipToVisibleInside() {
+    double[] segment = new double[] {0.1, 0.2, 0.9, 1.0 };
+    assertTrue(TracePoint2DUtil.clipToVisible(segment));
+    assertSegment(new double[] {0.1, 0.2, 0.9, 1.0 }, segment);
+  }
+
+  /**
+   * Tests clipping of a segment entering and of a segment leaving the visible
+   * area.
+   * <p>
+   */
+  @Test
+  public void testClipToVisibleEnteringLeaving() {
+    double[] segment = new double[] {-1.0, 0.0, 1.0, 1.0 };
+    assertTrue(TracePoint2DUtil.clipToVisible(segment));
+    assertSegment(new double[] {0.0, 0.5, 1.0, 1.0 }, segment);
+
+    segment = new double[] {0.5, 0.5, 0.5, 2.5 };
+    assertTrue(TracePoint2DUtil.clipToVisible(segment));
+    assertSegment(new double[] {0.5, 0.5, 0.5, 1.0 }, segment);
+  }
+
+  /**
+   * Tests clipping of segments whose points are both invisible.
+   * <p>
+   */
+  @Test
+  public void testClipToVisibleBothInvisible() {
+    // crossing the visible area diagonally:
+    double[] segment = new double[] {-0.5, -0.5, 1.5, 1.5 };
+    assertTrue(TracePoint2DUtil.clipToVisible(segment));
+    assertSegment(new double[] {0.0, 0.0, 1.0, 1.0 }, segment);
+
+    // passing by the upper right corner:
+    segment = new double[] {0.5, 2.0, 2.0, 0.5 };
+    assertFalse(TracePoint2DUtil.clipToVisible(segment));
+    assertSegment(new double[] {0.5, 2.0, 2.0, 0.5 }, segment);
+
+    // completely right of the visible area:
+    segment = new double[] {1.5, 0.5, 2.0, 0.7 };
+    assertFalse(TracePoint2DUtil.clipToVisible(segment));
+  }
+
+  /**
+   * Tests that segments with NaN coordinates are rejected.
+   * <p>
+   */
+  @Test
+  public void testClipToVisibleNaN() {
+    double[] segment = new double[] {0.5, Double.NaN, 0.5, 0.5 };
+    assertFalse(TracePoint2DUtil.clipToVisible(segment));
+  }
+}